@@ -2,6 +2,7 @@ plugins {
     java
     id("org.springframework.boot") version "3.5.9"
     id("io.spring.dependency-management") version "1.1.7"
+    id("me.champeau.jmh") version "0.7.2"
 }
 group = "com.lookfit"
 version = "0.0.1-SNAPSHOT"
@@ -79,7 +80,23 @@ dependencies {
 }
 
 tasks.withType<Test> {
-    useJUnitPlatform()
+    useJUnitPlatform {
+        // 벤치마크는 ./gradlew test -Pbenchmark 로만 실행
+        if (!project.hasProperty("benchmark")) {
+            excludeTags("benchmark")
+        }
+    }
+    testLogging {
+        showStandardStreams = project.hasProperty("benchmark")
+    }
+}
+
+// JMH 마이크로 벤치마크 (src/jmh/java) - ./gradlew jmh
+jmh {
+    warmupIterations.set(2)
+    iterations.set(5)
+    fork.set(1)
+    jvmArgs.add("-Djava.awt.headless=true")
 }
 
 // Spring Boot Main Class 설정
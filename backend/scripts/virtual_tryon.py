@@ -14,14 +14,37 @@ from pathlib import Path
 import logging
 logging.basicConfig(stream=sys.stderr, level=logging.WARNING)
 
+# 상주 워커(virtual_tryon_worker.py)가 이 모듈을 import하므로 import 시점에 종료하지 않는다
 try:
     from gradio_client import Client, handle_file
 except ImportError:
-    print(json.dumps({
-        "success": False,
-        "error": "gradio_client not installed. Run: pip3 install gradio_client"
-    }), file=sys.stdout)
-    sys.exit(1)
+    Client = None
+    handle_file = None
+
+GRADIO_NOT_INSTALLED = "gradio_client not installed. Run: pip3 install gradio_client"
+SPACE_ID = "yisol/IDM-VTON"
+
+
+def create_client():
+    """
+    Gradio Client 생성 (Space 핸드셰이크 포함)
+    상주 워커는 한 번 생성한 Client를 재사용한다
+    """
+    if Client is None:
+        raise ImportError(GRADIO_NOT_INSTALLED)
+
+    # Hugging Face 토큰은 환경변수 HF_TOKEN 또는 HUGGING_FACE_HUB_TOKEN으로 자동 인식됨
+    # Gradio Client가 자동으로 환경변수에서 토큰을 읽음
+
+    # Gradio Client 생성 (stdout 억제)
+    import io
+    old_stdout = sys.stdout
+    sys.stdout = io.StringIO()
+
+    try:
+        return Client(SPACE_ID)
+    finally:
+        sys.stdout = old_stdout
 
 
 def download_image(url: str, output_path: str) -> str:
@@ -39,7 +62,89 @@ def download_image(url: str, output_path: str) -> str:
         return url
 
 
-def virtual_tryon(user_image_url: str, garment_image_url: str, category: str) -> dict:
+MODEL_SIZE = (768, 1024)
+CATEGORIES = ("upper_body", "lower_body", "dresses")
+PREPROCESS_NOT_INSTALLED = "preprocessing dependencies not installed. Run: pip3 install mediapipe pillow numpy"
+
+
+def preprocess(user_image_path: str, output_dir: str) -> dict:
+    """
+    사용자 사진 전처리 (포즈 추정 + 카테고리별 의류 영역 마스크)
+    마스크는 포즈 랜드마크 사각형과 인물 분할의 교집합으로 만드는 자체 추정이며,
+    Space의 auto-mask(openpose + human parsing)와 같은 결과가 아니다.
+    fitting.preprocess.enabled를 켠 경우에만 호출되고, Java PreprocessingCache가 사진 해시 단위로 결과를 보관한다
+
+    출력 (output_dir):
+        pose.json              정규화 좌표 포즈 랜드마크
+        mask_<category>.png    의류 영역 마스크 (흰색 = 교체 영역, 768x1024)
+    """
+    try:
+        import numpy as np
+        import mediapipe as mp
+        from PIL import Image, ImageDraw, ImageFilter
+    except ImportError:
+        return {"success": False, "error": PREPROCESS_NOT_INSTALLED, "error_type": "PREPROCESS_UNAVAILABLE"}
+
+    try:
+        image = Image.open(user_image_path).convert("RGB").resize(MODEL_SIZE)
+        with mp.solutions.pose.Pose(static_image_mode=True, enable_segmentation=True) as pose:
+            detected = pose.process(np.array(image))
+
+        if detected.pose_landmarks is None:
+            return {"success": False, "error": "no person detected", "error_type": "NO_PERSON"}
+
+        landmarks = [(lm.x, lm.y, lm.visibility) for lm in detected.pose_landmarks.landmark]
+        with open(os.path.join(output_dir, "pose.json"), "w") as f:
+            json.dump({"size": MODEL_SIZE, "landmarks": landmarks}, f)
+
+        person = None
+        if detected.segmentation_mask is not None:
+            person = Image.fromarray((detected.segmentation_mask > 0.5).astype("uint8") * 255)
+            person = person.filter(ImageFilter.MaxFilter(15))
+
+        for category in CATEGORIES:
+            region = Image.new("L", MODEL_SIZE, 0)
+            ImageDraw.Draw(region).rectangle(garment_box(landmarks, category), fill=255)
+            if person is not None:
+                region = Image.fromarray(np.minimum(np.array(region), np.array(person)))
+            region.convert("RGB").save(os.path.join(output_dir, f"mask_{category}.png"))
+
+        return {"success": True, "artifacts": ["pose.json"] + [f"mask_{c}.png" for c in CATEGORIES]}
+
+    except Exception as e:
+        return {"success": False, "error": str(e), "error_type": type(e).__name__}
+
+
+def garment_box(landmarks, category):
+    """
+    포즈 랜드마크로 의류 영역 사각형 계산 (MediaPipe Pose 인덱스)
+    상의: 어깨~엉덩이 + 팔, 하의: 엉덩이~발목, 원피스: 어깨~발목
+    """
+    width, height = MODEL_SIZE
+    shoulders, elbows, wrists = (11, 12), (13, 14), (15, 16)
+    hips, knees, ankles = (23, 24), (25, 26), (27, 28)
+
+    if category == "upper_body":
+        top, bottom, sides = shoulders, hips, shoulders + elbows + wrists
+    elif category == "lower_body":
+        top, bottom, sides = hips, ankles, hips + knees + ankles
+    else:
+        top, bottom, sides = shoulders, ankles, shoulders + elbows + hips + knees
+
+    margin = 0.04
+    xs = [landmarks[i][0] for i in sides]
+    y_top = min(landmarks[i][1] for i in top) - margin
+    y_bottom = max(landmarks[i][1] for i in bottom) + margin
+    return (
+        max(0, int((min(xs) - margin) * width)),
+        max(0, int(y_top * height)),
+        min(width, int((max(xs) + margin) * width)),
+        min(height, int(y_bottom * height)),
+    )
+
+
+def virtual_tryon(user_image_url: str, garment_image_url: str, category: str, client=None,
+                  artifacts_dir: str = None) -> dict:
     """
     Hugging Face IDM-VTON Space를 사용한 가상 피팅
 
@@ -47,6 +152,9 @@ def virtual_tryon(user_image_url: str, garment_image_url: str, category: str) ->
         user_image_url: 사용자 이미지 URL 또는 로컬 경로
         garment_image_url: 의류 이미지 URL 또는 로컬 경로
         category: upper_body, lower_body, dresses
+        client: 재사용할 Gradio Client (없으면 새로 생성)
+        artifacts_dir: 전처리 산출물 디렉토리 (자체 마스크를 켠 경우에만 전달,
+                       mask_<category>.png가 있으면 auto-mask 대신 사용)
 
     Returns:
         {
@@ -60,22 +168,20 @@ def virtual_tryon(user_image_url: str, garment_image_url: str, category: str) ->
         temp_dir = Path("/tmp/lookfit_tryon")
         temp_dir.mkdir(exist_ok=True)
 
-        # 이미지 다운로드
-        user_image_path = download_image(user_image_url, str(temp_dir / "user.jpg"))
-        garment_image_path = download_image(garment_image_url, str(temp_dir / "garment.jpg"))
-
-        # Hugging Face 토큰은 환경변수 HF_TOKEN 또는 HUGGING_FACE_HUB_TOKEN으로 자동 인식됨
-        # Gradio Client가 자동으로 환경변수에서 토큰을 읽음
+        # 이미지 다운로드 (워커 여러 개가 동시에 실행되므로 파일명에 pid 포함)
+        pid = os.getpid()
+        user_image_path = download_image(user_image_url, str(temp_dir / f"user_{pid}.jpg"))
+        garment_image_path = download_image(garment_image_url, str(temp_dir / f"garment_{pid}.jpg"))
 
-        # Gradio Client 생성 (stdout 억제)
-        import io
-        old_stdout = sys.stdout
-        sys.stdout = io.StringIO()
+        if client is None:
+            client = create_client()
 
-        try:
-            client = Client("yisol/IDM-VTON")
-        finally:
-            sys.stdout = old_stdout
+        # 자체 마스크를 켜서 산출물 디렉토리를 받은 경우에만 auto-mask 대신 사용 (기본은 auto-mask)
+        mask_path = None
+        if artifacts_dir:
+            candidate = Path(artifacts_dir) / f"mask_{category}.png"
+            if candidate.exists():
+                mask_path = str(candidate)
 
         # Virtual Try-On 실행
         # IDM-VTON API 파라미터:
@@ -87,15 +193,16 @@ def virtual_tryon(user_image_url: str, garment_image_url: str, category: str) ->
         # - denoise_steps: 노이즈 제거 스텝 (30)
         # - seed: 랜덤 시드 (42)
 
+        predict_started = time.monotonic()
         result = client.predict(
             dict={
                 "background": handle_file(user_image_path),
-                "layers": [],
+                "layers": [handle_file(mask_path)] if mask_path else [],
                 "composite": None
             },
             garm_img=handle_file(garment_image_path),
             garment_des="",  # 의류 설명 (선택사항)
-            is_checked=True,  # auto-mask
+            is_checked=mask_path is None,  # auto-mask (자체 마스크를 쓰지 않을 때)
             is_checked_crop=False,  # auto-crop
             denoise_steps=30,
             seed=42,
@@ -108,7 +215,9 @@ def virtual_tryon(user_image_url: str, garment_image_url: str, category: str) ->
         return {
             "success": True,
             "result_image": result_image_path,
-            "message": "Virtual try-on completed successfully"
+            "message": "Virtual try-on completed successfully",
+            # Java가 호출 시간을 원격 추론과 워커/기동 오버헤드로 나눠 기록하는 데 사용
+            "timings": {"predict_ms": int((time.monotonic() - predict_started) * 1000)}
         }
 
     except Exception as e:
@@ -132,20 +241,28 @@ def virtual_tryon(user_image_url: str, garment_image_url: str, category: str) ->
 
 
 if __name__ == "__main__":
+    if Client is None:
+        print(json.dumps({
+            "success": False,
+            "error": GRADIO_NOT_INSTALLED
+        }), file=sys.stdout)
+        sys.exit(1)
+
     # 커맨드라인 인자 파싱
-    if len(sys.argv) != 4:
+    if len(sys.argv) not in (4, 5):
         print(json.dumps({
             "success": False,
-            "error": "Usage: python3 virtual_tryon.py <user_image_url> <garment_image_url> <category>"
+            "error": "Usage: python3 virtual_tryon.py <user_image_url> <garment_image_url> <category> [artifacts_dir]"
         }))
         sys.exit(1)
 
     user_image = sys.argv[1]
     garment_image = sys.argv[2]
     category = sys.argv[3]
+    artifacts_dir = sys.argv[4] if len(sys.argv) == 5 else None
 
     # Virtual Try-On 실행
-    result = virtual_tryon(user_image, garment_image, category)
+    result = virtual_tryon(user_image, garment_image, category, artifacts_dir=artifacts_dir)
 
     # JSON 결과 출력
     print(json.dumps(result, ensure_ascii=False, indent=2))
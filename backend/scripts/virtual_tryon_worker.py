@@ -0,0 +1,110 @@
+#!/usr/bin/env python3
+"""
+Virtual Try-On 상주 워커
+Java PythonWorkerPool이 프로세스를 재사용하며 stdin/stdout 프레임 프로토콜로 통신한다.
+인터프리터 기동, gradio_client import, Space 핸드셰이크 비용을 요청마다 내지 않기 위함.
+
+프레임 형식: 4바이트 big-endian 길이 + UTF-8 JSON
+  요청: {"id": 1, "op": "ping"}
+        {"id": 2, "op": "tryon", "user_image": ..., "garment_image": ..., "category": ..., "artifacts_dir": ...}
+        {"id": 3, "op": "preprocess", "user_image": ..., "output_dir": ...}
+  응답: {"id": ..., "success": bool, ...}  (tryon 응답 형식은 virtual_tryon.py와 동일)
+기동(워밍업) 완료 시 {"op": "ready", "pid": ..., "warm": bool} 프레임을 먼저 보낸다.
+"""
+
+import json
+import logging
+import os
+import struct
+import sys
+
+# 프레임 전용 stdout 확보 후, 라이브러리 출력은 모두 stderr로 보낸다
+FRAME_OUT = sys.stdout.buffer
+FRAME_IN = sys.stdin.buffer
+sys.stdout = sys.stderr
+
+logging.basicConfig(stream=sys.stderr, level=logging.WARNING)
+
+sys.path.insert(0, os.path.dirname(os.path.abspath(__file__)))
+import virtual_tryon  # noqa: E402
+
+MAX_FRAME_SIZE = 16 * 1024 * 1024
+
+
+def read_frame():
+    """프레임 하나 읽기 (stdin이 닫히면 None)"""
+    header = FRAME_IN.read(4)
+    if len(header) < 4:
+        return None
+    (length,) = struct.unpack(">I", header)
+    if length > MAX_FRAME_SIZE:
+        raise ValueError(f"frame too large: {length}")
+    payload = FRAME_IN.read(length)
+    if len(payload) < length:
+        return None
+    return json.loads(payload.decode("utf-8"))
+
+
+def write_frame(message: dict):
+    payload = json.dumps(message, ensure_ascii=False).encode("utf-8")
+    FRAME_OUT.write(struct.pack(">I", len(payload)))
+    FRAME_OUT.write(payload)
+    FRAME_OUT.flush()
+
+
+def warm_up():
+    """Gradio Client를 미리 생성 (실패해도 워커는 기동하고 첫 요청 때 재시도)"""
+    try:
+        return virtual_tryon.create_client()
+    except Exception as e:
+        logging.warning("worker warm-up failed: %s", e)
+        return None
+
+
+def main():
+    client = warm_up()
+    write_frame({"op": "ready", "pid": os.getpid(), "warm": client is not None})
+
+    while True:
+        request = read_frame()
+        if request is None:
+            break
+
+        request_id = request.get("id")
+        op = request.get("op")
+
+        if op == "ping":
+            write_frame({"id": request_id, "success": True, "op": "pong", "warm": client is not None})
+            continue
+
+        if op == "preprocess":
+            result = virtual_tryon.preprocess(request["user_image"], request["output_dir"])
+            result["id"] = request_id
+            write_frame(result)
+            continue
+
+        if op != "tryon":
+            write_frame({"id": request_id, "success": False, "error": f"unknown op: {op}", "error_type": "BAD_REQUEST"})
+            continue
+
+        if client is None:
+            client = warm_up()
+
+        result = virtual_tryon.virtual_tryon(
+            request["user_image"],
+            request["garment_image"],
+            request["category"],
+            client=client,
+            artifacts_dir=request.get("artifacts_dir"),
+        )
+
+        # 할당량 초과 외의 실패는 Space 연결 문제일 수 있으므로 다음 요청에서 핸드셰이크를 다시 한다
+        if not result.get("success") and result.get("error_type") != "QUOTA_EXCEEDED":
+            client = None
+
+        result["id"] = request_id
+        write_frame(result)
+
+
+if __name__ == "__main__":
+    main()
@@ -15,6 +15,9 @@ import java.util.Optional;
 public interface CartRepository extends JpaRepository<Cart, CartId> {
     List<Cart> findByMemberId(String memberId);
 
+    @Query("SELECT c FROM Cart c JOIN FETCH c.product WHERE c.memberId = :memberId")
+    List<Cart> findByMemberIdWithProduct(@Param("memberId") String memberId);
+
     @Query("SELECT c FROM Cart c WHERE c.memberId = :memberId AND c.productId = :productId")
     Optional<Cart> findByMemberIdAndProductId(@Param("memberId") String memberId, @Param("productId") String productId);
 
@@ -0,0 +1,299 @@
+package com.lookfit.fitting.admission;
+
+import com.lookfit.fitting.domain.FittingStatus;
+import com.lookfit.fitting.domain.VirtualFitting;
+import com.lookfit.fitting.repository.VirtualFittingRepository;
+import com.lookfit.global.exception.ErrorCode;
+import com.lookfit.global.exception.RetryLaterException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 가상 피팅 입장 제어 (AI 백엔드 앞단)
+ * - 전역 동시 실행 한도: 성공하면 조금씩 늘리고 (+1/limit), GPU 할당량 초과면 절반으로 줄인다 (AIMD)
+ * - 응답 지연이 목표를 넘으면 한도를 완만하게 줄인다
+ * - 할당량 초과 후 쿨다운 동안은 새 요청을 즉시 거절 (연속 초과 시 쿨다운 2배)
+ * - 회원별 토큰 버킷으로 한 사람이 한도를 독점하지 못하게 한다
+ *
+ * 허가는 요청 접수 시 받고 피팅이 완료/실패하면 반납한다.
+ * DB 작업 큐(database 모드)에서는 요청 노드가 큐 등록 시 반납하고, 가져간 노드가 실행이 끝날 때까지 다시 쥔다.
+ * 상태는 메모리에만 두며, DB 조회는 반납 누락 복구(reconcile)에서만 한다.
+ */
+@Slf4j
+@Component
+public class FittingAdmissionGovernor {
+
+    private static final double DECREASE_FACTOR = 0.5;
+    private static final double EWMA_WEIGHT = 0.2;
+
+    private final VirtualFittingRepository fittingRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${fitting.admission.min-limit:1}")
+    private int minLimit;
+
+    @Value("${fitting.admission.max-limit:8}")
+    private int maxLimit;
+
+    @Value("${fitting.admission.initial-limit:4}")
+    private int initialLimit;
+
+    @Value("${fitting.admission.latency-target:90s}")
+    private Duration latencyTarget;
+
+    @Value("${fitting.admission.latency-backoff:0.9}")
+    private double latencyBackoff;
+
+    @Value("${fitting.admission.quota-cooldown:1m}")
+    private Duration quotaCooldown;
+
+    @Value("${fitting.admission.quota-cooldown-max:30m}")
+    private Duration quotaCooldownMax;
+
+    @Value("${fitting.admission.member.burst:3}")
+    private int memberBurst;
+
+    @Value("${fitting.admission.member.refill-interval:20s}")
+    private Duration memberRefillInterval;
+
+    @Value("${fitting.admission.reconcile-grace:2m}")
+    private Duration reconcileGrace;
+
+    Clock clock = Clock.systemUTC();
+
+    private final Map<String, Instant> permits = new HashMap<>();
+    private final Map<String, TokenBucket> buckets = new HashMap<>();
+    private double limit;
+    private double latencyEwmaMillis;
+    private Instant quotaBlockedUntil = Instant.EPOCH;
+    private Duration nextCooldown;
+
+    public FittingAdmissionGovernor(VirtualFittingRepository fittingRepository, MeterRegistry meterRegistry) {
+        this.fittingRepository = fittingRepository;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void init() {
+        limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        latencyEwmaMillis = latencyTarget.toMillis() / 2.0;
+        nextCooldown = quotaCooldown;
+
+        Gauge.builder("fitting.admission.limit", this, FittingAdmissionGovernor::getLimit)
+                .description("현재 전역 동시 실행 한도 (AIMD)")
+                .register(meterRegistry);
+        Gauge.builder("fitting.admission.permits.used", this, FittingAdmissionGovernor::getUsedPermits)
+                .description("사용 중인 피팅 허가 수")
+                .register(meterRegistry);
+        Gauge.builder("fitting.admission.permits.available", this, FittingAdmissionGovernor::getAvailablePermits)
+                .description("남은 피팅 허가 수")
+                .register(meterRegistry);
+        Gauge.builder("fitting.admission.quota.blocked", this, g -> g.isQuotaBlocked() ? 1 : 0)
+                .description("GPU 할당량 초과로 쿨다운 중이면 1")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 피팅 생성 허가 (같은 fittingId의 재요청은 이미 받은 허가를 그대로 쓴다)
+     *
+     * @throws RetryLaterException 쿨다운 중, 전역 한도 초과, 회원 요청 한도 초과
+     */
+    public synchronized void admit(String memberId, String fittingId) {
+        if (permits.containsKey(fittingId)) {
+            return;
+        }
+        Instant now = clock.instant();
+
+        if (now.isBefore(quotaBlockedUntil)) {
+            reject("quota");
+            throw new RetryLaterException(ErrorCode.GPU_QUOTA_EXCEEDED,
+                    "AI 서비스 GPU 할당량을 초과했습니다. 잠시 후 다시 시도해주세요.",
+                    Duration.between(now, quotaBlockedUntil));
+        }
+
+        if (permits.size() >= currentLimit()) {
+            reject("saturated");
+            throw new RetryLaterException(ErrorCode.FITTING_OVERLOADED, estimatedWait());
+        }
+
+        TokenBucket bucket = buckets.computeIfAbsent(memberId, key -> new TokenBucket(memberBurst, now));
+        Duration wait = bucket.tryConsume(now, memberBurst, memberRefillInterval);
+        if (!wait.isZero()) {
+            reject("member_rate");
+            throw new RetryLaterException(ErrorCode.FITTING_RATE_LIMITED, wait);
+        }
+
+        permits.put(fittingId, now);
+        log.debug("피팅 허가 - fittingId: {}, 사용: {}/{}", fittingId, permits.size(), currentLimit());
+    }
+
+    /**
+     * DB 큐에서 가져간 피팅 허가 (database 모드, 실행 노드)
+     * 요청 노드에서 이미 쿨다운/회원 한도 검사를 통과했으므로 여기서는 한도 자리만 차지한다.
+     * 가져가는 양을 getAvailablePermits()로 제한하므로 한도를 넘지 않으며, 결과가 반영되면 반납된다.
+     */
+    public synchronized void acquireClaimed(String fittingId) {
+        permits.putIfAbsent(fittingId, clock.instant());
+    }
+
+    /**
+     * 허가 반납 (완료/실패/합류 시, 중복 호출 안전)
+     */
+    public synchronized void release(String fittingId) {
+        permits.remove(fittingId);
+    }
+
+    /**
+     * AI 생성 성공 - 지연이 목표 이내면 한도 증가, 넘으면 완만하게 감소
+     */
+    public synchronized void onSuccess(Duration latency) {
+        latencyEwmaMillis = (1 - EWMA_WEIGHT) * latencyEwmaMillis + EWMA_WEIGHT * latency.toMillis();
+        nextCooldown = quotaCooldown;
+
+        if (latency.compareTo(latencyTarget) > 0) {
+            limit = Math.max(minLimit, limit * latencyBackoff);
+            log.info("피팅 응답 지연 목표 초과 - latency: {}s, 한도: {}", latency.toSeconds(), currentLimit());
+        } else {
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+    }
+
+    /**
+     * GPU 할당량 초과 - 한도 절반 + 쿨다운 동안 새 요청 거절
+     */
+    public synchronized void onQuotaExceeded() {
+        limit = Math.max(minLimit, limit * DECREASE_FACTOR);
+        quotaBlockedUntil = clock.instant().plus(nextCooldown);
+        log.warn("⛔ GPU 할당량 초과 - 한도: {}, 쿨다운: {}s", currentLimit(), nextCooldown.toSeconds());
+
+        Duration doubled = nextCooldown.multipliedBy(2);
+        nextCooldown = doubled.compareTo(quotaCooldownMax) > 0 ? quotaCooldownMax : doubled;
+    }
+
+    /**
+     * 쿨다운 중 여부 (대기열에 남은 작업도 AI 호출 없이 바로 실패시킨다)
+     */
+    public synchronized boolean isQuotaBlocked() {
+        return clock.instant().isBefore(quotaBlockedUntil);
+    }
+
+    /**
+     * 반납 누락 복구
+     * 유예 시간보다 오래된 허가마다 자기 피팅 행을 확인해, 행이 없거나 더 이상 PROCESSING이 아니면 반납한다
+     * (요청 트랜잭션 롤백, 다른 노드에서 끝난 피팅 등). 허가는 노드 메모리에 있으므로 클러스터 전체의 PROCESSING 수가 아니라
+     * 이 노드가 쥔 허가의 피팅만 본다. 가득 찬 회원 버킷도 함께 정리한다.
+     */
+    @Scheduled(fixedDelayString = "${fitting.admission.reconcile-interval:PT1M}")
+    public void reconcile() {
+        Map<String, Instant> stale;
+        synchronized (this) {
+            Instant cutoff = clock.instant().minus(reconcileGrace);
+            stale = permits.entrySet().stream()
+                    .filter(entry -> entry.getValue().isBefore(cutoff))
+                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        }
+
+        Set<String> processing = stale.isEmpty() ? Set.of() : fittingRepository.findAllById(stale.keySet()).stream()
+                .filter(fitting -> fitting.getStatus() == FittingStatus.PROCESSING)
+                .map(VirtualFitting::getFittingId)
+                .collect(Collectors.toSet());
+
+        synchronized (this) {
+            // 조회하는 사이 반납 후 다시 받은 허가(재등록 등)는 건드리지 않는다
+            long released = stale.entrySet().stream()
+                    .filter(entry -> !processing.contains(entry.getKey()))
+                    .filter(entry -> permits.remove(entry.getKey(), entry.getValue()))
+                    .count();
+            if (released > 0) {
+                log.warn("반납되지 않은 피팅 허가 정리 - {}건 (확인: {}건, 처리 중: {}건)",
+                        released, stale.size(), processing.size());
+            }
+            Instant now = clock.instant();
+            buckets.values().removeIf(bucket -> bucket.isFull(now, memberBurst, memberRefillInterval));
+        }
+    }
+
+    public synchronized int getLimit() {
+        return currentLimit();
+    }
+
+    public synchronized int getUsedPermits() {
+        return permits.size();
+    }
+
+    public synchronized int getAvailablePermits() {
+        return Math.max(0, currentLimit() - permits.size());
+    }
+
+    private int currentLimit() {
+        return Math.max(minLimit, (int) Math.floor(limit));
+    }
+
+    /**
+     * 허가 하나가 반납될 때까지의 예상 대기 시간 (평균 생성 시간 / 동시 실행 수)
+     */
+    private Duration estimatedWait() {
+        return Duration.ofMillis(Math.max(1000, (long) (latencyEwmaMillis / currentLimit())));
+    }
+
+    private void reject(String reason) {
+        Counter.builder("fitting.admission.rejected")
+                .description("입장 제어로 거절된 피팅 요청 수")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * 회원별 토큰 버킷 (refillInterval마다 토큰 1개, 최대 burst개)
+     */
+    private static class TokenBucket {
+
+        private double tokens;
+        private Instant updatedAt;
+
+        private TokenBucket(int burst, Instant now) {
+            this.tokens = burst;
+            this.updatedAt = now;
+        }
+
+        /**
+         * @return 토큰을 썼으면 ZERO, 아니면 다음 토큰까지 남은 시간
+         */
+        Duration tryConsume(Instant now, int burst, Duration refillInterval) {
+            refill(now, burst, refillInterval);
+            if (tokens >= 1) {
+                tokens -= 1;
+                return Duration.ZERO;
+            }
+            return Duration.ofMillis((long) Math.ceil((1 - tokens) * refillInterval.toMillis()));
+        }
+
+        boolean isFull(Instant now, int burst, Duration refillInterval) {
+            refill(now, burst, refillInterval);
+            return tokens >= burst;
+        }
+
+        private void refill(Instant now, int burst, Duration refillInterval) {
+            long elapsed = Duration.between(updatedAt, now).toMillis();
+            if (elapsed > 0) {
+                tokens = Math.min(burst, tokens + (double) elapsed / refillInterval.toMillis());
+                updatedAt = now;
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.lookfit.fitting.batch;
+
+import com.lookfit.fitting.dto.FittingDto;
+import com.lookfit.fitting.service.VirtualFittingService;
+import com.lookfit.global.exception.BusinessException;
+import com.lookfit.global.exception.ErrorCode;
+import com.lookfit.global.exception.RetryLaterException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 묶음 피팅 (사진 1장 + 의류 N개) 생성 분배
+ * - 사진 저장/정규화는 VirtualFittingService.createBatch에서 한 번만
+ * - 항목마다 단건과 같은 생성 경로(결과 캐시 → 입장 제어 → 작업 큐)를 타므로 전역/회원별 한도를 그대로 지킨다
+ * - 허가를 받지 못한 항목은 순서대로 대기하다 Retry-After 이후 다시 시도 (max-wait 초과 시 실패 처리)
+ *
+ * 대기 항목은 메모리에만 둔다. 재시작 시 남은 PENDING 항목은 단건 생성 요청으로 다시 시작할 수 있다.
+ */
+@Slf4j
+@Component
+public class FittingBatchCoordinator {
+
+    static final String EXPIRED_MESSAGE = "AI 생성 요청이 많아 묶음 피팅을 시작하지 못했습니다. 다시 시도해주세요.";
+
+    private final VirtualFittingService fittingService;
+    private final Map<String, PendingBatch> pendingBatches = new ConcurrentHashMap<>();
+
+    @Value("${fitting.batch.max-wait:10m}")
+    private Duration maxWait;
+
+    Clock clock = Clock.systemUTC();
+
+    public FittingBatchCoordinator(VirtualFittingService fittingService, MeterRegistry meterRegistry) {
+        this.fittingService = fittingService;
+        Gauge.builder("fitting.batch.pending", pendingBatches,
+                        batches -> batches.values().stream().mapToInt(PendingBatch::size).sum())
+                .description("허가를 기다리는 묶음 피팅 항목 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 묶음 생성 후 한도가 허락하는 만큼 바로 시작
+     *
+     * @return 시작 직후 항목별 상태 (캐시 적중 항목은 이미 COMPLETED)
+     */
+    public FittingDto.BatchResponse submit(String memberId, List<String> productIds, String category,
+                                           MultipartFile image) {
+        FittingDto.BatchResponse batch = fittingService.createBatch(memberId, productIds, category, image);
+
+        PendingBatch pending = new PendingBatch(batch.getItems().stream()
+                .map(FittingDto.StatusResponse::getFittingId)
+                .toList(), clock.instant());
+        pendingBatches.put(batch.getBatchId(), pending);
+        dispatch(batch.getBatchId());
+
+        log.info("묶음 피팅 접수 - batchId: {}, 항목: {}, 대기: {}",
+                batch.getBatchId(), batch.getItems().size(), pending.size());
+        return fittingService.getBatch(batch.getBatchId(), memberId);
+    }
+
+    /**
+     * 대기 중인 항목 시작 시도 (허가가 반납될 때까지 주기적으로)
+     */
+    @Scheduled(fixedDelayString = "${fitting.batch.dispatch-interval:PT2S}")
+    public void dispatchPending() {
+        pendingBatches.keySet().forEach(this::dispatch);
+    }
+
+    /**
+     * 앞 항목부터 순서대로 시작 - 거절되면 Retry-After까지 이 묶음은 쉰다
+     */
+    void dispatch(String batchId) {
+        PendingBatch batch = pendingBatches.get(batchId);
+        if (batch == null) {
+            return;
+        }
+
+        synchronized (batch) {
+            Instant now = clock.instant();
+            if (now.isAfter(batch.submittedAt.plus(maxWait))) {
+                log.warn("묶음 피팅 대기 시간 초과 - batchId: {}, 남은 항목: {}", batchId, batch.size());
+                batch.fittingIds.forEach(fittingId -> fittingService.failPending(fittingId, EXPIRED_MESSAGE));
+                batch.fittingIds.clear();
+            }
+
+            while (!batch.fittingIds.isEmpty() && !now.isBefore(batch.retryAt)) {
+                String fittingId = batch.fittingIds.peekFirst();
+                try {
+                    fittingService.generateFitting(fittingId);
+                    batch.fittingIds.pollFirst();
+                } catch (RetryLaterException e) {
+                    batch.retryAt = now.plus(e.getRetryAfter());
+                    break;
+                } catch (BusinessException e) {
+                    if (e.getErrorCode() == ErrorCode.FITTING_QUEUE_FULL) {
+                        break;
+                    }
+                    log.warn("묶음 피팅 항목 시작 실패 - fittingId: {}, error: {}", fittingId, e.getErrorCode());
+                    batch.fittingIds.pollFirst();
+                    fittingService.failPending(fittingId, "AI 생성 실패: " + e.getMessage());
+                }
+            }
+
+            if (batch.fittingIds.isEmpty()) {
+                pendingBatches.remove(batchId, batch);
+            }
+        }
+    }
+
+    int pendingCount(String batchId) {
+        PendingBatch batch = pendingBatches.get(batchId);
+        return batch == null ? 0 : batch.size();
+    }
+
+    /**
+     * 아직 시작하지 못한 묶음 항목 (요청 순서)
+     */
+    private static class PendingBatch {
+        private final Deque<String> fittingIds;
+        private final Instant submittedAt;
+        private Instant retryAt;
+
+        private PendingBatch(List<String> fittingIds, Instant submittedAt) {
+            this.fittingIds = new ArrayDeque<>(fittingIds);
+            this.submittedAt = submittedAt;
+            this.retryAt = submittedAt;
+        }
+
+        private synchronized int size() {
+            return fittingIds.size();
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.lookfit.fitting.cache;
+
+import com.lookfit.fitting.domain.FittingResultCacheEntry;
+import com.lookfit.fitting.repository.FittingResultCacheRepository;
+import com.lookfit.fitting.service.GarmentAssetService;
+import com.lookfit.fitting.speculative.SpeculativeFittingMetrics;
+import com.lookfit.global.common.HashUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 가상 피팅 결과 캐시 (콘텐츠 주소 기반)
+ * - 같은 사용자 사진 + 같은 의류 이미지 + 같은 카테고리면 GPU 작업 없이 저장된 결과 반환
+ * - 의류 이미지는 URL이 아니라 원본 내용 해시로 구분 (같은 파일명으로 덮어쓴 상품 이미지는 다른 키가 된다)
+ * - TTL 만료 + 최대 엔트리 수(LRU) 기준으로 주기적 정리
+ * - 예측 생성 결과는 처음 쓰일 때 적중, 쓰이지 않고 정리되면 낭비로 집계한다
+ */
+@Slf4j
+@Service
+public class FittingResultCacheService {
+
+    /**
+     * 캐시 적중으로 완료된 피팅의 제공자 표시
+     */
+    public static final String PROVIDER_NAME = "cache";
+
+    private static final int EVICTION_BATCH_SIZE = 500;
+
+    private final FittingResultCacheRepository cacheRepository;
+    private final SpeculativeFittingMetrics speculativeMetrics;
+    private final GarmentAssetService garmentAssetService;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    @Value("${fitting.cache.result.enabled:true}")
+    private boolean enabled;
+
+    @Value("${fitting.cache.result.ttl:7d}")
+    private Duration ttl;
+
+    @Value("${fitting.cache.result.max-entries:10000}")
+    private long maxEntries;
+
+    public FittingResultCacheService(FittingResultCacheRepository cacheRepository,
+                                     SpeculativeFittingMetrics speculativeMetrics,
+                                     GarmentAssetService garmentAssetService,
+                                     MeterRegistry meterRegistry) {
+        this.cacheRepository = cacheRepository;
+        this.speculativeMetrics = speculativeMetrics;
+        this.garmentAssetService = garmentAssetService;
+        this.hitCounter = Counter.builder("fitting.cache.result")
+                .tag("result", "hit")
+                .description("피팅 결과 캐시 적중 (절약한 GPU 작업 수)")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("fitting.cache.result")
+                .tag("result", "miss")
+                .description("피팅 결과 캐시 미스")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 캐시 키 생성
+     *
+     * @param garmentKey 결과 캐시는 의류 이미지 내용 해시, 진행 중 작업 합류 키는 의류 이미지 URL
+     */
+    public static String cacheKey(String userImageHash, String garmentKey, String category) {
+        return HashUtils.sha256Hex(userImageHash + "|" + garmentKey + "|" + category);
+    }
+
+    /**
+     * 의류 이미지 내용 해시 (생성 시작 시점에 잡아 두었다가 store에 넘긴다)
+     *
+     * @return 원본을 읽을 수 없으면 null (캐시를 쓰지 않음)
+     */
+    public String garmentHash(String garmentImageUrl) {
+        return garmentAssetService.contentHash(garmentImageUrl);
+    }
+
+    /**
+     * 캐시 조회 (적중 시 접근 시각/횟수 갱신)
+     *
+     * @return 저장된 결과 이미지 URL
+     */
+    @Transactional
+    public Optional<String> lookup(String userImageHash, String garmentImageUrl, String category) {
+        if (!enabled || userImageHash == null || garmentImageUrl == null) {
+            return Optional.empty();
+        }
+        String garmentImageHash = garmentHash(garmentImageUrl);
+        if (garmentImageHash == null) {
+            return Optional.empty();
+        }
+
+        String key = cacheKey(userImageHash, garmentImageHash, category);
+        Optional<FittingResultCacheEntry> entry = cacheRepository.findById(key);
+
+        if (entry.isEmpty()) {
+            missCounter.increment();
+            return Optional.empty();
+        }
+
+        FittingResultCacheEntry cached = entry.get();
+        if (cached.isExpired(LocalDateTime.now().minus(ttl))) {
+            if (cached.isSpeculative() && cached.getHitCount() == 0) {
+                speculativeMetrics.wasted(1);
+            }
+            cacheRepository.delete(cached);
+            missCounter.increment();
+            return Optional.empty();
+        }
+
+        if (cached.isSpeculative() && cached.getHitCount() == 0) {
+            speculativeMetrics.hit();
+        }
+        cached.recordHit();
+        hitCounter.increment();
+        log.info("피팅 결과 캐시 적중 - key: {}, hitCount: {}", key, cached.getHitCount());
+        return Optional.of(cached.getResultImageUrl());
+    }
+
+    /**
+     * 저장된 결과가 있는지 확인 (적중/미스로 집계하지 않음 - 예측 생성 대상 선별용)
+     */
+    @Transactional(readOnly = true)
+    public boolean contains(String userImageHash, String garmentImageUrl, String category) {
+        if (!enabled || userImageHash == null || garmentImageUrl == null) {
+            return false;
+        }
+        String garmentImageHash = garmentHash(garmentImageUrl);
+        return garmentImageHash != null
+                && cacheRepository.existsById(cacheKey(userImageHash, garmentImageHash, category));
+    }
+
+    /**
+     * 생성 결과 저장 (같은 키가 있으면 결과 갱신)
+     *
+     * @param garmentImageHash 생성에 쓴 의류 이미지의 내용 해시 (생성 중 상품 이미지가 바뀌어도 실제 입력 기준으로 저장)
+     * @param speculative 요청 없이 미리 생성한 결과면 true
+     */
+    @Transactional
+    public void store(String userImageHash, String garmentImageUrl, String garmentImageHash, String category,
+                      String resultImageUrl, boolean speculative) {
+        if (!enabled || userImageHash == null || garmentImageUrl == null || garmentImageHash == null) {
+            return;
+        }
+
+        String key = cacheKey(userImageHash, garmentImageHash, category);
+        FittingResultCacheEntry entry = FittingResultCacheEntry.builder()
+                .cacheKey(key)
+                .userImageHash(userImageHash)
+                .garmentImageUrl(garmentImageUrl)
+                .garmentImageHash(garmentImageHash)
+                .category(category)
+                .resultImageUrl(resultImageUrl)
+                .speculative(speculative)
+                .build();
+        cacheRepository.save(entry);
+        log.debug("피팅 결과 캐시 저장 - key: {}, resultUrl: {}", key, resultImageUrl);
+    }
+
+    /**
+     * 만료 엔트리 삭제 + 최대 엔트리 수 초과분 LRU 삭제
+     */
+    @Scheduled(fixedDelayString = "${fitting.cache.result.eviction-interval:PT10M}")
+    @Transactional
+    public void evict() {
+        if (!enabled) {
+            return;
+        }
+
+        LocalDateTime threshold = LocalDateTime.now().minus(ttl);
+        speculativeMetrics.wasted(cacheRepository.countUnusedSpeculativeBefore(threshold));
+        int expired = cacheRepository.deleteExpired(threshold);
+
+        long overflow = cacheRepository.count() - maxEntries;
+        long evicted = 0;
+        while (overflow > 0) {
+            int batch = (int) Math.min(overflow, EVICTION_BATCH_SIZE);
+            List<String> keys = cacheRepository.findLeastRecentlyUsedKeys(PageRequest.of(0, batch));
+            if (keys.isEmpty()) {
+                break;
+            }
+            speculativeMetrics.wasted(cacheRepository.countUnusedSpeculativeIn(keys));
+            cacheRepository.deleteAllByIdInBatch(keys);
+            evicted += keys.size();
+            overflow -= keys.size();
+        }
+
+        if (expired > 0 || evicted > 0) {
+            log.info("피팅 결과 캐시 정리 - 만료: {}, 용량 초과(LRU): {}", expired, evicted);
+        }
+    }
+}
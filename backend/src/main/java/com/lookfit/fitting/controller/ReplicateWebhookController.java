@@ -0,0 +1,36 @@
+package com.lookfit.fitting.controller;
+
+import com.lookfit.fitting.replicate.ReplicatePredictionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Replicate webhook 수신 컨트롤러 (인증 대신 서명 검증)
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/webhooks/replicate")
+@RequiredArgsConstructor
+public class ReplicateWebhookController {
+
+    private final ReplicatePredictionService predictionService;
+
+    /**
+     * prediction 완료 알림
+     *
+     * POST /api/v1/webhooks/replicate
+     * Headers: webhook-id, webhook-timestamp, webhook-signature
+     */
+    @PostMapping
+    public ResponseEntity<Void> receive(
+            @RequestHeader(value = "webhook-id", required = false) String webhookId,
+            @RequestHeader(value = "webhook-timestamp", required = false) String timestamp,
+            @RequestHeader(value = "webhook-signature", required = false) String signature,
+            @RequestBody String body
+    ) {
+        predictionService.handleWebhook(webhookId, timestamp, signature, body);
+        return ResponseEntity.ok().build();
+    }
+}
@@ -1,7 +1,11 @@
 package com.lookfit.fitting.controller;
 
+import com.lookfit.fitting.batch.FittingBatchCoordinator;
+import com.lookfit.fitting.domain.FittingStatus;
 import com.lookfit.fitting.dto.FittingDto;
 import com.lookfit.fitting.service.VirtualFittingService;
+import com.lookfit.fitting.stream.FittingAbandonmentMonitor;
+import com.lookfit.fitting.stream.FittingStatusStreamService;
 import com.lookfit.global.exception.BusinessException;
 import com.lookfit.global.exception.ErrorCode;
 import com.lookfit.global.security.JwtTokenProvider;
@@ -9,8 +13,12 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
 
 /**
  * 가상 피팅 API 컨트롤러
@@ -23,6 +31,9 @@ public class VirtualFittingController {
 
     private final VirtualFittingService fittingService;
     private final JwtTokenProvider jwtTokenProvider;
+    private final FittingStatusStreamService statusStreamService;
+    private final FittingBatchCoordinator batchCoordinator;
+    private final FittingAbandonmentMonitor abandonmentMonitor;
 
     /**
      * Priority A: 사용자 이미지 업로드
@@ -60,6 +71,170 @@ public class VirtualFittingController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * 전신 사진 저장 (같은 사진을 다시 올리면 기존 사진 반환)
+     *
+     * POST /api/v1/fitting/photos
+     * Content-Type: multipart/form-data
+     *
+     * @param image 업로드할 이미지 파일 (form-data)
+     * @param authorizationHeader JWT 토큰
+     * @return 저장된 사진 (duplicate: 기존 사진 재사용 여부)
+     */
+    @PostMapping(value = "/photos", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<FittingDto.BodyPhotoResponse> uploadBodyPhoto(
+            @RequestParam("image") MultipartFile image,
+            @RequestHeader("Authorization") String authorizationHeader
+    ) {
+        String memberId = extractMemberIdFromToken(authorizationHeader);
+        FittingDto.BodyPhotoResponse response = fittingService.uploadBodyPhoto(memberId, image);
+
+        log.info("전신 사진 저장 - photoId: {}, duplicate: {}", response.getPhotoId(), response.isDuplicate());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 저장된 전신 사진 목록 (최근 사용순)
+     *
+     * GET /api/v1/fitting/photos
+     *
+     * @param authorizationHeader JWT 토큰
+     * @return 사진 목록
+     */
+    @GetMapping("/photos")
+    public ResponseEntity<List<FittingDto.BodyPhotoResponse>> getBodyPhotos(
+            @RequestHeader("Authorization") String authorizationHeader
+    ) {
+        String memberId = extractMemberIdFromToken(authorizationHeader);
+        return ResponseEntity.ok(fittingService.getBodyPhotos(memberId));
+    }
+
+    /**
+     * 저장된 사진으로 AI 피팅 생성 요청 (업로드 + 생성 요청을 JSON 한 번으로)
+     *
+     * POST /api/v1/fitting/photos/{photoId}/generate
+     *
+     * @param photoId 저장된 사진 ID
+     * @param request 상품 ID + 카테고리
+     * @param authorizationHeader JWT 토큰
+     * @return 생성 응답
+     */
+    @PostMapping("/photos/{photoId}/generate")
+    public ResponseEntity<FittingDto.GenerateResponse> generateFromPhoto(
+            @PathVariable String photoId,
+            @RequestBody FittingDto.PhotoFittingRequest request,
+            @RequestHeader("Authorization") String authorizationHeader
+    ) {
+        String memberId = extractMemberIdFromToken(authorizationHeader);
+        log.info("저장된 사진으로 AI 피팅 생성 요청 - photoId: {}, productId: {}", photoId, request.getProductId());
+
+        FittingDto.GenerateResponse response = fittingService.generateFromPhoto(
+                memberId, photoId, request.getProductId(), request.getCategory());
+
+        log.info("AI 피팅 생성 요청 완료 - fittingId: {}", response.getFittingId());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 묶음 피팅: 사진 1장으로 여러 의류 생성 요청
+     * 사진은 한 번만 저장/정규화하고, 항목마다 입장 제어 한도 안에서 생성을 시작한다.
+     *
+     * POST /api/v1/fitting/batch
+     * Content-Type: multipart/form-data
+     *
+     * @param productIds 상품 ID 목록 (form-data, 반복 또는 콤마 구분)
+     * @param category 카테고리 (form-data): upper_body, lower_body, dresses
+     * @param image 업로드할 이미지 파일 (form-data)
+     * @param authorizationHeader JWT 토큰 (Authorization: Bearer {token})
+     * @return 묶음 응답 (항목별 상태, 결과는 /batch/{batchId}/events 스트림으로)
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<FittingDto.BatchResponse> createBatch(
+            @RequestParam("productIds") List<String> productIds,
+            @RequestParam("category") String category,
+            @RequestParam("image") MultipartFile image,
+            @RequestHeader("Authorization") String authorizationHeader
+    ) {
+        log.info("묶음 피팅 요청 - productIds: {}, category: {}", productIds, category);
+
+        String memberId = extractMemberIdFromToken(authorizationHeader);
+        FittingDto.BatchResponse response = batchCoordinator.submit(memberId, productIds, category, image);
+
+        log.info("묶음 피팅 접수 완료 - batchId: {}", response.getBatchId());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 묶음 피팅 상태 조회
+     *
+     * GET /api/v1/fitting/batch/{batchId}
+     *
+     * @param batchId 묶음 ID
+     * @param authorizationHeader JWT 토큰
+     * @return 항목별 상태
+     */
+    @GetMapping("/batch/{batchId}")
+    public ResponseEntity<FittingDto.BatchResponse> getBatch(
+            @PathVariable String batchId,
+            @RequestHeader("Authorization") String authorizationHeader
+    ) {
+        String memberId = extractMemberIdFromToken(authorizationHeader);
+        FittingDto.BatchResponse response = fittingService.getBatch(batchId, memberId);
+        response.getItems().forEach(this::watchIfProcessing);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 묶음 피팅 상태 스트림 (SSE) - 항목이 끝날 때마다 push, 모든 항목이 끝나면 종료
+     *
+     * GET /api/v1/fitting/batch/{batchId}/events
+     * Accept: text/event-stream
+     * (EventSource는 헤더를 지정할 수 없으므로 ?access_token={스트림 토큰}으로 인증 - POST /api/v1/fitting/stream-token)
+     *
+     * @param batchId 묶음 ID
+     * @param memberId 인증된 회원 ID (JwtAuthenticationFilter)
+     * @return SSE 스트림 (event: status, data: StatusResponse - fittingId/productId로 항목 구분)
+     */
+    @GetMapping(value = "/batch/{batchId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamBatchStatus(
+            @PathVariable String batchId,
+            @AuthenticationPrincipal String memberId
+    ) {
+        if (memberId == null) {
+            throw new BusinessException(ErrorCode.UNAUTHORIZED, "인증 토큰이 필요합니다.");
+        }
+        log.debug("묶음 피팅 상태 스트림 구독 요청 - batchId: {}, memberId: {}", batchId, memberId);
+
+        // 본인 묶음인지 먼저 확인한 뒤에만 이탈 감시 갱신/구독
+        List<FittingDto.StatusResponse> statuses = fittingService.getBatchStatuses(batchId, memberId);
+        statuses.forEach(this::watchIfProcessing);
+        List<String> fittingIds = statuses.stream()
+                .map(FittingDto.StatusResponse::getFittingId)
+                .toList();
+        return statusStreamService.subscribeBatch(fittingIds,
+                () -> fittingService.getBatchStatuses(batchId, memberId));
+    }
+
+    /**
+     * 상태 스트림(SSE) 연결용 단기 토큰 발급
+     * 스트림 경로의 ?access_token= 으로만 쓸 수 있고 연결 시점에만 검사한다 (URL에 액세스 토큰을 남기지 않기 위함)
+     *
+     * POST /api/v1/fitting/stream-token
+     *
+     * @param authorizationHeader JWT 토큰
+     * @return 스트림 토큰 (만료 후 재연결은 새 토큰으로)
+     */
+    @PostMapping("/stream-token")
+    public ResponseEntity<FittingDto.StreamTokenResponse> issueStreamToken(
+            @RequestHeader("Authorization") String authorizationHeader
+    ) {
+        String memberId = extractMemberIdFromToken(authorizationHeader);
+        return ResponseEntity.ok(FittingDto.StreamTokenResponse.builder()
+                .token(jwtTokenProvider.createStreamToken(memberId))
+                .expiresIn(jwtTokenProvider.getStreamTokenValidTime().toSeconds())
+                .build());
+    }
+
     /**
      * JWT 토큰에서 memberId 추출
      * 테스트용 고정 토큰 지원
@@ -115,41 +290,118 @@ public class VirtualFittingController {
      * GET /api/v1/fitting/{fittingId}
      *
      * @param fittingId 피팅 ID
+     * @param authorizationHeader JWT 토큰
      * @return 상태 응답
      */
     @GetMapping("/{fittingId}")
     public ResponseEntity<FittingDto.StatusResponse> getFittingStatus(
-            @PathVariable String fittingId
+            @PathVariable String fittingId,
+            @RequestHeader("Authorization") String authorizationHeader
+    ) {
+        String memberId = extractMemberIdFromToken(authorizationHeader);
+        log.debug("피팅 상태 조회 - fittingId: {}, memberId: {}", fittingId, memberId);
+
+        // 본인 피팅인지 먼저 확인한 뒤에만 이탈 감시 갱신
+        FittingDto.StatusResponse response = fittingService.getFittingStatus(fittingId, memberId);
+        watchIfProcessing(response);
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Priority B: 피팅 상태 스트림 (SSE, 폴링 대체)
+     * 구독 즉시 현재 상태를 보내고, 이후 상태가 바뀔 때마다 push한다. 완료/실패 시 스트림 종료.
+     *
+     * GET /api/v1/fitting/{fittingId}/events
+     * Accept: text/event-stream
+     * (EventSource는 헤더를 지정할 수 없으므로 ?access_token={스트림 토큰}으로 인증 - POST /api/v1/fitting/stream-token)
+     *
+     * @param fittingId 피팅 ID
+     * @param lastEventId 재연결 시 마지막으로 받은 이벤트 ID (브라우저가 자동 전송)
+     * @param memberId 인증된 회원 ID (JwtAuthenticationFilter)
+     * @return SSE 스트림 (event: status, data: StatusResponse)
+     */
+    @GetMapping(value = "/{fittingId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamFittingStatus(
+            @PathVariable String fittingId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @AuthenticationPrincipal String memberId
     ) {
-        log.debug("피팅 상태 조회 - fittingId: {}", fittingId);
+        if (memberId == null) {
+            throw new BusinessException(ErrorCode.UNAUTHORIZED, "인증 토큰이 필요합니다.");
+        }
+        log.debug("피팅 상태 스트림 구독 요청 - fittingId: {}, memberId: {}, lastEventId: {}",
+                fittingId, memberId, lastEventId);
+
+        // 본인 피팅인지 먼저 확인한 뒤에만 구독/이탈 감시 갱신
+        fittingService.getFittingStatus(fittingId, memberId);
+        return statusStreamService.subscribe(fittingId, lastEventId, () -> {
+            FittingDto.StatusResponse snapshot = fittingService.getFittingStatus(fittingId, memberId);
+            watchIfProcessing(snapshot);
+            return snapshot;
+        });
+    }
+
+    /**
+     * 처리 중(PROCESSING)인 피팅만 화면 이탈 감시 대상에 올림
+     * 생성 요청 전(PENDING) 피팅은 자원을 쓰지 않으므로 감시하지 않는다.
+     */
+    private void watchIfProcessing(FittingDto.StatusResponse status) {
+        if (FittingStatus.PROCESSING.name().equals(status.getStatus())) {
+            abandonmentMonitor.touch(status.getFittingId());
+        }
+    }
+
+    /**
+     * 피팅 취소 - 대기 중이면 대기열에서 빼고, 생성 중이면 AI 호출을 중단한다
+     * 상태 조회/스트림 연결이 일정 시간 끊겨도 자동으로 취소된다 (FittingAbandonmentMonitor)
+     *
+     * POST /api/v1/fitting/{fittingId}/cancel
+     *
+     * @param fittingId 피팅 ID
+     * @param authorizationHeader JWT 토큰
+     * @return 취소 후 상태 (이미 끝난 피팅이면 현재 상태)
+     */
+    @PostMapping("/{fittingId}/cancel")
+    public ResponseEntity<FittingDto.StatusResponse> cancelFitting(
+            @PathVariable String fittingId,
+            @RequestHeader("Authorization") String authorizationHeader
+    ) {
+        String memberId = extractMemberIdFromToken(authorizationHeader);
+        log.info("피팅 취소 요청 - fittingId: {}, memberId: {}", fittingId, memberId);
 
-        FittingDto.StatusResponse response = fittingService.getFittingStatus(fittingId);
+        FittingDto.StatusResponse response = fittingService.cancelFitting(fittingId, memberId);
 
+        log.info("피팅 취소 처리 완료 - fittingId: {}, status: {}", fittingId, response.getStatus());
         return ResponseEntity.ok(response);
     }
 
     /**
-     * Priority C: 피팅 기록 조회
+     * Priority C: 피팅 기록 조회 (커서 기반)
      *
-     * GET /api/v1/fitting/history?page=0&size=10
+     * GET /api/v1/fitting/history?size=10
+     * GET /api/v1/fitting/history?cursor={nextCursor}&size=10
      *
-     * @param page 페이지 번호 (기본값: 0)
+     * @param cursor 이전 응답의 nextCursor (첫 페이지면 생략)
      * @param size 페이지 크기 (기본값: 10)
+     * @param includeTotal 전체 기록 수 포함 여부 (기본값: false - 필요할 때만 COUNT)
      * @param authorizationHeader JWT 토큰
      * @return 피팅 기록 목록
      */
     @GetMapping("/history")
     public ResponseEntity<FittingDto.HistoryResponse> getFittingHistory(
-            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
             @RequestHeader("Authorization") String authorizationHeader
     ) {
         String memberId = extractMemberIdFromToken(authorizationHeader);
-        log.debug("피팅 기록 조회 - memberId: {}, page: {}, size: {}", memberId, page, size);
+        log.debug("피팅 기록 조회 - memberId: {}, cursor: {}, size: {}", memberId, cursor, size);
 
-        FittingDto.HistoryResponse response = fittingService.getFittingHistory(memberId, page, size);
+        FittingDto.HistoryResponse response = fittingService.getFittingHistory(memberId, cursor, size, includeTotal);
 
-        log.debug("피팅 기록 조회 완료 - memberId: {}, totalCount: {}", memberId, response.getTotalCount());
+        log.debug("피팅 기록 조회 완료 - memberId: {}, count: {}, hasNext: {}",
+                memberId, response.getFittings().size(), response.isHasNext());
         return ResponseEntity.ok(response);
     }
 
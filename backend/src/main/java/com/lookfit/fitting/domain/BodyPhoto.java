@@ -0,0 +1,68 @@
+package com.lookfit.fitting.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 회원 전신 사진 (가상 피팅 입력 재사용)
+ * 같은 회원이 같은 사진을 다시 올리면 정규화 결과의 해시로 기존 사진을 돌려준다
+ */
+@Entity
+@Table(name = "body_photo",
+        uniqueConstraints = @UniqueConstraint(name = "uk_body_photo_member_hash", columnNames = {"memberid", "content_hash"}),
+        indexes = {
+                @Index(name = "idx_body_photo_member_used", columnList = "memberid, last_used_at"),
+                @Index(name = "idx_body_photo_last_used", columnList = "last_used_at, photo_id"),  // 보존 기간 만료 키셋 스캔
+                @Index(name = "idx_body_photo_image", columnList = "image_url")  // 미디어 GC 교차 확인
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BodyPhoto {
+
+    /**
+     * 미디어 저장소 참조 도메인 구분 (file_resource.domain_type)
+     */
+    public static final String MEDIA_OWNER = "body_photo";
+
+    @Id
+    @Column(name = "photo_id", length = 36)
+    private String photoId;
+
+    @Column(name = "memberid", nullable = false, length = 50)
+    private String memberId;
+
+    @Column(name = "image_url", nullable = false, length = 500)
+    private String imageUrl;
+
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;  // 정규화 후 저장된 파일의 SHA-256 (결과 캐시 키와 동일)
+
+    @Column(name = "width")
+    private int width;
+
+    @Column(name = "height")
+    private int height;
+
+    @Column(name = "size_bytes")
+    private long sizeBytes;
+
+    @Column(name = "created_at", nullable = false)
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(name = "last_used_at", nullable = false)
+    @Builder.Default
+    private LocalDateTime lastUsedAt = LocalDateTime.now();
+
+    /**
+     * 사용 시각 갱신 (목록 정렬용)
+     */
+    public void touch() {
+        this.lastUsedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,57 @@
+package com.lookfit.fitting.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * DB 작업 큐 항목 (fitting.queue.mode=database)
+ * - PROCESSING 피팅 하나당 한 행, 결과가 피팅에 반영되면 삭제한다
+ * - 노드가 가져가면 lease_owner/lease_expires_at을 채우고 하트비트로 연장한다
+ * - 임대가 만료된 행(노드 종료, 멈춤)은 다른 노드가 다시 가져간다 (attempts 증가)
+ */
+@Entity
+@Table(name = "fitting_queue", indexes = {
+        @Index(name = "idx_fq_available", columnList = "available_at"),
+        @Index(name = "idx_fq_lease_owner", columnList = "lease_owner")
+})
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FittingQueueEntry {
+
+    @Id
+    @Column(name = "fitting_id", length = 36)
+    private String fittingId;
+
+    @Column(name = "member_id", nullable = false, length = 50)
+    private String memberId;
+
+    @Column(name = "attempts", nullable = false)
+    @Builder.Default
+    private int attempts = 0;  // 가져간 횟수 (임대 만료 후 재시도 포함)
+
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;
+
+    @Column(name = "lease_owner", length = 64)
+    private String leaseOwner;
+
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
+    @Column(name = "created_at", nullable = false)
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    /**
+     * 노드가 가져감 (임대 시작)
+     */
+    public void lease(String owner, LocalDateTime expiresAt) {
+        this.leaseOwner = owner;
+        this.leaseExpiresAt = expiresAt;
+        this.attempts++;
+    }
+}
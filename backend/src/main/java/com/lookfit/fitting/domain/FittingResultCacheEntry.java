@@ -0,0 +1,75 @@
+package com.lookfit.fitting.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 가상 피팅 결과 캐시 엔트리
+ * 키: SHA-256(사용자 이미지 해시 | 의류 이미지 내용 해시 | 카테고리)
+ * 예측 생성(찜/장바구니 상품 미리 입혀보기)으로 만든 결과는 speculative로 표시해 적중률/낭비를 잰다
+ */
+@Entity
+@Table(name = "fitting_result_cache", indexes = {
+        @Index(name = "idx_frc_last_accessed", columnList = "last_accessed_at"),
+        @Index(name = "idx_frc_created", columnList = "created_at"),
+        @Index(name = "idx_frc_result_image", columnList = "result_image_url")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FittingResultCacheEntry {
+
+    @Id
+    @Column(name = "cache_key", length = 64)
+    private String cacheKey;
+
+    @Column(name = "user_image_hash", nullable = false, length = 64)
+    private String userImageHash;
+
+    @Column(name = "garment_image_url", nullable = false, length = 500)
+    private String garmentImageUrl;
+
+    @Column(name = "garment_image_hash", length = 64)
+    private String garmentImageHash;  // URL 기준 키로 저장된 이전 엔트리는 null (TTL로 정리)
+
+    @Column(name = "category", nullable = false, length = 20)
+    private String category;
+
+    @Column(name = "result_image_url", nullable = false, length = 500)
+    private String resultImageUrl;
+
+    @Column(name = "speculative", nullable = false)
+    @Builder.Default
+    private boolean speculative = false;  // 요청 없이 미리 생성한 결과 (실제 요청이 쓰기 전까지)
+
+    @Column(name = "hit_count", nullable = false)
+    @Builder.Default
+    private long hitCount = 0L;
+
+    @Column(name = "created_at", nullable = false)
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(name = "last_accessed_at", nullable = false)
+    @Builder.Default
+    private LocalDateTime lastAccessedAt = LocalDateTime.now();
+
+    /**
+     * 캐시 적중 기록
+     */
+    public void recordHit() {
+        this.hitCount++;
+        this.lastAccessedAt = LocalDateTime.now();
+    }
+
+    /**
+     * TTL 만료 여부
+     */
+    public boolean isExpired(LocalDateTime expiryThreshold) {
+        return createdAt.isBefore(expiryThreshold);
+    }
+}
@@ -13,11 +13,19 @@ public enum FittingStatus {
     PENDING("대기 중", "사용자 이미지 업로드 완료, AI 생성 대기"),
     PROCESSING("처리 중", "Replicate API 호출 중, AI 이미지 생성 중"),
     COMPLETED("완료", "AI 피팅 이미지 생성 완료"),
-    FAILED("실패", "AI 생성 실패 또는 에러 발생");
+    FAILED("실패", "AI 생성 실패 또는 에러 발생"),
+    CANCELLED("취소", "사용자 취소 또는 화면 이탈로 AI 생성 중단");
 
     private final String displayName;
     private final String description;
 
+    /**
+     * 더 이상 상태가 바뀌지 않는 최종 상태인지
+     */
+    public boolean isTerminal() {
+        return this == COMPLETED || this == FAILED || this == CANCELLED;
+    }
+
     /**
      * String을 FittingStatus로 변환
      */
@@ -0,0 +1,46 @@
+package com.lookfit.fitting.domain;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 단계별 소요 시간 Map ↔ JSON 문자열 ({"upload":120,"queue":3400,...})
+ */
+@Converter
+public class StageTimingsConverter implements AttributeConverter<Map<String, Long>, String> {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final TypeReference<LinkedHashMap<String, Long>> TYPE = new TypeReference<>() {
+    };
+
+    @Override
+    public String convertToDatabaseColumn(Map<String, Long> timings) {
+        if (timings == null || timings.isEmpty()) {
+            return null;
+        }
+        try {
+            return OBJECT_MAPPER.writeValueAsString(timings);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("단계별 소요 시간 변환 실패", e);
+        }
+    }
+
+    @Override
+    public Map<String, Long> convertToEntityAttribute(String json) {
+        if (json == null || json.isBlank()) {
+            return null;
+        }
+        try {
+            return OBJECT_MAPPER.readValue(json, TYPE);
+        } catch (JsonProcessingException e) {
+            // 기록용 컬럼이므로 읽지 못해도 피팅 조회는 실패시키지 않는다
+            return null;
+        }
+    }
+}
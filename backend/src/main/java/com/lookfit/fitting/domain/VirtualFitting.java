@@ -4,12 +4,24 @@ import jakarta.persistence.*;
 import lombok.*;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * AI 가상 피팅 엔티티
  */
 @Entity
-@Table(name = "virtual_fitting")
+@Table(name = "virtual_fitting", indexes = {
+        // 상태별 생성 순서 스캔 (중단 작업 복구) - InnoDB 보조 인덱스에 PK(fitting_id)가 붙어 키셋 정렬까지 인덱스로 처리
+        @Index(name = "idx_vf_status_created", columnList = "status, created_at"),
+        @Index(name = "idx_vf_batch", columnList = "batch_id"),
+        // 회원별 기록 키셋 조회 - (created_at, fitting_id) 커서 이후 범위만 읽고 정렬 없이 LIMIT에서 멈춘다
+        @Index(name = "idx_vf_member_created", columnList = "memberid, created_at, fitting_id"),
+        // 미디어 GC 교차 확인 (URL로 참조 여부), 사진 보존 기간 만료 시 연결 해제
+        @Index(name = "idx_vf_user_image", columnList = "user_image_url"),
+        @Index(name = "idx_vf_result_image", columnList = "result_image_url"),
+        @Index(name = "idx_vf_body_photo", columnList = "body_photo_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -17,6 +29,11 @@ import java.time.LocalDateTime;
 @Builder
 public class VirtualFitting {
 
+    /**
+     * 결과 이미지의 미디어 저장소 참조 도메인 구분 (file_resource.domain_type)
+     */
+    public static final String MEDIA_OWNER = "fitting_result";
+
     @Id
     @Column(name = "fitting_id", length = 36)
     private String fittingId;
@@ -27,9 +44,15 @@ public class VirtualFitting {
     @Column(name = "pID", nullable = false, length = 30)
     private String productId;
 
+    @Column(name = "body_photo_id", length = 36)
+    private String bodyPhotoId;  // 입력 사진 (BodyPhoto, 이전 데이터는 null)
+
     @Column(name = "user_image_url", length = 500)
     private String userImageUrl;
 
+    @Column(name = "user_image_hash", length = 64)
+    private String userImageHash;  // 사용자 이미지 SHA-256 (결과 캐시 키)
+
     @Column(name = "result_image_url", length = 500)
     private String resultImageUrl;
 
@@ -41,9 +64,23 @@ public class VirtualFitting {
     @Column(name = "category", length = 20)
     private String category;
 
+    @Column(name = "provider", length = 30)
+    private String provider;  // 결과를 만든 AI 제공자 (hf-gradio, hf-api, replicate, cache)
+
     @Column(name = "replicate_prediction_id", length = 100)
     private String replicatePredictionId;
 
+    @Column(name = "batch_id", length = 36)
+    private String batchId;  // 한 사진으로 여러 의류를 입어본 묶음 요청 ID (단건 요청이면 null)
+
+    @Column(name = "retry_count", nullable = false)
+    @Builder.Default
+    private int retryCount = 0;  // 서버 중단 후 재등록 횟수
+
+    @Convert(converter = StageTimingsConverter.class)
+    @Column(name = "stage_timings", length = 500)
+    private Map<String, Long> stageTimings;  // 단계별 소요 시간 (ms, FittingStage 키) - 회귀 추적용
+
     @Column(name = "error_message", columnDefinition = "TEXT")
     private String errorMessage;
 
@@ -58,7 +95,15 @@ public class VirtualFitting {
      * 피팅 완료 처리
      */
     public void complete(String resultImageUrl) {
+        complete(resultImageUrl, null);
+    }
+
+    /**
+     * 피팅 완료 처리 (처리한 AI 제공자 기록)
+     */
+    public void complete(String resultImageUrl, String provider) {
         this.status = FittingStatus.COMPLETED;
+        this.provider = provider;
         this.resultImageUrl = resultImageUrl;
         this.completedAt = LocalDateTime.now();
     }
@@ -72,6 +117,39 @@ public class VirtualFitting {
         this.completedAt = LocalDateTime.now();
     }
 
+    /**
+     * 피팅 취소 처리 (대기/생성 중단)
+     */
+    public void cancel(String reason) {
+        this.status = FittingStatus.CANCELLED;
+        this.errorMessage = reason;
+        this.completedAt = LocalDateTime.now();
+    }
+
+    /**
+     * 단계별 소요 시간 기록 (같은 단계는 새 값으로 교체, 변경 감지를 위해 새 Map으로 교체)
+     */
+    public void recordStageTimings(Map<String, Long> timings) {
+        this.stageTimings = mergeStageTimings(timings);
+    }
+
+    /**
+     * 기록된 단계별 소요 시간에 새 값을 합친 사본 (엔티티는 바꾸지 않음 - 조건부 갱신 쿼리용)
+     */
+    public Map<String, Long> mergeStageTimings(Map<String, Long> timings) {
+        Map<String, Long> merged = stageTimings == null ? new LinkedHashMap<>() : new LinkedHashMap<>(stageTimings);
+        merged.putAll(timings);
+        return merged;
+    }
+
+    /**
+     * 외부 prediction 연결 (webhook/상태 조회로 결과를 찾기 위함)
+     */
+    public void assignPrediction(String replicatePredictionId, String provider) {
+        this.replicatePredictionId = replicatePredictionId;
+        this.provider = provider;
+    }
+
     /**
      * 피팅 처리 시작
      */
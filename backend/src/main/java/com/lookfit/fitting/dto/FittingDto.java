@@ -1,12 +1,16 @@
 package com.lookfit.fitting.dto;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.lookfit.fitting.domain.BodyPhoto;
 import com.lookfit.fitting.domain.FittingStatus;
 import com.lookfit.fitting.domain.VirtualFitting;
+import com.lookfit.fitting.job.FittingJobProgress;
+import com.lookfit.fitting.repository.FittingHistoryRow;
 import lombok.*;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 가상 피팅 DTO
@@ -28,6 +32,19 @@ public class FittingDto {
         private String category;  // upper_body, lower_body, dresses
     }
 
+    /**
+     * 상태 스트림(SSE) 연결용 단기 토큰 응답
+     */
+    @Getter
+    @Builder
+    public static class StreamTokenResponse {
+        @JsonProperty("token")
+        private String token;
+
+        @JsonProperty("expiresIn")
+        private long expiresIn;  // 초
+    }
+
     /**
      * 업로드 응답
      */
@@ -40,6 +57,9 @@ public class FittingDto {
         @JsonProperty("userImageUrl")
         private String userImageUrl;
 
+        @JsonProperty("photoId")
+        private String photoId;  // 다음 피팅부터는 사진 대신 이 ID로 요청
+
         @JsonProperty("status")
         private String status;
 
@@ -50,12 +70,92 @@ public class FittingDto {
             return UploadResponse.builder()
                     .fittingId(fitting.getFittingId())
                     .userImageUrl(fitting.getUserImageUrl())
+                    .photoId(fitting.getBodyPhotoId())
                     .status(fitting.getStatus().name())
                     .message("사용자 이미지 업로드 완료. AI 생성 요청 대기 중")
                     .build();
         }
     }
 
+    /**
+     * 저장된 사진으로 피팅 요청
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PhotoFittingRequest {
+        @JsonProperty("productId")
+        private String productId;
+
+        @JsonProperty("category")
+        private String category;  // upper_body, lower_body, dresses
+    }
+
+    /**
+     * 저장된 전신 사진 응답
+     */
+    @Getter
+    @Builder
+    public static class BodyPhotoResponse {
+        @JsonProperty("photoId")
+        private String photoId;
+
+        @JsonProperty("imageUrl")
+        private String imageUrl;
+
+        @JsonProperty("width")
+        private int width;
+
+        @JsonProperty("height")
+        private int height;
+
+        @JsonProperty("duplicate")
+        private boolean duplicate;  // 이미 저장된 사진이라 새로 저장하지 않았으면 true
+
+        @JsonProperty("createdAt")
+        private LocalDateTime createdAt;
+
+        @JsonProperty("lastUsedAt")
+        private LocalDateTime lastUsedAt;
+
+        public static BodyPhotoResponse from(BodyPhoto photo, boolean duplicate) {
+            return BodyPhotoResponse.builder()
+                    .photoId(photo.getPhotoId())
+                    .imageUrl(photo.getImageUrl())
+                    .width(photo.getWidth())
+                    .height(photo.getHeight())
+                    .duplicate(duplicate)
+                    .createdAt(photo.getCreatedAt())
+                    .lastUsedAt(photo.getLastUsedAt())
+                    .build();
+        }
+    }
+
+    /**
+     * 묶음 피팅 응답 (사진 1장 + 의류 N개)
+     */
+    @Getter
+    @Builder
+    public static class BatchResponse {
+        @JsonProperty("batchId")
+        private String batchId;
+
+        @JsonProperty("userImageUrl")
+        private String userImageUrl;
+
+        @JsonProperty("items")
+        private List<StatusResponse> items;
+
+        public static BatchResponse from(String batchId, List<VirtualFitting> fittings) {
+            return BatchResponse.builder()
+                    .batchId(batchId)
+                    .userImageUrl(fittings.isEmpty() ? null : fittings.get(0).getUserImageUrl())
+                    .items(fittings.stream().map(StatusResponse::from).toList())
+                    .build();
+        }
+    }
+
     /**
      * AI 생성 요청
      */
@@ -90,12 +190,22 @@ public class FittingDto {
         private String message;
 
         public static GenerateResponse from(VirtualFitting fitting) {
+            // 결과 캐시 적중 시 요청 즉시 완료
+            if (fitting.getStatus() == FittingStatus.COMPLETED) {
+                return GenerateResponse.builder()
+                        .fittingId(fitting.getFittingId())
+                        .status(fitting.getStatus().name())
+                        .estimatedTime("0초")
+                        .message("이전에 생성한 결과가 있어 바로 완료되었습니다.")
+                        .build();
+            }
+
             return GenerateResponse.builder()
                     .fittingId(fitting.getFittingId())
                     .status(fitting.getStatus().name())
                     .replicatePredictionId(fitting.getReplicatePredictionId())
                     .estimatedTime("10-30초")
-                    .message("AI 이미지 생성 중입니다. 잠시 후 결과를 확인해주세요.")
+                    .message("AI 이미지 생성 요청이 접수되었습니다. 잠시 후 결과를 확인해주세요.")
                     .build();
         }
     }
@@ -133,6 +243,18 @@ public class FittingDto {
         @JsonProperty("errorMessage")
         private String errorMessage;
 
+        @JsonProperty("provider")
+        private String provider;
+
+        @JsonProperty("batchId")
+        private String batchId;
+
+        @JsonProperty("photoId")
+        private String photoId;
+
+        @JsonProperty("stageTimings")
+        private Map<String, Long> stageTimings;  // 단계별 소요 시간 (ms)
+
         @JsonProperty("createdAt")
         private LocalDateTime createdAt;
 
@@ -150,6 +272,10 @@ public class FittingDto {
                     .statusDisplay(fitting.getStatus().getDisplayName())
                     .category(fitting.getCategory())
                     .errorMessage(fitting.getErrorMessage())
+                    .provider(fitting.getProvider())
+                    .batchId(fitting.getBatchId())
+                    .photoId(fitting.getBodyPhotoId())
+                    .stageTimings(fitting.getStageTimings())
                     .createdAt(fitting.getCreatedAt())
                     .completedAt(fitting.getCompletedAt())
                     .build();
@@ -157,25 +283,73 @@ public class FittingDto {
     }
 
     /**
-     * 피팅 기록 목록 응답
+     * 피팅 기록 목록 항목 (목록 컬럼만 - 오류 메시지, 단계별 시간은 상세 조회)
+     */
+    @Getter
+    @Builder
+    public static class HistoryItem {
+        @JsonProperty("fittingId")
+        private String fittingId;
+
+        @JsonProperty("productId")
+        private String productId;
+
+        @JsonProperty("userImageUrl")
+        private String userImageUrl;
+
+        @JsonProperty("resultImageUrl")
+        private String resultImageUrl;
+
+        @JsonProperty("status")
+        private String status;
+
+        @JsonProperty("statusDisplay")
+        private String statusDisplay;
+
+        @JsonProperty("category")
+        private String category;
+
+        @JsonProperty("createdAt")
+        private LocalDateTime createdAt;
+
+        @JsonProperty("completedAt")
+        private LocalDateTime completedAt;
+
+        public static HistoryItem from(FittingHistoryRow row) {
+            return HistoryItem.builder()
+                    .fittingId(row.fittingId())
+                    .productId(row.productId())
+                    .userImageUrl(row.userImageUrl())
+                    .resultImageUrl(row.resultImageUrl())
+                    .status(row.status().name())
+                    .statusDisplay(row.status().getDisplayName())
+                    .category(row.category())
+                    .createdAt(row.createdAt())
+                    .completedAt(row.completedAt())
+                    .build();
+        }
+    }
+
+    /**
+     * 피팅 기록 목록 응답 (키셋 페이지)
      */
     @Getter
     @Builder
     public static class HistoryResponse {
         @JsonProperty("fittings")
-        private List<DetailResponse> fittings;
+        private List<HistoryItem> fittings;
 
-        @JsonProperty("totalCount")
-        private long totalCount;
+        @JsonProperty("nextCursor")
+        private String nextCursor;  // 다음 페이지 요청에 그대로 전달 (마지막 페이지면 null)
 
-        @JsonProperty("page")
-        private int page;
+        @JsonProperty("hasNext")
+        private boolean hasNext;
 
         @JsonProperty("pageSize")
         private int pageSize;
 
-        @JsonProperty("totalPages")
-        private int totalPages;
+        @JsonProperty("totalCount")
+        private Long totalCount;  // includeTotal=true로 요청했을 때만 (아니면 null)
     }
 
     /**
@@ -187,6 +361,9 @@ public class FittingDto {
         @JsonProperty("fittingId")
         private String fittingId;
 
+        @JsonProperty("productId")
+        private String productId;  // 묶음 스트림에서 항목 구분용
+
         @JsonProperty("status")
         private String status;
 
@@ -199,16 +376,55 @@ public class FittingDto {
         @JsonProperty("isCompleted")
         private boolean isCompleted;
 
+        @JsonProperty("provider")
+        private String provider;  // 결과를 만든 AI 제공자 (완료 시)
+
+        @JsonProperty("stage")
+        private String stage;  // QUEUED, RUNNING (처리 중일 때만)
+
+        @JsonProperty("queuePosition")
+        private Integer queuePosition;
+
+        @JsonProperty("elapsedSeconds")
+        private Long elapsedSeconds;
+
+        @JsonProperty("estimatedWaitSeconds")
+        private Long estimatedWaitSeconds;  // 실행 시작까지 예상 대기 시간 (대기 중일 때만)
+
         public static StatusResponse from(VirtualFitting fitting) {
-            boolean completed = fitting.getStatus() == FittingStatus.COMPLETED ||
-                               fitting.getStatus() == FittingStatus.FAILED;
+            return from(fitting, null);
+        }
+
+        public static StatusResponse from(VirtualFitting fitting, FittingJobProgress progress) {
+            boolean completed = fitting.getStatus().isTerminal();
 
             return StatusResponse.builder()
                     .fittingId(fitting.getFittingId())
+                    .productId(fitting.getProductId())
                     .status(fitting.getStatus().name())
                     .resultImageUrl(fitting.getResultImageUrl())
                     .errorMessage(fitting.getErrorMessage())
                     .isCompleted(completed)
+                    .provider(fitting.getProvider())
+                    .stage(progress != null ? progress.stage().name() : null)
+                    .queuePosition(progress != null ? progress.queuePosition() : null)
+                    .elapsedSeconds(progress != null ? progress.elapsedSeconds() : null)
+                    .estimatedWaitSeconds(progress != null ? progress.estimatedWaitSeconds() : null)
+                    .build();
+        }
+
+        /**
+         * 처리 중 진행 상황만 바뀐 경우 (엔티티 조회 없이 생성)
+         */
+        public static StatusResponse processing(String fittingId, FittingJobProgress progress) {
+            return StatusResponse.builder()
+                    .fittingId(fittingId)
+                    .status(FittingStatus.PROCESSING.name())
+                    .isCompleted(false)
+                    .stage(progress.stage().name())
+                    .queuePosition(progress.queuePosition())
+                    .elapsedSeconds(progress.elapsedSeconds())
+                    .estimatedWaitSeconds(progress.estimatedWaitSeconds())
                     .build();
         }
     }
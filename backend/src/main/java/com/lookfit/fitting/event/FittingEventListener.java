@@ -0,0 +1,30 @@
+package com.lookfit.fitting.event;
+
+import com.lookfit.fitting.job.FittingJobService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Fitting 도메인 이벤트 리스너
+ * PROCESSING 상태가 커밋된 뒤에만 작업을 큐에 넣어 워커가 항상 최신 상태를 읽도록 한다
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FittingEventListener {
+
+    private final FittingJobService fittingJobService;
+
+    /**
+     * 피팅 생성 요청 시 작업 큐 등록
+     * 트랜잭션 커밋 후 요청 스레드에서 즉시 실행 (큐 등록만 하므로 블로킹 없음)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleFittingRequested(FittingEvents.FittingRequestedEvent event) {
+        log.info("Handling FittingRequestedEvent: {}", event.getFittingId());
+        fittingJobService.submit(event.getFittingId());
+    }
+}
@@ -0,0 +1,32 @@
+package com.lookfit.fitting.event;
+
+import com.lookfit.fitting.dto.FittingDto;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Fitting 도메인 이벤트 정의
+ */
+public class FittingEvents {
+
+    /**
+     * AI 피팅 생성 요청 이벤트
+     * 트랜잭션 커밋 후 작업 큐에 등록된다
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class FittingRequestedEvent {
+        private final String fittingId;
+    }
+
+    /**
+     * 피팅 상태 변경 이벤트 (SSE 구독자에게 전달)
+     * 변경 시점의 상태 스냅샷을 담아 구독자 전파 시 DB를 다시 조회하지 않는다
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class FittingStatusChangedEvent {
+        private final String fittingId;
+        private final FittingDto.StatusResponse status;
+    }
+}
@@ -0,0 +1,225 @@
+package com.lookfit.fitting.job;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 회원별 공정 대기열 (가중 Deficit Round Robin, 작업 비용은 1로 동일)
+ * - 회원(flow)마다 FIFO 대기열을 두고, 대기 중인 회원을 돌아가며 차례마다 가중치만큼 꺼낸다
+ * - 한 회원이 작업을 많이 쌓아도 다른 회원은 한 바퀴 안에 차례가 온다
+ * - 가중치는 우선순위 등급 (예: 최근 주문 회원 3, 일반 1 → 둘 다 밀려 있으면 3:1로 처리)
+ * - 대기 순번은 현재 상태에서 꺼내는 순서를 그대로 재현해 계산한다 (FIFO 순번과 다름)
+ *
+ * 모든 작업 비용이 1이므로 회원의 차례가 오면 적어도 1건은 처리되고, 대기 작업이 있는 한 쉬지 않는다.
+ */
+final class FairJobQueue<T> {
+
+    private final int capacity;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+
+    private final Map<String, Flow<T>> flows = new HashMap<>();
+    private final ArrayDeque<Flow<T>> round = new ArrayDeque<>();
+    private int size;
+
+    FairJobQueue(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * 작업 추가
+     *
+     * @param flowKey 공정 분배 단위 (회원 ID)
+     * @param weight 차례마다 꺼낼 수 있는 작업 수 (1 이상)
+     * @return 대기열이 가득 찼으면 false
+     */
+    boolean offer(String flowKey, int weight, T item) {
+        lock.lock();
+        try {
+            if (size >= capacity) {
+                return false;
+            }
+            Flow<T> flow = flows.get(flowKey);
+            if (flow == null) {
+                flow = new Flow<>(flowKey);
+                flows.put(flowKey, flow);
+                round.addLast(flow);
+            }
+            flow.weight = Math.max(1, weight);
+            flow.items.addLast(item);
+            size++;
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 다음 차례 작업 (비어 있으면 대기)
+     */
+    T take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (size == 0) {
+                notEmpty.await();
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 다음 차례 작업 (비어 있으면 null)
+     */
+    T poll() {
+        lock.lock();
+        try {
+            return size == 0 ? null : dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 대기 중인 작업 제거 (취소 등)
+     *
+     * @return 대기열에 있었으면 true
+     */
+    boolean remove(T item) {
+        lock.lock();
+        try {
+            for (Flow<T> flow : round) {
+                if (flow.items.remove(item)) {
+                    size--;
+                    if (flow.items.isEmpty()) {
+                        retire(flow);
+                    }
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 대기 순번 (1부터) - 현재 상태 사본에서 꺼내는 순서를 재현
+     *
+     * @return 대기열에 없으면 0
+     */
+    int positionOf(T item) {
+        FairJobQueue<T> simulation;
+        lock.lock();
+        try {
+            simulation = copy();
+        } finally {
+            lock.unlock();
+        }
+
+        int position = 1;
+        for (T next = simulation.poll(); next != null; next = simulation.poll()) {
+            if (next.equals(item)) {
+                return position;
+            }
+            position++;
+        }
+        return 0;
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int remainingCapacity() {
+        lock.lock();
+        try {
+            return capacity - size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 대기 작업이 있는 회원 수
+     */
+    int flowCount() {
+        lock.lock();
+        try {
+            return round.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 맨 앞 회원이 이번 차례에 처음 선택되면 가중치만큼 적립하고 1건씩 차감,
+     * 적립분을 다 쓰면 맨 뒤로 보내고 대기 작업이 없으면 목록에서 뺀다
+     */
+    private T dequeue() {
+        Flow<T> flow = round.peekFirst();
+        if (!flow.credited) {
+            flow.deficit += flow.weight;
+            flow.credited = true;
+        }
+
+        T item = flow.items.pollFirst();
+        flow.deficit--;
+        size--;
+
+        if (flow.items.isEmpty()) {
+            retire(flow);
+        } else if (flow.deficit < 1) {
+            round.pollFirst();
+            flow.credited = false;
+            round.addLast(flow);
+        }
+        return item;
+    }
+
+    /**
+     * 대기 작업이 없는 회원 제거 (다시 들어오면 맨 뒤에서 적립 없이 시작)
+     */
+    private void retire(Flow<T> flow) {
+        round.remove(flow);
+        flows.remove(flow.key);
+    }
+
+    private FairJobQueue<T> copy() {
+        FairJobQueue<T> copy = new FairJobQueue<>(capacity);
+        for (Flow<T> flow : round) {
+            Flow<T> flowCopy = new Flow<>(flow.key);
+            flowCopy.weight = flow.weight;
+            flowCopy.deficit = flow.deficit;
+            flowCopy.credited = flow.credited;
+            flowCopy.items.addAll(flow.items);
+            copy.flows.put(flowCopy.key, flowCopy);
+            copy.round.addLast(flowCopy);
+        }
+        copy.size = size;
+        return copy;
+    }
+
+    private static final class Flow<T> {
+
+        private final String key;
+        private final ArrayDeque<T> items = new ArrayDeque<>();
+        private int weight = 1;
+        private int deficit;
+        private boolean credited;
+
+        private Flow(String key) {
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.lookfit.fitting.job;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import com.lookfit.fitting.provider.TryOnResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 진행 중인 피팅 생성 작업 레지스트리 (single-flight)
+ * - 같은 입력(사용자 이미지 해시 + 의류 + 카테고리)의 요청은 하나의 작업에 합류해 결과를 공유한다
+ * - 같은 fittingId의 중복 요청(더블 클릭, 재시도)은 한 번만 합류한다
+ * - 취소된 피팅은 작업에서 빠지고, 마지막 피팅이 빠지면 작업 자체를 취소한다 (합류 수 = 참조 수)
+ * - 작업마다 고유한 실행기 작업 ID를 붙인다. 끝난 작업이 실행기에서 정리되기 전에 같은 입력으로 새 작업이 생겨도
+ *   서로의 등록/취소/진행 상황 조회가 섞이지 않는다
+ */
+@Slf4j
+@Component
+public class FittingInFlightRegistry {
+
+    private final Map<String, Flight> flights = new ConcurrentHashMap<>();
+    private final Map<String, String> flightKeysByFitting = new ConcurrentHashMap<>();
+    private final AtomicLong flightSequence = new AtomicLong();
+    private final Counter coalescedCounter;
+
+    public FittingInFlightRegistry(MeterRegistry meterRegistry) {
+        this.coalescedCounter = Counter.builder("fitting.job.coalesced")
+                .description("진행 중인 작업에 합류해 생략된 피팅 생성 수")
+                .register(meterRegistry);
+        Gauge.builder("fitting.job.inflight", flights, Map::size)
+                .description("진행 중인 고유 피팅 생성 작업 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 작업 합류 (없으면 새 작업 생성)
+     * 완료된 작업이 아직 정리되기 전에 합류하면 결과가 즉시 전달된다
+     *
+     * @param flightKey 정규화된 입력 키
+     * @param fittingId 결과를 받을 피팅 ID
+     */
+    public Attachment attach(String flightKey, String fittingId) {
+        boolean[] leader = {false};
+        boolean[] addedRef = {false};
+        // 합류와 취소(detach)가 같은 작업을 동시에 바꾸지 않도록 키 단위로 원자적으로 처리
+        Flight flight = flights.compute(flightKey, (key, existing) -> {
+            Flight target = existing;
+            if (target == null) {
+                leader[0] = true;
+                target = new Flight(key + "#" + flightSequence.incrementAndGet());
+            }
+            addedRef[0] = target.fittingIds.add(fittingId);
+            return target;
+        });
+
+        boolean added = addedRef[0];
+        if (added) {
+            flightKeysByFitting.put(fittingId, flightKey);
+            flight.result.whenComplete((result, error) -> flightKeysByFitting.remove(fittingId, flightKey));
+            if (!leader[0]) {
+                coalescedCounter.increment();
+                log.info("진행 중인 피팅 작업에 합류 - fittingId: {}, 합류 수: {}", fittingId, flight.fittingIds.size());
+            }
+        }
+        return new Attachment(flight.result, leader[0], added, flight.jobId);
+    }
+
+    /**
+     * 작업 성공 - 합류한 모든 피팅에 결과 전달
+     */
+    public void complete(String flightKey, TryOnResult result) {
+        Flight flight = flights.get(flightKey);
+        if (flight != null) {
+            flight.result.complete(result);
+            flights.remove(flightKey, flight);
+        }
+    }
+
+    /**
+     * 작업 실패 - 합류한 모든 피팅에 실패 전달
+     */
+    public void fail(String flightKey, Throwable error) {
+        Flight flight = flights.get(flightKey);
+        if (flight != null) {
+            flight.result.completeExceptionally(error);
+            flights.remove(flightKey, flight);
+        }
+    }
+
+    /**
+     * 피팅을 작업에서 제외 (취소)
+     * 남은 피팅이 없으면 작업을 취소 상태로 끝내고 레지스트리에서 제거한다
+     *
+     * @return 마지막 피팅이 빠져 작업이 취소되었으면 실행기 작업 ID (호출자가 실행 중인 작업을 중단해야 한다)
+     */
+    public Optional<String> detach(String fittingId) {
+        String flightKey = flightKeysByFitting.remove(fittingId);
+        if (flightKey == null) {
+            return Optional.empty();
+        }
+
+        Flight[] abandoned = {null};
+        flights.computeIfPresent(flightKey, (key, flight) -> {
+            flight.fittingIds.remove(fittingId);
+            if (!flight.fittingIds.isEmpty()) {
+                return flight;
+            }
+            abandoned[0] = flight;
+            return null;
+        });
+
+        if (abandoned[0] == null) {
+            log.info("피팅 작업에서 제외 - fittingId: {}, 작업은 계속 진행", fittingId);
+            return Optional.empty();
+        }
+        abandoned[0].result.completeExceptionally(new CancellationException("피팅 작업이 취소되었습니다"));
+        return Optional.of(abandoned[0].jobId);
+    }
+
+    /**
+     * 작업에 합류한 피팅 ID 목록
+     */
+    public Set<String> attachedFittingIds(String flightKey) {
+        Flight flight = flights.get(flightKey);
+        return flight == null ? Set.of() : Set.copyOf(flight.fittingIds);
+    }
+
+    /**
+     * 피팅이 합류한 작업 키 (진행 상황 조회용)
+     */
+    public Optional<String> flightKeyOf(String fittingId) {
+        return Optional.ofNullable(flightKeysByFitting.get(fittingId));
+    }
+
+    /**
+     * 피팅이 합류한 작업의 실행기 작업 ID (진행 상황 조회용)
+     */
+    public Optional<String> jobIdOf(String fittingId) {
+        return flightKeyOf(fittingId).map(flights::get).map(flight -> flight.jobId);
+    }
+
+    /**
+     * 합류 결과
+     *
+     * @param result 생성 결과 (이미지 URL + 처리한 제공자)
+     * @param leader 새 작업을 만든 요청이면 true (호출자가 실행을 시작해야 한다)
+     * @param added 이 피팅이 처음 합류했으면 true (같은 fittingId 중복이면 false)
+     * @param jobId 실행기 작업 ID (작업 키 + 작업 순번, leader가 이 ID로 실행기에 등록한다)
+     */
+    public record Attachment(CompletableFuture<TryOnResult> result, boolean leader, boolean added, String jobId) {
+    }
+
+    private static class Flight {
+        private final String jobId;
+        private final CompletableFuture<TryOnResult> result = new CompletableFuture<>();
+        private final Set<String> fittingIds = ConcurrentHashMap.newKeySet();
+
+        private Flight(String jobId) {
+            this.jobId = jobId;
+        }
+    }
+}
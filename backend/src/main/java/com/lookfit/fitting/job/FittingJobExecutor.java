@@ -0,0 +1,368 @@
+package com.lookfit.fitting.job;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 가상 피팅 작업 실행기
+ * - 고정 크기 워커 풀 + 유한 대기열 (톰캣 요청 스레드와 분리)
+ * - 대기열은 회원별 공정 분배 (FairJobQueue) - 한 회원이 묶음으로 수십 건을 올려도 다른 회원이 굶지 않는다
+ * - 대기 순번과 예상 대기 시간(최근 실행 시간 평균 기준)을 상태 조회에 제공
+ * - 취소: 대기 중이면 대기열에서 빼고, 실행 중이면 워커 스레드를 인터럽트 (Python 워커 종료, 원격 요청 취소로 이어진다)
+ * - 유휴 작업(예측 생성): 대기 작업이 없고 남는 워커가 있을 때만 받고, 사용자 작업에 워커가 모자라면 선점해 중단한다
+ * - 대기열 깊이, 대기 시간, 실행 시간을 Micrometer로 노출
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FittingJobExecutor {
+
+    /**
+     * 예상 실행 시간 지수 이동 평균 가중치
+     */
+    private static final double EXECUTION_EWMA_ALPHA = 0.2;
+
+    /**
+     * 유휴 작업의 공정 분배 단위 (회원 ID와 겹치지 않는 키)
+     */
+    private static final String IDLE_FLOW_KEY = "__idle__";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${fitting.job.pool-size:4}")
+    private int poolSize;
+
+    @Value("${fitting.job.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${fitting.job.initial-estimate:60s}")
+    private Duration initialEstimate;
+
+    @Value("${fitting.job.idle.max-concurrent:1}")
+    private int idleMaxConcurrent;
+
+    private final Map<String, FittingJob> jobs = new ConcurrentHashMap<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private final AtomicInteger activeCount = new AtomicInteger();
+    private volatile boolean running = true;
+
+    private FairJobQueue<FittingJob> queue;
+    private volatile double averageExecutionNanos;
+    private Timer waitTimer;
+    private Timer executionTimer;
+    private Counter cancelledQueuedCounter;
+    private Counter cancelledRunningCounter;
+    private Counter preemptedCounter;
+
+    @PostConstruct
+    void start() {
+        queue = new FairJobQueue<>(queueCapacity);
+        averageExecutionNanos = initialEstimate == null ? TimeUnit.MINUTES.toNanos(1) : initialEstimate.toNanos();
+
+        waitTimer = Timer.builder("fitting.job.wait")
+                .description("피팅 작업이 대기열에서 워커를 기다린 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        executionTimer = Timer.builder("fitting.job.execution")
+                .description("피팅 작업 실행 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+
+        cancelledQueuedCounter = Counter.builder("fitting.job.cancelled")
+                .tag("stage", "queued")
+                .description("취소된 피팅 작업 수")
+                .register(meterRegistry);
+        cancelledRunningCounter = Counter.builder("fitting.job.cancelled")
+                .tag("stage", "running")
+                .description("취소된 피팅 작업 수")
+                .register(meterRegistry);
+        preemptedCounter = Counter.builder("fitting.job.preempted")
+                .description("사용자 작업에 워커를 내주느라 중단한 유휴 작업 수")
+                .register(meterRegistry);
+
+        Gauge.builder("fitting.job.queue.depth", queue, FairJobQueue::size)
+                .description("대기 중인 피팅 작업 수")
+                .register(meterRegistry);
+        Gauge.builder("fitting.job.queue.members", queue, FairJobQueue::flowCount)
+                .description("대기 중인 작업이 있는 회원 수")
+                .register(meterRegistry);
+        Gauge.builder("fitting.job.active", activeCount, AtomicInteger::get)
+                .description("실행 중인 피팅 작업 수")
+                .register(meterRegistry);
+        Gauge.builder("fitting.job.queue.capacity", () -> queueCapacity)
+                .description("피팅 작업 대기열 최대 크기")
+                .register(meterRegistry);
+
+        for (int i = 1; i <= poolSize; i++) {
+            Thread thread = new Thread(this::runWorker, "fitting-job-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            workers.add(thread);
+        }
+
+        log.info("피팅 작업 실행기 시작 - poolSize: {}, queueCapacity: {}", poolSize, queueCapacity);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+    }
+
+    private void runWorker() {
+        while (running) {
+            FittingJob job;
+            try {
+                job = queue.take();
+            } catch (InterruptedException e) {
+                // 종료가 아니면 작업 취소용 인터럽트가 늦게 도착한 것 - 계속 대기
+                continue;
+            }
+            activeCount.incrementAndGet();
+            try {
+                job.run();
+            } finally {
+                activeCount.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * 대기열이 가득 찼는지 확인 (요청 단계에서 빠르게 거절하기 위함)
+     */
+    public boolean isSaturated() {
+        return queue.remainingCapacity() <= 0;
+    }
+
+    /**
+     * 바로 시작할 수 있는 작업 수 (남는 워커 - 대기 작업), DB 작업 큐에서 가져갈 양을 정할 때 사용
+     */
+    public int getAvailableWorkers() {
+        return Math.max(0, poolSize - activeCount.get() - queue.size());
+    }
+
+    /**
+     * 작업 등록 (회원별 공정 대기열)
+     *
+     * @param jobId 작업 ID (FittingInFlightRegistry가 작업마다 붙이는 고유 ID)
+     * @param memberId 공정 분배 단위 (작업을 시작한 피팅의 회원)
+     * @param weight 우선순위 등급 가중치 (FittingPriorityPolicy)
+     * @throws RejectedExecutionException 대기열이 가득 찬 경우
+     * @throws IllegalStateException 같은 ID의 작업이 아직 남아 있는 경우 (등록하지 않았으므로 호출자가 작업을 실패 처리해야 한다)
+     */
+    public void submit(String jobId, String memberId, int weight, Runnable task) {
+        FittingJob job = new FittingJob(jobId, task);
+        if (jobs.putIfAbsent(jobId, job) != null) {
+            throw new IllegalStateException("이미 등록된 피팅 작업입니다: " + jobId);
+        }
+
+        if (!queue.offer(memberId, weight, job)) {
+            jobs.remove(jobId);
+            throw new RejectedExecutionException("피팅 작업 대기열이 가득 찼습니다: " + queueCapacity);
+        }
+
+        if (activeCount.get() + queue.size() > poolSize) {
+            preemptIdleJob();
+        }
+    }
+
+    /**
+     * 유휴 작업 등록 (가장 낮은 우선순위)
+     * 대기 중인 작업이 없고 남는 워커가 있을 때만 받으므로 바로 실행된다.
+     * 이후 사용자 작업이 들어와 워커가 모자라면 선점 대상이 된다.
+     *
+     * @param preemption 선점 직전 호출 - true면 중단, false면 (사용자 피팅이 합류해) 일반 작업으로 계속 실행
+     * @return 받았으면 true, 실행기가 바쁘면 false
+     */
+    public synchronized boolean submitIdle(String jobId, BooleanSupplier preemption, Runnable task) {
+        if (queue.size() > 0 || activeCount.get() >= poolSize || idleJobCount() >= idleMaxConcurrent) {
+            return false;
+        }
+
+        FittingJob job = new FittingJob(jobId, task);
+        job.preemption = preemption;
+        if (jobs.putIfAbsent(jobId, job) != null) {
+            return false;
+        }
+        if (!queue.offer(IDLE_FLOW_KEY, 1, job)) {
+            jobs.remove(jobId);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 작업 취소 - 대기 중이면 대기열에서 제거, 실행 중이면 워커 스레드 인터럽트
+     *
+     * @return 이 노드에서 대기/실행 중인 작업이었으면 true
+     */
+    public boolean cancel(String jobId) {
+        FittingJob job = jobs.remove(jobId);
+        if (job == null) {
+            return false;
+        }
+
+        if (stop(job)) {
+            cancelledQueuedCounter.increment();
+            log.info("대기 중인 피팅 작업 취소 - jobId: {}", jobId);
+        } else {
+            cancelledRunningCounter.increment();
+            log.info("실행 중인 피팅 작업 중단 - jobId: {}", jobId);
+        }
+        return true;
+    }
+
+    /**
+     * 사용자 작업에 워커를 내주기 위해 유휴 작업 하나를 중단
+     * 사용자 피팅이 합류한 유휴 작업은 일반 작업으로 바꾸고 다음 후보를 찾는다
+     */
+    private synchronized void preemptIdleJob() {
+        for (FittingJob job : jobs.values()) {
+            BooleanSupplier preemption = job.preemption;
+            if (preemption == null) {
+                continue;
+            }
+            job.preemption = null;
+            if (!preemption.getAsBoolean() || !jobs.remove(job.jobId, job)) {
+                continue;
+            }
+
+            stop(job);
+            preemptedCounter.increment();
+            log.info("유휴 작업 선점 - jobId: {}, 사용자 작업에 워커 양보", job.jobId);
+            return;
+        }
+    }
+
+    private int idleJobCount() {
+        return (int) jobs.values().stream().filter(job -> job.preemption != null).count();
+    }
+
+    /**
+     * 대기 중이면 대기열에서 빼고, 실행 중이면 워커 스레드 인터럽트
+     *
+     * @return 대기 중이던 작업이면 true
+     */
+    private boolean stop(FittingJob job) {
+        if (queue.remove(job)) {
+            return true;
+        }
+        job.cancel();
+        return false;
+    }
+
+    /**
+     * 작업 진행 상황 조회
+     *
+     * @return 이 노드에서 대기/실행 중인 작업이 아니면 empty
+     */
+    public Optional<FittingJobProgress> getProgress(String jobId) {
+        FittingJob job = jobs.get(jobId);
+        if (job == null) {
+            return Optional.empty();
+        }
+
+        long elapsedSeconds = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - job.enqueuedAt);
+        if (job.startedAt != 0L) {
+            return Optional.of(FittingJobProgress.running(elapsedSeconds));
+        }
+
+        int position = queue.positionOf(job);
+        if (position == 0) {
+            // 큐에서 막 빠져나와 시작 직전인 경우
+            return Optional.of(FittingJobProgress.running(elapsedSeconds));
+        }
+        return Optional.of(FittingJobProgress.queued(position, elapsedSeconds, estimateWaitSeconds(position)));
+    }
+
+    /**
+     * 예상 대기 시간 - 앞선 작업이 워커 수만큼 나눠 실행된다고 보고, 실행 중인 작업은 절반쯤 끝났다고 가정
+     */
+    long estimateWaitSeconds(int position) {
+        double rounds = Math.ceil((double) position / Math.max(1, poolSize));
+        double waitNanos = (rounds - 0.5) * averageExecutionNanos;
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds((long) waitNanos));
+    }
+
+    private void recordExecution(long nanos) {
+        executionTimer.record(nanos, TimeUnit.NANOSECONDS);
+        averageExecutionNanos = averageExecutionNanos * (1 - EXECUTION_EWMA_ALPHA) + nanos * EXECUTION_EWMA_ALPHA;
+    }
+
+    /**
+     * 대기열 + 실행 중 작업 메타데이터
+     */
+    private final class FittingJob implements Runnable {
+
+        private final String jobId;
+        private final Runnable task;
+        private final long enqueuedAt = System.nanoTime();
+        private volatile long startedAt;
+        private Thread runner;
+        private volatile boolean cancelled;
+        private volatile BooleanSupplier preemption;  // 유휴 작업만 (선점 가능한 동안)
+
+        private FittingJob(String jobId, Runnable task) {
+            this.jobId = jobId;
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            synchronized (this) {
+                if (cancelled) {
+                    // 대기열에서 꺼낸 직후 취소된 경우
+                    return;
+                }
+                runner = Thread.currentThread();
+            }
+
+            startedAt = System.nanoTime();
+            waitTimer.record(startedAt - enqueuedAt, TimeUnit.NANOSECONDS);
+            try {
+                task.run();
+            } catch (Exception e) {
+                log.error("피팅 작업 실행 중 처리되지 않은 예외 - jobId: {}", jobId, e);
+            } finally {
+                synchronized (this) {
+                    runner = null;
+                }
+                // 취소 인터럽트가 다음 작업으로 번지지 않도록 정리
+                Thread.interrupted();
+                if (!cancelled) {
+                    recordExecution(System.nanoTime() - startedAt);
+                }
+                jobs.remove(jobId, this);
+            }
+        }
+
+        /**
+         * 실행 중이면 워커 스레드 인터럽트, 아직 시작 전이면 시작하지 않게 표시
+         */
+        private synchronized void cancel() {
+            cancelled = true;
+            if (runner != null) {
+                runner.interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.lookfit.fitting.job;
+
+/**
+ * 피팅 작업 진행 상황 (상태 조회 응답용)
+ *
+ * @param stage 대기 중(QUEUED) / 실행 중(RUNNING)
+ * @param queuePosition 대기열 내 순번 (1부터, 회원별 공정 분배 순서 기준, 실행 중이면 0)
+ * @param elapsedSeconds 작업 등록 후 경과 시간
+ * @param estimatedWaitSeconds 실행 시작까지 예상 대기 시간 (실행 중이면 null)
+ */
+public record FittingJobProgress(Stage stage, int queuePosition, long elapsedSeconds, Long estimatedWaitSeconds) {
+
+    public static FittingJobProgress queued(int queuePosition, long elapsedSeconds, long estimatedWaitSeconds) {
+        return new FittingJobProgress(Stage.QUEUED, queuePosition, elapsedSeconds, estimatedWaitSeconds);
+    }
+
+    public static FittingJobProgress running(long elapsedSeconds) {
+        return new FittingJobProgress(Stage.RUNNING, 0, elapsedSeconds, null);
+    }
+
+    public enum Stage {
+        QUEUED,
+        RUNNING
+    }
+}
@@ -0,0 +1,489 @@
+package com.lookfit.fitting.job;
+
+import com.lookfit.fitting.admission.FittingAdmissionGovernor;
+import com.lookfit.fitting.cache.FittingResultCacheService;
+import com.lookfit.fitting.domain.FittingStatus;
+import com.lookfit.fitting.domain.VirtualFitting;
+import com.lookfit.fitting.dto.FittingDto;
+import com.lookfit.fitting.event.FittingEvents;
+import com.lookfit.fitting.provider.TryOnRequest;
+import com.lookfit.fitting.provider.TryOnResult;
+import com.lookfit.fitting.provider.TryOnRouter;
+import com.lookfit.fitting.queue.FittingWorkQueue;
+import com.lookfit.fitting.repository.VirtualFittingRepository;
+import com.lookfit.fitting.speculative.SpeculativeFittingMetrics;
+import com.lookfit.fitting.trace.FittingStage;
+import com.lookfit.fitting.trace.FittingStageMetrics;
+import com.lookfit.fitting.trace.FittingTrace;
+import com.lookfit.global.exception.BusinessException;
+import com.lookfit.global.exception.ErrorCode;
+import com.lookfit.global.media.MediaStore;
+import com.lookfit.product.domain.Product;
+import com.lookfit.product.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 가상 피팅 작업 처리 서비스
+ * - 큐 등록 (요청 트랜잭션 커밋 후)
+ * - 같은 입력의 작업은 하나로 합쳐 실행 (FittingInFlightRegistry)
+ * - 대기열은 회원별 공정 분배, 최근 주문 회원은 가중치를 높게 (FittingPriorityPolicy)
+ * - 워커 스레드에서 AI 호출(TryOnRouter가 제공자 선택/폴백) 후 합류한 모든 피팅의 상태 전이 (PROCESSING → COMPLETED/FAILED)
+ * - AI 호출 결과(지연, 할당량 초과)를 입장 제어에 알리고 피팅이 끝나면 허가를 반납한다
+ * - 단계별 소요 시간(큐 대기, 제공자 내부 단계, 전체)을 타이머와 피팅에 기록한다 (FittingTrace)
+ * - 취소: 피팅을 작업에서 빼고 허가를 바로 반납, 마지막 피팅이면 작업까지 중단한다
+ * - 예측 생성: 실행기의 유휴 구간에서 미리 결과 캐시를 채우고, 같은 입력의 사용자 요청은 그 작업에 합류한다
+ * - DB 작업 큐(fitting.queue.mode=database): 등록은 큐 행으로, 실행은 큐에서 가져간 노드에서 (FittingQueueWorker)
+ *
+ * 워커 구간은 트랜잭션 밖에서 실행한다. 수 분 걸리는 AI 호출 동안 DB 커넥션을 잡지 않기 위함.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FittingJobService {
+
+    private static final String QUEUE_FULL_MESSAGE = "AI 생성 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요.";
+
+    /**
+     * 예측 생성 작업이 레지스트리에 합류할 때 쓰는 ID 접두사 (실제 피팅 ID와 겹치지 않음)
+     */
+    private static final String SPECULATIVE_HOLDER_PREFIX = "speculative:";
+
+    /**
+     * 사용자가 취소할 수 있는 상태 (대기 중이거나 생성 중)
+     */
+    private static final List<FittingStatus> CANCELLABLE = List.of(FittingStatus.PENDING, FittingStatus.PROCESSING);
+
+    private final VirtualFittingRepository fittingRepository;
+    private final ProductRepository productRepository;
+    private final TryOnRouter tryOnRouter;
+    private final FittingJobExecutor jobExecutor;
+    private final FittingInFlightRegistry inFlightRegistry;
+    private final FittingResultCacheService resultCacheService;
+    private final FittingAdmissionGovernor admissionGovernor;
+    private final ApplicationEventPublisher eventPublisher;
+    private final FittingStageMetrics stageMetrics;
+    private final FittingPriorityPolicy priorityPolicy;
+    private final SpeculativeFittingMetrics speculativeMetrics;
+    private final FittingWorkQueue workQueue;
+    private final MediaStore mediaStore;
+
+    /**
+     * 작업 큐 등록 (같은 입력의 작업이 진행 중이면 합류)
+     * AFTER_COMMIT 리스너에서 호출되므로 실패 처리 시 새 트랜잭션이 필요하다
+     * DB 작업 큐(database 모드)면 행만 넣고, 실행은 큐에서 가져간 노드가 한다 (runClaimed)
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void submit(String fittingId) {
+        VirtualFitting fitting = fittingRepository.findById(fittingId).orElse(null);
+        if (fitting == null || fitting.getStatus() != FittingStatus.PROCESSING) {
+            log.warn("처리 대상이 아닌 피팅 작업 - fittingId: {}, status: {}",
+                    fittingId, fitting == null ? null : fitting.getStatus());
+            admissionGovernor.release(fittingId);
+            return;
+        }
+
+        if (workQueue.isDurable()) {
+            // 다른 노드가 실행할 수 있으므로 요청 노드의 허가는 반납하고, 가져간 노드가 실행이 끝날 때까지 쥔다 (runClaimed)
+            workQueue.enqueue(fittingId, fitting.getMemberId());
+            admissionGovernor.release(fittingId);
+            log.info("피팅 작업 DB 큐 등록 완료 - fittingId: {}", fittingId);
+            return;
+        }
+        dispatch(fitting);
+    }
+
+    /**
+     * DB 작업 큐에서 이 노드가 가져간 피팅 실행 (database 모드, FittingQueueWorker)
+     * 이 노드의 입장 허가를 쥐고 실행하며, 결과가 반영되면 반납한다 (applyResult)
+     *
+     * @return 결과가 피팅에 반영되면 끝나는 future (이미 끝났거나 취소된 피팅이면 empty)
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Optional<CompletableFuture<TryOnResult>> runClaimed(String fittingId) {
+        VirtualFitting fitting = fittingRepository.findById(fittingId).orElse(null);
+        if (fitting == null || fitting.getStatus() != FittingStatus.PROCESSING) {
+            log.info("DB 큐에서 가져간 피팅이 처리 대상이 아님 - fittingId: {}, status: {}",
+                    fittingId, fitting == null ? null : fitting.getStatus());
+            return Optional.empty();
+        }
+
+        admissionGovernor.acquireClaimed(fittingId);
+        try {
+            return dispatch(fitting);
+        } catch (RuntimeException e) {
+            admissionGovernor.release(fittingId);
+            throw e;
+        }
+    }
+
+    /**
+     * 이 노드의 실행기에 등록 (같은 입력이 진행 중이면 합류)
+     *
+     * @return 결과가 피팅에 반영되면 끝나는 future (상품이 없어 바로 실패 처리했으면 empty)
+     */
+    private Optional<CompletableFuture<TryOnResult>> dispatch(VirtualFitting fitting) {
+        String fittingId = fitting.getFittingId();
+        Product product = productRepository.findById(fitting.getProductId()).orElse(null);
+        if (product == null) {
+            String message = "AI 생성 실패: 상품을 찾을 수 없습니다: " + fitting.getProductId();
+            if (fittingRepository.markFailed(fittingId, FittingStatus.PROCESSING, message,
+                    fitting.getStageTimings(), LocalDateTime.now()) > 0) {
+                // 갱신 후 영속성 컨텍스트가 비워졌으므로 알림용으로만 반영
+                fitting.fail(message);
+                publishStatus(fitting);
+            }
+            admissionGovernor.release(fittingId);
+            return Optional.empty();
+        }
+
+        FittingInput input = new FittingInput(fitting.getUserImageUrl(), fitting.getUserImageHash(),
+                product.getImageUrl(), resultCacheService.garmentHash(product.getImageUrl()), fitting.getCategory(),
+                System.nanoTime(), false);
+        String flightKey = flightKey(fittingId, input);
+
+        FittingInFlightRegistry.Attachment attachment = inFlightRegistry.attach(flightKey, fittingId);
+        if (!attachment.added()) {
+            log.info("이미 등록된 피팅 작업 - fittingId: {}", fittingId);
+            return Optional.of(attachment.result());
+        }
+        CompletableFuture<TryOnResult> applied =
+                attachment.result().whenComplete((result, error) -> applyResult(fittingId, result, error));
+
+        if (!attachment.leader()) {
+            // 합류한 피팅은 AI를 추가로 호출하지 않으므로 허가를 바로 반납
+            admissionGovernor.release(fittingId);
+            return Optional.of(applied);
+        }
+
+        String jobId = attachment.jobId();
+        try {
+            String memberId = fitting.getMemberId();
+            jobExecutor.submit(jobId, memberId, priorityPolicy.weightOf(memberId), () -> process(flightKey, jobId, input));
+            log.info("피팅 작업 등록 완료 - fittingId: {}, jobId: {}", fittingId, jobId);
+        } catch (RejectedExecutionException e) {
+            log.warn("피팅 작업 대기열 초과로 등록 실패 - fittingId: {}", fittingId);
+            inFlightRegistry.fail(flightKey, new RejectedExecutionException(QUEUE_FULL_MESSAGE));
+        } catch (IllegalStateException e) {
+            log.error("피팅 작업 등록 실패 - fittingId: {}, jobId: {}", fittingId, jobId, e);
+            inFlightRegistry.fail(flightKey, e);
+        }
+        return Optional.of(applied);
+    }
+
+    /**
+     * 예측 생성 등록 (찜/장바구니 상품을 미리 입혀 결과 캐시를 채운다)
+     * - 실행기의 유휴 작업으로 등록 (대기 작업이 없고 남는 워커가 있을 때만), 사용자 작업이 밀리면 선점되어 중단
+     * - 입장 허가를 쓰지 않는다 (사용자 요청의 동시 실행 한도를 차지하지 않음)
+     * - 실행 중 같은 입력의 사용자 피팅이 들어오면 이 작업에 합류해 결과를 받고, 그 뒤로는 선점하지 않는다
+     *
+     * @return 생성을 시작했으면 true (같은 입력이 이미 진행 중이거나 실행기가 바쁘면 false)
+     */
+    public boolean speculate(String memberId, String userImageUrl, String userImageHash,
+                             String garmentImageUrl, String category) {
+        FittingInput input = new FittingInput(userImageUrl, userImageHash, garmentImageUrl,
+                resultCacheService.garmentHash(garmentImageUrl), category, System.nanoTime(), true);
+        String flightKey = FittingResultCacheService.cacheKey(userImageHash, garmentImageUrl, category);
+        String holderId = SPECULATIVE_HOLDER_PREFIX + flightKey;
+
+        FittingInFlightRegistry.Attachment attachment = inFlightRegistry.attach(flightKey, holderId);
+        if (!attachment.leader()) {
+            if (attachment.added()) {
+                inFlightRegistry.detach(holderId);
+            }
+            return false;
+        }
+
+        String jobId = attachment.jobId();
+        boolean started = jobExecutor.submitIdle(jobId,
+                () -> inFlightRegistry.detach(holderId).isPresent(),
+                () -> process(flightKey, jobId, input));
+        if (!started) {
+            if (inFlightRegistry.detach(holderId).isPresent()) {
+                return false;
+            }
+            // 등록 사이에 사용자 피팅이 합류 - 일반 작업으로 실행
+            try {
+                jobExecutor.submit(jobId, memberId, priorityPolicy.weightOf(memberId), () -> process(flightKey, jobId, input));
+            } catch (RejectedExecutionException e) {
+                inFlightRegistry.fail(flightKey, new RejectedExecutionException(QUEUE_FULL_MESSAGE));
+                return false;
+            } catch (IllegalStateException e) {
+                log.error("예측 생성 작업 등록 실패 - jobId: {}", jobId, e);
+                inFlightRegistry.fail(flightKey, e);
+                return false;
+            }
+        }
+
+        attachment.result().whenComplete((result, error) -> recordSpeculation(error));
+        log.info("🔮 예측 생성 등록 - memberId: {}, garment: {}, category: {}", memberId, garmentImageUrl, category);
+        return true;
+    }
+
+    /**
+     * 피팅 취소 (사용자 요청 또는 화면 이탈)
+     * - 피팅은 바로 CANCELLED로 전이하고 입장 허가를 반납한다
+     * - 같은 작업에 합류한 다른 피팅이 있으면 작업은 계속 진행하고, 없으면 대기열에서 빼거나 실행을 중단한다
+     * - 상태 전이는 대기/처리 중일 때만 적용되는 조건부 갱신이라 동시에 끝난 작업의 결과를 덮어쓰지 않는다
+     *
+     * @return 대기/처리 중이던 피팅을 취소했으면 true (이미 끝난 피팅이면 false)
+     */
+    @Transactional
+    public boolean cancel(String fittingId, String reason) {
+        return cancel(fittingId, CANCELLABLE, reason);
+    }
+
+    /**
+     * 화면을 떠난 피팅 취소 (FittingAbandonmentMonitor)
+     * 대기열/생성 중(PROCESSING)인 피팅만 취소한다. 아직 생성을 요청하지 않은 PENDING 피팅은
+     * GPU나 대기열 자리를 쓰지 않으므로, 사용자가 나중에 돌아와 생성할 수 있도록 그대로 둔다.
+     *
+     * @return 처리 중이던 피팅을 취소했으면 true
+     */
+    @Transactional
+    public boolean cancelAbandoned(String fittingId, String reason) {
+        return cancel(fittingId, List.of(FittingStatus.PROCESSING), reason);
+    }
+
+    private boolean cancel(String fittingId, Collection<FittingStatus> statuses, String reason) {
+        if (fittingRepository.markCancelled(fittingId, statuses, reason, LocalDateTime.now()) == 0) {
+            return false;
+        }
+        admissionGovernor.release(fittingId);
+        inFlightRegistry.detach(fittingId).ifPresent(jobExecutor::cancel);
+        fittingRepository.findById(fittingId).ifPresent(this::publishStatus);
+
+        log.info("피팅 취소 - fittingId: {}, reason: {}", fittingId, reason);
+        return true;
+    }
+
+    /**
+     * 워커 스레드에서 실행되는 피팅 생성 작업 (합류한 피팅 수와 무관하게 1회)
+     *
+     * @param jobId 실행기 작업 ID (진행 상황 조회용)
+     */
+    void process(String flightKey, String jobId, FittingInput input) {
+        FittingTrace trace = FittingTrace.begin();
+        trace.recordOverall(FittingStage.QUEUE, System.nanoTime() - input.submittedAt());
+        try {
+            execute(flightKey, jobId, input, trace);
+        } finally {
+            trace.end();
+        }
+    }
+
+    private void execute(String flightKey, String jobId, FittingInput input, FittingTrace trace) {
+        if (inFlightRegistry.attachedFittingIds(flightKey).isEmpty()) {
+            // 등록 직후 모든 피팅이 취소된 작업
+            log.info("취소된 피팅 작업 - AI 호출 생략: flightKey: {}", flightKey);
+            return;
+        }
+        if (admissionGovernor.isQuotaBlocked()) {
+            log.warn("GPU 할당량 쿨다운 중 - AI 호출 없이 실패 처리: flightKey: {}", flightKey);
+            finishTrace(trace, input, FittingStageMetrics.FAILURE);
+            inFlightRegistry.fail(flightKey, new BusinessException(ErrorCode.GPU_QUOTA_EXCEEDED));
+            return;
+        }
+
+        publishRunning(flightKey, jobId);
+        long startedAt = System.nanoTime();
+        try {
+            log.info("🤗 AI 가상 피팅 호출 - flightKey: {}, user: {}, garment: {}",
+                    flightKey, input.userImageUrl(), input.garmentImageUrl());
+
+            TryOnResult result = tryOnRouter.route(new TryOnRequest(
+                    flightKey,
+                    input.userImageUrl(),
+                    input.garmentImageUrl(),
+                    input.category()
+            ));
+
+            admissionGovernor.onSuccess(Duration.ofNanos(System.nanoTime() - startedAt));
+            boolean unclaimed = input.speculative() && isUnclaimed(flightKey);
+            if (input.speculative() && !unclaimed) {
+                // 생성 중에 사용자 피팅이 합류해 바로 쓰인 예측 생성
+                speculativeMetrics.hit();
+            }
+            cacheResult(input, result.imageUrl(), unclaimed);
+            finishTrace(trace, input, FittingStageMetrics.SUCCESS);
+            inFlightRegistry.complete(flightKey, result);
+            log.info("✅ AI 가상 피팅 완료 - flightKey: {}, provider: {}, resultUrl: {}, timings: {}",
+                    flightKey, result.provider(), result.imageUrl(), trace.toMillis());
+
+        } catch (CancellationException e) {
+            // 합류한 피팅이 모두 취소(또는 예측 생성이 선점)되어 워커 스레드가 인터럽트된 경우 (제공자 오류로 집계하지 않음)
+            // 작업은 취소한 쪽(detach)에서 이미 끝냈으므로 같은 키로 새로 시작된 작업을 건드리지 않도록 정리하지 않는다
+            log.info("🛑 AI 가상 피팅 중단 - flightKey: {}", flightKey);
+            finishTrace(trace, input, FittingStageMetrics.CANCELLED);
+        } catch (BusinessException e) {
+            // GPU 할당량 초과 등 비즈니스 예외
+            log.error("❌ AI 가상 피팅 실패 - flightKey: {}, error: {}", flightKey, e.getErrorCode());
+            if (e.getErrorCode() == ErrorCode.GPU_QUOTA_EXCEEDED) {
+                admissionGovernor.onQuotaExceeded();
+            }
+            finishTrace(trace, input, FittingStageMetrics.FAILURE);
+            inFlightRegistry.fail(flightKey, e);
+        } catch (Exception e) {
+            log.error("❌ AI 가상 피팅 실패 - flightKey: {}", flightKey, e);
+            finishTrace(trace, input, FittingStageMetrics.FAILURE);
+            inFlightRegistry.fail(flightKey, e);
+        }
+    }
+
+    /**
+     * 전체 시간 기록 후 단계별 타이머 반영 (결과 전달 전에 호출해야 피팅에도 기록된다)
+     */
+    private void finishTrace(FittingTrace trace, FittingInput input, String outcome) {
+        trace.recordOverall(FittingStage.TOTAL, System.nanoTime() - input.submittedAt());
+        stageMetrics.record(trace, outcome);
+    }
+
+    /**
+     * 작업 결과를 피팅에 반영
+     * 워커가 결과를 전달하면 같은 워커 스레드에서 호출되므로 현재 트레이스의 단계별 시간을 함께 저장한다
+     * PROCESSING일 때만 적용되는 조건부 갱신이라, 그 사이 취소된 피팅은 그대로 두고 결과 이미지도 연결하지 않는다
+     */
+    private void applyResult(String fittingId, TryOnResult result, Throwable error) {
+        try {
+            VirtualFitting fitting = fittingRepository.findById(fittingId).orElse(null);
+            if (fitting == null || fitting.getStatus() != FittingStatus.PROCESSING) {
+                return;
+            }
+
+            // 갱신 쿼리 전에 엔티티를 바꾸면 같은 트랜잭션 안에서 호출된 경우(등록 직후 완료) 먼저 flush되므로 값만 계산한다
+            Map<String, Long> stageTimings = FittingTrace.current()
+                    .map(trace -> fitting.mergeStageTimings(trace.toMillis()))
+                    .orElse(fitting.getStageTimings());
+            LocalDateTime completedAt = LocalDateTime.now();
+
+            String errorMessage = null;
+            int updated;
+            if (error == null) {
+                updated = fittingRepository.markCompleted(fittingId, FittingStatus.PROCESSING, result.imageUrl(),
+                        result.provider(), stageTimings, completedAt);
+            } else {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error;
+                errorMessage = cause instanceof RejectedExecutionException
+                        ? cause.getMessage()
+                        : "AI 생성 실패: " + cause.getMessage();
+                updated = fittingRepository.markFailed(fittingId, FittingStatus.PROCESSING, errorMessage,
+                        stageTimings, completedAt);
+            }
+            if (updated == 0) {
+                log.info("이미 끝난 피팅 - 결과 반영 생략: fittingId: {}", fittingId);
+                return;
+            }
+
+            // 갱신 후 영속성 컨텍스트가 비워졌으므로 알림용으로만 반영
+            fitting.setStageTimings(stageTimings);
+            if (error == null) {
+                fitting.complete(result.imageUrl(), result.provider());
+            } else {
+                fitting.fail(errorMessage);
+            }
+            publishStatus(fitting);
+            if (error == null) {
+                mediaStore.retain(result.imageUrl(), VirtualFitting.MEDIA_OWNER, fittingId);
+            }
+        } catch (Exception e) {
+            log.error("피팅 결과 반영 실패 - fittingId: {}", fittingId, e);
+        } finally {
+            admissionGovernor.release(fittingId);
+        }
+    }
+
+    /**
+     * 예측 생성 결과 집계 (합류한 사용자 피팅이 있어도 작업 단위로 1회)
+     */
+    private void recordSpeculation(Throwable error) {
+        if (error == null) {
+            speculativeMetrics.generated();
+        } else if (error instanceof CancellationException) {
+            speculativeMetrics.preempted();
+        } else {
+            speculativeMetrics.failed();
+        }
+    }
+
+    /**
+     * 예측 생성 외에 합류한 피팅이 없는지 (결과를 아직 아무도 쓰지 않음)
+     */
+    private boolean isUnclaimed(String flightKey) {
+        return inFlightRegistry.attachedFittingIds(flightKey).stream().allMatch(FittingJobService::isSpeculativeHolder);
+    }
+
+    private static boolean isSpeculativeHolder(String fittingId) {
+        return fittingId.startsWith(SPECULATIVE_HOLDER_PREFIX);
+    }
+
+    /**
+     * 상태 변경 알림 (SSE 구독자에게 전파)
+     */
+    private void publishStatus(VirtualFitting fitting) {
+        eventPublisher.publishEvent(new FittingEvents.FittingStatusChangedEvent(
+                fitting.getFittingId(), FittingDto.StatusResponse.from(fitting)));
+    }
+
+    /**
+     * 대기 → 실행 전환 알림 (합류한 모든 피팅)
+     */
+    private void publishRunning(String flightKey, String jobId) {
+        jobExecutor.getProgress(jobId).ifPresent(progress ->
+                inFlightRegistry.attachedFittingIds(flightKey).stream()
+                        .filter(fittingId -> !isSpeculativeHolder(fittingId))
+                        .forEach(fittingId -> eventPublisher.publishEvent(new FittingEvents.FittingStatusChangedEvent(
+                                fittingId, FittingDto.StatusResponse.processing(fittingId, progress)))));
+    }
+
+    /**
+     * 생성 결과를 결과 캐시에 저장 (캐시 실패가 피팅 실패로 이어지지 않도록 분리)
+     *
+     * @param speculative 아직 아무 피팅도 쓰지 않은 예측 생성 결과면 true (적중/낭비 집계용)
+     */
+    private void cacheResult(FittingInput input, String resultImageUrl, boolean speculative) {
+        try {
+            resultCacheService.store(input.userImageHash(), input.garmentImageUrl(), input.garmentImageHash(),
+                    input.category(), resultImageUrl, speculative);
+        } catch (Exception e) {
+            log.warn("피팅 결과 캐시 저장 실패 - garment: {}: {}", input.garmentImageUrl(), e.getMessage());
+        }
+    }
+
+    /**
+     * 합류 기준 키 - 사용자 이미지 해시가 없는 기존 데이터는 같은 fittingId끼리만 합친다
+     * 합류는 생성이 끝날 때까지만 유지되므로 의류는 URL로 구분한다 (결과 캐시는 내용 해시)
+     */
+    private static String flightKey(String fittingId, FittingInput input) {
+        if (input.userImageHash() == null || input.garmentImageUrl() == null) {
+            return "fitting:" + fittingId;
+        }
+        return FittingResultCacheService.cacheKey(input.userImageHash(), input.garmentImageUrl(), input.category());
+    }
+
+    /**
+     * 생성 입력 (워커 스레드로 전달)
+     *
+     * @param garmentImageHash 등록 시점의 의류 이미지 내용 해시 (결과 캐시 키, 읽을 수 없으면 null)
+     * @param submittedAt 큐 등록 시각 (System.nanoTime, 큐 대기/전체 시간 계산용)
+     * @param speculative 예측 생성 작업이면 true
+     */
+    record FittingInput(String userImageUrl, String userImageHash, String garmentImageUrl, String garmentImageHash,
+                        String category, long submittedAt, boolean speculative) {
+    }
+}
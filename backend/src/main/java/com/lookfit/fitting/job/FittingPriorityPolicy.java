@@ -0,0 +1,91 @@
+package com.lookfit.fitting.job;
+
+import com.lookfit.order.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 피팅 작업 우선순위 등급 (FairJobQueue 가중치)
+ * - 최근 주문이 있는 회원은 priority 가중치, 나머지는 standard 가중치
+ * - 가중치는 비율만 정하므로 일반 회원도 매 바퀴 차례가 온다 (굶지 않음)
+ * - 등급 판정은 회원별로 잠시 캐시 (묶음 피팅마다 주문 테이블을 조회하지 않도록), 만료된 항목은 주기적으로 정리
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FittingPriorityPolicy {
+
+    private final OrderRepository orderRepository;
+
+    @Value("${fitting.job.fair.weights.standard:1}")
+    private int standardWeight;
+
+    @Value("${fitting.job.fair.weights.priority:3}")
+    private int priorityWeight;
+
+    @Value("${fitting.job.fair.priority.recent-order-window:30d}")
+    private Duration recentOrderWindow;
+
+    @Value("${fitting.job.fair.priority.cache-ttl:5m}")
+    private Duration cacheTtl;
+
+    Clock clock = Clock.systemDefaultZone();
+
+    private final Map<String, CachedWeight> weights = new ConcurrentHashMap<>();
+
+    /**
+     * 회원의 대기열 가중치
+     */
+    public int weightOf(String memberId) {
+        if (memberId == null) {
+            return standardWeight;
+        }
+
+        Instant now = clock.instant();
+        CachedWeight cached = weights.get(memberId);
+        if (cached != null && cached.expiresAt().isAfter(now)) {
+            return cached.weight();
+        }
+
+        int weight = resolve(memberId);
+        weights.put(memberId, new CachedWeight(weight, now.plus(cacheTtl)));
+        return weight;
+    }
+
+    /**
+     * 만료된 등급 캐시 정리 (한 번이라도 요청한 회원이 계속 쌓이지 않도록)
+     */
+    @Scheduled(fixedDelayString = "${fitting.job.fair.priority.sweep-interval:PT10M}")
+    public void evictExpired() {
+        Instant now = clock.instant();
+        weights.values().removeIf(cached -> !cached.expiresAt().isAfter(now));
+    }
+
+    int cachedCount() {
+        return weights.size();
+    }
+
+    private int resolve(String memberId) {
+        try {
+            LocalDateTime since = LocalDateTime.now(clock).minus(recentOrderWindow);
+            return orderRepository.existsByMemberidAndOrderdateAfter(memberId, since) ? priorityWeight : standardWeight;
+        } catch (RuntimeException e) {
+            // 등급 판정 실패로 피팅을 막지 않는다
+            log.warn("피팅 우선순위 등급 판정 실패 - memberId: {}: {}", memberId, e.getMessage());
+            return standardWeight;
+        }
+    }
+
+    private record CachedWeight(int weight, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,425 @@
+package com.lookfit.fitting.preprocess;
+
+import com.lookfit.global.common.HashUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
+
+/**
+ * 사용자 사진 전처리 산출물 디스크 캐시
+ * - 사진 콘텐츠 해시(SHA-256) 단위로 한 번만 전처리하고 같은 사진의 다른 의류 피팅에서 재사용
+ * - 디렉토리 전체 크기 상한(LRU) 초과 시 오래 사용하지 않은 항목부터 삭제 (사용 중인 항목은 제외)
+ * - 같은 사진의 동시 요청은 전처리 1회에 합류
+ * - 재시작 시 완료 표시 파일의 수정 시각 순으로 LRU 순서를 복원
+ *
+ * 전처리에 실패하거나 사용할 수 없으면 빈 결과를 돌려주고, 피팅은 기존 auto-mask로 진행한다.
+ * 자체 마스크는 auto-mask와 같은 결과가 아니므로 fitting.preprocess.enabled로 켠 경우에만 사용한다 (기본 꺼짐).
+ */
+@Slf4j
+@Component
+public class PreprocessingCache {
+
+    static final String COMPLETE_MARKER = ".complete";
+    private static final String TEMP_PREFIX = ".preprocess-";
+
+    private final PreprocessingStep step;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter failureCounter;
+    private final Counter evictionCounter;
+    private final Timer stepTimer;
+
+    /**
+     * 접근 순서 LinkedHashMap (가장 오래 사용하지 않은 항목이 맨 앞) - this로 동기화
+     */
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Integer> pins = new HashMap<>();
+    private final Map<String, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+    private long totalBytes;
+
+    @Value("${fitting.preprocess.enabled:false}")
+    private boolean enabled;
+
+    @Value("${fitting.preprocess.cache-dir:/tmp/lookfit_preprocess}")
+    private String cacheDir;
+
+    @Value("${fitting.preprocess.max-size:512MB}")
+    private DataSize maxSize;
+
+    @Value("${fitting.preprocess.wait-timeout:2m}")
+    private Duration waitTimeout;
+
+    public PreprocessingCache(PreprocessingStep step, MeterRegistry meterRegistry) {
+        this.step = step;
+        this.hitCounter = Counter.builder("fitting.preprocess.cache")
+                .tag("result", "hit")
+                .description("사용자 사진 전처리 캐시 적중 (생략한 전처리 수)")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("fitting.preprocess.cache")
+                .tag("result", "miss")
+                .description("사용자 사진 전처리 캐시 미스 (전처리 실행)")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("fitting.preprocess.cache")
+                .tag("result", "failure")
+                .description("전처리 실패로 auto-mask로 진행한 요청 수")
+                .register(meterRegistry);
+        this.evictionCounter = Counter.builder("fitting.preprocess.cache.evictions")
+                .description("크기 상한 초과로 삭제한 전처리 캐시 항목 수")
+                .register(meterRegistry);
+        this.stepTimer = Timer.builder("fitting.preprocess.duration")
+                .description("사용자 사진 전처리 시간 (캐시 미스)")
+                .register(meterRegistry);
+        Gauge.builder("fitting.preprocess.cache.size", this, PreprocessingCache::getTotalBytes)
+                .baseUnit("bytes")
+                .description("전처리 캐시 디스크 사용량")
+                .register(meterRegistry);
+        Gauge.builder("fitting.preprocess.cache.entries", this, PreprocessingCache::getEntryCount)
+                .description("전처리 캐시 항목 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 디스크에 남은 항목 복원 (미완료 임시 디렉토리는 삭제)
+     */
+    @PostConstruct
+    void load() {
+        if (!enabled) {
+            return;
+        }
+        Path root = root();
+        List<Entry> restored = new ArrayList<>();
+        try {
+            Files.createDirectories(root);
+            try (Stream<Path> shards = Files.list(root)) {
+                for (Path shard : shards.toList()) {
+                    if (shard.getFileName().toString().startsWith(TEMP_PREFIX)) {
+                        deleteRecursively(shard);
+                        continue;
+                    }
+                    if (!Files.isDirectory(shard)) {
+                        continue;
+                    }
+                    try (Stream<Path> dirs = Files.list(shard)) {
+                        for (Path dir : dirs.toList()) {
+                            Path marker = dir.resolve(COMPLETE_MARKER);
+                            if (Files.exists(marker)) {
+                                restored.add(new Entry(dir.getFileName().toString(), dir, directorySize(dir),
+                                        Files.getLastModifiedTime(marker).toMillis()));
+                            } else {
+                                deleteRecursively(dir);
+                            }
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.warn("전처리 캐시 복원 실패 - dir: {}: {}", root, e.getMessage());
+        }
+
+        restored.sort(Comparator.comparingLong(Entry::lastUsedAt));
+        synchronized (this) {
+            for (Entry entry : restored) {
+                entries.put(entry.hash(), entry);
+                totalBytes += entry.bytes();
+            }
+        }
+        log.info("전처리 캐시 복원 - 항목: {}, 크기: {}KB", restored.size(), getTotalBytes() / 1024);
+        evict();
+    }
+
+    /**
+     * 사용자 사진의 전처리 산출물 조회 (없으면 전처리 후 저장)
+     * 반환된 Lease를 닫기 전까지 해당 항목은 삭제되지 않는다
+     *
+     * @param userImage 정규화된 사용자 사진 (로컬 경로)
+     * @return 전처리를 사용할 수 없거나 실패하면 empty
+     */
+    public Optional<Lease> acquire(Path userImage) {
+        if (!enabled || !step.isAvailable()) {
+            return Optional.empty();
+        }
+
+        String hash;
+        try {
+            hash = contentHash(userImage);
+        } catch (IOException e) {
+            log.warn("사용자 사진 해시 계산 실패 - path: {}: {}", userImage, e.getMessage());
+            return Optional.empty();
+        }
+
+        Lease lease = pin(hash);
+        if (lease != null) {
+            hitCounter.increment();
+            touch(lease.directory());
+            return Optional.of(lease);
+        }
+
+        CompletableFuture<Void> mine = new CompletableFuture<>();
+        CompletableFuture<Void> running = inFlight.putIfAbsent(hash, mine);
+        if (running != null) {
+            return awaitRunning(hash, running);
+        }
+
+        missCounter.increment();
+        try {
+            return Optional.ofNullable(compute(hash, userImage));
+        } finally {
+            inFlight.remove(hash, mine);
+            mine.complete(null);
+        }
+    }
+
+    /**
+     * 같은 사진의 전처리가 진행 중이면 끝날 때까지 기다렸다가 결과를 공유
+     */
+    private Optional<Lease> awaitRunning(String hash, CompletableFuture<Void> running) {
+        try {
+            running.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        } catch (ExecutionException | TimeoutException e) {
+            return Optional.empty();
+        }
+
+        Lease lease = pin(hash);
+        if (lease != null) {
+            hitCounter.increment();
+        }
+        return Optional.ofNullable(lease);
+    }
+
+    /**
+     * 임시 디렉토리에 전처리 후 원자적으로 캐시 디렉토리에 배치
+     */
+    private Lease compute(String hash, Path userImage) {
+        Path temp = null;
+        try {
+            Path root = root();
+            Files.createDirectories(root);
+            temp = Files.createTempDirectory(root, TEMP_PREFIX);
+
+            long startedAt = System.nanoTime();
+            step.run(userImage, temp);
+            stepTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            Files.writeString(temp.resolve(COMPLETE_MARKER), hash);
+
+            Path target = entryDir(hash);
+            Files.createDirectories(target.getParent());
+            deleteRecursively(target);
+            moveAtomically(temp, target);
+
+            Lease lease = insert(new Entry(hash, target, directorySize(target), System.currentTimeMillis()));
+            log.info("사용자 사진 전처리 완료 - hash: {}, 소요: {}ms", hash,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+            evict();
+            return lease;
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            failureCounter.increment();
+            log.warn("사용자 사진 전처리 실패 - auto-mask로 진행합니다: hash: {}: {}", hash, e.getMessage());
+            return null;
+        } finally {
+            if (temp != null) {
+                deleteRecursively(temp);
+            }
+        }
+    }
+
+    private synchronized Lease insert(Entry entry) {
+        Entry previous = entries.put(entry.hash(), entry);
+        if (previous != null) {
+            totalBytes -= previous.bytes();
+        }
+        totalBytes += entry.bytes();
+        pins.merge(entry.hash(), 1, Integer::sum);
+        return new Lease(entry.hash(), entry.directory());
+    }
+
+    private synchronized Lease pin(String hash) {
+        Entry entry = entries.get(hash);
+        if (entry == null) {
+            return null;
+        }
+        pins.merge(hash, 1, Integer::sum);
+        return new Lease(hash, entry.directory());
+    }
+
+    private void unpin(String hash) {
+        synchronized (this) {
+            pins.computeIfPresent(hash, (key, count) -> count > 1 ? count - 1 : null);
+        }
+        evict();
+    }
+
+    /**
+     * 크기 상한을 넘으면 가장 오래 사용하지 않은 항목부터 삭제 (사용 중인 항목은 건너뛴다)
+     * 파일 삭제는 잠금 밖에서 한다
+     */
+    void evict() {
+        List<Entry> victims = new ArrayList<>();
+        synchronized (this) {
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (totalBytes > maxSize.toBytes() && iterator.hasNext()) {
+                Entry entry = iterator.next();
+                if (pins.containsKey(entry.hash())) {
+                    continue;
+                }
+                iterator.remove();
+                totalBytes -= entry.bytes();
+                victims.add(entry);
+            }
+        }
+
+        for (Entry victim : victims) {
+            deleteRecursively(victim.directory());
+            evictionCounter.increment();
+            log.debug("전처리 캐시 항목 삭제 (LRU) - hash: {}, size: {}KB", victim.hash(), victim.bytes() / 1024);
+        }
+    }
+
+    synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    synchronized boolean contains(String hash) {
+        return entries.containsKey(hash);
+    }
+
+    private Path root() {
+        return Paths.get(cacheDir).toAbsolutePath();
+    }
+
+    /**
+     * 해시 앞 2자리로 디렉토리 분산
+     */
+    private Path entryDir(String hash) {
+        return root().resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    static String contentHash(Path file) throws IOException {
+        MessageDigest digest = HashUtils.newSha256();
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HashUtils.toHex(digest.digest());
+    }
+
+    /**
+     * 적중 시 완료 표시 파일 수정 시각 갱신 (재시작 후 LRU 순서 복원용)
+     */
+    private static void touch(Path directory) {
+        try {
+            Files.setLastModifiedTime(directory.resolve(COMPLETE_MARKER), FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            log.debug("전처리 캐시 접근 시각 갱신 실패 - dir: {}", directory);
+        }
+    }
+
+    private static long directorySize(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            long size = 0;
+            for (Path file : files.filter(Files::isRegularFile).toList()) {
+                size += Files.size(file);
+            }
+            return size;
+        }
+    }
+
+    private static void deleteRecursively(Path path) {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(path)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            log.warn("전처리 캐시 파일 삭제 실패 - path: {}: {}", path, e.getMessage());
+        }
+    }
+
+    private static void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target);
+        }
+    }
+
+    private record Entry(String hash, Path directory, long bytes, long lastUsedAt) {
+    }
+
+    /**
+     * 전처리 산출물 사용권 (닫기 전까지 LRU 삭제 대상에서 제외)
+     */
+    public final class Lease implements AutoCloseable {
+
+        private final String hash;
+        private final Path directory;
+        private boolean closed;
+
+        private Lease(String hash, Path directory) {
+            this.hash = hash;
+            this.directory = directory;
+        }
+
+        public String hash() {
+            return hash;
+        }
+
+        public Path directory() {
+            return directory;
+        }
+
+        @Override
+        public void close() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+            }
+            unpin(hash);
+        }
+    }
+}
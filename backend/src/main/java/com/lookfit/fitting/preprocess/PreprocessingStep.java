@@ -0,0 +1,25 @@
+package com.lookfit.fitting.preprocess;
+
+import java.nio.file.Path;
+
+/**
+ * 사용자 사진 전처리 (포즈 추정 + 카테고리별 의류 영역 마스크)
+ * 결과는 PreprocessingCache가 사진 콘텐츠 해시 단위로 디스크에 보관한다
+ */
+public interface PreprocessingStep {
+
+    /**
+     * 지금 전처리를 실행할 수 있는지 (불가하면 캐시 조회 없이 기존 auto-mask로 생성)
+     */
+    default boolean isAvailable() {
+        return true;
+    }
+
+    /**
+     * 전처리 산출물을 outputDir에 쓴다 (pose.json, mask_{category}.png)
+     *
+     * @param userImage 정규화된 사용자 사진
+     * @param outputDir 비어 있는 임시 디렉토리 (성공 시 캐시 디렉토리로 옮겨진다)
+     */
+    void run(Path userImage, Path outputDir) throws Exception;
+}
@@ -0,0 +1,53 @@
+package com.lookfit.fitting.preprocess;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.lookfit.fitting.worker.PythonWorkerPool;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * 상주 Python 워커의 preprocess op로 전처리 실행
+ * 워커에 전처리 의존성(mediapipe)이 없으면 한 번 확인한 뒤 더 이상 시도하지 않는다
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PythonPreprocessingStep implements PreprocessingStep {
+
+    static final String UNAVAILABLE_ERROR_TYPE = "PREPROCESS_UNAVAILABLE";
+
+    private final ObjectMapper objectMapper;
+    private final PythonWorkerPool pythonWorkerPool;
+
+    private volatile boolean unsupported;
+
+    @Override
+    public boolean isAvailable() {
+        return !unsupported && pythonWorkerPool.isEnabled();
+    }
+
+    @Override
+    public void run(Path userImage, Path outputDir) throws Exception {
+        ObjectNode request = objectMapper.createObjectNode()
+                .put("op", "preprocess")
+                .put("user_image", userImage.toString())
+                .put("output_dir", outputDir.toString());
+
+        JsonNode result = pythonWorkerPool.execute(request);
+        if (result.path("success").asBoolean()) {
+            return;
+        }
+
+        String error = result.path("error").asText("Unknown error");
+        if (UNAVAILABLE_ERROR_TYPE.equals(result.path("error_type").asText())) {
+            unsupported = true;
+            log.info("Python 워커에 전처리 의존성이 없어 사용자 사진 전처리를 건너뜁니다: {}", error);
+        }
+        throw new IllegalStateException("사용자 사진 전처리 실패: " + error);
+    }
+}
@@ -0,0 +1,37 @@
+package com.lookfit.fitting.provider;
+
+import com.lookfit.fitting.service.HuggingFaceGradioService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hugging Face Space (Python Gradio Client) 제공자
+ */
+@Component
+@RequiredArgsConstructor
+public class GradioTryOnProvider implements TryOnProvider {
+
+    public static final String NAME = "hf-gradio";
+
+    private final HuggingFaceGradioService huggingFaceGradioService;
+
+    @Value("${fitting.provider.hf-gradio.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return enabled;
+    }
+
+    @Override
+    public String generate(TryOnRequest request) {
+        return huggingFaceGradioService.generateVirtualTryOn(
+                request.userImageUrl(), request.garmentImageUrl(), request.category());
+    }
+}
@@ -0,0 +1,49 @@
+package com.lookfit.fitting.provider;
+
+import com.lookfit.fitting.service.HuggingFaceApiService;
+import com.lookfit.global.media.MediaDownloader;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hugging Face Space HTTP API 제공자
+ * Space가 이미지를 직접 내려받으므로 외부에서 접근 가능한 base-url이 필요하다 (기본 비활성화)
+ * Space가 돌려주는 /file= URL은 임시 파일이므로 결과를 미디어 저장소로 받아 저장소 URL을 돌려준다
+ */
+@Component
+@RequiredArgsConstructor
+public class HuggingFaceApiTryOnProvider implements TryOnProvider {
+
+    public static final String NAME = "hf-api";
+
+    private final HuggingFaceApiService huggingFaceApiService;
+    private final MediaDownloader mediaDownloader;
+
+    @Value("${fitting.provider.hf-api.enabled:false}")
+    private boolean enabled;
+
+    @Value("${fitting.base-url:http://localhost:8080}")
+    private String baseUrl;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return enabled;
+    }
+
+    @Override
+    public String generate(TryOnRequest request) throws Exception {
+        String resultUrl = huggingFaceApiService.generateVirtualTryOn(
+                toPublicUrl(request.userImageUrl()), toPublicUrl(request.garmentImageUrl()), request.category());
+        return mediaDownloader.download(resultUrl);
+    }
+
+    private String toPublicUrl(String url) {
+        return url.startsWith("http") ? url : baseUrl + url;
+    }
+}
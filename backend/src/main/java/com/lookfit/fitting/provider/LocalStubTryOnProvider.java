@@ -0,0 +1,193 @@
+package com.lookfit.fitting.provider;
+
+import com.lookfit.fitting.service.GarmentAssetService;
+import com.lookfit.fitting.service.HuggingFaceGradioService;
+import com.lookfit.fitting.trace.FittingStage;
+import com.lookfit.fitting.trace.FittingTrace;
+import com.lookfit.global.exception.BusinessException;
+import com.lookfit.global.exception.ErrorCode;
+import com.lookfit.global.media.MediaStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.SplittableRandom;
+
+/**
+ * 로컬 스텁 제공자 (stub-tryon 프로파일) - Hugging Face 할당량 없이 부하 테스트/오프라인 개발용
+ * - 의류 이미지를 카테고리 영역(상의/하의/원피스)에 반투명하게 겹친 결과를 미디어 저장소에 저장
+ * - 지연은 로그 정규 분포 (median, p99), 실패/할당량 초과는 설정 비율로 발생
+ * - 난수는 seed로 고정해 같은 호출 순서면 같은 지연/실패가 재현된다
+ *
+ * 실행: SPRING_PROFILES_ACTIVE=stub-tryon (application-stub-tryon.yml이 다른 제공자를 끈다)
+ */
+@Slf4j
+@Component
+@Profile(LocalStubTryOnProvider.PROFILE)
+@RequiredArgsConstructor
+public class LocalStubTryOnProvider implements TryOnProvider {
+
+    public static final String NAME = "local-stub";
+    public static final String PROFILE = "stub-tryon";
+
+    /**
+     * 표준 정규 분포 99 백분위 z 값
+     */
+    private static final double Z_99 = 2.3263;
+    private static final float GARMENT_ALPHA = 0.85f;
+
+    private final GarmentAssetService garmentAssetService;
+    private final MediaStore mediaStore;
+
+    @Value("${fitting.image.static-dir:src/main/resources/static/images}")
+    private String staticImageDir;
+
+    @Value("${fitting.provider.local-stub.latency.median:3s}")
+    private Duration latencyMedian;
+
+    @Value("${fitting.provider.local-stub.latency.p99:8s}")
+    private Duration latencyP99;
+
+    @Value("${fitting.provider.local-stub.failure-rate:0.0}")
+    private double failureRate;
+
+    @Value("${fitting.provider.local-stub.quota-rate:0.0}")
+    private double quotaRate;
+
+    @Value("${fitting.provider.local-stub.seed:42}")
+    private long seed;
+
+    private SplittableRandom random;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public String generate(TryOnRequest request) throws Exception {
+        Outcome outcome = nextOutcome();
+        Thread.sleep(outcome.latency().toMillis());
+        FittingTrace.record(FittingStage.REMOTE, outcome.latency().toNanos());
+
+        if (outcome.quotaExceeded()) {
+            throw new BusinessException(ErrorCode.GPU_QUOTA_EXCEEDED, "스텁 GPU 할당량 초과 (시뮬레이션)");
+        }
+        if (outcome.failed()) {
+            throw new IllegalStateException("스텁 생성 실패 (시뮬레이션)");
+        }
+
+        long garmentStartedAt = System.nanoTime();
+        Path garmentPath = Paths.get(garmentAssetService.resolve(request.garmentImageUrl()));
+        FittingTrace.record(FittingStage.GARMENT, System.nanoTime() - garmentStartedAt);
+
+        long composeStartedAt = System.nanoTime();
+        Path userPath = mediaStore.resolve(request.userImageUrl())
+                .orElseGet(() -> HuggingFaceGradioService.toLocalPath(staticImageDir, request.userImageUrl()));
+        String resultUrl = compose(userPath, garmentPath, request.category());
+        FittingTrace.record(FittingStage.RESULT_COPY, System.nanoTime() - composeStartedAt);
+
+        log.debug("스텁 가상 피팅 완료 - flightKey: {}, {}ms, resultUrl: {}",
+                request.flightKey(), outcome.latency().toMillis(), resultUrl);
+        return resultUrl;
+    }
+
+    /**
+     * 다음 호출의 지연/결과 (seed 고정 난수, 호출 순서대로)
+     */
+    synchronized Outcome nextOutcome() {
+        if (random == null) {
+            random = new SplittableRandom(seed);
+        }
+        double roll = random.nextDouble();
+        return new Outcome(
+                sampleLatency(random.nextGaussian()),
+                roll < quotaRate,
+                roll >= quotaRate && roll < quotaRate + failureRate
+        );
+    }
+
+    /**
+     * 로그 정규 분포 지연 - median과 p99로 sigma를 정한다 (p99 ≤ median이면 고정 지연)
+     */
+    private Duration sampleLatency(double gaussian) {
+        long medianMillis = latencyMedian.toMillis();
+        if (medianMillis <= 0) {
+            return Duration.ZERO;
+        }
+        if (latencyP99.toMillis() <= medianMillis) {
+            return latencyMedian;
+        }
+        double sigma = Math.log((double) latencyP99.toMillis() / medianMillis) / Z_99;
+        return Duration.ofMillis(Math.round(medianMillis * Math.exp(sigma * gaussian)));
+    }
+
+    /**
+     * 사용자 이미지 위 카테고리 영역에 의류 이미지를 비율 유지로 겹쳐 미디어 저장소에 PNG로 저장
+     */
+    private String compose(Path userPath, Path garmentPath, String category) throws IOException {
+        BufferedImage user = ImageIO.read(userPath.toFile());
+        BufferedImage garment = ImageIO.read(garmentPath.toFile());
+        if (user == null || garment == null) {
+            throw new IOException("이미지를 읽을 수 없습니다: " + (user == null ? userPath : garmentPath));
+        }
+
+        int width = user.getWidth();
+        int height = user.getHeight();
+        double top = switch (category) {
+            case "lower_body" -> 0.5;
+            default -> 0.2;
+        };
+        double bottom = switch (category) {
+            case "upper_body" -> 0.55;
+            default -> 0.9;
+        };
+        int areaWidth = (int) (width * 0.6);
+        int areaHeight = (int) (height * (bottom - top));
+        double scale = Math.min((double) areaWidth / garment.getWidth(), (double) areaHeight / garment.getHeight());
+        int garmentWidth = Math.max(1, (int) (garment.getWidth() * scale));
+        int garmentHeight = Math.max(1, (int) (garment.getHeight() * scale));
+
+        BufferedImage result = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = result.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(user, 0, 0, null);
+            graphics.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, GARMENT_ALPHA));
+            graphics.drawImage(garment, (width - garmentWidth) / 2, (int) (height * top),
+                    garmentWidth, garmentHeight, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        Path temp = Files.createTempFile("lookfit-stub-", ".png");
+        try {
+            ImageIO.write(result, "png", temp.toFile());
+            return mediaStore.moveIn(temp, width, height).url();
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * 한 번의 호출 결과
+     *
+     * @param latency 모델 추론 지연 (실패해도 이만큼 걸린다)
+     * @param quotaExceeded GPU 할당량 초과로 실패
+     * @param failed 일반 오류로 실패
+     */
+    record Outcome(Duration latency, boolean quotaExceeded, boolean failed) {
+    }
+}
@@ -0,0 +1,92 @@
+package com.lookfit.fitting.provider;
+
+import com.lookfit.fitting.replicate.ReplicatePredictionService;
+import com.lookfit.fitting.replicate.ReplicatePredictionTracker;
+import com.lookfit.fitting.service.ReplicateApiService;
+import com.lookfit.global.media.MediaDownloader;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Replicate (IDM-VTON) 제공자
+ * prediction을 만든 뒤 완료 알림(webhook) 또는 주기적 상태 조회(ReplicatePredictionService)를 기다린다
+ * 결과(replicate.delivery URL)는 만료되므로 미디어 저장소로 받아 저장소 URL을 돌려준다
+ * API 키가 설정된 경우만 사용
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReplicateTryOnProvider implements TryOnProvider {
+
+    public static final String NAME = "replicate";
+
+    private final ReplicateApiService replicateApiService;
+    private final ReplicatePredictionService predictionService;
+    private final ReplicatePredictionTracker predictionTracker;
+    private final MediaDownloader mediaDownloader;
+
+    @Value("${fitting.provider.replicate.enabled:true}")
+    private boolean enabled;
+
+    @Value("${fitting.provider.replicate.timeout:3m}")
+    private Duration timeout;
+
+    @Value("${fitting.base-url:http://localhost:8080}")
+    private String baseUrl;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return enabled && replicateApiService.isConfigured();
+    }
+
+    @Override
+    public String generate(TryOnRequest request) throws Exception {
+        String predictionId = replicateApiService.createPrediction(
+                toPublicUrl(request.userImageUrl()), toPublicUrl(request.garmentImageUrl()),
+                request.category(), predictionService.webhookUrl());
+        if (ReplicateApiService.isMockPrediction(predictionId)) {
+            // 크레딧 부족 등으로 Mock 응답 - 실제 결과가 아니므로 실패로 처리해 다른 제공자로 넘긴다
+            throw new IllegalStateException("Replicate prediction을 생성하지 못했습니다 (Mock 응답)");
+        }
+
+        CompletableFuture<String> result = predictionTracker.track(predictionId);
+        try {
+            predictionService.link(request.flightKey(), predictionId);
+        } catch (Exception e) {
+            log.warn("피팅에 prediction 연결 실패 - predictionId: {}: {}", predictionId, e.getMessage());
+        }
+
+        String output;
+        try {
+            output = result.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            predictionTracker.forget(predictionId);
+            throw new TimeoutException("Replicate prediction 시간 초과 - predictionId: " + predictionId);
+        } catch (InterruptedException e) {
+            // 피팅 취소 - 원격 prediction도 중단해 GPU를 반납
+            predictionTracker.forget(predictionId);
+            replicateApiService.cancelPrediction(predictionId);
+            throw e;
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+        return mediaDownloader.download(output);
+    }
+
+    private String toPublicUrl(String url) {
+        return url.startsWith("http") ? url : baseUrl + url;
+    }
+}
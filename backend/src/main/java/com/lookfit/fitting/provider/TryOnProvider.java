@@ -0,0 +1,26 @@
+package com.lookfit.fitting.provider;
+
+/**
+ * 가상 피팅 AI 제공자 (TryOnRouter가 지연/오류율을 보고 선택)
+ */
+public interface TryOnProvider {
+
+    /**
+     * 제공자 이름 (라우팅 순서 설정, 메트릭 태그, 피팅 기록에 사용)
+     */
+    String getName();
+
+    /**
+     * 설정상 사용 가능 여부 (API 키 미설정 등이면 라우팅 대상에서 제외)
+     */
+    default boolean isAvailable() {
+        return true;
+    }
+
+    /**
+     * 가상 피팅 이미지 생성
+     *
+     * @return 생성된 이미지 URL
+     */
+    String generate(TryOnRequest request) throws Exception;
+}
@@ -0,0 +1,193 @@
+package com.lookfit.fitting.provider;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * 제공자별 최근 호출 기록 + 서킷 브레이커
+ * - 최근 windowSize건의 지연/성공 여부를 링 버퍼로 보관 (백분위, 오류율 계산)
+ * - 연속 실패 또는 오류율 초과 시 OPEN → openDuration 후 시험 호출 1건만 허용 (HALF_OPEN)
+ * - 시험 호출이 성공하면 CLOSED (기록 초기화), 실패하면 다시 OPEN
+ */
+public class TryOnProviderHealth {
+
+    public enum CircuitState {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final int minCalls;
+    private final double errorRateThreshold;
+    private final Duration openDuration;
+
+    private final long[] latencies;
+    private final boolean[] successes;
+    private int count;
+    private int next;
+
+    private int consecutiveFailures;
+    private CircuitState state = CircuitState.CLOSED;
+    private Instant openedAt = Instant.EPOCH;
+    private boolean trialInFlight;
+
+    public TryOnProviderHealth(int windowSize, int failureThreshold, int minCalls,
+                               double errorRateThreshold, Duration openDuration) {
+        this.failureThreshold = failureThreshold;
+        this.minCalls = minCalls;
+        this.errorRateThreshold = errorRateThreshold;
+        this.openDuration = openDuration;
+        this.latencies = new long[windowSize];
+        this.successes = new boolean[windowSize];
+    }
+
+    /**
+     * 호출 허용 여부 (HALF_OPEN이면 시험 호출 1건만)
+     */
+    public synchronized boolean tryAcquire(Instant now) {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (now.isBefore(openedAt.plus(openDuration))) {
+                    return false;
+                }
+                state = CircuitState.HALF_OPEN;
+                trialInFlight = true;
+                return true;
+            default:
+                if (trialInFlight) {
+                    return false;
+                }
+                trialInFlight = true;
+                return true;
+        }
+    }
+
+    /**
+     * 호출 가능 여부 확인만 (상태 변경 없음)
+     */
+    public synchronized boolean isCallPermitted(Instant now) {
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> !now.isBefore(openedAt.plus(openDuration));
+            case HALF_OPEN -> !trialInFlight;
+        };
+    }
+
+    /**
+     * 차단 대기가 끝나 시험 호출을 기다리는 중
+     */
+    public synchronized boolean isRecovering(Instant now) {
+        return switch (state) {
+            case CLOSED -> false;
+            case OPEN -> !now.isBefore(openedAt.plus(openDuration));
+            case HALF_OPEN -> !trialInFlight;
+        };
+    }
+
+    public synchronized void recordSuccess(Duration latency) {
+        if (state != CircuitState.CLOSED) {
+            state = CircuitState.CLOSED;
+            trialInFlight = false;
+            count = 0;
+            next = 0;
+        }
+        consecutiveFailures = 0;
+        add(latency.toMillis(), true);
+    }
+
+    /**
+     * @return 이번 실패로 서킷이 열렸으면 true
+     */
+    public synchronized boolean recordFailure(Duration latency, Instant now) {
+        add(latency.toMillis(), false);
+        consecutiveFailures++;
+
+        boolean trip = state == CircuitState.HALF_OPEN
+                || consecutiveFailures >= failureThreshold
+                || (count >= minCalls && errorRate() >= errorRateThreshold);
+        if (trip && state != CircuitState.OPEN) {
+            open(now);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 결과 없이 끝난 호출 (피팅 취소) - 기록하지 않고 시험 호출 자리만 비운다
+     */
+    public synchronized void release() {
+        trialInFlight = false;
+    }
+
+    /**
+     * 즉시 차단 (할당량 초과처럼 재시도가 무의미한 실패)
+     */
+    public synchronized void forceOpen(Instant now) {
+        open(now);
+    }
+
+    /**
+     * 성공 호출 지연 백분위 (nearest-rank)
+     *
+     * @return 성공 기록이 없으면 -1
+     */
+    public synchronized long latencyPercentileMillis(double percentile) {
+        long[] samples = successLatencies();
+        if (samples.length == 0) {
+            return -1;
+        }
+        Arrays.sort(samples);
+        int rank = (int) Math.ceil(percentile * samples.length);
+        return samples[Math.max(0, Math.min(samples.length - 1, rank - 1))];
+    }
+
+    public synchronized double errorRate() {
+        if (count == 0) {
+            return 0;
+        }
+        int failures = 0;
+        for (int i = 0; i < count; i++) {
+            if (!successes[i]) {
+                failures++;
+            }
+        }
+        return (double) failures / count;
+    }
+
+    /**
+     * 기록된 호출 수 (성공 + 실패, 최대 windowSize)
+     */
+    public synchronized int sampleCount() {
+        return count;
+    }
+
+    public synchronized CircuitState getState() {
+        return state;
+    }
+
+    private void open(Instant now) {
+        state = CircuitState.OPEN;
+        openedAt = now;
+        trialInFlight = false;
+    }
+
+    private void add(long latencyMillis, boolean success) {
+        latencies[next] = latencyMillis;
+        successes[next] = success;
+        next = (next + 1) % latencies.length;
+        count = Math.min(count + 1, latencies.length);
+    }
+
+    private long[] successLatencies() {
+        long[] samples = new long[count];
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            if (successes[i]) {
+                samples[size++] = latencies[i];
+            }
+        }
+        return Arrays.copyOf(samples, size);
+    }
+}
@@ -0,0 +1,12 @@
+package com.lookfit.fitting.provider;
+
+/**
+ * 가상 피팅 생성 요청
+ *
+ * @param flightKey 합쳐진 작업 키 (비동기 제공자가 결과를 피팅에 연결할 때 사용)
+ * @param userImageUrl 사용자 이미지 URL (상대 경로)
+ * @param garmentImageUrl 의류 이미지 URL (상대 경로)
+ * @param category 카테고리 (upper_body, lower_body, dresses)
+ */
+public record TryOnRequest(String flightKey, String userImageUrl, String garmentImageUrl, String category) {
+}
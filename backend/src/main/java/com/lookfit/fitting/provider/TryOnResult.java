@@ -0,0 +1,10 @@
+package com.lookfit.fitting.provider;
+
+/**
+ * 가상 피팅 생성 결과
+ *
+ * @param imageUrl 생성된 이미지 URL
+ * @param provider 결과를 만든 제공자 이름
+ */
+public record TryOnResult(String imageUrl, String provider) {
+}
@@ -0,0 +1,217 @@
+package com.lookfit.fitting.provider;
+
+import com.lookfit.fitting.trace.FittingStage;
+import com.lookfit.fitting.trace.FittingTrace;
+import com.lookfit.global.exception.BusinessException;
+import com.lookfit.global.exception.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+
+/**
+ * 가상 피팅 제공자 라우터
+ * - 제공자별 최근 지연(p90)과 오류율로 기대 지연을 계산해 가장 빠른 정상 제공자부터 시도
+ * - 기록이 부족한 제공자는 먼저 시도해 지연을 측정한다 (여럿이면 설정 순서 fitting.provider.order)
+ * - 실패하면 다음 제공자로 넘어가고, 반복 실패한 제공자는 서킷 브레이커로 잠시 제외 (대기 후 시험 호출 우선)
+ * - GPU 할당량 초과는 해당 제공자를 즉시 차단하고, 모든 제공자가 실패하면 그대로 전파 (입장 제어가 쿨다운)
+ * - 피팅 취소로 인터럽트되면 제공자 상태에 반영하지 않고 CancellationException으로 중단
+ */
+@Slf4j
+@Component
+public class TryOnRouter {
+
+    private static final double SELECTION_PERCENTILE = 0.9;
+    private static final double MIN_SUCCESS_RATE = 0.05;
+
+    private final List<TryOnProvider> providers;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${fitting.provider.order:hf-gradio,hf-api,replicate}")
+    private List<String> order;
+
+    @Value("${fitting.provider.window-size:50}")
+    private int windowSize;
+
+    @Value("${fitting.provider.min-samples:5}")
+    private int minSamples;
+
+    @Value("${fitting.provider.circuit.failure-threshold:3}")
+    private int failureThreshold;
+
+    @Value("${fitting.provider.circuit.min-calls:10}")
+    private int minCalls;
+
+    @Value("${fitting.provider.circuit.error-rate-threshold:0.5}")
+    private double errorRateThreshold;
+
+    @Value("${fitting.provider.circuit.open-duration:30s}")
+    private Duration openDuration;
+
+    Clock clock = Clock.systemUTC();
+
+    private final Map<String, TryOnProviderHealth> healthByProvider = new LinkedHashMap<>();
+    private List<TryOnProvider> orderedProviders;
+    private Counter fallbackCounter;
+
+    public TryOnRouter(List<TryOnProvider> providers, MeterRegistry meterRegistry) {
+        this.providers = providers;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void init() {
+        orderedProviders = providers.stream()
+                .sorted(Comparator.comparingInt(provider -> {
+                    int index = order.indexOf(provider.getName());
+                    return index < 0 ? Integer.MAX_VALUE : index;
+                }))
+                .toList();
+
+        for (TryOnProvider provider : orderedProviders) {
+            TryOnProviderHealth health = new TryOnProviderHealth(
+                    windowSize, failureThreshold, minCalls, errorRateThreshold, openDuration);
+            healthByProvider.put(provider.getName(), health);
+
+            Gauge.builder("fitting.provider.circuit", health, h -> h.getState().ordinal())
+                    .description("제공자 서킷 상태 (0=CLOSED, 1=OPEN, 2=HALF_OPEN)")
+                    .tag("provider", provider.getName())
+                    .register(meterRegistry);
+            Gauge.builder("fitting.provider.error.rate", health, TryOnProviderHealth::errorRate)
+                    .description("제공자 최근 호출 오류율")
+                    .tag("provider", provider.getName())
+                    .register(meterRegistry);
+            Gauge.builder("fitting.provider.latency.p90", health,
+                            h -> h.latencyPercentileMillis(SELECTION_PERCENTILE) / 1000.0)
+                    .description("제공자 최근 성공 호출 p90 지연 (초, 기록 없으면 음수)")
+                    .tag("provider", provider.getName())
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+        }
+        fallbackCounter = Counter.builder("fitting.provider.fallback")
+                .description("첫 제공자 실패 후 다른 제공자로 처리된 피팅 생성 수")
+                .register(meterRegistry);
+
+        log.info("가상 피팅 제공자 - 순서: {}, 사용 가능: {}",
+                orderedProviders.stream().map(TryOnProvider::getName).toList(),
+                orderedProviders.stream().filter(TryOnProvider::isAvailable).map(TryOnProvider::getName).toList());
+    }
+
+    /**
+     * 가장 빠른 정상 제공자로 생성 (실패 시 다음 제공자로 폴백)
+     *
+     * @return 생성 결과와 처리한 제공자
+     */
+    public TryOnResult route(TryOnRequest request) {
+        Exception lastError = null;
+        BusinessException quotaError = null;
+
+        for (TryOnProvider provider : rankProviders()) {
+            TryOnProviderHealth health = healthByProvider.get(provider.getName());
+            if (!health.tryAcquire(clock.instant())) {
+                continue;
+            }
+
+            FittingTrace.attempt(provider.getName());
+            long startedAt = System.nanoTime();
+            try {
+                String imageUrl = provider.generate(request);
+                Duration latency = Duration.ofNanos(System.nanoTime() - startedAt);
+                health.recordSuccess(latency);
+                record(provider, "success", latency);
+                if (lastError != null) {
+                    fallbackCounter.increment();
+                }
+                log.info("가상 피팅 제공자 처리 완료 - provider: {}, {}ms", provider.getName(), latency.toMillis());
+                return new TryOnResult(imageUrl, provider.getName());
+
+            } catch (Exception e) {
+                Duration latency = Duration.ofNanos(System.nanoTime() - startedAt);
+                if (e instanceof InterruptedException || e instanceof CancellationException
+                        || Thread.currentThread().isInterrupted()) {
+                    // 피팅 취소로 워커 스레드가 인터럽트됨 - 제공자 실패로 집계하지 않고 폴백도 하지 않는다
+                    health.release();
+                    Thread.currentThread().interrupt();
+                    log.info("가상 피팅 제공자 호출 중단 - provider: {}, {}ms", provider.getName(), latency.toMillis());
+                    throw new CancellationException("피팅 작업이 취소되었습니다");
+                }
+                boolean opened = health.recordFailure(latency, clock.instant());
+                record(provider, "failure", latency);
+                lastError = e;
+
+                if (e instanceof BusinessException businessException
+                        && businessException.getErrorCode() == ErrorCode.GPU_QUOTA_EXCEEDED) {
+                    health.forceOpen(clock.instant());
+                    quotaError = businessException;
+                    opened = true;
+                }
+                log.warn("가상 피팅 제공자 실패 - provider: {}, circuit: {}, error: {}",
+                        provider.getName(), opened ? "OPEN" : health.getState(), e.getMessage());
+            }
+        }
+
+        if (quotaError != null) {
+            throw quotaError;
+        }
+        if (lastError == null) {
+            throw new BusinessException(ErrorCode.AI_GENERATION_FAILED, "사용 가능한 AI 제공자가 없습니다");
+        }
+        if (lastError instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        throw new IllegalStateException(lastError.getMessage(), lastError);
+    }
+
+    /**
+     * 시도 순서 - 기록이 부족한 제공자 먼저, 그다음 기대 지연(p90 / 성공률) 오름차순 (같으면 설정 순서)
+     */
+    List<TryOnProvider> rankProviders() {
+        Instant now = clock.instant();
+        return orderedProviders.stream()
+                .filter(TryOnProvider::isAvailable)
+                .filter(provider -> healthByProvider.get(provider.getName()).isCallPermitted(now))
+                .sorted(Comparator.comparingDouble(provider ->
+                        expectedLatencyMillis(healthByProvider.get(provider.getName()), now)))
+                .toList();
+    }
+
+    TryOnProviderHealth health(String providerName) {
+        return healthByProvider.get(providerName);
+    }
+
+    private double expectedLatencyMillis(TryOnProviderHealth health, Instant now) {
+        // 기록이 부족하거나 차단 대기가 끝나 시험 호출이 필요한 제공자는 먼저 시도
+        if (health.sampleCount() < minSamples || health.isRecovering(now)) {
+            return 0;
+        }
+        long p90 = health.latencyPercentileMillis(SELECTION_PERCENTILE);
+        if (p90 < 0) {
+            return Double.MAX_VALUE;
+        }
+        double successRate = Math.max(MIN_SUCCESS_RATE, 1 - health.errorRate());
+        return p90 / successRate;
+    }
+
+    private void record(TryOnProvider provider, String outcome, Duration latency) {
+        FittingTrace.record(FittingStage.PROVIDER, latency.toNanos());
+        Timer.builder("fitting.provider.call")
+                .description("제공자 호출 시간")
+                .tag("provider", provider.getName())
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(latency);
+    }
+}
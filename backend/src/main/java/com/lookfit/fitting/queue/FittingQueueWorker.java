@@ -0,0 +1,251 @@
+package com.lookfit.fitting.queue;
+
+import com.lookfit.fitting.admission.FittingAdmissionGovernor;
+import com.lookfit.fitting.domain.FittingQueueEntry;
+import com.lookfit.fitting.domain.VirtualFitting;
+import com.lookfit.fitting.dto.FittingDto;
+import com.lookfit.fitting.event.FittingEvents;
+import com.lookfit.fitting.job.FittingInFlightRegistry;
+import com.lookfit.fitting.job.FittingJobExecutor;
+import com.lookfit.fitting.job.FittingJobService;
+import com.lookfit.fitting.repository.VirtualFittingRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DB 작업 큐 소비자 (database 모드에서만 동작, 모든 노드에서 실행)
+ * - 주기적으로 이 노드의 남는 워커 수와 남는 입장 허가 수만큼 가져가 FittingJobService로 실행
+ *   (노드마다 자기 처리량과 AIMD 한도만큼만 가져가고, 가져간 피팅의 허가는 결과가 반영될 때까지 쥔다)
+ * - 하트비트로 실행 중인 항목의 임대를 연장하고, 그 사이 다른 노드에서 취소된 피팅이나
+ *   임대를 잃은 항목(멈춰 있다 만료되어 다른 노드가 가져감)은 이 노드에서 중단한다
+ * - 임대 만료로 max-attempts번 넘게 가져간 항목은 실패 처리 (매번 노드를 죽이는 입력이 큐를 막지 않도록)
+ *
+ * 가져가기/하트비트는 공용 @Scheduled 스레드가 아닌 전용 스레드에서 돈다.
+ * 다른 주기 작업이 오래 걸려 하트비트가 밀리면 임대가 만료되어 실행 중인 작업을 다른 노드가 다시 가져가기 때문이다.
+ */
+@Slf4j
+@Component
+public class FittingQueueWorker {
+
+    static final String EXHAUSTED_MESSAGE = "AI 생성이 여러 번 중단되었습니다. 다시 시도해주세요.";
+
+    private final FittingWorkQueue workQueue;
+    private final FittingJobService fittingJobService;
+    private final FittingAdmissionGovernor admissionGovernor;
+    private final FittingJobExecutor jobExecutor;
+    private final FittingInFlightRegistry inFlightRegistry;
+    private final VirtualFittingRepository fittingRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Counter claimedCounter;
+    private final Counter reclaimedCounter;
+    private final Counter lostCounter;
+
+    @Value("${fitting.queue.batch-size:10}")
+    private int batchSize;
+
+    @Value("${fitting.queue.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${fitting.queue.poll-interval:PT1S}")
+    private Duration pollInterval;
+
+    @Value("${fitting.queue.heartbeat-interval:PT20S}")
+    private Duration heartbeatInterval;
+
+    Clock clock = Clock.systemDefaultZone();
+
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * 이 노드가 임대해 실행 중인 피팅 ID
+     */
+    private final Set<String> held = ConcurrentHashMap.newKeySet();
+
+    public FittingQueueWorker(FittingWorkQueue workQueue,
+                              FittingJobService fittingJobService,
+                              FittingAdmissionGovernor admissionGovernor,
+                              FittingJobExecutor jobExecutor,
+                              FittingInFlightRegistry inFlightRegistry,
+                              VirtualFittingRepository fittingRepository,
+                              ApplicationEventPublisher eventPublisher,
+                              MeterRegistry meterRegistry) {
+        this.workQueue = workQueue;
+        this.fittingJobService = fittingJobService;
+        this.admissionGovernor = admissionGovernor;
+        this.jobExecutor = jobExecutor;
+        this.inFlightRegistry = inFlightRegistry;
+        this.fittingRepository = fittingRepository;
+        this.eventPublisher = eventPublisher;
+        this.claimedCounter = Counter.builder("fitting.queue.claimed")
+                .description("이 노드가 DB 큐에서 가져간 피팅 수")
+                .register(meterRegistry);
+        this.reclaimedCounter = Counter.builder("fitting.queue.reclaimed")
+                .description("임대 만료 후 다시 가져간 피팅 수 (다른 노드가 끝내지 못한 작업)")
+                .register(meterRegistry);
+        this.lostCounter = Counter.builder("fitting.queue.lease.lost")
+                .description("임대를 잃어 이 노드에서 중단한 피팅 수")
+                .register(meterRegistry);
+        Gauge.builder("fitting.queue.held", held, Set::size)
+                .description("이 노드가 임대해 실행 중인 피팅 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 부팅 완료 후 가져가기/하트비트 시작 (database 모드에서만)
+     * 하트비트가 가져가기에 막히지 않도록 스레드를 하나씩 둔다
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!workQueue.isDurable()) {
+            return;
+        }
+        scheduler = Executors.newScheduledThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "fitting-queue-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> runSafely("가져가기", this::poll),
+                pollInterval.toMillis(), pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(() -> runSafely("하트비트", this::heartbeat),
+                heartbeatInterval.toMillis(), heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 예외가 나도 다음 주기가 계속 돌도록 (scheduleWithFixedDelay는 예외가 나면 이후 실행을 멈춘다)
+     */
+    private void runSafely(String task, Runnable action) {
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            log.error("DB 큐 {} 실패", task, e);
+        }
+    }
+
+    /**
+     * 남는 워커 수와 남는 입장 허가 수만큼 가져가 실행 (GPU 할당량 쿨다운 중이면 가져가지 않는다)
+     */
+    public void poll() {
+        if (!workQueue.isDurable() || admissionGovernor.isQuotaBlocked()) {
+            return;
+        }
+        int capacity = Math.min(batchSize,
+                Math.min(jobExecutor.getAvailableWorkers(), admissionGovernor.getAvailablePermits()));
+        if (capacity <= 0) {
+            return;
+        }
+
+        for (FittingQueueEntry entry : workQueue.claim(capacity)) {
+            start(entry);
+        }
+    }
+
+    private void start(FittingQueueEntry entry) {
+        String fittingId = entry.getFittingId();
+        claimedCounter.increment();
+        if (entry.getAttempts() > 1) {
+            reclaimedCounter.increment();
+            log.warn("임대 만료된 피팅 다시 가져감 - fittingId: {}, 시도: {}/{}", fittingId, entry.getAttempts(), maxAttempts);
+        }
+        if (entry.getAttempts() > maxAttempts) {
+            abandon(fittingId);
+            return;
+        }
+
+        held.add(fittingId);
+        try {
+            fittingJobService.runClaimed(fittingId).ifPresentOrElse(
+                    done -> done.whenComplete((result, error) -> finish(fittingId)),
+                    () -> finish(fittingId));
+        } catch (RuntimeException e) {
+            // 임대는 그대로 두어 만료 후 다시 시도되게 한다
+            held.remove(fittingId);
+            log.error("DB 큐 피팅 실행 실패 - fittingId: {}", fittingId, e);
+        }
+    }
+
+    private void finish(String fittingId) {
+        held.remove(fittingId);
+        try {
+            workQueue.complete(fittingId);
+        } catch (RuntimeException e) {
+            // 행이 남으면 임대 만료 후 다른 노드가 가져가 끝난 피팅임을 확인하고 지운다
+            log.warn("DB 큐 항목 삭제 실패 - fittingId: {}: {}", fittingId, e.getMessage());
+        }
+    }
+
+    /**
+     * 임대 연장 + 다른 노드에서 취소됐거나 임대를 잃은 피팅 중단
+     */
+    public void heartbeat() {
+        if (!workQueue.isDurable() || held.isEmpty()) {
+            return;
+        }
+
+        Set<String> fittingIds = Set.copyOf(held);
+        Set<String> leased = workQueue.renew(fittingIds);
+        for (String fittingId : fittingIds) {
+            if (!leased.contains(fittingId) && held.remove(fittingId)) {
+                lostCounter.increment();
+                log.warn("DB 큐 임대를 잃음 - 이 노드에서 중단: fittingId: {}", fittingId);
+                stopLocally(fittingId);
+            }
+        }
+
+        for (VirtualFitting fitting : fittingRepository.findAllById(leased)) {
+            if (fitting.getStatus().isTerminal() && held.contains(fitting.getFittingId())) {
+                log.info("다른 노드에서 끝난 피팅 중단 - fittingId: {}, status: {}",
+                        fitting.getFittingId(), fitting.getStatus());
+                stopLocally(fitting.getFittingId());
+                if (held.contains(fitting.getFittingId())) {
+                    // 합류한 다른 피팅이 있어 작업은 계속되는 경우 - 이 피팅의 항목만 정리
+                    finish(fitting.getFittingId());
+                }
+            }
+        }
+    }
+
+    /**
+     * 이 노드의 작업에서 피팅을 빼고, 마지막 피팅이면 대기열에서 빼거나 실행을 중단한다
+     */
+    private void stopLocally(String fittingId) {
+        inFlightRegistry.detach(fittingId).ifPresent(jobExecutor::cancel);
+    }
+
+    private void abandon(String fittingId) {
+        if (fittingRepository.markAbandoned(fittingId, EXHAUSTED_MESSAGE, LocalDateTime.now(clock)) > 0) {
+            fittingRepository.findById(fittingId).ifPresent(updated ->
+                    eventPublisher.publishEvent(new FittingEvents.FittingStatusChangedEvent(
+                            fittingId, FittingDto.StatusResponse.from(updated))));
+            log.warn("임대 만료가 반복된 피팅 실패 처리 - fittingId: {}", fittingId);
+        }
+        workQueue.complete(fittingId);
+    }
+
+    int getHeldCount() {
+        return held.size();
+    }
+}
@@ -0,0 +1,193 @@
+package com.lookfit.fitting.queue;
+
+import com.lookfit.fitting.domain.FittingQueueEntry;
+import com.lookfit.fitting.repository.FittingQueueRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.net.InetAddress;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * DB 작업 큐 (fitting_queue 테이블)
+ * - memory 모드(기본): 사용하지 않는다 - 각 노드의 FittingJobExecutor 대기열만 사용
+ * - database 모드: 요청 노드는 행만 넣고, 모든 노드의 FittingQueueWorker가 SKIP LOCKED로 나눠 가져간다
+ *   재시작해도 대기 중인 피팅이 사라지지 않고, 노드를 늘리면 처리량이 노드 수만큼 늘어난다
+ *
+ * 임대(lease)는 노드 ID로 표시하고 하트비트로 연장한다. 노드가 죽어 임대가 만료되면 다른 노드가 다시 가져간다.
+ */
+@Slf4j
+@Component
+public class FittingWorkQueue {
+
+    public static final String MODE_MEMORY = "memory";
+    public static final String MODE_DATABASE = "database";
+
+    private final FittingQueueRepository queueRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${fitting.queue.mode:memory}")
+    private String mode;
+
+    @Value("${fitting.queue.node-id:}")
+    private String configuredNodeId;
+
+    @Value("${fitting.queue.lease:2m}")
+    private Duration lease;
+
+    @Value("${fitting.queue.claim-window:4}")
+    private int claimWindow;
+
+    Clock clock = Clock.systemDefaultZone();
+
+    private String nodeId;
+
+    public FittingWorkQueue(FittingQueueRepository queueRepository, MeterRegistry meterRegistry) {
+        this.queueRepository = queueRepository;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void init() {
+        nodeId = configuredNodeId == null || configuredNodeId.isBlank() ? defaultNodeId() : configuredNodeId;
+        if (isDurable()) {
+            Gauge.builder("fitting.queue.depth", queueRepository, FittingQueueRepository::countReady)
+                    .description("DB 작업 큐에서 아직 아무 노드도 가져가지 않은 피팅 수")
+                    .register(meterRegistry);
+            log.info("피팅 DB 작업 큐 사용 - nodeId: {}, lease: {}", nodeId, lease);
+        }
+    }
+
+    /**
+     * database 모드면 true (피팅 작업을 DB 큐로 나눠 처리)
+     */
+    public boolean isDurable() {
+        return MODE_DATABASE.equalsIgnoreCase(mode);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * 큐 등록 (이미 있으면 그대로 - 재등록해도 임대 중인 항목을 건드리지 않는다)
+     */
+    @Transactional
+    public void enqueue(String fittingId, String memberId) {
+        if (queueRepository.existsById(fittingId)) {
+            log.info("이미 DB 큐에 있는 피팅 - fittingId: {}", fittingId);
+            return;
+        }
+        queueRepository.save(FittingQueueEntry.builder()
+                .fittingId(fittingId)
+                .memberId(memberId)
+                .availableAt(LocalDateTime.now(clock))
+                .build());
+    }
+
+    /**
+     * 최대 limit개를 가져가 이 노드 이름으로 임대 (짧은 트랜잭션 - 커밋하면 잠금이 풀리고 임대로 소유를 표시)
+     * 오래된 순으로 limit × claim-window개를 후보로 잠근 뒤 회원별로 공정하게 골라 임대한다 (fairShare).
+     * 고르지 않은 후보는 임대 없이 커밋 시 잠금만 풀리므로 다음 조회에서 다시 후보가 된다.
+     */
+    @Transactional
+    public List<FittingQueueEntry> claim(int limit) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<FittingQueueEntry> candidates = queueRepository.findClaimable(now,
+                PageRequest.of(0, limit * Math.max(1, claimWindow)));
+        if (candidates.isEmpty()) {
+            return candidates;
+        }
+        List<FittingQueueEntry> entries = fairShare(candidates, queueRepository.findLeasedMemberIds(now), limit);
+        LocalDateTime expiresAt = now.plus(lease);
+        entries.forEach(entry -> entry.lease(nodeId, expiresAt));
+        return entries;
+    }
+
+    /**
+     * 회원별 공정 분배 - 지금 실행 중인 수(모든 노드의 임대) + 이번에 고른 수가 가장 적은 회원의 가장 오래된 항목부터 한 건씩
+     * 한 회원이 묶음 피팅으로 항목을 많이 쌓아도 다른 회원의 항목이 그 뒤에 밀리지 않는다 (memory 모드의 FairJobQueue와 같은 목적).
+     *
+     * @param candidates 오래된 순 후보
+     * @param leasedMemberIds 임대 중인 항목의 회원 ID (항목 수만큼 중복)
+     */
+    static List<FittingQueueEntry> fairShare(List<FittingQueueEntry> candidates, List<String> leasedMemberIds, int limit) {
+        Map<String, Integer> load = new HashMap<>();
+        leasedMemberIds.forEach(memberId -> load.merge(memberId, 1, Integer::sum));
+        Map<String, ArrayDeque<FittingQueueEntry>> byMember = new LinkedHashMap<>();
+        candidates.forEach(entry -> byMember.computeIfAbsent(entry.getMemberId(), key -> new ArrayDeque<>()).addLast(entry));
+
+        Comparator<Map.Entry<String, ArrayDeque<FittingQueueEntry>>> order = Comparator
+                .comparingInt((Map.Entry<String, ArrayDeque<FittingQueueEntry>> flow) -> load.getOrDefault(flow.getKey(), 0))
+                .thenComparing(flow -> flow.getValue().peekFirst().getAvailableAt());
+        List<FittingQueueEntry> picked = new ArrayList<>();
+        while (picked.size() < limit && !byMember.isEmpty()) {
+            Map.Entry<String, ArrayDeque<FittingQueueEntry>> next = byMember.entrySet().stream().min(order).orElseThrow();
+            picked.add(next.getValue().pollFirst());
+            load.merge(next.getKey(), 1, Integer::sum);
+            if (next.getValue().isEmpty()) {
+                byMember.remove(next.getKey());
+            }
+        }
+        return picked;
+    }
+
+    /**
+     * 임대 연장 (하트비트)
+     *
+     * @return 아직 이 노드가 임대 중인 항목 ID (빠진 항목은 만료되어 다른 노드가 가져갔다)
+     */
+    @Transactional
+    public Set<String> renew(Collection<String> fittingIds) {
+        if (fittingIds.isEmpty()) {
+            return Set.of();
+        }
+        queueRepository.renewLeases(nodeId, fittingIds, LocalDateTime.now(clock).plus(lease));
+        return new HashSet<>(queueRepository.findLeasedIds(nodeId, fittingIds));
+    }
+
+    /**
+     * 처리 완료 - 큐에서 삭제 (이 노드가 임대 중일 때만)
+     */
+    @Transactional
+    public void complete(String fittingId) {
+        queueRepository.deleteLeased(fittingId, nodeId);
+    }
+
+    /**
+     * DB 큐가 맡고 있는 피팅인지 (복구 스캔에서 다른 노드가 실행 중인 피팅을 건드리지 않기 위함)
+     */
+    public boolean isQueued(String fittingId) {
+        return isDurable() && queueRepository.existsById(fittingId);
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "node";
+        }
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        return (host.length() > 50 ? host.substring(0, 50) : host) + "-" + suffix;
+    }
+}
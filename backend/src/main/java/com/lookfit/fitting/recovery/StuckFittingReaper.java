@@ -0,0 +1,224 @@
+package com.lookfit.fitting.recovery;
+
+import com.lookfit.fitting.admission.FittingAdmissionGovernor;
+import com.lookfit.fitting.domain.FittingStatus;
+import com.lookfit.fitting.domain.VirtualFitting;
+import com.lookfit.fitting.dto.FittingDto;
+import com.lookfit.fitting.event.FittingEvents;
+import com.lookfit.fitting.job.FittingInFlightRegistry;
+import com.lookfit.fitting.job.FittingJobService;
+import com.lookfit.fitting.queue.FittingWorkQueue;
+import com.lookfit.fitting.replicate.ReplicatePredictionTracker;
+import com.lookfit.fitting.repository.VirtualFittingRepository;
+import com.lookfit.fitting.service.ReplicateApiService;
+import com.lookfit.global.exception.RetryLaterException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 중단된 피팅 작업 복구
+ * - 서버가 생성 도중 종료되면 PROCESSING 행이 영원히 남는다 (작업 큐와 진행 중 레지스트리는 메모리에만 있음)
+ * - 시작 시: 이 프로세스가 뜨기 전에 만들어진 PROCESSING 피팅은 모두 중단된 작업
+ * - 주기적으로: 기한(deadline)이 지났는데 이 프로세스에서 실행 중이 아닌 피팅
+ * - 재시도 횟수가 남았으면 다시 큐에 넣고, 다 썼으면 FAILED 처리
+ *
+ * 스캔은 (status, created_at) 인덱스를 키셋으로 batch-size개씩 읽으므로 테이블 크기와 무관하게 저렴하다.
+ * Replicate prediction이 연결된 피팅은 webhook/상태 조회(ReplicatePredictionService)가 추적하는 동안 건드리지 않는다.
+ * DB 작업 큐(database 모드)에 있는 피팅은 다른 노드가 실행 중일 수 있으므로 큐의 임대 만료 재시도에 맡긴다.
+ */
+@Slf4j
+@Component
+public class StuckFittingReaper {
+
+    static final String ABANDONED_MESSAGE = "AI 생성이 중단되었습니다. 다시 시도해주세요.";
+    private static final LocalDateTime KEYSET_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final VirtualFittingRepository fittingRepository;
+    private final FittingJobService fittingJobService;
+    private final FittingInFlightRegistry inFlightRegistry;
+    private final FittingAdmissionGovernor admissionGovernor;
+    private final ReplicatePredictionTracker predictionTracker;
+    private final FittingWorkQueue workQueue;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Counter requeuedCounter;
+    private final Counter failedCounter;
+
+    @Value("${fitting.recovery.enabled:true}")
+    private boolean enabled;
+
+    @Value("${fitting.recovery.deadline:20m}")
+    private Duration deadline;
+
+    @Value("${fitting.recovery.batch-size:100}")
+    private int batchSize;
+
+    @Value("${fitting.recovery.max-retries:1}")
+    private int maxRetries;
+
+    Clock clock = Clock.systemDefaultZone();
+
+    /**
+     * 이 시각 이전에 생성된 PROCESSING 피팅은 이 프로세스가 실행할 수 없다 (빈 생성은 요청 수신 전)
+     */
+    private final LocalDateTime startedAt = LocalDateTime.now();
+
+    public StuckFittingReaper(VirtualFittingRepository fittingRepository,
+                              FittingJobService fittingJobService,
+                              FittingInFlightRegistry inFlightRegistry,
+                              FittingAdmissionGovernor admissionGovernor,
+                              ReplicatePredictionTracker predictionTracker,
+                              FittingWorkQueue workQueue,
+                              ApplicationEventPublisher eventPublisher,
+                              MeterRegistry meterRegistry) {
+        this.fittingRepository = fittingRepository;
+        this.fittingJobService = fittingJobService;
+        this.inFlightRegistry = inFlightRegistry;
+        this.admissionGovernor = admissionGovernor;
+        this.predictionTracker = predictionTracker;
+        this.workQueue = workQueue;
+        this.eventPublisher = eventPublisher;
+        this.requeuedCounter = reclaimedCounter(meterRegistry, "requeued");
+        this.failedCounter = reclaimedCounter(meterRegistry, "failed");
+    }
+
+    /**
+     * 시작 시 복구 - 이전 프로세스에서 실행 중이던 피팅
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverOnStartup() {
+        if (enabled) {
+            reap(startedAt, true);
+        }
+    }
+
+    /**
+     * 주기적 복구 - 기한이 지났는데 실행 중이 아닌 피팅 (큐 유실, 예외로 결과 반영 누락 등)
+     */
+    @Scheduled(fixedDelayString = "${fitting.recovery.interval:PT1M}",
+            initialDelayString = "${fitting.recovery.interval:PT1M}")
+    public void reapStuck() {
+        if (enabled) {
+            reap(LocalDateTime.now(clock).minus(deadline), false);
+        }
+    }
+
+    /**
+     * cutoff 이전에 생성된 PROCESSING 피팅을 키셋으로 끝까지 훑는다
+     *
+     * @param startup 시작 시 복구면 true (Replicate 연결 피팅은 고아 추적에 맡긴다)
+     */
+    synchronized Result reap(LocalDateTime cutoff, boolean startup) {
+        LocalDateTime afterCreatedAt = KEYSET_START;
+        String afterId = "";
+        Result result = new Result();
+
+        while (true) {
+            List<VirtualFitting> batch = fittingRepository.findStaleBatch(FittingStatus.PROCESSING, cutoff,
+                    afterCreatedAt, afterId, PageRequest.of(0, batchSize));
+            for (VirtualFitting fitting : batch) {
+                result.count(recover(fitting, startup));
+            }
+            if (batch.size() < batchSize) {
+                break;
+            }
+            VirtualFitting last = batch.get(batch.size() - 1);
+            afterCreatedAt = last.getCreatedAt();
+            afterId = last.getFittingId();
+        }
+
+        if (result.requeued > 0 || result.failed > 0) {
+            log.warn("🧹 중단된 피팅 작업 복구 - 재등록: {}, 실패 처리: {}, 보류: {} ({})",
+                    result.requeued, result.failed, result.deferred, startup ? "시작 시" : "주기");
+        }
+        return result;
+    }
+
+    private Outcome recover(VirtualFitting fitting, boolean startup) {
+        String fittingId = fitting.getFittingId();
+        if (inFlightRegistry.flightKeyOf(fittingId).isPresent() || workQueue.isQueued(fittingId)) {
+            return Outcome.RUNNING;
+        }
+        String predictionId = fitting.getReplicatePredictionId();
+        if (predictionId != null && !ReplicateApiService.isMockPrediction(predictionId)
+                && (startup || predictionTracker.isTracked(predictionId))) {
+            return Outcome.RUNNING;
+        }
+
+        if (fitting.getRetryCount() >= maxRetries) {
+            return abandon(fitting);
+        }
+
+        try {
+            admissionGovernor.admit(fitting.getMemberId(), fittingId);
+        } catch (RetryLaterException e) {
+            // 지금 AI 백엔드가 포화 상태 - 다음 주기에 다시 시도
+            return Outcome.DEFERRED;
+        }
+
+        if (fittingRepository.markRequeued(fittingId, FittingStatus.PROCESSING, fitting.getRetryCount()) == 0) {
+            admissionGovernor.release(fittingId);
+            return Outcome.RUNNING;
+        }
+        log.info("중단된 피팅 재등록 - fittingId: {}, 재시도: {}/{}", fittingId, fitting.getRetryCount() + 1, maxRetries);
+        fittingJobService.submit(fittingId);
+        requeuedCounter.increment();
+        return Outcome.REQUEUED;
+    }
+
+    private Outcome abandon(VirtualFitting fitting) {
+        String fittingId = fitting.getFittingId();
+        if (fittingRepository.markAbandoned(fittingId, ABANDONED_MESSAGE, LocalDateTime.now(clock)) == 0) {
+            return Outcome.RUNNING;
+        }
+        admissionGovernor.release(fittingId);
+        fittingRepository.findById(fittingId).ifPresent(updated ->
+                eventPublisher.publishEvent(new FittingEvents.FittingStatusChangedEvent(
+                        fittingId, FittingDto.StatusResponse.from(updated))));
+        log.info("중단된 피팅 실패 처리 - fittingId: {}, 재시도: {}", fittingId, fitting.getRetryCount());
+        failedCounter.increment();
+        return Outcome.FAILED;
+    }
+
+    private static Counter reclaimedCounter(MeterRegistry meterRegistry, String action) {
+        return Counter.builder("fitting.recovery.reclaimed")
+                .description("복구된 중단 피팅 작업 수")
+                .tag("action", action)
+                .register(meterRegistry);
+    }
+
+    private enum Outcome {
+        RUNNING, REQUEUED, FAILED, DEFERRED
+    }
+
+    /**
+     * 한 번의 스캔 결과
+     */
+    static class Result {
+        int requeued;
+        int failed;
+        int deferred;
+
+        private void count(Outcome outcome) {
+            switch (outcome) {
+                case REQUEUED -> requeued++;
+                case FAILED -> failed++;
+                case DEFERRED -> deferred++;
+                default -> {
+                }
+            }
+        }
+    }
+}
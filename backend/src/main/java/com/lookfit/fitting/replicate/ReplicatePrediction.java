@@ -0,0 +1,52 @@
+package com.lookfit.fitting.replicate;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.lookfit.fitting.service.ReplicateApiService;
+
+import java.util.Map;
+
+/**
+ * Replicate prediction 상태 (webhook 본문 또는 상태 조회 결과)
+ *
+ * @param id prediction ID
+ * @param status starting, processing, succeeded, failed, canceled
+ * @param output 결과 이미지 URL (성공 시)
+ * @param error 실패 사유
+ */
+public record ReplicatePrediction(String id, String status, String output, String error) {
+
+    public static ReplicatePrediction from(JsonNode json) {
+        JsonNode error = json.get("error");
+        return new ReplicatePrediction(
+                json.path("id").asText(null),
+                json.path("status").asText(null),
+                ReplicateApiService.outputUrl(json.get("output")),
+                error == null || error.isNull() ? null : error.asText());
+    }
+
+    public static ReplicatePrediction from(String predictionId, Map<String, Object> status) {
+        return new ReplicatePrediction(
+                predictionId,
+                (String) status.get("status"),
+                (String) status.get("output"),
+                (String) status.get("error"));
+    }
+
+    public boolean isTerminal() {
+        return isSucceeded() || "failed".equals(status) || "canceled".equals(status);
+    }
+
+    public boolean isSucceeded() {
+        return "succeeded".equals(status) && output != null;
+    }
+
+    /**
+     * 실패 사유 (사용자 표시용)
+     */
+    public String failureMessage() {
+        if ("canceled".equals(status)) {
+            return "Replicate prediction이 취소되었습니다";
+        }
+        return error != null ? error : "Replicate prediction 실패 (" + status + ")";
+    }
+}
@@ -0,0 +1,249 @@
+package com.lookfit.fitting.replicate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lookfit.fitting.domain.FittingStatus;
+import com.lookfit.fitting.domain.VirtualFitting;
+import com.lookfit.fitting.dto.FittingDto;
+import com.lookfit.fitting.event.FittingEvents;
+import com.lookfit.fitting.job.FittingInFlightRegistry;
+import com.lookfit.fitting.provider.ReplicateTryOnProvider;
+import com.lookfit.fitting.repository.VirtualFittingRepository;
+import com.lookfit.fitting.service.ReplicateApiService;
+import com.lookfit.global.exception.BusinessException;
+import com.lookfit.global.exception.ErrorCode;
+import com.lookfit.global.media.MediaDownloader;
+import com.lookfit.global.media.MediaStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Replicate prediction 완료 처리
+ * - webhook: 서명 검증 후 완료 상태 반영
+ * - reconcile: webhook을 놓친 prediction을 배치로 상태 조회 (prediction별 지수 백오프, 요청마다 폴링 루프 없음)
+ * - 기다리는 워커가 있으면 결과를 전달하고 (피팅 갱신은 FittingJobService), 없으면 결과 이미지를 미디어 저장소로 받아
+ *   피팅 행을 직접 갱신 (Replicate 결과 URL은 만료된다)
+ *
+ * 상태 조회는 외부 HTTP 호출이므로 스케줄러 스레드가 아닌 비동기 실행기에서 돌린다 (응답이 늦어도 다른 주기 작업을 막지 않음)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReplicatePredictionService {
+
+    static final String WEBHOOK_PATH = "/api/v1/webhooks/replicate";
+
+    private final VirtualFittingRepository fittingRepository;
+    private final FittingInFlightRegistry inFlightRegistry;
+    private final ReplicateApiService replicateApiService;
+    private final ReplicatePredictionTracker tracker;
+    private final ReplicateWebhookVerifier webhookVerifier;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MediaDownloader mediaDownloader;
+    private final MediaStore mediaStore;
+    private final AtomicBoolean reconciling = new AtomicBoolean();
+    private final AtomicBoolean scanning = new AtomicBoolean();
+
+    @Value("${fitting.replicate.reconcile.batch-size:20}")
+    private int batchSize;
+
+    @Value("${fitting.replicate.reconcile.max-age:15m}")
+    private Duration maxAge;
+
+    @Value("${fitting.base-url:http://localhost:8080}")
+    private String baseUrl;
+
+    /**
+     * prediction 생성 시 넘길 webhook URL (시크릿 미설정이면 null - 상태 조회로만 확인)
+     */
+    public String webhookUrl() {
+        return webhookVerifier.isEnabled() ? baseUrl + WEBHOOK_PATH : null;
+    }
+
+    /**
+     * 작업에 합류한 피팅에 prediction ID 기록 (재시작 후에도 webhook/상태 조회로 복구할 수 있도록)
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void link(String flightKey, String predictionId) {
+        Set<String> fittingIds = inFlightRegistry.attachedFittingIds(flightKey);
+        if (fittingIds.isEmpty()) {
+            return;
+        }
+        int linked = fittingRepository.assignPrediction(fittingIds, predictionId, ReplicateTryOnProvider.NAME);
+        log.debug("prediction 연결 - predictionId: {}, 피팅: {}건 중 {}건", predictionId, fittingIds.size(), linked);
+    }
+
+    /**
+     * webhook 수신 (서명 검증 → 완료 반영)
+     */
+    public void handleWebhook(String webhookId, String timestamp, String signature, String body) {
+        if (!webhookVerifier.verify(webhookId, timestamp, signature, body)) {
+            log.warn("Replicate webhook 서명 검증 실패 - webhookId: {}", webhookId);
+            throw new BusinessException(ErrorCode.UNAUTHORIZED, "Replicate webhook 서명 검증에 실패했습니다");
+        }
+
+        ReplicatePrediction prediction;
+        try {
+            prediction = ReplicatePrediction.from(objectMapper.readTree(body));
+        } catch (IOException e) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT, "잘못된 webhook 본문입니다");
+        }
+        if (prediction.id() == null) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT, "prediction ID가 없습니다");
+        }
+
+        log.info("📨 Replicate webhook 수신 - predictionId: {}, status: {}", prediction.id(), prediction.status());
+        apply(prediction);
+    }
+
+    /**
+     * 완료를 기다리는 prediction 상태 조회 (조회 시점이 된 것만 batch-size개씩)
+     */
+    @Async
+    @Scheduled(fixedDelayString = "${fitting.replicate.reconcile.interval:PT5S}")
+    public void reconcileScheduled() {
+        if (!reconciling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            reconcile();
+        } finally {
+            reconciling.set(false);
+        }
+    }
+
+    void reconcile() {
+        List<String> due = tracker.due(batchSize);
+        if (due.isEmpty()) {
+            return;
+        }
+
+        int resolved = 0;
+        for (String predictionId : due) {
+            try {
+                ReplicatePrediction prediction = ReplicatePrediction.from(
+                        predictionId, replicateApiService.getPredictionStatus(predictionId));
+                if (prediction.isTerminal()) {
+                    apply(prediction);
+                    resolved++;
+                } else if (isExpired(predictionId)) {
+                    apply(new ReplicatePrediction(predictionId, "failed", null, "Replicate prediction 응답 시간 초과"));
+                } else {
+                    tracker.backoff(predictionId);
+                }
+            } catch (Exception e) {
+                log.warn("Replicate prediction 상태 조회 실패 - predictionId: {}: {}", predictionId, e.getMessage());
+                if (isExpired(predictionId)) {
+                    apply(new ReplicatePrediction(predictionId, "failed", null, "Replicate prediction 응답 시간 초과"));
+                } else {
+                    tracker.backoff(predictionId);
+                }
+            }
+        }
+        log.debug("Replicate prediction 상태 조회 - 대상: {}, 완료: {}, 대기: {}", due.size(), resolved, tracker.size());
+    }
+
+    /**
+     * 기다리는 워커가 없는 PROCESSING prediction 추적 시작 (재시작 후 복구)
+     */
+    @Async
+    @Scheduled(fixedDelayString = "${fitting.replicate.reconcile.orphan-scan-interval:PT1M}")
+    public void adoptOrphansScheduled() {
+        if (!scanning.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            adoptOrphans();
+        } finally {
+            scanning.set(false);
+        }
+    }
+
+    void adoptOrphans() {
+        List<VirtualFitting> processing = fittingRepository.findByStatusAndProvider(
+                FittingStatus.PROCESSING, ReplicateTryOnProvider.NAME, PageRequest.of(0, batchSize * 5));
+        long adopted = processing.stream()
+                .map(VirtualFitting::getReplicatePredictionId)
+                .filter(predictionId -> predictionId != null && !ReplicateApiService.isMockPrediction(predictionId))
+                .distinct()
+                .filter(tracker::adopt)
+                .count();
+        if (adopted > 0) {
+            log.info("대기 중인 Replicate prediction 추적 시작 - {}건", adopted);
+        }
+    }
+
+    /**
+     * 완료 반영 - 기다리는 워커에 전달하거나, 없으면 피팅을 직접 갱신
+     */
+    void apply(ReplicatePrediction prediction) {
+        if (!prediction.isTerminal() || tracker.resolve(prediction)) {
+            return;
+        }
+
+        List<VirtualFitting> fittings = fittingRepository.findAllByReplicatePredictionId(prediction.id()).stream()
+                .filter(fitting -> fitting.getStatus() == FittingStatus.PROCESSING)
+                .toList();
+        if (fittings.isEmpty()) {
+            return;
+        }
+
+        String resultUrl = null;
+        String failure = prediction.isSucceeded() ? null : prediction.failureMessage();
+        if (prediction.isSucceeded()) {
+            try {
+                resultUrl = mediaDownloader.download(prediction.output());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.warn("Replicate 결과 이미지 저장 실패 - predictionId: {}: {}", prediction.id(), e.getMessage());
+                failure = "결과 이미지 저장 실패";
+            }
+        }
+
+        // PROCESSING일 때만 적용되는 조건부 갱신 - 그 사이 취소/실패 처리된 피팅을 완료로 되돌리지 않는다
+        LocalDateTime completedAt = LocalDateTime.now();
+        for (VirtualFitting fitting : fittings) {
+            int updated = resultUrl != null
+                    ? fittingRepository.markCompleted(fitting.getFittingId(), FittingStatus.PROCESSING, resultUrl,
+                            ReplicateTryOnProvider.NAME, fitting.getStageTimings(), completedAt)
+                    : fittingRepository.markFailed(fitting.getFittingId(), FittingStatus.PROCESSING,
+                            "AI 생성 실패: " + failure, fitting.getStageTimings(), completedAt);
+            if (updated == 0) {
+                log.info("이미 끝난 피팅 - Replicate 결과 반영 생략: fittingId: {}", fitting.getFittingId());
+                continue;
+            }
+            if (resultUrl != null) {
+                fitting.complete(resultUrl, ReplicateTryOnProvider.NAME);
+            } else {
+                fitting.fail("AI 생성 실패: " + failure);
+            }
+            eventPublisher.publishEvent(new FittingEvents.FittingStatusChangedEvent(
+                    fitting.getFittingId(), FittingDto.StatusResponse.from(fitting)));
+            if (resultUrl != null) {
+                mediaStore.retain(resultUrl, VirtualFitting.MEDIA_OWNER, fitting.getFittingId());
+            }
+            log.info("Replicate 결과 반영 - fittingId: {}, status: {}", fitting.getFittingId(), fitting.getStatus());
+        }
+    }
+
+    private boolean isExpired(String predictionId) {
+        return tracker.isExpired(predictionId, maxAge);
+    }
+}
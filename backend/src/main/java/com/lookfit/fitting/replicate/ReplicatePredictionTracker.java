@@ -0,0 +1,144 @@
+package com.lookfit.fitting.replicate;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 완료를 기다리는 Replicate prediction 목록
+ * - 생성 직후 등록되고 webhook 또는 상태 조회(reconcile)로 완료된다
+ * - 상태 조회는 prediction마다 지수 백오프로 간격을 늘린다 (initialBackoff → 2배씩 → maxBackoff)
+ * - 재시작 등으로 기다리는 호출자가 없는 prediction(고아)도 같은 방식으로 추적한다
+ */
+@Component
+public class ReplicatePredictionTracker {
+
+    private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+
+    @Value("${fitting.replicate.reconcile.initial-backoff:10s}")
+    private Duration initialBackoff;
+
+    @Value("${fitting.replicate.reconcile.max-backoff:2m}")
+    private Duration maxBackoff;
+
+    Clock clock = Clock.systemUTC();
+
+    public ReplicatePredictionTracker(MeterRegistry meterRegistry) {
+        Gauge.builder("fitting.replicate.pending", pending, Map::size)
+                .description("완료를 기다리는 Replicate prediction 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 완료 대기 등록 (호출자가 결과를 기다린다)
+     *
+     * @return 결과 이미지 URL
+     */
+    public CompletableFuture<String> track(String predictionId) {
+        Pending entry = new Pending(predictionId, new CompletableFuture<>(), clock.instant(), initialBackoff);
+        Pending existing = pending.putIfAbsent(predictionId, entry);
+        return (existing != null ? existing : entry).result;
+    }
+
+    /**
+     * 고아 prediction 추적 (기다리는 호출자 없음, 완료 시 DB만 갱신)
+     *
+     * @return 새로 추적하기 시작했으면 true
+     */
+    public boolean adopt(String predictionId) {
+        return pending.putIfAbsent(predictionId,
+                new Pending(predictionId, null, clock.instant(), initialBackoff)) == null;
+    }
+
+    /**
+     * 완료 반영 - 기다리는 호출자가 있으면 결과를 전달한다
+     *
+     * @return 호출자에게 전달했으면 true (false면 호출자가 없으므로 DB를 직접 갱신해야 한다)
+     */
+    public boolean resolve(ReplicatePrediction prediction) {
+        Pending entry = pending.remove(prediction.id());
+        if (entry == null || entry.result == null) {
+            return false;
+        }
+        if (prediction.isSucceeded()) {
+            entry.result.complete(prediction.output());
+        } else {
+            entry.result.completeExceptionally(new IllegalStateException(prediction.failureMessage()));
+        }
+        return true;
+    }
+
+    /**
+     * 추적 중단 (호출자 타임아웃)
+     */
+    public void forget(String predictionId) {
+        pending.remove(predictionId);
+    }
+
+    public boolean isTracked(String predictionId) {
+        return pending.containsKey(predictionId);
+    }
+
+    /**
+     * 상태 조회 시점이 된 prediction (오래 기다린 순)
+     */
+    public List<String> due(int limit) {
+        Instant now = clock.instant();
+        return pending.values().stream()
+                .filter(entry -> !entry.nextCheckAt.isAfter(now))
+                .sorted(Comparator.comparing(entry -> entry.nextCheckAt))
+                .limit(limit)
+                .map(entry -> entry.predictionId)
+                .toList();
+    }
+
+    /**
+     * 아직 진행 중 - 다음 조회를 백오프 (2배, 최대 maxBackoff)
+     */
+    public void backoff(String predictionId) {
+        Pending entry = pending.get(predictionId);
+        if (entry != null) {
+            entry.attempts++;
+            long multiplier = 1L << Math.min(entry.attempts, 16);
+            Duration delay = initialBackoff.multipliedBy(multiplier);
+            entry.nextCheckAt = clock.instant().plus(delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay);
+        }
+    }
+
+    /**
+     * 최대 대기 시간 초과 여부
+     */
+    public boolean isExpired(String predictionId, Duration maxAge) {
+        Pending entry = pending.get(predictionId);
+        return entry != null && entry.trackedAt.plus(maxAge).isBefore(clock.instant());
+    }
+
+    public int size() {
+        return pending.size();
+    }
+
+    private static class Pending {
+        private final String predictionId;
+        private final CompletableFuture<String> result;
+        private final Instant trackedAt;
+        private volatile Instant nextCheckAt;
+        private volatile int attempts;
+
+        private Pending(String predictionId, CompletableFuture<String> result, Instant now, Duration firstDelay) {
+            this.predictionId = predictionId;
+            this.result = result;
+            this.trackedAt = now;
+            this.nextCheckAt = now.plus(firstDelay);
+        }
+    }
+}
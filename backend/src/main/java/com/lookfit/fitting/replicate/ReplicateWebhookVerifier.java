@@ -0,0 +1,99 @@
+package com.lookfit.fitting.replicate;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Replicate webhook 서명 검증 (Standard Webhooks 형식)
+ * - 서명 대상: "{webhook-id}.{webhook-timestamp}.{본문}"
+ * - HMAC-SHA256(시크릿) 결과를 base64로 "v1,{서명}" 목록과 비교 (공백 구분, 키 교체 중엔 여러 개)
+ * - 재전송 공격 방지를 위해 허용 시간을 벗어난 timestamp는 거절
+ */
+@Slf4j
+@Component
+public class ReplicateWebhookVerifier {
+
+    private static final String SECRET_PREFIX = "whsec_";
+    private static final String SIGNATURE_VERSION = "v1,";
+
+    @Value("${fitting.replicate.webhook-secret:}")
+    private String secret;
+
+    @Value("${fitting.replicate.webhook-tolerance:5m}")
+    private Duration tolerance;
+
+    Clock clock = Clock.systemUTC();
+
+    /**
+     * webhook 사용 가능 여부 (시크릿이 없으면 webhook을 요청하지 않고 받은 것도 거절한다)
+     */
+    public boolean isEnabled() {
+        return secret != null && !secret.isEmpty();
+    }
+
+    public boolean verify(String webhookId, String timestamp, String signatureHeader, String body) {
+        if (!isEnabled() || webhookId == null || timestamp == null || signatureHeader == null || body == null) {
+            return false;
+        }
+
+        long epochSeconds;
+        try {
+            epochSeconds = Long.parseLong(timestamp.trim());
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        Duration skew = Duration.between(Instant.ofEpochSecond(epochSeconds), clock.instant()).abs();
+        if (skew.compareTo(tolerance) > 0) {
+            log.warn("Replicate webhook timestamp 허용 범위 초과 - webhookId: {}, skew: {}s", webhookId, skew.toSeconds());
+            return false;
+        }
+
+        byte[] expected;
+        try {
+            expected = sign(webhookId + "." + timestamp.trim() + "." + body);
+        } catch (IllegalArgumentException e) {
+            log.error("Replicate webhook 시크릿 형식 오류 (whsec_ + base64): {}", e.getMessage());
+            return false;
+        }
+        for (String candidate : signatureHeader.trim().split(" ")) {
+            if (!candidate.startsWith(SIGNATURE_VERSION)) {
+                continue;
+            }
+            byte[] provided;
+            try {
+                provided = Base64.getDecoder().decode(candidate.substring(SIGNATURE_VERSION.length()));
+            } catch (IllegalArgumentException e) {
+                continue;
+            }
+            if (MessageDigest.isEqual(expected, provided)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * HMAC-SHA256 서명 (테스트에서 유효한 요청을 만들 때도 사용)
+     */
+    byte[] sign(String content) {
+        String encodedKey = secret.startsWith(SECRET_PREFIX) ? secret.substring(SECRET_PREFIX.length()) : secret;
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(Base64.getDecoder().decode(encodedKey), "HmacSHA256"));
+            return mac.doFinal(content.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256을 사용할 수 없습니다", e);
+        }
+    }
+}
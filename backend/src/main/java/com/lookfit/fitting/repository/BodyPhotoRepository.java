@@ -0,0 +1,87 @@
+package com.lookfit.fitting.repository;
+
+import com.lookfit.fitting.domain.BodyPhoto;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 회원 전신 사진 Repository
+ */
+@Repository
+public interface BodyPhotoRepository extends JpaRepository<BodyPhoto, String> {
+
+    /**
+     * 같은 사진 조회 (중복 업로드 판별)
+     */
+    Optional<BodyPhoto> findByMemberIdAndContentHash(String memberId, String contentHash);
+
+    /**
+     * 사진 행 추가 - 같은 회원의 같은 해시가 이미 있으면 그 행의 사용 시각만 지금으로 옮긴다
+     * 조회 후 INSERT하면 같은 사진을 동시에 올린 두 요청이 모두 INSERT해 유니크 제약(uk_body_photo_member_hash)에 걸리므로,
+     * 중복 판정은 DB에 맡기고 호출자는 다시 조회한 행의 photoId로 새로 만들었는지 구분한다
+     */
+    @Modifying
+    @Query(value = "INSERT INTO body_photo " +
+            "(photo_id, memberid, image_url, content_hash, width, height, size_bytes, created_at, last_used_at) " +
+            "VALUES (:photoId, :memberId, :imageUrl, :contentHash, :width, :height, :sizeBytes, :now, :now) " +
+            "ON DUPLICATE KEY UPDATE last_used_at = :now", nativeQuery = true)
+    int upsert(@Param("photoId") String photoId,
+               @Param("memberId") String memberId,
+               @Param("imageUrl") String imageUrl,
+               @Param("contentHash") String contentHash,
+               @Param("width") int width,
+               @Param("height") int height,
+               @Param("sizeBytes") long sizeBytes,
+               @Param("now") LocalDateTime now);
+
+    /**
+     * 회원의 사진 목록 (최근 사용순)
+     */
+    List<BodyPhoto> findByMemberIdOrderByLastUsedAtDesc(String memberId, Pageable pageable);
+
+    /**
+     * 최근 사용된 사진 목록 (최근 사용순, 예측 생성 대상 회원 선별용)
+     */
+    List<BodyPhoto> findByLastUsedAtAfterOrderByLastUsedAtDesc(LocalDateTime since, Pageable pageable);
+
+    /**
+     * cutoff 이전에 마지막으로 쓴 사진을 키셋으로 조회 (lastUsedAt, photoId 순 - 보존 기간 만료)
+     *
+     * @param afterUsedAt 이전 배치의 마지막 lastUsedAt
+     * @param afterId 이전 배치의 마지막 photoId
+     */
+    @Query("SELECT p FROM BodyPhoto p WHERE p.lastUsedAt < :cutoff " +
+            "AND (p.lastUsedAt > :afterUsedAt OR (p.lastUsedAt = :afterUsedAt AND p.photoId > :afterId)) " +
+            "ORDER BY p.lastUsedAt ASC, p.photoId ASC")
+    List<BodyPhoto> findUnusedBatch(@Param("cutoff") LocalDateTime cutoff,
+                                    @Param("afterUsedAt") LocalDateTime afterUsedAt,
+                                    @Param("afterId") String afterId,
+                                    Pageable pageable);
+
+    /**
+     * 보존 기간이 지난 사진 삭제 - 조회할 때와 같은 조건(마지막 사용 시각)을 다시 걸어,
+     * 조회 후 피팅에 쓰여 사용 시각이 갱신된 사진은 지우지 않는다
+     *
+     * @return 삭제된 행 수
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM BodyPhoto p WHERE p.photoId = :photoId AND p.lastUsedAt < :cutoff")
+    int deleteUnused(@Param("photoId") String photoId, @Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * 주어진 URL 중 사진 행이 가리키는 URL (미디어 GC 교차 확인)
+     */
+    @Query("SELECT DISTINCT p.imageUrl FROM BodyPhoto p WHERE p.imageUrl IN :urls")
+    List<String> findReferencedUrls(@Param("urls") Collection<String> urls);
+}
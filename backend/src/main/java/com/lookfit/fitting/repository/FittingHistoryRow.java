@@ -0,0 +1,20 @@
+package com.lookfit.fitting.repository;
+
+import com.lookfit.fitting.domain.FittingStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * 피팅 기록 목록 행 (목록에 필요한 컬럼만 - error_message, stage_timings 등은 상세 조회에서)
+ */
+public record FittingHistoryRow(
+        String fittingId,
+        String productId,
+        String userImageUrl,
+        String resultImageUrl,
+        FittingStatus status,
+        String category,
+        LocalDateTime createdAt,
+        LocalDateTime completedAt
+) {
+}
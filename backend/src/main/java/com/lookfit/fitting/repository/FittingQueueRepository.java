@@ -0,0 +1,75 @@
+package com.lookfit.fitting.repository;
+
+import com.lookfit.fitting.domain.FittingQueueEntry;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * DB 작업 큐 Repository
+ */
+@Repository
+public interface FittingQueueRepository extends JpaRepository<FittingQueueEntry, String> {
+
+    /**
+     * 가져갈 수 있는 항목 (임대 없음 또는 만료) - 오래된 순, 다른 노드가 잠근 행은 건너뛴다
+     * SELECT ... FOR UPDATE SKIP LOCKED (lock.timeout = -2) 이므로 여러 노드가 동시에 호출해도 서로 기다리지 않고
+     * 각자 다른 행을 가져간다. 같은 트랜잭션 안에서 임대 정보를 채워야 한다.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT q FROM FittingQueueEntry q WHERE q.availableAt <= :now " +
+            "AND (q.leaseExpiresAt IS NULL OR q.leaseExpiresAt < :now) " +
+            "ORDER BY q.availableAt ASC")
+    List<FittingQueueEntry> findClaimable(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * 지금 임대 중인(실행 중인) 항목의 회원 ID - 회원별 공정 분배용 (한 회원의 항목 수만큼 중복 포함)
+     */
+    @Query("SELECT q.memberId FROM FittingQueueEntry q WHERE q.leaseExpiresAt >= :now")
+    List<String> findLeasedMemberIds(@Param("now") LocalDateTime now);
+
+    /**
+     * 임대 연장 (하트비트) - 아직 이 노드가 가진 항목만
+     *
+     * @return 연장된 행 수
+     */
+    @Modifying
+    @Query("UPDATE FittingQueueEntry q SET q.leaseExpiresAt = :expiresAt " +
+            "WHERE q.leaseOwner = :owner AND q.fittingId IN :fittingIds")
+    int renewLeases(@Param("owner") String owner,
+                    @Param("fittingIds") Collection<String> fittingIds,
+                    @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * 이 노드가 임대 중인 항목 ID (만료 후 다른 노드가 가져간 항목 확인용)
+     */
+    @Query("SELECT q.fittingId FROM FittingQueueEntry q WHERE q.leaseOwner = :owner AND q.fittingId IN :fittingIds")
+    List<String> findLeasedIds(@Param("owner") String owner, @Param("fittingIds") Collection<String> fittingIds);
+
+    /**
+     * 처리 끝난 항목 삭제 - 이 노드가 임대 중일 때만 (다른 노드가 다시 가져간 항목은 그 노드가 끝낸다)
+     *
+     * @return 삭제된 행 수
+     */
+    @Modifying
+    @Query("DELETE FROM FittingQueueEntry q WHERE q.fittingId = :fittingId AND q.leaseOwner = :owner")
+    int deleteLeased(@Param("fittingId") String fittingId, @Param("owner") String owner);
+
+    /**
+     * 아직 아무 노드도 가져가지 않은 항목 수 (대기열 깊이)
+     */
+    @Query("SELECT COUNT(q) FROM FittingQueueEntry q WHERE q.leaseOwner IS NULL")
+    long countReady();
+}
@@ -0,0 +1,53 @@
+package com.lookfit.fitting.repository;
+
+import com.lookfit.fitting.domain.FittingResultCacheEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 가상 피팅 결과 캐시 Repository
+ */
+@Repository
+public interface FittingResultCacheRepository extends JpaRepository<FittingResultCacheEntry, String> {
+
+    /**
+     * TTL 만료 엔트리 일괄 삭제
+     */
+    @Modifying
+    @Query("DELETE FROM FittingResultCacheEntry c WHERE c.createdAt < :threshold")
+    int deleteExpired(@Param("threshold") LocalDateTime threshold);
+
+    /**
+     * 한 번도 쓰이지 않고 만료되는 예측 생성 결과 수 (낭비 집계용)
+     */
+    @Query("SELECT COUNT(c) FROM FittingResultCacheEntry c " +
+            "WHERE c.speculative = true AND c.hitCount = 0 AND c.createdAt < :threshold")
+    long countUnusedSpeculativeBefore(@Param("threshold") LocalDateTime threshold);
+
+    /**
+     * 삭제 대상 중 한 번도 쓰이지 않은 예측 생성 결과 수 (낭비 집계용)
+     */
+    @Query("SELECT COUNT(c) FROM FittingResultCacheEntry c " +
+            "WHERE c.speculative = true AND c.hitCount = 0 AND c.cacheKey IN :keys")
+    long countUnusedSpeculativeIn(@Param("keys") List<String> keys);
+
+    /**
+     * 가장 오래 사용되지 않은 엔트리 키 조회 (용량 초과 시 LRU 삭제용)
+     */
+    @Query("SELECT c.cacheKey FROM FittingResultCacheEntry c ORDER BY c.lastAccessedAt ASC")
+    List<String> findLeastRecentlyUsedKeys(Pageable pageable);
+
+    /**
+     * 주어진 URL 중 캐시 엔트리가 가리키는 결과 URL (미디어 GC 교차 확인 - 캐시는 참조 수에 들어가지 않는다)
+     */
+    @Query("SELECT DISTINCT c.resultImageUrl FROM FittingResultCacheEntry c WHERE c.resultImageUrl IN :urls")
+    List<String> findReferencedUrls(@Param("urls") Collection<String> urls);
+}
@@ -2,14 +2,18 @@ package com.lookfit.fitting.repository;
 
 import com.lookfit.fitting.domain.FittingStatus;
 import com.lookfit.fitting.domain.VirtualFitting;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -19,9 +23,38 @@ import java.util.Optional;
 public interface VirtualFittingRepository extends JpaRepository<VirtualFitting, String> {
 
     /**
-     * 회원의 피팅 기록 조회 (최신순)
+     * 회원의 피팅 기록 첫 페이지 (최신순, 목록 컬럼만)
+     * COUNT 쿼리 없이 pageable 크기만큼만 읽는다 - 다음 페이지 여부는 한 건 더 읽어 판단
      */
-    Page<VirtualFitting> findByMemberIdOrderByCreatedAtDesc(String memberId, Pageable pageable);
+    @Query("SELECT new com.lookfit.fitting.repository.FittingHistoryRow(" +
+            "vf.fittingId, vf.productId, vf.userImageUrl, vf.resultImageUrl, vf.status, vf.category, " +
+            "vf.createdAt, vf.completedAt) " +
+            "FROM VirtualFitting vf WHERE vf.memberId = :memberId " +
+            "ORDER BY vf.createdAt DESC, vf.fittingId DESC")
+    List<FittingHistoryRow> findHistory(@Param("memberId") String memberId, Pageable pageable);
+
+    /**
+     * 회원의 피팅 기록 다음 페이지 - 커서(마지막으로 본 createdAt, fittingId)보다 오래된 기록 (최신순, 목록 컬럼만)
+     * createdAt <= 커서 조건으로 (memberid, created_at, fitting_id) 인덱스 범위를 좁히므로 몇 페이지째든 읽는 양이 같다
+     *
+     * @param beforeCreatedAt 이전 페이지의 마지막 createdAt
+     * @param beforeId 이전 페이지의 마지막 fittingId
+     */
+    @Query("SELECT new com.lookfit.fitting.repository.FittingHistoryRow(" +
+            "vf.fittingId, vf.productId, vf.userImageUrl, vf.resultImageUrl, vf.status, vf.category, " +
+            "vf.createdAt, vf.completedAt) " +
+            "FROM VirtualFitting vf WHERE vf.memberId = :memberId AND vf.createdAt <= :beforeCreatedAt " +
+            "AND (vf.createdAt < :beforeCreatedAt OR vf.fittingId < :beforeId) " +
+            "ORDER BY vf.createdAt DESC, vf.fittingId DESC")
+    List<FittingHistoryRow> findHistoryBefore(@Param("memberId") String memberId,
+                                              @Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+                                              @Param("beforeId") String beforeId,
+                                              Pageable pageable);
+
+    /**
+     * 회원의 전체 피팅 수 (기록 화면에서 요청할 때만)
+     */
+    long countByMemberId(String memberId);
 
     /**
      * 회원의 특정 상태 피팅 조회
@@ -38,6 +71,212 @@ public interface VirtualFittingRepository extends JpaRepository<VirtualFitting,
      */
     Optional<VirtualFitting> findByReplicatePredictionId(String replicatePredictionId);
 
+    /**
+     * Replicate Prediction ID로 조회 (같은 입력으로 합쳐진 피팅은 prediction을 공유한다)
+     */
+    List<VirtualFitting> findAllByReplicatePredictionId(String replicatePredictionId);
+
+    /**
+     * 묶음 요청의 피팅 조회 (요청 순서)
+     */
+    List<VirtualFitting> findByBatchIdOrderByCreatedAtAsc(String batchId);
+
+    /**
+     * 특정 제공자가 처리 중인 피팅 조회 (Replicate 복구용)
+     */
+    List<VirtualFitting> findByStatusAndProvider(FittingStatus status, String provider, Pageable pageable);
+
+    /**
+     * 특정 시각 이전에 생성된 특정 상태 피팅을 키셋으로 조회 (createdAt, fittingId 순)
+     * 페이지 번호(OFFSET) 대신 마지막으로 읽은 행 이후부터 읽으므로 테이블 크기와 무관하게 인덱스 범위만 스캔한다
+     *
+     * @param cutoff 이 시각 이전에 생성된 피팅만
+     * @param afterCreatedAt 이전 배치의 마지막 createdAt
+     * @param afterId 이전 배치의 마지막 fittingId
+     */
+    @Query("SELECT vf FROM VirtualFitting vf WHERE vf.status = :status AND vf.createdAt < :cutoff " +
+            "AND (vf.createdAt > :afterCreatedAt OR (vf.createdAt = :afterCreatedAt AND vf.fittingId > :afterId)) " +
+            "ORDER BY vf.createdAt ASC, vf.fittingId ASC")
+    List<VirtualFitting> findStaleBatch(@Param("status") FittingStatus status,
+                                        @Param("cutoff") LocalDateTime cutoff,
+                                        @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                        @Param("afterId") String afterId,
+                                        Pageable pageable);
+
+    /**
+     * 보존 기간이 지난 피팅 삭제 - 조회할 때와 같은 조건(상태, 생성 시각)을 다시 걸어,
+     * 조회 후 상태가 바뀐 피팅(예: 그 사이 생성을 요청한 PENDING 피팅)은 지우지 않는다
+     *
+     * @return 삭제된 행 수
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM VirtualFitting vf WHERE vf.fittingId IN :ids AND vf.status = :status AND vf.createdAt < :cutoff")
+    int deleteStale(@Param("ids") Collection<String> ids,
+                    @Param("status") FittingStatus status,
+                    @Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * 주어진 ID 중 남아 있는 피팅 ID (조건부 삭제 후 실제로 지워진 행 확인)
+     */
+    @Query("SELECT vf.fittingId FROM VirtualFitting vf WHERE vf.fittingId IN :ids")
+    List<String> findExistingIds(@Param("ids") Collection<String> ids);
+
+    /**
+     * 중단된 피팅 재등록 표시 (아직 PROCESSING이고 재시도 횟수가 그대로일 때만 - 그 사이 완료된 피팅은 건드리지 않는다)
+     *
+     * @return 갱신된 행 수 (0이면 다른 곳에서 먼저 처리됨)
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE VirtualFitting vf SET vf.retryCount = vf.retryCount + 1, vf.provider = NULL, " +
+            "vf.replicatePredictionId = NULL " +
+            "WHERE vf.fittingId = :fittingId AND vf.status = :status AND vf.retryCount = :retryCount")
+    int markRequeued(@Param("fittingId") String fittingId,
+                     @Param("status") FittingStatus status,
+                     @Param("retryCount") int retryCount);
+
+    /**
+     * 중단된 피팅 실패 처리 (아직 PROCESSING일 때만)
+     *
+     * @return 갱신된 행 수 (0이면 다른 곳에서 먼저 처리됨)
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE VirtualFitting vf SET vf.status = com.lookfit.fitting.domain.FittingStatus.FAILED, " +
+            "vf.errorMessage = :errorMessage, vf.completedAt = :completedAt " +
+            "WHERE vf.fittingId = :fittingId AND vf.status = com.lookfit.fitting.domain.FittingStatus.PROCESSING")
+    int markAbandoned(@Param("fittingId") String fittingId,
+                      @Param("errorMessage") String errorMessage,
+                      @Param("completedAt") LocalDateTime completedAt);
+
+    /**
+     * 생성 시작 표시 (아직 PENDING일 때만 - 그 사이 취소되거나 실패 처리된 피팅은 건드리지 않는다)
+     * 같은 트랜잭션에서 읽어 둔 엔티티가 덮어쓰지 않도록 영속성 컨텍스트를 비운다 (이후 상태는 다시 조회)
+     *
+     * @return 갱신된 행 수 (0이면 다른 곳에서 먼저 처리됨)
+     */
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE VirtualFitting vf SET vf.status = com.lookfit.fitting.domain.FittingStatus.PROCESSING, " +
+            "vf.replicatePredictionId = :predictionId " +
+            "WHERE vf.fittingId = :fittingId AND vf.status = com.lookfit.fitting.domain.FittingStatus.PENDING")
+    int markProcessing(@Param("fittingId") String fittingId,
+                       @Param("predictionId") String predictionId);
+
+    /**
+     * 작업에 합류한 피팅에 prediction ID 기록 (PROCESSING일 때만 - 전체 행을 저장하면 그 사이 커밋된 취소를 되돌린다)
+     *
+     * @return 갱신된 행 수
+     */
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE VirtualFitting vf SET vf.replicatePredictionId = :predictionId, vf.provider = :provider " +
+            "WHERE vf.fittingId IN :fittingIds AND vf.status = com.lookfit.fitting.domain.FittingStatus.PROCESSING")
+    int assignPrediction(@Param("fittingIds") Collection<String> fittingIds,
+                         @Param("predictionId") String predictionId,
+                         @Param("provider") String provider);
+
+    /**
+     * 피팅 완료 표시 (기대한 상태일 때만 - 그 사이 취소된 피팅을 완료로 되돌리지 않는다)
+     *
+     * @param expected 갱신 전 상태 (보통 PROCESSING, 결과 캐시 적중이면 PENDING)
+     * @return 갱신된 행 수 (0이면 다른 곳에서 먼저 처리됨)
+     */
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE VirtualFitting vf SET vf.status = com.lookfit.fitting.domain.FittingStatus.COMPLETED, " +
+            "vf.resultImageUrl = :resultImageUrl, vf.provider = :provider, vf.stageTimings = :stageTimings, " +
+            "vf.completedAt = :completedAt " +
+            "WHERE vf.fittingId = :fittingId AND vf.status = :expected")
+    int markCompleted(@Param("fittingId") String fittingId,
+                      @Param("expected") FittingStatus expected,
+                      @Param("resultImageUrl") String resultImageUrl,
+                      @Param("provider") String provider,
+                      @Param("stageTimings") Map<String, Long> stageTimings,
+                      @Param("completedAt") LocalDateTime completedAt);
+
+    /**
+     * 피팅 실패 표시 (기대한 상태일 때만 - 그 사이 취소/완료된 피팅은 건드리지 않는다)
+     *
+     * @param expected 갱신 전 상태 (PROCESSING, 시작하지 못한 피팅이면 PENDING)
+     * @return 갱신된 행 수 (0이면 다른 곳에서 먼저 처리됨)
+     */
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE VirtualFitting vf SET vf.status = com.lookfit.fitting.domain.FittingStatus.FAILED, " +
+            "vf.errorMessage = :errorMessage, vf.stageTimings = :stageTimings, vf.completedAt = :completedAt " +
+            "WHERE vf.fittingId = :fittingId AND vf.status = :expected")
+    int markFailed(@Param("fittingId") String fittingId,
+                   @Param("expected") FittingStatus expected,
+                   @Param("errorMessage") String errorMessage,
+                   @Param("stageTimings") Map<String, Long> stageTimings,
+                   @Param("completedAt") LocalDateTime completedAt);
+
+    /**
+     * 피팅 취소 표시 (주어진 상태일 때만 - 그 사이 완료/실패한 피팅을 취소로 덮어쓰지 않는다)
+     *
+     * @param statuses 취소할 수 있는 상태 (사용자 취소는 PENDING/PROCESSING, 화면 이탈은 PROCESSING)
+     * @return 갱신된 행 수 (0이면 이미 끝난 피팅)
+     */
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE VirtualFitting vf SET vf.status = com.lookfit.fitting.domain.FittingStatus.CANCELLED, " +
+            "vf.errorMessage = :reason, vf.completedAt = :completedAt " +
+            "WHERE vf.fittingId = :fittingId AND vf.status IN :statuses")
+    int markCancelled(@Param("fittingId") String fittingId,
+                      @Param("statuses") Collection<FittingStatus> statuses,
+                      @Param("reason") String reason,
+                      @Param("completedAt") LocalDateTime completedAt);
+
+    /**
+     * cutoff 이전에 생성된 완료 피팅 중 결과 이미지가 남은 피팅을 키셋으로 조회 (결과 보존 기간 만료)
+     */
+    @Query("SELECT vf FROM VirtualFitting vf WHERE vf.status = com.lookfit.fitting.domain.FittingStatus.COMPLETED " +
+            "AND vf.createdAt < :cutoff AND vf.resultImageUrl IS NOT NULL " +
+            "AND (vf.createdAt > :afterCreatedAt OR (vf.createdAt = :afterCreatedAt AND vf.fittingId > :afterId)) " +
+            "ORDER BY vf.createdAt ASC, vf.fittingId ASC")
+    List<VirtualFitting> findExpiredResultBatch(@Param("cutoff") LocalDateTime cutoff,
+                                                @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                                @Param("afterId") String afterId,
+                                                Pageable pageable);
+
+    /**
+     * 완료 피팅의 결과 이미지 연결 해제 (보존 기간 만료 - 기록은 남기고 파일은 미디어 GC가 지운다)
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE VirtualFitting vf SET vf.resultImageUrl = NULL " +
+            "WHERE vf.fittingId = :fittingId AND vf.status = com.lookfit.fitting.domain.FittingStatus.COMPLETED")
+    int clearResultImage(@Param("fittingId") String fittingId);
+
+    /**
+     * 사진을 쓰는 피팅 중 아직 끝나지 않은 피팅이 있는지 (사진 보존 기간 만료 전 확인)
+     */
+    boolean existsByBodyPhotoIdAndStatusIn(String bodyPhotoId, Collection<FittingStatus> statuses);
+
+    /**
+     * 끝난 피팅의 사용자 사진 연결 해제 (사진 보존 기간 만료)
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE VirtualFitting vf SET vf.userImageUrl = NULL " +
+            "WHERE vf.bodyPhotoId = :bodyPhotoId AND vf.status IN :statuses")
+    int clearUserImage(@Param("bodyPhotoId") String bodyPhotoId,
+                       @Param("statuses") Collection<FittingStatus> statuses);
+
+    /**
+     * 주어진 URL 중 피팅의 사용자 사진으로 쓰이는 URL (미디어 GC 교차 확인)
+     */
+    @Query("SELECT DISTINCT vf.userImageUrl FROM VirtualFitting vf WHERE vf.userImageUrl IN :urls")
+    List<String> findReferencedUserImageUrls(@Param("urls") Collection<String> urls);
+
+    /**
+     * 주어진 URL 중 피팅 결과로 쓰이는 URL (미디어 GC 교차 확인)
+     */
+    @Query("SELECT DISTINCT vf.resultImageUrl FROM VirtualFitting vf WHERE vf.resultImageUrl IN :urls")
+    List<String> findReferencedResultImageUrls(@Param("urls") Collection<String> urls);
+
     /**
      * 처리 중인 피팅 개수 조회 (부하 체크용)
      */
@@ -45,9 +284,11 @@ public interface VirtualFittingRepository extends JpaRepository<VirtualFitting,
     long countByStatus(@Param("status") FittingStatus status);
 
     /**
-     * 회원의 피팅 개수 조회
+     * 기간 내 피팅이 많은 상품 ID (의류 이미지 캐시 워밍업용)
      */
-    long countByMemberId(String memberId);
+    @Query("SELECT vf.productId FROM VirtualFitting vf WHERE vf.createdAt >= :since " +
+            "GROUP BY vf.productId ORDER BY COUNT(vf) DESC")
+    List<String> findTopProductIds(@Param("since") LocalDateTime since, Pageable pageable);
 
     /**
      * 특정 기간 동안 생성된 피팅 조회
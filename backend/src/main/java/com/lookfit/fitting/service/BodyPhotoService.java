@@ -0,0 +1,144 @@
+package com.lookfit.fitting.service;
+
+import com.lookfit.fitting.domain.BodyPhoto;
+import com.lookfit.fitting.repository.BodyPhotoRepository;
+import com.lookfit.global.exception.BusinessException;
+import com.lookfit.global.exception.ErrorCode;
+import com.lookfit.global.image.ImageProfile;
+import com.lookfit.global.media.MediaStore;
+import com.lookfit.global.media.StoredMedia;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 회원 전신 사진 서비스
+ * - 업로드 사진을 모델 입력 해상도로 정규화해 미디어 저장소에 한 번만 저장하고, 피팅은 사진 ID로 참조한다
+ * - 같은 회원이 같은 사진을 다시 올리면 (정규화 결과 해시가 같으면) 기존 사진을 돌려준다 (파일은 해시 경로라 새로 생기지 않음)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class BodyPhotoService {
+
+    private static final long MAX_FILE_SIZE = 10 * 1024 * 1024; // 10MB
+
+    private final BodyPhotoRepository bodyPhotoRepository;
+    private final MediaStore mediaStore;
+
+    @Value("${fitting.image.model-max-width:768}")
+    private int modelMaxWidth;
+
+    @Value("${fitting.image.model-max-height:1024}")
+    private int modelMaxHeight;
+
+    @Value("${fitting.photo.list-limit:20}")
+    private int listLimit;
+
+    /**
+     * 사진 저장 (중복이면 기존 사진 반환)
+     *
+     * @return 저장된 사진과 새로 저장했는지 여부
+     */
+    @Transactional
+    public StoredPhoto store(String memberId, MultipartFile imageFile) {
+        validateImageFile(imageFile);
+
+        StoredMedia image = ingest(memberId, imageFile);
+
+        // 조회 후 저장하면 같은 사진을 동시에 올린 요청끼리 유니크 제약에 걸리므로 upsert 후 다시 읽어 구분한다
+        String photoId = UUID.randomUUID().toString();
+        bodyPhotoRepository.upsert(photoId, memberId, image.url(), image.contentHash(),
+                image.width(), image.height(), image.sizeBytes(), LocalDateTime.now());
+        BodyPhoto photo = bodyPhotoRepository.findByMemberIdAndContentHash(memberId, image.contentHash())
+                .orElseThrow(() -> new IllegalStateException("사진 저장 실패 - memberId: " + memberId));
+
+        if (!photo.getPhotoId().equals(photoId)) {
+            log.info("♻️ 이미 저장된 사진 - memberId: {}, photoId: {}", memberId, photo.getPhotoId());
+            return new StoredPhoto(photo, false);
+        }
+
+        mediaStore.retain(photo.getImageUrl(), BodyPhoto.MEDIA_OWNER, photoId);
+        log.info("사진 저장 완료 - memberId: {}, photoId: {}, imageUrl: {}", memberId, photoId, photo.getImageUrl());
+        return new StoredPhoto(photo, true);
+    }
+
+    /**
+     * 회원의 사진 목록 (최근 사용순)
+     */
+    public List<BodyPhoto> getPhotos(String memberId) {
+        return bodyPhotoRepository.findByMemberIdOrderByLastUsedAtDesc(memberId, PageRequest.of(0, listLimit));
+    }
+
+    /**
+     * 피팅에 쓸 사진 조회 (본인 것만, 사용 시각 갱신)
+     */
+    @Transactional
+    public BodyPhoto use(String memberId, String photoId) {
+        BodyPhoto photo = bodyPhotoRepository.findById(photoId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.BODY_PHOTO_NOT_FOUND));
+        if (!photo.getMemberId().equals(memberId)) {
+            throw new BusinessException(ErrorCode.ACCESS_DENIED, "다른 사용자의 사진은 사용할 수 없습니다.");
+        }
+        photo.touch();
+        return photo;
+    }
+
+    /**
+     * 업로드 이미지 파일 검증
+     */
+    static void validateImageFile(MultipartFile imageFile) {
+        if (imageFile == null || imageFile.isEmpty()) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE, "이미지 파일이 비어있습니다.");
+        }
+
+        // 파일 크기 검증 (최대 10MB)
+        if (imageFile.getSize() > MAX_FILE_SIZE) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE,
+                    "이미지 파일 크기는 10MB를 초과할 수 없습니다.");
+        }
+
+        // 파일 확장자 검증
+        String contentType = imageFile.getContentType();
+        if (contentType == null || !contentType.startsWith("image/")) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE,
+                    "이미지 파일만 업로드 가능합니다.");
+        }
+    }
+
+    /**
+     * 이미지 파일 저장 (EXIF 방향 보정 + 모델 입력 해상도로 축소 + JPEG 재인코딩, 같은 내용이면 기존 파일)
+     */
+    private StoredMedia ingest(String memberId, MultipartFile imageFile) {
+        try {
+            ImageProfile profile = new ImageProfile("fitting", modelMaxWidth, modelMaxHeight);
+            StoredMedia image = mediaStore.ingest(imageFile, profile);
+            log.info("이미지 파일 저장 완료 - path: {}, hash: {}, duplicate: {}",
+                    image.path(), image.contentHash(), image.duplicate());
+            return image;
+        } catch (IOException e) {
+            log.error("이미지 파일 저장 실패 - memberId: {}", memberId, e);
+            throw new BusinessException(ErrorCode.FILE_UPLOAD_FAILED,
+                    "이미지 파일 저장에 실패했습니다: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 저장 결과
+     *
+     * @param photo 저장된(또는 기존) 사진
+     * @param created 새로 저장했으면 true
+     */
+    public record StoredPhoto(BodyPhoto photo, boolean created) {
+    }
+}
@@ -0,0 +1,45 @@
+package com.lookfit.fitting.service;
+
+import com.lookfit.fitting.repository.FittingHistoryRow;
+import com.lookfit.global.exception.BusinessException;
+import com.lookfit.global.exception.ErrorCode;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 피팅 기록 키셋 커서 - 이전 페이지 마지막 행의 (createdAt, fittingId)
+ * 클라이언트에는 불투명한 문자열(URL-safe Base64)로 내려주고 다음 요청에서 그대로 받는다
+ */
+record FittingHistoryCursor(LocalDateTime createdAt, String fittingId) {
+
+    private static final String SEPARATOR = "|";
+
+    static FittingHistoryCursor of(FittingHistoryRow row) {
+        return new FittingHistoryCursor(row.createdAt(), row.fittingId());
+    }
+
+    String encode() {
+        String raw = createdAt + SEPARATOR + fittingId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws BusinessException 형식이 맞지 않는 커서
+     */
+    static FittingHistoryCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator <= 0 || separator == raw.length() - 1) {
+                throw new IllegalArgumentException("구분자 없음");
+            }
+            return new FittingHistoryCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    raw.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE, "잘못된 피팅 기록 커서입니다.");
+        }
+    }
+}
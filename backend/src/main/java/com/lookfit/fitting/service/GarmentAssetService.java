@@ -0,0 +1,331 @@
+package com.lookfit.fitting.service;
+
+import com.lookfit.fitting.repository.VirtualFittingRepository;
+import com.lookfit.global.common.HashUtils;
+import com.lookfit.global.image.ImageIngestService;
+import com.lookfit.global.image.ImageProfile;
+import com.lookfit.global.image.IngestedImage;
+import com.lookfit.product.domain.Product;
+import com.lookfit.product.event.ProductEvents;
+import com.lookfit.product.repository.ProductRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 가상 피팅용 의류 이미지 캐시
+ * - 상품 이미지를 모델 입력 크기로 미리 축소/재인코딩해 두고 AI 호출 시 원본 대신 전달
+ * - 상품 생성/수정 이벤트마다 해당 상품만 다시 만든다 (삭제 시 제거)
+ * - 기동 시 최근 피팅이 많은 상위 N개 상품을 미리 만든다
+ * - 재시작 후에는 원본보다 새로운 캐시 파일을 다시 만들지 않고 그대로 사용
+ *
+ * 캐시에 없으면 그 자리에서 한 번 만들고, 만들 수 없으면 원본 경로를 그대로 돌려준다.
+ */
+@Slf4j
+@Service
+public class GarmentAssetService {
+
+    private final ProductRepository productRepository;
+    private final VirtualFittingRepository fittingRepository;
+    private final ImageIngestService imageIngestService;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter buildCounter;
+
+    /**
+     * 의류 이미지 URL → 준비된 이미지
+     */
+    private final Map<String, GarmentAsset> assets = new ConcurrentHashMap<>();
+
+    /**
+     * 상품 ID → 의류 이미지 URL (상품 이미지가 바뀌면 이전 URL의 캐시를 지운다)
+     */
+    private final Map<String, String> imageUrlsByProduct = new ConcurrentHashMap<>();
+
+    /**
+     * 의류 이미지 URL → 원본 내용 해시 (크기/수정 시각이 같으면 다시 읽지 않는다)
+     */
+    private final Map<String, ContentHash> contentHashes = new ConcurrentHashMap<>();
+
+    Clock clock = Clock.systemDefaultZone();
+
+    @Value("${fitting.garment.enabled:true}")
+    private boolean enabled;
+
+    @Value("${fitting.garment.cache-dir:/tmp/lookfit_garment}")
+    private String cacheDir;
+
+    @Value("${fitting.image.static-dir:src/main/resources/static/images}")
+    private String staticImageDir;
+
+    @Value("${fitting.image.model-max-width:768}")
+    private int modelMaxWidth;
+
+    @Value("${fitting.image.model-max-height:1024}")
+    private int modelMaxHeight;
+
+    @Value("${fitting.garment.warmup.top-n:50}")
+    private int warmupTopN;
+
+    @Value("${fitting.garment.warmup.window:30d}")
+    private Duration warmupWindow;
+
+    public GarmentAssetService(ProductRepository productRepository,
+                               VirtualFittingRepository fittingRepository,
+                               ImageIngestService imageIngestService,
+                               MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.fittingRepository = fittingRepository;
+        this.imageIngestService = imageIngestService;
+        this.hitCounter = Counter.builder("fitting.garment.cache")
+                .tag("result", "hit")
+                .description("준비된 의류 이미지 사용 (원본 미사용)")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("fitting.garment.cache")
+                .tag("result", "miss")
+                .description("AI 호출 시점에 의류 이미지를 준비한 횟수")
+                .register(meterRegistry);
+        this.buildCounter = Counter.builder("fitting.garment.cache.builds")
+                .description("의류 이미지 축소/재인코딩 횟수")
+                .register(meterRegistry);
+        Gauge.builder("fitting.garment.cache.entries", assets, Map::size)
+                .description("준비된 의류 이미지 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * AI 호출에 넘길 의류 이미지 로컬 경로
+     *
+     * @param garmentImageUrl 상품 이미지 URL (상대 경로)
+     */
+    public String resolve(String garmentImageUrl) {
+        if (!enabled) {
+            return sourcePath(garmentImageUrl).toString();
+        }
+
+        GarmentAsset asset = assets.get(garmentImageUrl);
+        if (asset != null && Files.exists(asset.path())) {
+            hitCounter.increment();
+            return asset.path().toString();
+        }
+
+        missCounter.increment();
+        try {
+            return prepare(garmentImageUrl, false).path().toString();
+        } catch (IOException | RuntimeException e) {
+            log.warn("의류 이미지 준비 실패 - 원본을 사용합니다: url: {}: {}", garmentImageUrl, e.getMessage());
+            return sourcePath(garmentImageUrl).toString();
+        }
+    }
+
+    /**
+     * 의류 이미지 원본의 내용 해시 (SHA-256)
+     * 상품 이미지는 같은 파일명으로 덮어쓸 수 있으므로, URL 대신 이 값으로 결과 캐시 키를 만든다.
+     *
+     * @return 원본을 읽을 수 없으면 null
+     */
+    public String contentHash(String garmentImageUrl) {
+        if (garmentImageUrl == null) {
+            return null;
+        }
+        Path source = sourcePath(garmentImageUrl);
+        try {
+            long size = Files.size(source);
+            long modifiedAt = Files.getLastModifiedTime(source).toMillis();
+            ContentHash cached = contentHashes.get(garmentImageUrl);
+            if (cached != null && cached.size() == size && cached.modifiedAt() == modifiedAt) {
+                return cached.hash();
+            }
+
+            MessageDigest digest = HashUtils.newSha256();
+            try (InputStream in = new DigestInputStream(Files.newInputStream(source), digest)) {
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+            String hash = HashUtils.toHex(digest.digest());
+            contentHashes.put(garmentImageUrl, new ContentHash(size, modifiedAt, hash));
+            return hash;
+        } catch (IOException | RuntimeException e) {
+            log.warn("의류 이미지 해시 계산 실패 - url: {}: {}", garmentImageUrl, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 기동 시 최근 피팅이 많은 상품의 의류 이미지 준비 (부팅을 막지 않도록 비동기)
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled || warmupTopN <= 0) {
+            return;
+        }
+
+        LocalDateTime since = LocalDateTime.now(clock).minus(warmupWindow);
+        List<String> productIds = fittingRepository.findTopProductIds(since, PageRequest.of(0, warmupTopN));
+        int prepared = 0;
+        for (Product product : productRepository.findAllById(productIds)) {
+            if (product.getImageUrl() == null) {
+                continue;
+            }
+            imageUrlsByProduct.put(product.getProductId(), product.getImageUrl());
+            try {
+                prepare(product.getImageUrl(), false);
+                prepared++;
+            } catch (IOException | RuntimeException e) {
+                log.warn("의류 이미지 워밍업 실패 - productId: {}: {}", product.getProductId(), e.getMessage());
+            }
+        }
+        log.info("👕 의류 이미지 캐시 워밍업 완료 - 대상: {}, 준비: {}", productIds.size(), prepared);
+    }
+
+    /**
+     * 상품 생성 시 의류 이미지 준비
+     */
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductCreated(ProductEvents.ProductCreatedEvent event) {
+        refresh(event.getProductId());
+    }
+
+    /**
+     * 상품 수정 시 해당 상품의 의류 이미지만 다시 준비 (이미지 교체 반영)
+     */
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductUpdated(ProductEvents.ProductUpdatedEvent event) {
+        refresh(event.getProductId());
+    }
+
+    /**
+     * 상품 삭제 시 캐시 제거
+     */
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductDeleted(ProductEvents.ProductDeletedEvent event) {
+        String imageUrl = imageUrlsByProduct.remove(event.getProductId());
+        if (imageUrl != null) {
+            contentHashes.remove(imageUrl);
+            remove(imageUrl);
+        }
+    }
+
+    void refresh(String productId) {
+        if (!enabled) {
+            return;
+        }
+
+        Product product = productRepository.findById(productId).orElse(null);
+        String imageUrl = product == null ? null : product.getImageUrl();
+        String previousUrl = imageUrl == null
+                ? imageUrlsByProduct.remove(productId)
+                : imageUrlsByProduct.put(productId, imageUrl);
+        if (previousUrl != null && !previousUrl.equals(imageUrl)) {
+            contentHashes.remove(previousUrl);
+            remove(previousUrl);
+        }
+        if (imageUrl == null) {
+            return;
+        }
+
+        try {
+            prepare(imageUrl, true);
+            log.info("의류 이미지 캐시 갱신 - productId: {}", productId);
+        } catch (IOException | RuntimeException e) {
+            log.warn("의류 이미지 캐시 갱신 실패 - productId: {}: {}", productId, e.getMessage());
+        }
+    }
+
+    /**
+     * 의류 이미지 준비 (같은 파일명으로 원자적 교체 - 읽는 중인 호출은 이전 파일을 끝까지 읽는다)
+     *
+     * @param rebuild false면 원본보다 새로운 캐시 파일이 있을 때 그대로 사용
+     */
+    private GarmentAsset prepare(String garmentImageUrl, boolean rebuild) throws IOException {
+        Path source = sourcePath(garmentImageUrl);
+        Path root = Paths.get(cacheDir).toAbsolutePath();
+        String baseName = HashUtils.sha256Hex(garmentImageUrl).substring(0, 32);
+
+        Path existing = root.resolve(baseName + ".jpg");
+        if (!rebuild && Files.exists(existing)
+                && Files.getLastModifiedTime(existing).compareTo(Files.getLastModifiedTime(source)) >= 0) {
+            GarmentAsset asset = new GarmentAsset(garmentImageUrl, existing);
+            assets.put(garmentImageUrl, asset);
+            return asset;
+        }
+
+        ImageProfile profile = new ImageProfile("garment", modelMaxWidth, modelMaxHeight);
+        IngestedImage image = imageIngestService.ingestFile(source, root, baseName, profile);
+        buildCounter.increment();
+
+        GarmentAsset asset = new GarmentAsset(garmentImageUrl, image.path());
+        GarmentAsset previous = assets.put(garmentImageUrl, asset);
+        if (previous != null && !previous.path().equals(asset.path())) {
+            Files.deleteIfExists(previous.path());
+        }
+        log.debug("의류 이미지 준비 - url: {}, {}x{}, {}KB → {}KB", garmentImageUrl,
+                image.width(), image.height(), image.originalSize() / 1024, image.storedSize() / 1024);
+        return asset;
+    }
+
+    private void remove(String garmentImageUrl) {
+        GarmentAsset asset = assets.remove(garmentImageUrl);
+        if (asset == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(asset.path());
+        } catch (IOException e) {
+            log.warn("의류 이미지 캐시 삭제 실패 - path: {}: {}", asset.path(), e.getMessage());
+        }
+    }
+
+    private Path sourcePath(String garmentImageUrl) {
+        return HuggingFaceGradioService.toLocalPath(staticImageDir, garmentImageUrl);
+    }
+
+    int getEntryCount() {
+        return assets.size();
+    }
+
+    /**
+     * 준비된 의류 이미지
+     *
+     * @param sourceUrl 상품 이미지 URL
+     * @param path 모델 입력 크기로 저장된 파일
+     */
+    record GarmentAsset(String sourceUrl, Path path) {
+    }
+
+    /**
+     * 계산해 둔 원본 내용 해시
+     *
+     * @param size 계산 시점의 원본 크기
+     * @param modifiedAt 계산 시점의 원본 수정 시각 (epoch millis)
+     */
+    record ContentHash(long size, long modifiedAt, String hash) {
+    }
+}
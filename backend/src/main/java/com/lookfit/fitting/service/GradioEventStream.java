@@ -0,0 +1,135 @@
+package com.lookfit.fitting.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+/**
+ * Gradio 결과 이벤트 스트림 (SSE) 구독자
+ * - 응답 본문을 줄 단위로 받아 이벤트를 조립한다 (event/data 필드, 빈 줄에서 이벤트 완성)
+ * - complete 이벤트가 도착하는 즉시 결과를 완료하고 나머지 스트림은 구독 취소
+ * - error 이벤트나 결과 없이 끝난 스트림은 실패로 완료
+ */
+@Slf4j
+class GradioEventStream implements Flow.Subscriber<String> {
+
+    static final String EVENT_COMPLETE = "complete";
+    static final String EVENT_ERROR = "error";
+
+    private final CompletableFuture<String> result = new CompletableFuture<>();
+    private Flow.Subscription subscription;
+    private boolean cancelled;
+
+    private String eventName;
+    private StringBuilder data;
+
+    /**
+     * complete 이벤트의 data (JSON 문자열)
+     */
+    CompletableFuture<String> result() {
+        return result;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        synchronized (this) {
+            if (cancelled) {
+                subscription.cancel();
+                return;
+            }
+            this.subscription = subscription;
+        }
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(String line) {
+        if (result.isDone()) {
+            return;
+        }
+        if (line.isEmpty()) {
+            dispatch();
+            return;
+        }
+        if (line.startsWith(":")) {
+            return;  // 주석 (keep-alive)
+        }
+
+        int colon = line.indexOf(':');
+        String field = colon < 0 ? line : line.substring(0, colon);
+        String value = colon < 0 ? "" : line.substring(colon + 1);
+        if (value.startsWith(" ")) {
+            value = value.substring(1);
+        }
+
+        if ("event".equals(field)) {
+            eventName = value;
+        } else if ("data".equals(field)) {
+            if (data == null) {
+                data = new StringBuilder(value);
+            } else {
+                data.append('\n').append(value);
+            }
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        result.completeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        dispatch();
+        result.completeExceptionally(new IllegalStateException("결과 없이 이벤트 스트림이 종료되었습니다."));
+    }
+
+    /**
+     * 스트림 외부 실패 (연결 실패, 비정상 상태 코드)
+     */
+    void fail(Throwable error) {
+        result.completeExceptionally(error);
+    }
+
+    /**
+     * 구독 취소 (결과 수신, 타임아웃, 호출자 취소 시 연결 정리)
+     */
+    void cancel() {
+        Flow.Subscription current;
+        synchronized (this) {
+            cancelled = true;
+            current = subscription;
+        }
+        if (current != null) {
+            current.cancel();
+        }
+    }
+
+    private void dispatch() {
+        String name = eventName != null ? eventName : "message";
+        String payload = data != null ? data.toString() : null;
+        eventName = null;
+        data = null;
+
+        if (EVENT_COMPLETE.equals(name)) {
+            result.complete(payload);
+            cancel();
+        } else if (EVENT_ERROR.equals(name)) {
+            result.completeExceptionally(new GradioEventException(payload));
+            cancel();
+        } else if (payload != null || !"message".equals(name)) {
+            log.debug("Gradio 이벤트 - {}", name);
+        }
+    }
+
+    /**
+     * Gradio error 이벤트
+     */
+    static class GradioEventException extends RuntimeException {
+
+        GradioEventException(String payload) {
+            super("Gradio 오류 이벤트: " + (payload == null || "null".equals(payload) ? "원인 미제공" : payload));
+        }
+    }
+}
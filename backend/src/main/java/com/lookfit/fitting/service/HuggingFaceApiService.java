@@ -2,32 +2,84 @@ package com.lookfit.fitting.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lookfit.global.exception.BusinessException;
+import com.lookfit.global.exception.ErrorCode;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.*;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
-import java.util.*;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
- * Hugging Face Spaces API 연동 서비스
- * Kolors Virtual Try-On 사용 (무료!)
+ * Hugging Face Spaces API 연동 서비스 (Gradio /call API)
+ * - POST /call/{api_name}으로 event_id를 받고, GET /call/{api_name}/{event_id} 이벤트 스트림(SSE)을 구독
+ * - 결과는 complete 이벤트가 도착하는 즉시 완료된다 (1초 간격 폴링 없음)
+ * - java.net.http 비동기 호출 + 가상 스레드 실행기 - 대기 중에는 스레드를 점유하지 않는다
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class HuggingFaceApiService {
 
-    private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
 
     // IDM-VTON Space (Gradio 새 API 형식)
-    private static final String HF_SPACE_BASE = "https://yisol-idm-vton.hf.space";
-    private static final String API_NAME = "tryon";
+    @Value("${fitting.hf-api.base-url:https://yisol-idm-vton.hf.space}")
+    private String spaceBaseUrl;
+
+    @Value("${fitting.hf-api.api-name:tryon}")
+    private String apiName;
+
+    @Value("${fitting.hf-api.token:}")
+    private String token;
+
+    @Value("${fitting.hf-api.connect-timeout:10s}")
+    private Duration connectTimeout;
+
+    @Value("${fitting.hf-api.timeout:2m}")
+    private Duration timeout;
+
+    private ExecutorService executor;
+    private HttpClient httpClient;
+
+    @PostConstruct
+    void init() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        httpClient = HttpClient.newBuilder()
+                .executor(executor)
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        httpClient.close();
+        executor.shutdownNow();
+    }
 
     /**
-     * Hugging Face Spaces API로 가상 피팅 이미지 생성 요청 (Gradio 새 형식)
+     * Hugging Face Spaces API로 가상 피팅 이미지 생성 (완료까지 대기)
      *
      * @param userImageUrl 사용자 이미지 URL
      * @param garmentImageUrl 의류 이미지 URL
@@ -35,83 +87,139 @@ public class HuggingFaceApiService {
      * @return 생성된 이미지 URL
      */
     public String generateVirtualTryOn(String userImageUrl, String garmentImageUrl, String category) {
+        CompletableFuture<String> future = generateVirtualTryOnAsync(userImageUrl, garmentImageUrl, category);
         try {
-            log.info("🤗 Hugging Face API 호출 - userImage: {}, garmentImage: {}", userImageUrl, garmentImageUrl);
-
-            // 1단계: POST /call/{api_name} - Event ID 받기
-            Map<String, Object> requestBody = new HashMap<>();
-            requestBody.put("data", Arrays.asList(
-                    userImageUrl,
-                    garmentImageUrl,
-                    category
-            ));
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
-
-            String callUrl = HF_SPACE_BASE + "/call/" + API_NAME;
-            ResponseEntity<String> callResponse = restTemplate.exchange(
-                    callUrl,
-                    HttpMethod.POST,
-                    request,
-                    String.class
-            );
-
-            // 응답 로그 출력
-            String responseBody = callResponse.getBody();
-            log.info("🔍 POST 응답: {}", responseBody);
-
-            // Event ID 추출
-            JsonNode callJson = objectMapper.readTree(responseBody);
-            String eventId = callJson.get("event_id").asText();
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("작업이 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof BusinessException businessException) {
+                throw businessException;
+            }
+            if (cause instanceof GradioEventStream.GradioEventException
+                    && cause.getMessage().toLowerCase().contains("quota")) {
+                log.warn("GPU 할당량 초과: {}", cause.getMessage());
+                throw new BusinessException(ErrorCode.GPU_QUOTA_EXCEEDED, cause.getMessage());
+            }
+            if (cause instanceof TimeoutException) {
+                throw new RuntimeException("타임아웃: " + timeout.toSeconds() + "초 내에 결과를 받지 못했습니다.", cause);
+            }
+            log.error("❌ Hugging Face API 실패", cause);
+            throw new RuntimeException("AI 이미지 생성 요청 실패: " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Hugging Face Spaces API로 가상 피팅 이미지 생성 요청 (비동기)
+     * 반환된 future를 취소하면 이벤트 스트림 연결도 정리된다
+     */
+    public CompletableFuture<String> generateVirtualTryOnAsync(String userImageUrl, String garmentImageUrl,
+                                                               String category) {
+        log.info("🤗 Hugging Face API 호출 - userImage: {}, garmentImage: {}", userImageUrl, garmentImageUrl);
+        GradioEventStream stream = new GradioEventStream();
+
+        CompletableFuture<String> result = httpClient
+                .sendAsync(callRequest(userImageUrl, garmentImageUrl, category), HttpResponse.BodyHandlers.ofString())
+                .thenApply(this::extractEventId)
+                .thenCompose(eventId -> openEventStream(eventId, stream))
+                .thenApply(this::extractImageUrl)
+                .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+
+        result.whenComplete((imageUrl, error) -> stream.cancel());
+        return result;
+    }
+
+    /**
+     * 1단계: POST /call/{api_name} 요청
+     */
+    private HttpRequest callRequest(String userImageUrl, String garmentImageUrl, String category) {
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("data", List.of(userImageUrl, garmentImageUrl, category));
+
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(requestBody);
+        } catch (IOException e) {
+            throw new IllegalStateException("요청 본문 생성 실패", e);
+        }
+
+        return authorized(HttpRequest.newBuilder(URI.create(spaceBaseUrl + "/call/" + apiName)))
+                .timeout(timeout)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+    }
+
+    /**
+     * Event ID 추출
+     */
+    private String extractEventId(HttpResponse<String> response) {
+        if (response.statusCode() != 200) {
+            throw new CompletionException(new IllegalStateException(
+                    "Gradio 호출 실패 (" + response.statusCode() + "): " + response.body()));
+        }
+        try {
+            String eventId = objectMapper.readTree(response.body()).path("event_id").asText(null);
+            if (eventId == null) {
+                throw new IllegalStateException("event_id 없음: " + response.body());
+            }
             log.info("Event ID 받음: {}", eventId);
+            return eventId;
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        }
+    }
 
-            // 2단계: GET /call/{api_name}/{event_id} - 결과 폴링 (SSE 형식)
-            String resultUrl = HF_SPACE_BASE + "/call/" + API_NAME + "/" + eventId;
-            int maxRetries = 60; // 최대 60초 대기
-
-            for (int i = 0; i < maxRetries; i++) {
-                Thread.sleep(1000); // 1초 대기
-
-                ResponseEntity<String> resultResponse = restTemplate.getForEntity(resultUrl, String.class);
-                String resultBody = resultResponse.getBody();
-
-                if (resultBody != null && !resultBody.isEmpty()) {
-                    log.debug("🔍 폴링 응답 ({}초): {}", i + 1, resultBody.substring(0, Math.min(200, resultBody.length())));
-
-                    // SSE 형식 파싱: "data: {...}" 라인에서 JSON 추출
-                    String[] lines = resultBody.split("\n");
-                    for (String line : lines) {
-                        if (line.startsWith("data: ")) {
-                            String jsonData = line.substring(6); // "data: " 제거
-
-                            try {
-                                JsonNode dataJson = objectMapper.readTree(jsonData);
-
-                                // 완료 확인: data 필드에 배열이 있으면 완료
-                                if (dataJson.isArray() && dataJson.size() > 0) {
-                                    String imageUrl = dataJson.get(0).asText();
-                                    log.info("✅ Hugging Face AI 완료 - resultUrl: {}", imageUrl);
-                                    return imageUrl;
-                                }
-                            } catch (Exception parseError) {
-                                log.debug("JSON 파싱 실패 (진행 중일 수 있음): {}", jsonData);
-                            }
-                        }
-                    }
-                }
+    /**
+     * 2단계: GET /call/{api_name}/{event_id} 이벤트 스트림 구독 (SSE 형식)
+     */
+    private CompletableFuture<String> openEventStream(String eventId, GradioEventStream stream) {
+        HttpRequest request = authorized(HttpRequest.newBuilder(
+                URI.create(spaceBaseUrl + "/call/" + apiName + "/" + eventId)))
+                .header(HttpHeaders.ACCEPT, MediaType.TEXT_EVENT_STREAM_VALUE)
+                .GET()
+                .build();
+
+        httpClient.sendAsync(request, responseInfo -> {
+            if (responseInfo.statusCode() != 200) {
+                stream.fail(new IllegalStateException("Gradio 결과 스트림 실패 (" + responseInfo.statusCode() + ")"));
+                return HttpResponse.BodySubscribers.replacing(null);
+            }
+            return HttpResponse.BodySubscribers.fromLineSubscriber(stream);
+        }).whenComplete((response, error) -> {
+            if (error != null) {
+                stream.fail(error);
             }
+        });
+        return stream.result();
+    }
 
-            throw new RuntimeException("타임아웃: 60초 내에 결과를 받지 못했습니다.");
+    /**
+     * complete 이벤트 data에서 이미지 URL 추출 (문자열 또는 파일 객체)
+     */
+    private String extractImageUrl(String data) {
+        try {
+            JsonNode dataJson = objectMapper.readTree(data);
+            if (!dataJson.isArray() || dataJson.isEmpty()) {
+                throw new IllegalStateException("결과 데이터가 비어 있습니다: " + data);
+            }
+            JsonNode output = dataJson.get(0);
+            String imageUrl = output.isObject() ? output.path("url").asText(output.path("path").asText()) : output.asText();
+            log.info("✅ Hugging Face AI 완료 - resultUrl: {}", imageUrl);
+            return imageUrl;
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        }
+    }
 
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new RuntimeException("작업이 중단되었습니다.", e);
-        } catch (Exception e) {
-            log.error("❌ Hugging Face API 실패", e);
-            throw new RuntimeException("AI 이미지 생성 요청 실패: " + e.getMessage(), e);
+    private HttpRequest.Builder authorized(HttpRequest.Builder builder) {
+        if (token != null && !token.isEmpty()) {
+            builder.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
         }
+        return builder;
     }
 
     /**
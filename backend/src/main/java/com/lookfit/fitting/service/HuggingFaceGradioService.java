@@ -2,6 +2,17 @@ package com.lookfit.fitting.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.lookfit.fitting.preprocess.PreprocessingCache;
+import com.lookfit.fitting.trace.FittingStage;
+import com.lookfit.fitting.trace.FittingTrace;
+import com.lookfit.fitting.worker.PythonWorkerPool;
+import com.lookfit.global.exception.BusinessException;
+import com.lookfit.global.exception.ErrorCode;
+import com.lookfit.global.media.MediaStore;
+import com.lookfit.global.media.StoredMedia;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -10,15 +21,26 @@ import org.springframework.stereotype.Service;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.UUID;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Hugging Face Gradio Client (Python) 연동 서비스
  * IDM-VTON Space 사용
+ * 상주 Python 워커 풀(PythonWorkerPool)을 우선 사용하고, 비활성화 시 요청마다 스크립트를 실행한다
+ * fitting.preprocess.enabled를 켜면 사용자 사진의 전처리 산출물(포즈, 의류 영역 마스크)을 PreprocessingCache에서 받아
+ * Space의 auto-mask 대신 사용한다 (기본은 auto-mask)
+ * 의류 이미지는 GarmentAssetService가 미리 축소해 둔 파일을 사용한다 (원본 main.jpg를 읽지 않음)
+ * 피팅이 취소되어 호출 스레드가 인터럽트되면 워커/스크립트 프로세스를 종료하고 CancellationException을 던진다
  */
 @Slf4j
 @Service
@@ -26,9 +48,10 @@ import java.util.concurrent.TimeUnit;
 public class HuggingFaceGradioService {
 
     private final ObjectMapper objectMapper;
-
-    @Value("${fitting.image.result-dir:src/main/resources/static/images/fitting/result}")
-    private String resultDir;
+    private final PythonWorkerPool pythonWorkerPool;
+    private final PreprocessingCache preprocessingCache;
+    private final GarmentAssetService garmentAssetService;
+    private final MediaStore mediaStore;
 
     @Value("${fitting.image.upload-dir:src/main/resources/static/images/fitting/user}")
     private String uploadDir;
@@ -36,6 +59,21 @@ public class HuggingFaceGradioService {
     private static final String PYTHON_SCRIPT = "scripts/virtual_tryon.py";
     private static final String STATIC_IMAGE_BASE = "src/main/resources/static/images";
 
+    /**
+     * 스크립트 출력 읽기 (프로세스가 끝날 때까지 블로킹되므로 공용 ForkJoinPool 대신 가상 스레드)
+     */
+    private ExecutorService outputReader;
+
+    @PostConstruct
+    void init() {
+        outputReader = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        outputReader.shutdownNow();
+    }
+
     /**
      * Python Gradio Client를 사용한 가상 피팅 이미지 생성
      *
@@ -49,94 +87,63 @@ public class HuggingFaceGradioService {
             log.info("🐍 Python Gradio Client 호출 시작 - userImage: {}, garmentImage: {}, category: {}",
                     userImageUrl, garmentImageUrl, category);
 
-            // URL을 로컬 파일 경로로 변환
+            // URL을 로컬 파일 경로로 변환 (의류는 모델 입력 크기로 미리 만든 캐시 이미지)
             String userImagePath = convertUrlToLocalPath(userImageUrl);
-            String garmentImagePath = convertUrlToLocalPath(garmentImageUrl);
+            long garmentStartedAt = System.nanoTime();
+            String garmentImagePath = garmentAssetService.resolve(garmentImageUrl);
+            FittingTrace.record(FittingStage.GARMENT, System.nanoTime() - garmentStartedAt);
 
             log.info("변환된 경로 - user: {}, garment: {}", userImagePath, garmentImagePath);
 
-            // 1. Python 스크립트 실행
-            ProcessBuilder processBuilder = new ProcessBuilder(
-                    "python3",
-                    PYTHON_SCRIPT,
-                    userImagePath,
-                    garmentImagePath,
-                    category
-            );
-
-            processBuilder.redirectErrorStream(true);
-            Process process = processBuilder.start();
-
-            // 2. 출력 읽기
-            StringBuilder output = new StringBuilder();
-            StringBuilder jsonOutput = new StringBuilder();
-            boolean jsonStarted = false;
-
-            try (BufferedReader reader = new BufferedReader(
-                    new InputStreamReader(process.getInputStream()))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    output.append(line).append("\n");
-
-                    // JSON 블록 추출 ('{' 시작부터)
-                    if (line.trim().startsWith("{")) {
-                        jsonStarted = true;
-                        jsonOutput = new StringBuilder();
-                    }
-                    if (jsonStarted) {
-                        jsonOutput.append(line).append("\n");
-                    }
-
-                    log.debug("Python 출력: {}", line);
-                }
-            }
-
-            // 3. 프로세스 완료 대기 (최대 5분)
-            boolean finished = process.waitFor(5, TimeUnit.MINUTES);
-            if (!finished) {
-                process.destroy();
-                throw new RuntimeException("Python 스크립트 타임아웃 (5분 초과)");
+            // 1. 같은 사진의 전처리 산출물 재사용 (없으면 전처리 후 캐시, 실패하면 Space auto-mask)
+            // 2. 상주 워커 풀 우선, 비활성화 시 요청마다 프로세스 실행
+            JsonNode result;
+            long preprocessStartedAt = System.nanoTime();
+            try (PreprocessingCache.Lease artifacts =
+                         preprocessingCache.acquire(Paths.get(userImagePath)).orElse(null)) {
+                FittingTrace.record(FittingStage.PREPROCESS, System.nanoTime() - preprocessStartedAt);
+                String artifactsDir = artifacts == null ? null : artifacts.directory().toString();
+
+                long callStartedAt = System.nanoTime();
+                result = pythonWorkerPool.isEnabled()
+                        ? callWorkerPool(userImagePath, garmentImagePath, category, artifactsDir)
+                        : runScriptProcess(userImagePath, garmentImagePath, category, artifactsDir);
+                recordPythonTimings(result, System.nanoTime() - callStartedAt);
             }
 
-            int exitCode = process.exitValue();
-            String extractedJson = jsonOutput.toString().trim();
-
-            log.info("Python 스크립트 종료 - exitCode: {}", exitCode);
-            log.debug("추출된 JSON: {}", extractedJson);
-
-            // 4. JSON 응답 파싱
-            if (extractedJson.isEmpty()) {
-                throw new RuntimeException("Python 스크립트에서 JSON 출력을 찾을 수 없습니다. 전체 출력: " + output.toString());
-            }
-
-            JsonNode result = objectMapper.readTree(extractedJson);
-
-            if (!result.get("success").asBoolean()) {
+            // 3. 결과 처리
+            if (!result.path("success").asBoolean()) {
                 String error = result.has("error") ? result.get("error").asText() : "Unknown error";
                 String errorType = result.has("error_type") ? result.get("error_type").asText() : "UNKNOWN";
 
                 // GPU 할당량 초과 에러 처리
                 if ("QUOTA_EXCEEDED".equals(errorType)) {
                     log.warn("GPU 할당량 초과: {}", error);
-                    throw new com.lookfit.global.exception.BusinessException(
-                            com.lookfit.global.exception.ErrorCode.GPU_QUOTA_EXCEEDED,
-                            error
-                    );
+                    throw new BusinessException(ErrorCode.GPU_QUOTA_EXCEEDED, error);
                 }
 
                 throw new RuntimeException("Python 스크립트 실패: " + error);
             }
 
-            // 5. 생성된 이미지 파일 경로 (Gradio가 생성한 임시 파일)
+            // 4. 생성된 이미지 파일 경로 (Gradio가 생성한 임시 파일)
             String resultImagePath = result.get("result_image").asText();
             log.info("Gradio 생성 이미지: {}", resultImagePath);
 
-            // 6. 이미지를 우리 서버의 result 디렉토리로 복사
+            // 5. 이미지를 미디어 저장소로 복사
+            long copyStartedAt = System.nanoTime();
             String savedImageUrl = copyImageToResultDir(resultImagePath);
+            FittingTrace.record(FittingStage.RESULT_COPY, System.nanoTime() - copyStartedAt);
 
             log.info("✅ Hugging Face Gradio 완료 - resultUrl: {}", savedImageUrl);
             return savedImageUrl;
 
+        } catch (BusinessException e) {
+            // 할당량 초과는 호출자가 구분할 수 있도록 그대로 전파
+            throw e;
+        } catch (InterruptedException e) {
+            // 피팅 취소 - 워커 프로세스는 이미 종료됨, 라우터가 취소로 처리하도록 인터럽트 상태 유지
+            Thread.currentThread().interrupt();
+            throw new CancellationException("AI 이미지 생성이 취소되었습니다");
         } catch (Exception e) {
             log.error("❌ Python Gradio Client 실패 - userImage: {}, garmentImage: {}",
                     userImageUrl, garmentImageUrl, e);
@@ -145,16 +152,151 @@ public class HuggingFaceGradioService {
     }
 
     /**
-     * URL을 로컬 파일 경로로 변환
+     * Python 호출 시간을 원격 추론(스크립트가 잰 client.predict 시간)과 나머지(워커 대기, 프로세스 기동,
+     * Space 핸드셰이크, 통신)로 나눠 기록
+     */
+    private static void recordPythonTimings(JsonNode result, long callNanos) {
+        long remoteNanos = TimeUnit.MILLISECONDS.toNanos(result.path("timings").path("predict_ms").asLong(0));
+        remoteNanos = Math.min(remoteNanos, callNanos);
+        FittingTrace.record(FittingStage.REMOTE, remoteNanos);
+        FittingTrace.record(FittingStage.WORKER, callNanos - remoteNanos);
+    }
+
+    /**
+     * 상주 워커 풀로 가상 피팅 요청 (프레임 프로토콜)
+     *
+     * @param artifactsDir 전처리 산출물 디렉토리 (없으면 null)
+     */
+    private JsonNode callWorkerPool(String userImagePath, String garmentImagePath, String category,
+                                    String artifactsDir)
+            throws TimeoutException, PythonWorkerPool.WorkerUnavailableException, InterruptedException {
+        ObjectNode request = objectMapper.createObjectNode()
+                .put("op", "tryon")
+                .put("user_image", userImagePath)
+                .put("garment_image", garmentImagePath)
+                .put("category", category);
+        if (artifactsDir != null) {
+            request.put("artifacts_dir", artifactsDir);
+        }
+
+        JsonNode result = pythonWorkerPool.execute(request);
+        log.debug("Python 워커 응답: {}", result);
+        return result;
+    }
+
+    /**
+     * 요청마다 Python 스크립트 프로세스 실행 (워커 풀 비활성화 시 폴백)
+     */
+    private JsonNode runScriptProcess(String userImagePath, String garmentImagePath, String category,
+                                      String artifactsDir)
+            throws IOException, InterruptedException {
+        // 1. Python 스크립트 실행
+        List<String> command = new ArrayList<>(List.of(
+                "python3",
+                PYTHON_SCRIPT,
+                userImagePath,
+                garmentImagePath,
+                category
+        ));
+        if (artifactsDir != null) {
+            command.add(artifactsDir);
+        }
+        ProcessBuilder processBuilder = new ProcessBuilder(command);
+
+        processBuilder.redirectErrorStream(true);
+        Process process = processBuilder.start();
+
+        // 2. 출력 읽기 (블로킹 읽기는 인터럽트되지 않으므로 별도 스레드에서 - 취소 시 프로세스를 종료할 수 있도록)
+        StringBuilder output = new StringBuilder();
+        StringBuilder jsonOutput = new StringBuilder();
+        CompletableFuture<Void> reading = CompletableFuture.runAsync(
+                () -> readOutput(process, output, jsonOutput), outputReader);
+
+        // 3. 프로세스 완료 대기 (최대 5분)
+        boolean finished;
+        try {
+            finished = process.waitFor(5, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            throw e;
+        }
+        if (!finished) {
+            process.destroy();
+            throw new RuntimeException("Python 스크립트 타임아웃 (5분 초과)");
+        }
+        try {
+            reading.get(10, TimeUnit.SECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            log.warn("Python 스크립트 출력 읽기 실패: {}", e.getMessage());
+        }
+
+        int exitCode = process.exitValue();
+        String extractedJson;
+        synchronized (jsonOutput) {
+            extractedJson = jsonOutput.toString().trim();
+        }
+
+        log.info("Python 스크립트 종료 - exitCode: {}", exitCode);
+        log.debug("추출된 JSON: {}", extractedJson);
+
+        // 4. JSON 응답 파싱
+        if (extractedJson.isEmpty()) {
+            throw new RuntimeException("Python 스크립트에서 JSON 출력을 찾을 수 없습니다. 전체 출력: " + output.toString());
+        }
+
+        return objectMapper.readTree(extractedJson);
+    }
+
+    /**
+     * 스크립트 출력 전체를 읽으며 마지막 JSON 블록('{' 시작부터) 추출
+     */
+    private static void readOutput(Process process, StringBuilder output, StringBuilder jsonOutput) {
+        boolean jsonStarted = false;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                synchronized (jsonOutput) {
+                    output.append(line).append("\n");
+
+                    if (line.trim().startsWith("{")) {
+                        jsonStarted = true;
+                        jsonOutput.setLength(0);
+                    }
+                    if (jsonStarted) {
+                        jsonOutput.append(line).append("\n");
+                    }
+                }
+
+                log.debug("Python 출력: {}", line);
+            }
+        } catch (IOException e) {
+            // 취소/타임아웃으로 프로세스가 종료되면 스트림이 닫힌다
+            log.debug("Python 출력 읽기 종료: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * URL을 로컬 파일 경로로 변환 (미디어 저장소 URL이면 해시 경로)
+     * 예: /media/ab/cd/abcd….jpg → {media.store.root-dir}/ab/cd/abcd….jpg
      * 예: /images/fitting/user/test/abc.jpg → backend/src/main/resources/static/images/fitting/user/test/abc.jpg
      * 예: /images/products/P001 → backend/src/main/resources/static/images/products/P001/main.jpg
      */
     private String convertUrlToLocalPath(String relativeUrl) {
+        return mediaStore.resolve(relativeUrl)
+                .orElseGet(() -> toLocalPath(STATIC_IMAGE_BASE, relativeUrl))
+                .toString();
+    }
+
+    /**
+     * 정적 이미지 URL → 로컬 절대 경로 (상품 디렉토리 URL이면 main.jpg)
+     */
+    public static Path toLocalPath(String staticImageBase, String relativeUrl) {
         // 상대 경로에서 /images/ 제거
         String path = relativeUrl.replaceFirst("^/images/", "");
 
         // 절대 경로 생성
-        Path absolutePath = Paths.get(STATIC_IMAGE_BASE, path).toAbsolutePath();
+        Path absolutePath = Paths.get(staticImageBase, path).toAbsolutePath();
 
         // products 디렉토리인 경우 main.jpg 추가
         if (path.startsWith("products/") && !path.endsWith(".jpg") && !path.endsWith(".png")) {
@@ -162,28 +304,15 @@ public class HuggingFaceGradioService {
         }
 
         log.debug("URL 변환: {} → {}", relativeUrl, absolutePath);
-        return absolutePath.toString();
+        return absolutePath;
     }
 
     /**
-     * Gradio 생성 이미지를 result 디렉토리로 복사
+     * Gradio 생성 이미지를 미디어 저장소로 복사 (Gradio 임시 파일은 그대로 둔다)
      */
     private String copyImageToResultDir(String gradioImagePath) throws IOException {
-        // 파일명 생성
-        String filename = UUID.randomUUID() + ".png";
-
-        // 결과 디렉토리 생성
-        Path resultPath = Paths.get(resultDir).toAbsolutePath();
-        Files.createDirectories(resultPath);
-
-        // 이미지 복사
-        Path sourcePath = Paths.get(gradioImagePath);
-        Path targetPath = resultPath.resolve(filename);
-        Files.copy(sourcePath, targetPath);
-
-        log.info("이미지 복사 완료: {} → {}", gradioImagePath, targetPath);
-
-        // 상대 경로 반환
-        return "/images/fitting/result/" + filename;
+        StoredMedia stored = mediaStore.importFile(Paths.get(gradioImagePath));
+        log.info("이미지 복사 완료: {} → {}", gradioImagePath, stored.path());
+        return stored.url();
     }
 }
@@ -11,6 +11,7 @@ import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -31,7 +32,8 @@ public class ReplicateApiService {
     @Value("${fitting.replicate.model-version:}")
     private String modelVersion;
 
-    private static final String REPLICATE_API_URL = "https://api.replicate.com/v1/predictions";
+    @Value("${fitting.replicate.api-url:https://api.replicate.com/v1/predictions}")
+    private String predictionsUrl;
 
     /**
      * Replicate API로 가상 피팅 이미지 생성 요청
@@ -42,6 +44,16 @@ public class ReplicateApiService {
      * @return Prediction ID
      */
     public String createPrediction(String userImageUrl, String garmentImageUrl, String category) {
+        return createPrediction(userImageUrl, garmentImageUrl, category, null);
+    }
+
+    /**
+     * Replicate API로 가상 피팅 이미지 생성 요청 (완료 시 webhook 호출)
+     *
+     * @param webhookUrl 완료 알림을 받을 URL (null이면 알림 없음 - 상태 조회로만 확인)
+     * @return Prediction ID
+     */
+    public String createPrediction(String userImageUrl, String garmentImageUrl, String category, String webhookUrl) {
         try {
             // API 키 확인
             if (apiKey == null || apiKey.isEmpty()) {
@@ -59,6 +71,10 @@ public class ReplicateApiService {
             Map<String, Object> requestBody = new HashMap<>();
             requestBody.put("version", modelVersion);
             requestBody.put("input", input);
+            if (webhookUrl != null) {
+                requestBody.put("webhook", webhookUrl);
+                requestBody.put("webhook_events_filter", List.of("completed"));
+            }
 
             // HTTP 헤더 설정
             HttpHeaders headers = new HttpHeaders();
@@ -72,7 +88,7 @@ public class ReplicateApiService {
                     userImageUrl, garmentImageUrl, category);
 
             ResponseEntity<String> response = restTemplate.exchange(
-                    REPLICATE_API_URL,
+                    predictionsUrl,
                     HttpMethod.POST,
                     request,
                     String.class
@@ -127,7 +143,7 @@ public class ReplicateApiService {
             HttpEntity<Void> request = new HttpEntity<>(headers);
 
             // API 호출
-            String url = REPLICATE_API_URL + "/" + predictionId;
+            String url = predictionsUrl + "/" + predictionId;
             ResponseEntity<String> response = restTemplate.exchange(
                     url,
                     HttpMethod.GET,
@@ -141,8 +157,9 @@ public class ReplicateApiService {
             Map<String, Object> result = new HashMap<>();
             result.put("status", jsonResponse.get("status").asText());
 
-            if (jsonResponse.has("output") && !jsonResponse.get("output").isNull()) {
-                result.put("output", jsonResponse.get("output").asText());
+            String output = outputUrl(jsonResponse.get("output"));
+            if (output != null) {
+                result.put("output", output);
             }
 
             if (jsonResponse.has("error") && !jsonResponse.get("error").isNull()) {
@@ -158,6 +175,59 @@ public class ReplicateApiService {
         }
     }
 
+    /**
+     * Prediction 취소 (피팅 취소 시 GPU 사용 중단, 실패해도 결과만 버려지므로 예외를 던지지 않는다)
+     *
+     * @param predictionId Prediction ID
+     */
+    public void cancelPrediction(String predictionId) {
+        if (isMockPrediction(predictionId) || apiKey == null || apiKey.isEmpty()) {
+            return;
+        }
+
+        try {
+            HttpHeaders headers = new HttpHeaders();
+            headers.set("Authorization", "Token " + apiKey);
+
+            restTemplate.exchange(
+                    predictionsUrl + "/" + predictionId + "/cancel",
+                    HttpMethod.POST,
+                    new HttpEntity<Void>(headers),
+                    String.class
+            );
+            log.info("Replicate Prediction 취소 - predictionId: {}", predictionId);
+        } catch (Exception e) {
+            log.warn("Replicate Prediction 취소 실패 - predictionId: {}: {}", predictionId, e.getMessage());
+        }
+    }
+
+    /**
+     * prediction output에서 이미지 URL 추출 (모델에 따라 문자열 또는 배열)
+     */
+    public static String outputUrl(JsonNode output) {
+        if (output == null || output.isNull()) {
+            return null;
+        }
+        if (output.isArray()) {
+            return output.isEmpty() ? null : output.get(output.size() - 1).asText();
+        }
+        return output.asText();
+    }
+
+    /**
+     * API 키 설정 여부 (미설정이면 Mock 응답만 반환한다)
+     */
+    public boolean isConfigured() {
+        return apiKey != null && !apiKey.isEmpty();
+    }
+
+    /**
+     * Mock Prediction 여부 (API 키 미설정, 크레딧 부족)
+     */
+    public static boolean isMockPrediction(String predictionId) {
+        return predictionId.startsWith("mock_prediction_");
+    }
+
     /**
      * Mock Prediction 상태 생성 (테스트용)
      */
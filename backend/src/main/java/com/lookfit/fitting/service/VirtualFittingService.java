@@ -1,33 +1,44 @@
 package com.lookfit.fitting.service;
 
+import com.lookfit.fitting.admission.FittingAdmissionGovernor;
+import com.lookfit.fitting.cache.FittingResultCacheService;
+import com.lookfit.fitting.domain.BodyPhoto;
 import com.lookfit.fitting.domain.FittingStatus;
 import com.lookfit.fitting.domain.VirtualFitting;
 import com.lookfit.fitting.dto.FittingDto;
+import com.lookfit.fitting.event.FittingEvents;
+import com.lookfit.fitting.job.FittingInFlightRegistry;
+import com.lookfit.fitting.job.FittingJobExecutor;
+import com.lookfit.fitting.job.FittingJobProgress;
+import com.lookfit.fitting.job.FittingJobService;
+import com.lookfit.fitting.repository.FittingHistoryRow;
 import com.lookfit.fitting.repository.VirtualFittingRepository;
+import com.lookfit.fitting.trace.FittingStage;
+import com.lookfit.fitting.trace.FittingStageMetrics;
+import com.lookfit.fitting.trace.FittingTrace;
 import com.lookfit.global.exception.BusinessException;
 import com.lookfit.global.exception.ErrorCode;
+import com.lookfit.global.media.MediaStore;
 import com.lookfit.product.domain.Product;
 import com.lookfit.product.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import javax.imageio.ImageIO;
-import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * 가상 피팅 서비스
@@ -38,12 +49,19 @@ import java.util.UUID;
 @Transactional(readOnly = true)
 public class VirtualFittingService {
 
+    static final String CANCELLED_MESSAGE = "사용자가 AI 생성을 취소했습니다.";
+
     private final VirtualFittingRepository fittingRepository;
     private final ProductRepository productRepository;
-    private final HuggingFaceGradioService huggingFaceGradioService;
-
-    @Value("${fitting.image.upload-dir:src/main/resources/static/images/fitting/user}")
-    private String uploadDir;
+    private final FittingJobExecutor jobExecutor;
+    private final FittingInFlightRegistry inFlightRegistry;
+    private final FittingResultCacheService resultCacheService;
+    private final BodyPhotoService bodyPhotoService;
+    private final FittingAdmissionGovernor admissionGovernor;
+    private final ApplicationEventPublisher eventPublisher;
+    private final FittingStageMetrics stageMetrics;
+    private final FittingJobService fittingJobService;
+    private final MediaStore mediaStore;
 
     @Value("${fitting.image.result-dir:src/main/resources/static/images/fitting/result}")
     private String resultDir;
@@ -51,6 +69,12 @@ public class VirtualFittingService {
     @Value("${fitting.base-url:http://localhost:8080}")
     private String baseUrl;
 
+    @Value("${fitting.batch.max-size:6}")
+    private int maxBatchSize;
+
+    @Value("${fitting.history.max-page-size:50}")
+    private int maxHistoryPageSize;
+
     /**
      * Priority A: 사용자 이미지 업로드
      *
@@ -76,19 +100,15 @@ public class VirtualFittingService {
         // 2. 피팅 ID 생성 (UUID)
         String fittingId = UUID.randomUUID().toString();
 
-        // 3. 이미지 파일 저장
-        String imageUrl = saveImageFile(memberId, fittingId, imageFile);
-        log.info("이미지 저장 완료 - imageUrl: {}", imageUrl);
+        // 3. 사진 저장 (같은 사진을 이미 올렸으면 기존 사진 재사용)
+        UploadedPhoto uploaded = storePhoto(memberId, imageFile);
+        BodyPhoto photo = uploaded.photo();
+        log.info("이미지 저장 완료 - photoId: {}, imageUrl: {}, {}ms",
+                photo.getPhotoId(), photo.getImageUrl(), uploaded.uploadMillis());
 
         // 4. VirtualFitting 엔티티 생성
-        VirtualFitting fitting = VirtualFitting.builder()
-                .fittingId(fittingId)
-                .memberId(memberId)
-                .productId(productId)
-                .userImageUrl(imageUrl)
-                .category(category)
-                .status(FittingStatus.PENDING)
-                .build();
+        VirtualFitting fitting = newFitting(fittingId, memberId, productId, category, photo, null);
+        fitting.recordStageTimings(uploaded.stageTimings());
 
         // 5. DB 저장
         VirtualFitting savedFitting = fittingRepository.save(fitting);
@@ -97,6 +117,108 @@ public class VirtualFittingService {
         return FittingDto.UploadResponse.from(savedFitting);
     }
 
+    /**
+     * 묶음 피팅 생성 (사용자 사진 1장 + 의류 N개)
+     * 사진은 한 번만 정규화/저장하고 모든 항목이 같은 이미지(같은 해시)를 공유한다.
+     * 생성 시작은 FittingBatchCoordinator가 입장 제어 한도 안에서 나눠서 한다.
+     *
+     * @param memberId 회원 ID
+     * @param productIds 상품 ID 목록 (중복 제거, 최대 fitting.batch.max-size개)
+     * @param category 카테고리 (upper_body, lower_body, dresses)
+     * @param imageFile 업로드할 이미지 파일
+     * @return 묶음 응답 (모든 항목 PENDING)
+     */
+    @Transactional
+    public FittingDto.BatchResponse createBatch(
+            String memberId,
+            List<String> productIds,
+            String category,
+            MultipartFile imageFile
+    ) {
+        List<String> distinctIds = productIds == null ? List.of() : productIds.stream()
+                .filter(id -> id != null && !id.isBlank())
+                .map(String::trim)
+                .distinct()
+                .toList();
+        if (distinctIds.isEmpty() || distinctIds.size() > maxBatchSize) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE,
+                    "의류는 1개 이상 " + maxBatchSize + "개 이하로 선택해주세요.");
+        }
+        validateCategory(category);
+        BodyPhotoService.validateImageFile(imageFile);
+
+        Set<String> existing = productRepository.findAllById(distinctIds).stream()
+                .map(Product::getProductId)
+                .collect(Collectors.toSet());
+        if (existing.size() != distinctIds.size()) {
+            throw new BusinessException(ErrorCode.PRODUCT_NOT_FOUND);
+        }
+
+        String batchId = UUID.randomUUID().toString();
+        UploadedPhoto uploaded = storePhoto(memberId, imageFile);
+        BodyPhoto photo = uploaded.photo();
+        log.info("묶음 피팅 이미지 저장 완료 - batchId: {}, photoId: {}, 의류 수: {}",
+                batchId, photo.getPhotoId(), distinctIds.size());
+
+        List<VirtualFitting> fittings = distinctIds.stream()
+                .map(productId -> {
+                    VirtualFitting fitting = newFitting(UUID.randomUUID().toString(), memberId, productId,
+                            category, photo, batchId);
+                    fitting.recordStageTimings(uploaded.stageTimings());
+                    return fitting;
+                })
+                .toList();
+        fittingRepository.saveAll(fittings);
+        return FittingDto.BatchResponse.from(batchId, fittings);
+    }
+
+    /**
+     * 묶음 피팅 조회 (본인 것만)
+     */
+    public FittingDto.BatchResponse getBatch(String batchId, String memberId) {
+        List<VirtualFitting> fittings = findOwnedBatch(batchId, memberId);
+        return FittingDto.BatchResponse.builder()
+                .batchId(batchId)
+                .userImageUrl(fittings.get(0).getUserImageUrl())
+                .items(fittings.stream().map(this::toStatusResponse).toList())
+                .build();
+    }
+
+    /**
+     * 묶음 항목별 현재 상태 (스트림 스냅샷용, 본인 것만)
+     */
+    public List<FittingDto.StatusResponse> getBatchStatuses(String batchId, String memberId) {
+        return findOwnedBatch(batchId, memberId).stream().map(this::toStatusResponse).toList();
+    }
+
+    private List<VirtualFitting> findOwnedBatch(String batchId, String memberId) {
+        List<VirtualFitting> fittings = fittingRepository.findByBatchIdOrderByCreatedAtAsc(batchId);
+        if (fittings.isEmpty()) {
+            throw new BusinessException(ErrorCode.FITTING_NOT_FOUND);
+        }
+        if (!fittings.get(0).getMemberId().equals(memberId)) {
+            throw new BusinessException(ErrorCode.ACCESS_DENIED,
+                    "다른 사용자의 피팅 정보는 조회할 수 없습니다.");
+        }
+        return fittings;
+    }
+
+    /**
+     * 시작하지 못한 피팅 실패 처리 (묶음 항목이 대기 시간 안에 허가를 받지 못한 경우 등)
+     */
+    @Transactional
+    public void failPending(String fittingId, String errorMessage) {
+        fittingRepository.findById(fittingId)
+                .filter(fitting -> fitting.getStatus() == FittingStatus.PENDING)
+                .filter(fitting -> fittingRepository.markFailed(fittingId, FittingStatus.PENDING, errorMessage,
+                        fitting.getStageTimings(), LocalDateTime.now()) > 0)
+                .ifPresent(fitting -> {
+                    fitting.fail(errorMessage);
+                    eventPublisher.publishEvent(new FittingEvents.FittingStatusChangedEvent(
+                            fittingId, FittingDto.StatusResponse.from(fitting)));
+                });
+    }
+
     /**
      * 업로드 요청 유효성 검증
      */
@@ -105,33 +227,21 @@ public class VirtualFittingService {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.PRODUCT_NOT_FOUND));
 
-        // 카테고리 유효성 검증
-        if (!isValidCategory(category)) {
-            throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE,
-                    "유효하지 않은 카테고리입니다. (upper_body, lower_body, dresses 중 선택)");
-        }
-
-        // 이미지 파일 검증
-        if (imageFile == null || imageFile.isEmpty()) {
-            throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE, "이미지 파일이 비어있습니다.");
-        }
+        validateCategory(category);
+        BodyPhotoService.validateImageFile(imageFile);
 
-        // 파일 크기 검증 (최대 10MB)
-        long maxSize = 10 * 1024 * 1024; // 10MB
-        if (imageFile.getSize() > maxSize) {
-            throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE,
-                    "이미지 파일 크기는 10MB를 초과할 수 없습니다.");
-        }
+        log.debug("업로드 요청 유효성 검증 완료 - productId: {}, category: {}, fileSize: {}",
+                productId, category, imageFile.getSize());
+    }
 
-        // 파일 확장자 검증
-        String contentType = imageFile.getContentType();
-        if (contentType == null || !contentType.startsWith("image/")) {
+    /**
+     * 카테고리 유효성 검증
+     */
+    private void validateCategory(String category) {
+        if (!isValidCategory(category)) {
             throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE,
-                    "이미지 파일만 업로드 가능합니다.");
+                    "유효하지 않은 카테고리입니다. (upper_body, lower_body, dresses 중 선택)");
         }
-
-        log.debug("업로드 요청 유효성 검증 완료 - productId: {}, category: {}, fileSize: {}",
-                productId, category, imageFile.getSize());
     }
 
     /**
@@ -144,40 +254,101 @@ public class VirtualFittingService {
     }
 
     /**
-     * 이미지 파일 로컬 저장
-     *
-     * @return 저장된 이미지 URL (상대 경로)
+     * 업로드 사진 저장 + 업로드 단계 시간 기록 (fitting.stage{stage=upload})
      */
-    private String saveImageFile(String memberId, String fittingId, MultipartFile imageFile) {
+    private UploadedPhoto storePhoto(String memberId, MultipartFile imageFile) {
+        long startedAt = System.nanoTime();
+        String outcome = FittingStageMetrics.FAILURE;
         try {
-            // 파일명 생성: {fittingId}.jpg (일단 .jpg로 저장)
-            String filename = fittingId + ".jpg";
+            BodyPhoto photo = bodyPhotoService.store(memberId, imageFile).photo();
+            outcome = FittingStageMetrics.SUCCESS;
+            return new UploadedPhoto(photo, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        } finally {
+            stageMetrics.record(FittingStage.UPLOAD, FittingTrace.NO_PROVIDER, outcome, System.nanoTime() - startedAt);
+        }
+    }
 
-            // 절대 경로로 저장 디렉토리 생성
-            Path uploadPath = Paths.get(uploadDir, memberId).toAbsolutePath();
-            Files.createDirectories(uploadPath);
-            log.debug("업로드 디렉토리 생성: {}", uploadPath);
+    /**
+     * 저장된 업로드 사진과 저장에 걸린 시간
+     */
+    private record UploadedPhoto(BodyPhoto photo, long uploadMillis) {
 
-            // 파일 저장 (원본 그대로)
-            Path filePath = uploadPath.resolve(filename);
-            imageFile.transferTo(filePath.toFile());
-            log.info("이미지 파일 저장 완료 - path: {}", filePath);
+        Map<String, Long> stageTimings() {
+            return Map.of(FittingStage.UPLOAD.getKey(), uploadMillis);
+        }
+    }
 
-            // 상대 경로 반환 (프론트엔드에서 사용)
-            String relativeUrl = "/images/fitting/user/" + memberId + "/" + filename;
-            log.info("이미지 URL: {}", relativeUrl);
+    /**
+     * 사진을 참조하는 PENDING 피팅 (사진 URL/해시는 워커와 결과 캐시가 쓰도록 함께 기록)
+     */
+    private static VirtualFitting newFitting(String fittingId, String memberId, String productId, String category,
+                                             BodyPhoto photo, String batchId) {
+        return VirtualFitting.builder()
+                .fittingId(fittingId)
+                .memberId(memberId)
+                .productId(productId)
+                .bodyPhotoId(photo.getPhotoId())
+                .userImageUrl(photo.getImageUrl())
+                .userImageHash(photo.getContentHash())
+                .category(category)
+                .batchId(batchId)
+                .status(FittingStatus.PENDING)
+                .build();
+    }
+
+    /**
+     * 전신 사진 업로드 (같은 사진이면 기존 사진 반환)
+     *
+     * @param memberId 회원 ID
+     * @param imageFile 업로드할 이미지 파일
+     * @return 저장된 사진
+     */
+    @Transactional
+    public FittingDto.BodyPhotoResponse uploadBodyPhoto(String memberId, MultipartFile imageFile) {
+        BodyPhotoService.StoredPhoto stored = bodyPhotoService.store(memberId, imageFile);
+        return FittingDto.BodyPhotoResponse.from(stored.photo(), !stored.created());
+    }
 
-            return relativeUrl;
+    /**
+     * 저장된 전신 사진 목록 (최근 사용순)
+     */
+    public List<FittingDto.BodyPhotoResponse> getBodyPhotos(String memberId) {
+        return bodyPhotoService.getPhotos(memberId).stream()
+                .map(photo -> FittingDto.BodyPhotoResponse.from(photo, false))
+                .toList();
+    }
 
-        } catch (IOException e) {
-            log.error("이미지 파일 저장 실패 - memberId: {}, fittingId: {}", memberId, fittingId, e);
-            throw new BusinessException(ErrorCode.FILE_UPLOAD_FAILED,
-                    "이미지 파일 저장에 실패했습니다: " + e.getMessage());
+    /**
+     * 저장된 사진으로 피팅 생성 + AI 생성 요청 (사진 재업로드 없음)
+     * 입장 제어 등으로 거절되면 피팅도 만들지 않는다 (같은 트랜잭션)
+     *
+     * @param memberId 회원 ID
+     * @param photoId 저장된 사진 ID
+     * @param productId 상품 ID
+     * @param category 카테고리 (upper_body, lower_body, dresses)
+     * @return 생성 응답
+     */
+    @Transactional
+    public FittingDto.GenerateResponse generateFromPhoto(String memberId, String photoId,
+                                                         String productId, String category) {
+        if (productId == null || productId.isBlank()) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE, "상품 ID가 필요합니다.");
         }
+        productRepository.findById(productId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.PRODUCT_NOT_FOUND));
+        validateCategory(category);
+        BodyPhoto photo = bodyPhotoService.use(memberId, photoId);
+
+        String fittingId = UUID.randomUUID().toString();
+        fittingRepository.save(newFitting(fittingId, memberId, productId, category, photo, null));
+        log.info("저장된 사진으로 피팅 생성 - fittingId: {}, photoId: {}", fittingId, photoId);
+
+        return generateFitting(fittingId);
     }
 
     /**
      * Priority B: AI 가상 피팅 이미지 생성 요청
+     * 작업 큐에 등록만 하고 즉시 PROCESSING 상태로 응답한다 (결과는 상태 조회로 확인)
      *
      * @param fittingId 피팅 ID
      * @return 생성 응답
@@ -190,51 +361,69 @@ public class VirtualFittingService {
         VirtualFitting fitting = fittingRepository.findById(fittingId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.FITTING_NOT_FOUND));
 
-        // 2. 상태 확인 (PENDING만 생성 가능)
+        // 2. 상태 확인 (PENDING만 생성 가능, 더블 클릭/재시도/취소된 묶음 항목은 현재 상태를 그대로 응답)
+        if (fitting.getStatus() == FittingStatus.PROCESSING || fitting.getStatus() == FittingStatus.COMPLETED
+                || fitting.getStatus() == FittingStatus.CANCELLED) {
+            log.info("이미 요청된 피팅 - fittingId: {}, status: {}", fittingId, fitting.getStatus());
+            return FittingDto.GenerateResponse.from(fitting);
+        }
         if (fitting.getStatus() != FittingStatus.PENDING) {
             throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE,
                     "이미 처리 중이거나 완료된 피팅입니다. 현재 상태: " + fitting.getStatus());
         }
 
-        // 3. 상품 조회 (의류 이미지 URL 가져오기)
+        // 3. 상품 조회 (워커에서 실패하기 전에 빠르게 거절)
         Product product = productRepository.findById(fitting.getProductId())
                 .orElseThrow(() -> new BusinessException(ErrorCode.PRODUCT_NOT_FOUND));
 
-        // 4. Hugging Face Gradio API 호출
-        try {
-            // 상대 경로 그대로 전달 (HuggingFaceGradioService에서 로컬 경로로 변환)
-            String userImageUrl = fitting.getUserImageUrl();
-            String garmentImageUrl = product.getImageUrl();
+        // 4. 결과 캐시 조회 (같은 사진 + 의류 + 카테고리면 AI 호출 없이 완료)
+        Optional<String> cachedResult = resultCacheService.lookup(
+                fitting.getUserImageHash(), product.getImageUrl(), fitting.getCategory());
+        if (cachedResult.isPresent()) {
+            if (fittingRepository.markCompleted(fittingId, FittingStatus.PENDING, cachedResult.get(),
+                    FittingResultCacheService.PROVIDER_NAME, fitting.getStageTimings(), LocalDateTime.now()) == 0) {
+                return currentState(fittingId, fitting);
+            }
+            fitting.complete(cachedResult.get(), FittingResultCacheService.PROVIDER_NAME);
+            mediaStore.retain(cachedResult.get(), VirtualFitting.MEDIA_OWNER, fittingId);
+            eventPublisher.publishEvent(new FittingEvents.FittingStatusChangedEvent(
+                    fittingId, FittingDto.StatusResponse.from(fitting)));
+            log.info("♻️ 피팅 결과 캐시 적중 - fittingId: {}, resultUrl: {}", fittingId, cachedResult.get());
+            return FittingDto.GenerateResponse.from(fitting);
+        }
 
-            log.info("🤗 Hugging Face Gradio API 호출 - user: {}, garment: {}", userImageUrl, garmentImageUrl);
+        // 5. 대기열 포화 시 즉시 거절 (상태 변경 전)
+        if (jobExecutor.isSaturated()) {
+            log.warn("피팅 작업 대기열 포화 - fittingId: {}", fittingId);
+            throw new BusinessException(ErrorCode.FITTING_QUEUE_FULL);
+        }
 
-            String resultImageUrl = huggingFaceGradioService.generateVirtualTryOn(
-                    userImageUrl,
-                    garmentImageUrl,
-                    fitting.getCategory()
-            );
+        // 6. 입장 제어 (GPU 할당량 쿨다운, 전역 동시 실행 한도, 회원별 요청 한도 - 초과 시 Retry-After와 함께 거절)
+        admissionGovernor.admit(fitting.getMemberId(), fittingId);
 
-            // 5. 상태 업데이트 (즉시 COMPLETED)
-            fitting.startProcessing("hf_gradio_" + System.currentTimeMillis());
-            fitting.complete(resultImageUrl);
-            fittingRepository.save(fitting);
+        // 7. PROCESSING 전이 후 커밋되면 작업 큐에 등록 (FittingEventListener)
+        //    PENDING일 때만 전이하는 조건부 갱신 - 그 사이 취소된 피팅은 되살리지 않고 허가를 돌려준다
+        String predictionId = "hf_gradio_" + System.currentTimeMillis();
+        if (fittingRepository.markProcessing(fittingId, predictionId) == 0) {
+            admissionGovernor.release(fittingId);
+            return currentState(fittingId, fitting);
+        }
+        fitting.startProcessing(predictionId);
+        eventPublisher.publishEvent(new FittingEvents.FittingRequestedEvent(fittingId));
+        eventPublisher.publishEvent(new FittingEvents.FittingStatusChangedEvent(
+                fittingId, FittingDto.StatusResponse.from(fitting)));
 
-            log.info("✅ Hugging Face Gradio AI 완료 - fittingId: {}, resultUrl: {}", fittingId, resultImageUrl);
-            return FittingDto.GenerateResponse.from(fitting);
+        log.info("AI 피팅 작업 접수 - fittingId: {}", fittingId);
+        return FittingDto.GenerateResponse.from(fitting);
+    }
 
-        } catch (BusinessException e) {
-            // GPU 할당량 초과 등의 비즈니스 예외는 그대로 전파
-            log.error("❌ Hugging Face Gradio 실패 - fittingId: {}, error: {}", fittingId, e.getErrorCode());
-            fitting.fail("AI 생성 실패: " + e.getMessage());
-            fittingRepository.save(fitting);
-            throw e;
-        } catch (Exception e) {
-            log.error("❌ Hugging Face Gradio 실패 - fittingId: {}", fittingId, e);
-            fitting.fail("AI 생성 실패: " + e.getMessage());
-            fittingRepository.save(fitting);
-            throw new BusinessException(ErrorCode.AI_GENERATION_FAILED,
-                    "AI 이미지 생성에 실패했습니다: " + e.getMessage());
-        }
+    /**
+     * 조건부 갱신이 적용되지 않았을 때 (그 사이 다른 곳에서 상태가 바뀜) 현재 상태 응답
+     */
+    private FittingDto.GenerateResponse currentState(String fittingId, VirtualFitting fallback) {
+        VirtualFitting current = fittingRepository.findById(fittingId).orElse(fallback);
+        log.info("이미 처리된 피팅 - fittingId: {}, status: {}", fittingId, current.getStatus());
+        return FittingDto.GenerateResponse.from(current);
     }
 
     /**
@@ -250,37 +439,91 @@ public class VirtualFittingService {
         VirtualFitting fitting = fittingRepository.findById(fittingId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.FITTING_NOT_FOUND));
 
-        // Hugging Face는 동기 방식 - 즉시 완료
-        return FittingDto.StatusResponse.from(fitting);
+        return toStatusResponse(fitting);
     }
 
     /**
-     * Priority C: 피팅 기록 조회 (페이징)
+     * 피팅 상태 조회 (스트림 스냅샷용, 본인 것만)
      *
+     * @param fittingId 피팅 ID
      * @param memberId 회원 ID
-     * @param page 페이지 번호 (0부터 시작)
-     * @param size 페이지 크기
-     * @return 피팅 기록 목록
+     * @return 상태 응답
+     */
+    @Transactional(readOnly = true)
+    public FittingDto.StatusResponse getFittingStatus(String fittingId, String memberId) {
+        VirtualFitting fitting = fittingRepository.findById(fittingId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.FITTING_NOT_FOUND));
+        if (!fitting.getMemberId().equals(memberId)) {
+            throw new BusinessException(ErrorCode.ACCESS_DENIED,
+                    "다른 사용자의 피팅 정보는 조회할 수 없습니다.");
+        }
+        return toStatusResponse(fitting);
+    }
+
+    /**
+     * 피팅 취소 (본인 것만, 이미 끝난 피팅이면 현재 상태를 그대로 응답)
+     * 대기 중이면 대기열에서 빠지고, 생성 중이면 AI 호출을 중단한다 (같은 작업을 기다리는 다른 피팅이 없을 때)
+     *
+     * @param fittingId 피팅 ID
+     * @param memberId 회원 ID
+     * @return 취소 후 상태
      */
-    public FittingDto.HistoryResponse getFittingHistory(String memberId, int page, int size) {
-        log.debug("피팅 기록 조회 - memberId: {}, page: {}, size: {}", memberId, page, size);
+    @Transactional
+    public FittingDto.StatusResponse cancelFitting(String fittingId, String memberId) {
+        VirtualFitting fitting = fittingRepository.findById(fittingId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.FITTING_NOT_FOUND));
+        if (!fitting.getMemberId().equals(memberId)) {
+            throw new BusinessException(ErrorCode.ACCESS_DENIED,
+                    "다른 사용자의 피팅은 취소할 수 없습니다.");
+        }
 
-        Pageable pageable = PageRequest.of(page, size);
-        Page<VirtualFitting> fittingPage = fittingRepository.findByMemberIdOrderByCreatedAtDesc(
-                memberId,
-                pageable
-        );
+        fittingJobService.cancel(fittingId, CANCELLED_MESSAGE);
+        // 취소는 조건부 갱신이라 앞서 읽은 엔티티에 반영되지 않으므로 다시 조회
+        return toStatusResponse(fittingRepository.findById(fittingId).orElse(fitting));
+    }
 
-        List<FittingDto.DetailResponse> fittings = fittingPage.getContent().stream()
-                .map(FittingDto.DetailResponse::from)
-                .toList();
+    /**
+     * 이 노드에서 대기/실행 중인 작업이면 진행 상황 포함 (합쳐진 작업이면 공유 작업 기준)
+     */
+    private FittingDto.StatusResponse toStatusResponse(VirtualFitting fitting) {
+        FittingJobProgress progress = fitting.getStatus() == FittingStatus.PROCESSING
+                ? inFlightRegistry.jobIdOf(fitting.getFittingId()).flatMap(jobExecutor::getProgress).orElse(null)
+                : null;
+        return FittingDto.StatusResponse.from(fitting, progress);
+    }
+
+    /**
+     * Priority C: 피팅 기록 조회 (키셋 페이징)
+     * OFFSET 대신 커서 이후 행만 읽으므로 깊은 페이지도 첫 페이지와 비용이 같고, 전체 수는 요청할 때만 센다
+     *
+     * @param memberId 회원 ID
+     * @param cursor 이전 응답의 nextCursor (첫 페이지면 null)
+     * @param size 페이지 크기 (최대 fitting.history.max-page-size)
+     * @param includeTotal 전체 기록 수 포함 여부
+     * @return 피팅 기록 목록
+     */
+    public FittingDto.HistoryResponse getFittingHistory(String memberId, String cursor, int size, boolean includeTotal) {
+        log.debug("피팅 기록 조회 - memberId: {}, cursor: {}, size: {}", memberId, cursor, size);
+
+        int pageSize = Math.max(1, Math.min(size, maxHistoryPageSize));
+        Pageable pageable = PageRequest.of(0, pageSize + 1);  // 한 건 더 읽어 다음 페이지 여부 판단
+        List<FittingHistoryRow> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = fittingRepository.findHistory(memberId, pageable);
+        } else {
+            FittingHistoryCursor after = FittingHistoryCursor.decode(cursor);
+            rows = fittingRepository.findHistoryBefore(memberId, after.createdAt(), after.fittingId(), pageable);
+        }
+
+        boolean hasNext = rows.size() > pageSize;
+        List<FittingHistoryRow> page = hasNext ? rows.subList(0, pageSize) : rows;
 
         return FittingDto.HistoryResponse.builder()
-                .fittings(fittings)
-                .totalCount(fittingPage.getTotalElements())
-                .page(page)
-                .pageSize(size)
-                .totalPages(fittingPage.getTotalPages())
+                .fittings(page.stream().map(FittingDto.HistoryItem::from).toList())
+                .nextCursor(hasNext ? FittingHistoryCursor.of(page.get(pageSize - 1)).encode() : null)
+                .hasNext(hasNext)
+                .pageSize(pageSize)
+                .totalCount(includeTotal ? fittingRepository.countByMemberId(memberId) : null)
                 .build();
     }
 
@@ -0,0 +1,58 @@
+package com.lookfit.fitting.speculative;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * 예측 생성 지표 (fitting.speculative, outcome 태그)
+ * - generated: 미리 만든 결과 수 / hit: 실제 피팅 요청이 미리 만든 결과를 쓴 수 → 적중률 = hit / generated
+ * - wasted: 한 번도 쓰이지 않고 캐시에서 만료/삭제된 결과 수 (버린 GPU 작업)
+ * - preempted: 사용자 작업에 자리를 내주느라 중단한 수, failed: 생성 실패 수
+ */
+@Component
+public class SpeculativeFittingMetrics {
+
+    private final Counter generated;
+    private final Counter hit;
+    private final Counter wasted;
+    private final Counter preempted;
+    private final Counter failed;
+
+    public SpeculativeFittingMetrics(MeterRegistry meterRegistry) {
+        this.generated = counter(meterRegistry, "generated", "미리 생성한 피팅 결과 수");
+        this.hit = counter(meterRegistry, "hit", "실제 피팅 요청이 미리 생성한 결과를 사용한 수");
+        this.wasted = counter(meterRegistry, "wasted", "사용되지 않고 만료/삭제된 예측 생성 결과 수");
+        this.preempted = counter(meterRegistry, "preempted", "사용자 작업에 밀려 중단한 예측 생성 수");
+        this.failed = counter(meterRegistry, "failed", "실패한 예측 생성 수");
+    }
+
+    public void generated() {
+        generated.increment();
+    }
+
+    public void hit() {
+        hit.increment();
+    }
+
+    public void wasted(long count) {
+        if (count > 0) {
+            wasted.increment(count);
+        }
+    }
+
+    public void preempted() {
+        preempted.increment();
+    }
+
+    public void failed() {
+        failed.increment();
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String outcome, String description) {
+        return Counter.builder("fitting.speculative")
+                .tag("outcome", outcome)
+                .description(description)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,184 @@
+package com.lookfit.fitting.speculative;
+
+import com.lookfit.cart.domain.Cart;
+import com.lookfit.cart.repository.CartRepository;
+import com.lookfit.fitting.admission.FittingAdmissionGovernor;
+import com.lookfit.fitting.cache.FittingResultCacheService;
+import com.lookfit.fitting.domain.BodyPhoto;
+import com.lookfit.fitting.job.FittingJobService;
+import com.lookfit.fitting.repository.BodyPhotoRepository;
+import com.lookfit.product.domain.Product;
+import com.lookfit.wishlist.domain.Wishlist;
+import com.lookfit.wishlist.repository.WishlistRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 예측 생성 계획 (opt-in, fitting.speculative.enabled)
+ * - 전신 사진이 있는 최근 활동 회원의 찜 목록(최근 찜한 순) + 장바구니 상품을 미리 입혀 결과 캐시를 채운다
+ * - 사용자가 "입어보기"를 누르면 캐시 적중으로 바로 결과가 나온다
+ * - GPU가 한가할 때만: 할당량 쿨다운이 아니고 입장 허가가 넉넉하며, 실행기에 대기 작업이 없을 때 (유휴 작업으로 등록)
+ * - 회원별로 기간(budget-window)당 생성 수를 제한한다
+ *
+ * 상품 카테고리로 피팅 카테고리를 정하며, 입어볼 수 없는 상품(신발, 가방 등)은 건너뛴다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SpeculativeFittingPlanner {
+
+    /**
+     * 상품 카테고리 → 피팅 카테고리
+     */
+    private static final Map<String, String> FITTING_CATEGORIES = Map.of(
+            "아우터", "upper_body",
+            "상의", "upper_body",
+            "하의", "lower_body",
+            "원피스", "dresses",
+            "드레스", "dresses"
+    );
+
+    private final BodyPhotoRepository bodyPhotoRepository;
+    private final WishlistRepository wishlistRepository;
+    private final CartRepository cartRepository;
+    private final FittingResultCacheService resultCacheService;
+    private final FittingAdmissionGovernor admissionGovernor;
+    private final FittingJobService fittingJobService;
+
+    @Value("${fitting.speculative.enabled:false}")
+    private boolean enabled;
+
+    @Value("${fitting.speculative.active-window:7d}")
+    private Duration activeWindow;
+
+    @Value("${fitting.speculative.max-members:50}")
+    private int maxMembers;
+
+    @Value("${fitting.speculative.max-per-member:5}")
+    private int maxPerMember;
+
+    @Value("${fitting.speculative.budget-window:1d}")
+    private Duration budgetWindow;
+
+    @Value("${fitting.speculative.min-available-permits:2}")
+    private int minAvailablePermits;
+
+    Clock clock = Clock.systemDefaultZone();
+
+    /**
+     * 회원 ID → 이번 기간 예측 생성 수
+     */
+    private final Map<String, Budget> budgets = new ConcurrentHashMap<>();
+
+    /**
+     * 한가하면 다음 후보를 유휴 작업으로 등록 (실행기가 받지 않으면 다음 주기에 다시)
+     */
+    @Scheduled(fixedDelayString = "${fitting.speculative.interval:PT30S}")
+    public void plan() {
+        if (!enabled || !isGpuIdle()) {
+            return;
+        }
+
+        Instant now = clock.instant();
+        budgets.values().removeIf(budget -> budget.isExpired(now, budgetWindow));
+
+        for (BodyPhoto photo : recentPhotosByMember()) {
+            String memberId = photo.getMemberId();
+            Budget budget = budgets.computeIfAbsent(memberId, key -> new Budget(now));
+            if (budget.used >= maxPerMember) {
+                continue;
+            }
+
+            for (Candidate candidate : candidates(memberId)) {
+                if (resultCacheService.contains(photo.getContentHash(), candidate.garmentImageUrl(), candidate.category())) {
+                    continue;
+                }
+                if (!fittingJobService.speculate(memberId, photo.getImageUrl(), photo.getContentHash(),
+                        candidate.garmentImageUrl(), candidate.category())) {
+                    // 실행기가 바쁘거나 같은 입력이 이미 진행 중 - 다음 주기에 다시
+                    return;
+                }
+                budget.used++;
+                log.debug("예측 생성 시작 - memberId: {}, productId: {}, 이번 기간 {}/{}",
+                        memberId, candidate.productId(), budget.used, maxPerMember);
+                return;
+            }
+        }
+    }
+
+    private boolean isGpuIdle() {
+        return !admissionGovernor.isQuotaBlocked() && admissionGovernor.getAvailablePermits() >= minAvailablePermits;
+    }
+
+    /**
+     * 최근 사용된 사진 - 회원마다 가장 최근 것 하나
+     */
+    private List<BodyPhoto> recentPhotosByMember() {
+        LocalDateTime since = LocalDateTime.now(clock).minus(activeWindow);
+        Map<String, BodyPhoto> latest = new LinkedHashMap<>();
+        for (BodyPhoto photo : bodyPhotoRepository.findByLastUsedAtAfterOrderByLastUsedAtDesc(
+                since, PageRequest.of(0, maxMembers))) {
+            latest.putIfAbsent(photo.getMemberId(), photo);
+        }
+        return new ArrayList<>(latest.values());
+    }
+
+    /**
+     * 입어볼 가능성이 높은 순서 - 최근 찜한 상품, 그다음 장바구니 (같은 상품은 한 번)
+     */
+    List<Candidate> candidates(String memberId) {
+        Map<String, Candidate> candidates = new LinkedHashMap<>();
+        for (Wishlist wishlist : wishlistRepository.findByMemberIdWithProduct(memberId)) {
+            addCandidate(candidates, wishlist.getProduct());
+        }
+        for (Cart cart : cartRepository.findByMemberIdWithProduct(memberId)) {
+            addCandidate(candidates, cart.getProduct());
+        }
+        return new ArrayList<>(candidates.values());
+    }
+
+    private static void addCandidate(Map<String, Candidate> candidates, Product product) {
+        if (product == null || product.getImageUrl() == null) {
+            return;
+        }
+        String category = FITTING_CATEGORIES.get(product.getProductCategory());
+        if (category != null) {
+            candidates.putIfAbsent(product.getProductId(),
+                    new Candidate(product.getProductId(), product.getImageUrl(), category));
+        }
+    }
+
+    record Candidate(String productId, String garmentImageUrl, String category) {
+    }
+
+    /**
+     * 회원별 기간 내 생성 수
+     */
+    private static final class Budget {
+
+        private final Instant startedAt;
+        private int used;
+
+        private Budget(Instant startedAt) {
+            this.startedAt = startedAt;
+        }
+
+        private boolean isExpired(Instant now, Duration window) {
+            return !startedAt.plus(window).isAfter(now);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.lookfit.fitting.stream;
+
+import com.lookfit.fitting.event.FittingEvents;
+import com.lookfit.fitting.job.FittingJobService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 화면을 떠난 피팅 자동 취소
+ * - 상태 조회(폴링)나 SSE 구독으로 한 번이라도 지켜본 처리 중(PROCESSING) 피팅만 대상
+ * - SSE 연결이 없고 상태 조회도 grace 이상 끊기면 취소해 대기열 자리와 GPU를 반납
+ * - grace는 SSE 재연결(타임아웃 후 Last-Event-ID 재연결)과 폴링 간격보다 넉넉하게 잡는다
+ *
+ * 관찰 기록은 노드 메모리에만 둔다 (상태 조회와 스트림이 같은 노드로 가는 sticky session 가정).
+ */
+@Slf4j
+@Component
+public class FittingAbandonmentMonitor {
+
+    static final String ABANDONED_MESSAGE = "화면을 떠나 AI 생성이 취소되었습니다.";
+
+    private final FittingStatusStreamService statusStreamService;
+    private final FittingJobService fittingJobService;
+    private final Counter abandonedCounter;
+
+    /**
+     * 피팅 ID → 마지막으로 클라이언트가 지켜본 시각
+     */
+    private final Map<String, Instant> lastSeen = new ConcurrentHashMap<>();
+
+    @Value("${fitting.cancel.abandon.enabled:true}")
+    private boolean enabled;
+
+    @Value("${fitting.cancel.abandon.grace:30s}")
+    private Duration grace;
+
+    Clock clock = Clock.systemUTC();
+
+    public FittingAbandonmentMonitor(FittingStatusStreamService statusStreamService,
+                                     FittingJobService fittingJobService,
+                                     MeterRegistry meterRegistry) {
+        this.statusStreamService = statusStreamService;
+        this.fittingJobService = fittingJobService;
+        this.abandonedCounter = Counter.builder("fitting.abandoned")
+                .description("클라이언트 연결이 끊겨 자동 취소된 피팅 수")
+                .register(meterRegistry);
+        Gauge.builder("fitting.abandon.watched", lastSeen, Map::size)
+                .description("화면 이탈을 감시 중인 피팅 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 클라이언트가 피팅 상태를 확인함 (상태 조회, 스트림 구독)
+     */
+    public void touch(String fittingId) {
+        if (enabled) {
+            lastSeen.put(fittingId, clock.instant());
+        }
+    }
+
+    /**
+     * 끝난 피팅은 감시 중단
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStatusChanged(FittingEvents.FittingStatusChangedEvent event) {
+        if (event.getStatus().isCompleted()) {
+            lastSeen.remove(event.getFittingId());
+        }
+    }
+
+    /**
+     * 구독 중이면 관찰 시각 갱신, grace 이상 아무도 보지 않은 피팅은 취소
+     */
+    @Scheduled(fixedDelayString = "${fitting.cancel.abandon.check-interval:PT10S}")
+    public void sweep() {
+        if (!enabled || lastSeen.isEmpty()) {
+            return;
+        }
+
+        Instant now = clock.instant();
+        for (Map.Entry<String, Instant> entry : lastSeen.entrySet()) {
+            String fittingId = entry.getKey();
+            if (statusStreamService.isWatched(fittingId)) {
+                entry.setValue(now);
+                continue;
+            }
+            if (entry.getValue().plus(grace).isAfter(now) || !lastSeen.remove(fittingId, entry.getValue())) {
+                continue;
+            }
+
+            try {
+                if (fittingJobService.cancelAbandoned(fittingId, ABANDONED_MESSAGE)) {
+                    abandonedCounter.increment();
+                    log.info("화면 이탈로 피팅 취소 - fittingId: {}, 마지막 확인: {}", fittingId, entry.getValue());
+                }
+            } catch (Exception e) {
+                log.warn("화면 이탈 피팅 취소 실패 - fittingId: {}: {}", fittingId, e.getMessage());
+            }
+        }
+    }
+
+    int getWatchedCount() {
+        return lastSeen.size();
+    }
+}
@@ -0,0 +1,244 @@
+package com.lookfit.fitting.stream;
+
+import com.lookfit.fitting.dto.FittingDto;
+import com.lookfit.fitting.event.FittingEvents;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 피팅 상태 SSE 스트림
+ * - 구독 레지스트리는 메모리 (fittingId → 구독자), 상태 변경 이벤트를 받아 바로 전파 (DB 폴링 없음)
+ * - 서블릿 비동기 요청이므로 열린 연결이 스레드를 점유하지 않는다
+ * - 주기적 heartbeat 주석으로 프록시 유휴 타임아웃 방지
+ * - 재연결 시 Last-Event-ID가 현재 상태와 같으면 스냅샷을 다시 보내지 않는다
+ * - 묶음 피팅은 연결 1개로 모든 항목의 상태를 받고, 모든 항목이 끝나면 종료한다
+ */
+@Slf4j
+@Service
+public class FittingStatusStreamService {
+
+    static final String EVENT_NAME = "status";
+
+    private final Map<String, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final Set<Subscription> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    @Value("${fitting.stream.timeout:10m}")
+    private Duration timeout;
+
+    @Value("${fitting.stream.reconnect-delay:3s}")
+    private Duration reconnectDelay;
+
+    public FittingStatusStreamService(MeterRegistry meterRegistry) {
+        Gauge.builder("fitting.stream.subscribers", subscriberCount, AtomicInteger::get)
+                .description("열린 피팅 상태 SSE 연결 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 구독 등록 후 현재 상태 스냅샷 전송 (완료된 피팅이면 스냅샷만 보내고 종료)
+     *
+     * @param snapshotLoader 구독 등록 이후 시점의 상태 조회 (등록 전에 조회하면 그 사이 변경을 놓친다)
+     * @param lastEventId 재연결 시 브라우저가 보내는 마지막 이벤트 ID
+     */
+    public SseEmitter subscribe(String fittingId, String lastEventId,
+                                Supplier<FittingDto.StatusResponse> snapshotLoader) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscription subscription = register(List.of(fittingId), emitter, false);
+
+        try {
+            FittingDto.StatusResponse snapshot = snapshotLoader.get();
+            if (!eventId(snapshot).equals(lastEventId) || snapshot.isCompleted()) {
+                subscription.send(snapshot);
+            }
+        } catch (RuntimeException e) {
+            unsubscribe(subscription);
+            throw e;
+        }
+        log.debug("피팅 상태 스트림 구독 - fittingId: {}, lastEventId: {}", fittingId, lastEventId);
+        return emitter;
+    }
+
+    /**
+     * 묶음 피팅 구독 - 항목별 상태를 같은 연결로 보내고 모든 항목이 끝나면 종료
+     * 재연결 시에는 전체 스냅샷을 다시 보낸다 (항목은 fittingId로 구분)
+     *
+     * @param fittingIds 묶음에 속한 피팅 ID
+     * @param snapshotLoader 구독 등록 이후 시점의 항목별 상태 조회
+     */
+    public SseEmitter subscribeBatch(List<String> fittingIds,
+                                     Supplier<List<FittingDto.StatusResponse>> snapshotLoader) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscription subscription = register(fittingIds, emitter, true);
+
+        try {
+            snapshotLoader.get().forEach(subscription::send);
+        } catch (RuntimeException e) {
+            unsubscribe(subscription);
+            throw e;
+        }
+        log.debug("묶음 피팅 상태 스트림 구독 - 항목 수: {}", fittingIds.size());
+        return emitter;
+    }
+
+    private Subscription register(List<String> fittingIds, SseEmitter emitter, boolean batch) {
+        Subscription subscription = new Subscription(fittingIds, emitter, batch);
+        fittingIds.forEach(fittingId ->
+                subscriptions.computeIfAbsent(fittingId, key -> ConcurrentHashMap.newKeySet()).add(subscription));
+        connections.add(subscription);
+        subscriberCount.incrementAndGet();
+        emitter.onCompletion(() -> unsubscribe(subscription));
+        emitter.onTimeout(() -> unsubscribe(subscription));
+        emitter.onError(error -> unsubscribe(subscription));
+        return subscription;
+    }
+
+    /**
+     * 상태 변경 전파 (요청 트랜잭션이면 커밋 후, 워커 스레드면 즉시)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStatusChanged(FittingEvents.FittingStatusChangedEvent event) {
+        Set<Subscription> subscribers = subscriptions.get(event.getFittingId());
+        if (subscribers == null) {
+            return;
+        }
+        for (Subscription subscription : subscribers) {
+            subscription.send(event.getStatus());
+        }
+    }
+
+    /**
+     * 모든 연결에 heartbeat 주석 전송 (끊긴 연결 정리 겸용)
+     */
+    @Scheduled(fixedRateString = "${fitting.stream.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        connections.forEach(Subscription::heartbeat);
+    }
+
+    /**
+     * 이 노드에 해당 피팅을 구독 중인 연결이 있는지 (화면 이탈 감지용)
+     */
+    public boolean isWatched(String fittingId) {
+        return subscriptions.containsKey(fittingId);
+    }
+
+    int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    private void unsubscribe(Subscription subscription) {
+        if (connections.remove(subscription)) {
+            subscriberCount.decrementAndGet();
+        }
+        subscription.fittingIds.forEach(fittingId ->
+                subscriptions.computeIfPresent(fittingId, (key, subscribers) -> {
+                    subscribers.remove(subscription);
+                    return subscribers.isEmpty() ? null : subscribers;
+                }));
+    }
+
+    /**
+     * 이벤트 ID = 상태 버전 (상태 + 단계 + 대기 순번)
+     */
+    static String eventId(FittingDto.StatusResponse status) {
+        return status.getStatus()
+                + "." + (status.getStage() != null ? status.getStage() : "-")
+                + "." + (status.getQueuePosition() != null ? status.getQueuePosition() : 0);
+    }
+
+    /**
+     * 상태 순서 (이벤트 전달 순서가 뒤바뀌어도 이전 상태로 되돌아가지 않도록)
+     */
+    static int rank(FittingDto.StatusResponse status) {
+        if (status.isCompleted()) {
+            return 3;
+        }
+        if (!"PROCESSING".equals(status.getStatus())) {
+            return 0;
+        }
+        return "QUEUED".equals(status.getStage()) ? 1 : 2;
+    }
+
+    /**
+     * 연결 1개 (단건이면 피팅 1개, 묶음이면 항목 전체)
+     */
+    private class Subscription {
+
+        private final List<String> fittingIds;
+        private final SseEmitter emitter;
+        private final boolean batch;
+        private final Map<String, Integer> lastRanks = new HashMap<>();
+        private final Set<String> remaining;
+        private boolean closed;
+
+        private Subscription(List<String> fittingIds, SseEmitter emitter, boolean batch) {
+            this.fittingIds = fittingIds;
+            this.emitter = emitter;
+            this.batch = batch;
+            this.remaining = new HashSet<>(fittingIds);
+        }
+
+        synchronized void send(FittingDto.StatusResponse status) {
+            int rank = rank(status);
+            String fittingId = batch ? status.getFittingId() : fittingIds.get(0);
+            if (closed || rank < lastRanks.getOrDefault(fittingId, -1)) {
+                return;
+            }
+            lastRanks.put(fittingId, rank);
+
+            try {
+                emitter.send(SseEmitter.event()
+                        .id(batch ? fittingId + ":" + eventId(status) : eventId(status))
+                        .name(EVENT_NAME)
+                        .reconnectTime(reconnectDelay.toMillis())
+                        .data(status, MediaType.APPLICATION_JSON));
+                if (status.isCompleted()) {
+                    remaining.remove(fittingId);
+                }
+                if (remaining.isEmpty()) {
+                    close();
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                // 끊긴 연결 - 컨테이너가 오류 처리 후 요청을 종료한다
+                close();
+            }
+        }
+
+        synchronized void heartbeat() {
+            if (closed) {
+                return;
+            }
+            try {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            } catch (IOException | IllegalStateException e) {
+                // 끊긴 연결 - 컨테이너가 오류 처리 후 요청을 종료한다
+                close();
+            }
+        }
+
+        private void close() {
+            closed = true;
+            unsubscribe(this);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.lookfit.fitting.trace;
+
+/**
+ * 가상 피팅 처리 단계 (단계별 시간은 fitting.stage 타이머와 VirtualFitting.stageTimings에 기록)
+ */
+public enum FittingStage {
+
+    UPLOAD("upload"),             // 사진 정규화/저장 (업로드 요청)
+    QUEUE("queue"),               // 작업 큐 등록부터 워커 시작까지
+    PREPROCESS("preprocess"),     // 사용자 사진 전처리 (캐시 조회 포함)
+    GARMENT("garment"),           // 의류 이미지 준비
+    WORKER("worker"),             // Python 워커 대기/기동/핸드셰이크 + 통신 (원격 추론 제외)
+    REMOTE("remote"),             // 원격 Space 추론 (client.predict)
+    RESULT_COPY("result_copy"),   // 생성 이미지를 결과 디렉토리로 복사
+    PROVIDER("provider"),         // 제공자 호출 전체 (폴백하면 시도마다)
+    TOTAL("total");               // 큐 등록부터 결과 확정까지
+
+    private final String key;
+
+    FittingStage(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+}
@@ -0,0 +1,42 @@
+package com.lookfit.fitting.trace;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 단계별 타이머 (fitting.stage{stage, provider, outcome}, 백분위 히스토그램)
+ */
+@Component
+@RequiredArgsConstructor
+public class FittingStageMetrics {
+
+    public static final String SUCCESS = "success";
+    public static final String FAILURE = "failure";
+    public static final String CANCELLED = "cancelled";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 작업이 끝난 트레이스의 모든 단계 기록
+     */
+    public void record(FittingTrace trace, String outcome) {
+        for (FittingTrace.Span span : trace.spans()) {
+            record(span.stage(), span.provider(), outcome, span.nanos());
+        }
+    }
+
+    public void record(FittingStage stage, String provider, String outcome, long nanos) {
+        Timer.builder("fitting.stage")
+                .description("가상 피팅 단계별 소요 시간")
+                .tag("stage", stage.getKey())
+                .tag("provider", provider)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
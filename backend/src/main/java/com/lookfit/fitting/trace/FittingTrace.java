@@ -0,0 +1,115 @@
+package com.lookfit.fitting.trace;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 피팅 생성 작업 1건의 단계별 소요 시간 (워커 스레드에 바인딩)
+ * 제공자/서비스는 FittingTrace.record로 단계를 기록하고, 트레이스가 없는 스레드에서는 무시된다.
+ * 제공자 태그는 기록 시점에 시도 중인 제공자, 큐 대기/전체 시간은 마지막으로 시도한 제공자로 집계한다.
+ */
+public final class FittingTrace {
+
+    public static final String NO_PROVIDER = "none";
+
+    private static final ThreadLocal<FittingTrace> CURRENT = new ThreadLocal<>();
+
+    private final List<Span> spans = new ArrayList<>();
+    private String provider = NO_PROVIDER;
+
+    private FittingTrace() {
+    }
+
+    /**
+     * 현재 스레드에 새 트레이스 시작 (끝나면 end 호출)
+     */
+    public static FittingTrace begin() {
+        FittingTrace trace = new FittingTrace();
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    public static Optional<FittingTrace> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * 현재 트레이스에 단계 시간 기록 (시도 중인 제공자 기준)
+     */
+    public static void record(FittingStage stage, long nanos) {
+        FittingTrace trace = CURRENT.get();
+        if (trace != null) {
+            trace.add(stage, nanos, true);
+        }
+    }
+
+    /**
+     * 제공자 시도 시작 (이후 기록되는 단계의 제공자 태그)
+     */
+    public static void attempt(String provider) {
+        FittingTrace trace = CURRENT.get();
+        if (trace != null) {
+            trace.setProvider(provider);
+        }
+    }
+
+    /**
+     * 제공자와 무관한 단계 기록 (큐 대기, 전체 시간 - 집계 시 마지막 제공자로 태그)
+     */
+    public void recordOverall(FittingStage stage, long nanos) {
+        add(stage, nanos, false);
+    }
+
+    public void end() {
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+    }
+
+    public synchronized String getProvider() {
+        return provider;
+    }
+
+    /**
+     * 단계별 합계 (ms, 단계 순서)
+     */
+    public synchronized Map<String, Long> toMillis() {
+        Map<String, Long> nanosByStage = new LinkedHashMap<>();
+        for (FittingStage stage : FittingStage.values()) {
+            for (Span span : spans) {
+                if (span.stage() == stage) {
+                    nanosByStage.merge(stage.getKey(), span.nanos(), Long::sum);
+                }
+            }
+        }
+        Map<String, Long> millis = new LinkedHashMap<>();
+        nanosByStage.forEach((stage, nanos) -> millis.put(stage, TimeUnit.NANOSECONDS.toMillis(nanos)));
+        return millis;
+    }
+
+    synchronized List<Span> spans() {
+        return spans.stream()
+                .map(span -> span.provider() == null ? new Span(span.stage(), provider, span.nanos()) : span)
+                .toList();
+    }
+
+    private synchronized void setProvider(String provider) {
+        this.provider = provider;
+    }
+
+    private synchronized void add(FittingStage stage, long nanos, boolean providerScoped) {
+        spans.add(new Span(stage, providerScoped ? provider : null, Math.max(0, nanos)));
+    }
+
+    /**
+     * 기록된 단계 1건
+     *
+     * @param provider 기록 시점의 제공자 (null이면 마지막 제공자)
+     */
+    record Span(FittingStage stage, String provider, long nanos) {
+    }
+}
@@ -0,0 +1,144 @@
+package com.lookfit.fitting.worker;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 상주 Python 워커 프로세스 1개
+ * 프레임 형식: 4바이트 big-endian 길이 + UTF-8 JSON (scripts/virtual_tryon_worker.py 참고)
+ *
+ * 한 번에 한 요청만 처리한다. 동시성 제어는 PythonWorkerPool이 담당.
+ */
+@Slf4j
+class PythonWorker {
+
+    static final int MAX_FRAME_SIZE = 16 * 1024 * 1024;
+
+    private final int workerId;
+    private final Process process;
+    private final DataInputStream in;
+    private final DataOutputStream out;
+    private final ObjectMapper objectMapper;
+    private final ScheduledExecutorService watchdog;
+    private final AtomicLong requestIds = new AtomicLong();
+
+    private volatile boolean timedOut;
+
+    private PythonWorker(int workerId, Process process, ObjectMapper objectMapper, ScheduledExecutorService watchdog) {
+        this.workerId = workerId;
+        this.process = process;
+        this.in = new DataInputStream(new BufferedInputStream(process.getInputStream()));
+        this.out = new DataOutputStream(new BufferedOutputStream(process.getOutputStream()));
+        this.objectMapper = objectMapper;
+        this.watchdog = watchdog;
+    }
+
+    /**
+     * 워커 프로세스 기동 후 ready 프레임까지 대기 (워밍업 포함)
+     */
+    static PythonWorker start(int workerId, List<String> command, Duration startupTimeout,
+                              ObjectMapper objectMapper, ScheduledExecutorService watchdog)
+            throws IOException, TimeoutException {
+        ProcessBuilder processBuilder = new ProcessBuilder(command);
+        // stderr는 라이브러리 로그 용도 - 애플리케이션 로그로 그대로 흘려보낸다
+        processBuilder.redirectError(ProcessBuilder.Redirect.INHERIT);
+        Process process = processBuilder.start();
+
+        PythonWorker worker = new PythonWorker(workerId, process, objectMapper, watchdog);
+        JsonNode ready = worker.readWithTimeout(startupTimeout);
+        if (!"ready".equals(ready.path("op").asText())) {
+            worker.destroy();
+            throw new IOException("Python 워커가 ready 프레임을 보내지 않았습니다: " + ready);
+        }
+
+        log.info("🐍 Python 워커 기동 완료 - workerId: {}, pid: {}, warm: {}",
+                workerId, ready.path("pid").asLong(), ready.path("warm").asBoolean());
+        return worker;
+    }
+
+    /**
+     * 요청 1건 처리
+     *
+     * @throws TimeoutException 제한 시간 초과 (프로세스는 강제 종료됨)
+     * @throws IOException 프로세스 종료 등 통신 실패
+     */
+    JsonNode call(ObjectNode request, Duration timeout) throws IOException, TimeoutException {
+        long requestId = requestIds.incrementAndGet();
+        request.put("id", requestId);
+
+        writeFrame(request);
+        JsonNode response = readWithTimeout(timeout);
+
+        if (response.path("id").asLong() != requestId) {
+            throw new IOException("응답 ID 불일치 - expected: " + requestId + ", actual: " + response.path("id"));
+        }
+        return response;
+    }
+
+    boolean isAlive() {
+        return process.isAlive();
+    }
+
+    int getWorkerId() {
+        return workerId;
+    }
+
+    void destroy() {
+        process.destroyForcibly();
+    }
+
+    private void writeFrame(JsonNode message) throws IOException {
+        byte[] payload = objectMapper.writeValueAsBytes(message);
+        out.writeInt(payload.length);
+        out.write(payload);
+        out.flush();
+    }
+
+    /**
+     * 프레임 읽기 - 블로킹 read에 제한 시간을 걸기 위해 watchdog이 시간 초과 시 프로세스를 종료한다
+     */
+    private JsonNode readWithTimeout(Duration timeout) throws IOException, TimeoutException {
+        ScheduledFuture<?> kill = watchdog.schedule(() -> {
+            timedOut = true;
+            process.destroyForcibly();
+        }, timeout.toMillis(), TimeUnit.MILLISECONDS);
+
+        try {
+            int length = in.readInt();
+            if (length < 0 || length > MAX_FRAME_SIZE) {
+                throw new IOException("잘못된 프레임 길이: " + length);
+            }
+            byte[] payload = new byte[length];
+            in.readFully(payload);
+            return objectMapper.readTree(payload);
+        } catch (EOFException e) {
+            if (timedOut) {
+                throw new TimeoutException("Python 워커 응답 시간 초과 (" + timeout.toSeconds() + "초)");
+            }
+            throw new IOException("Python 워커 프로세스가 종료되었습니다 - workerId: " + workerId, e);
+        } catch (IOException e) {
+            if (timedOut) {
+                throw new TimeoutException("Python 워커 응답 시간 초과 (" + timeout.toSeconds() + "초)");
+            }
+            throw e;
+        } finally {
+            kill.cancel(false);
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package com.lookfit.fitting.worker;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 상주 Python 워커 풀
+ * - 부팅 시 워밍업 (gradio_client import + Space 핸드셰이크를 미리 수행)
+ * - 주기적 헬스체크 (ping), 비정상/종료 워커 자동 재기동
+ * - 요청마다 python3 프로세스를 띄우던 비용을 제거
+ * - 호출 스레드가 인터럽트되면(피팅 취소) 워커 프로세스를 종료해 원격 요청까지 끊고 새 워커로 교체
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PythonWorkerPool {
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${fitting.python.pool.enabled:true}")
+    private boolean enabled;
+
+    @Value("${fitting.python.pool.size:2}")
+    private int size;
+
+    @Value("${fitting.python.command:python3}")
+    private String pythonCommand;
+
+    @Value("${fitting.python.worker-script:scripts/virtual_tryon_worker.py}")
+    private String workerScript;
+
+    @Value("${fitting.python.pool.startup-timeout:60s}")
+    private Duration startupTimeout;
+
+    @Value("${fitting.python.pool.call-timeout:5m}")
+    private Duration callTimeout;
+
+    @Value("${fitting.python.pool.acquire-timeout:30s}")
+    private Duration acquireTimeout;
+
+    @Value("${fitting.python.pool.health-check-interval:30s}")
+    private Duration healthCheckInterval;
+
+    private final BlockingQueue<PythonWorker> idleWorkers = new LinkedBlockingQueue<>();
+    private final Set<PythonWorker> liveWorkers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger starting = new AtomicInteger();
+    private final AtomicInteger workerIds = new AtomicInteger();
+
+    private ScheduledExecutorService maintenance;
+    private ScheduledExecutorService watchdog;
+    private ExecutorService io;
+    private Timer callTimer;
+    private Counter respawnCounter;
+
+    /**
+     * 부팅 완료 후 워커 워밍업 (부팅을 막지 않도록 백그라운드에서 기동)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            log.info("Python 워커 풀 비활성화 - 요청마다 프로세스를 실행합니다");
+            return;
+        }
+        start();
+    }
+
+    void start() {
+        maintenance = Executors.newScheduledThreadPool(2, daemonThreads("python-worker-maintenance"));
+        // 응답 시간 초과 감시는 기동/헬스체크 작업에 막히지 않도록 별도 스레드에서
+        watchdog = Executors.newSingleThreadScheduledExecutor(daemonThreads("python-worker-watchdog"));
+        // 블로킹 프레임 읽기는 인터럽트되지 않으므로 별도 스레드에서 읽고 호출 스레드는 결과를 기다리기만 한다
+        io = Executors.newCachedThreadPool(daemonThreads("python-worker-io"));
+
+        callTimer = Timer.builder("fitting.python.call")
+                .description("상주 Python 워커 호출 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        respawnCounter = Counter.builder("fitting.python.respawn")
+                .description("비정상 종료로 재기동한 Python 워커 수")
+                .register(meterRegistry);
+        Gauge.builder("fitting.python.workers.live", liveWorkers, Set::size)
+                .description("기동 중인 Python 워커 수")
+                .register(meterRegistry);
+        Gauge.builder("fitting.python.workers.idle", idleWorkers, BlockingQueue::size)
+                .description("유휴 Python 워커 수")
+                .register(meterRegistry);
+
+        log.info("🐍 Python 워커 풀 워밍업 시작 - size: {}, script: {}", size, workerScript);
+        replenish();
+        maintenance.scheduleWithFixedDelay(this::healthCheck,
+                healthCheckInterval.toMillis(), healthCheckInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 풀 사용 가능 여부 (비활성화 또는 기동 전이면 호출자가 기존 방식으로 폴백)
+     */
+    public boolean isEnabled() {
+        return enabled && maintenance != null;
+    }
+
+    /**
+     * 유휴 워커에 요청 1건 실행
+     *
+     * @param request op 등 요청 필드 (id는 워커가 채운다)
+     * @return 워커 응답 JSON
+     */
+    public JsonNode execute(ObjectNode request)
+            throws TimeoutException, WorkerUnavailableException, InterruptedException {
+        PythonWorker worker = acquire();
+        long startedAt = System.nanoTime();
+        Future<JsonNode> call = io.submit(() -> worker.call(request, callTimeout));
+        try {
+            JsonNode response = call.get();
+            release(worker);
+            return response;
+        } catch (InterruptedException e) {
+            // 피팅 취소 - 진행 중인 추론을 버리고 프로세스를 종료 (블로킹 읽기는 EOF로 풀린다)
+            log.info("Python 워커 호출 취소 - workerId: {}, 프로세스 종료", worker.getWorkerId());
+            retire(worker);
+            throw e;
+        } catch (ExecutionException e) {
+            retire(worker);
+            if (e.getCause() instanceof TimeoutException timeout) {
+                throw timeout;
+            }
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw new WorkerUnavailableException("Python 워커 통신 실패: " + cause.getMessage(), cause);
+        } finally {
+            callTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private PythonWorker acquire() throws WorkerUnavailableException, InterruptedException {
+        PythonWorker worker = idleWorkers.poll(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        if (worker == null) {
+            replenish();
+            throw new WorkerUnavailableException("사용 가능한 Python 워커가 없습니다 (대기 "
+                    + acquireTimeout.toSeconds() + "초 초과)");
+        }
+        return worker;
+    }
+
+    private void release(PythonWorker worker) {
+        if (worker.isAlive()) {
+            idleWorkers.offer(worker);
+        } else {
+            retire(worker);
+        }
+    }
+
+    /**
+     * 워커 폐기 후 재기동 예약
+     */
+    private void retire(PythonWorker worker) {
+        worker.destroy();
+        if (liveWorkers.remove(worker)) {
+            respawnCounter.increment();
+            log.warn("Python 워커 폐기 - workerId: {}, 재기동 예약", worker.getWorkerId());
+        }
+        replenish();
+    }
+
+    /**
+     * 목표 크기만큼 워커 기동 (이미 기동 중인 수 포함)
+     */
+    private void replenish() {
+        if (maintenance == null || maintenance.isShutdown()) {
+            return;
+        }
+        while (liveWorkers.size() + starting.get() < size) {
+            starting.incrementAndGet();
+            maintenance.execute(this::spawn);
+        }
+    }
+
+    private void spawn() {
+        int workerId = workerIds.incrementAndGet();
+        try {
+            PythonWorker worker = PythonWorker.start(workerId, List.of(pythonCommand, workerScript),
+                    startupTimeout, objectMapper, watchdog);
+            liveWorkers.add(worker);
+            idleWorkers.offer(worker);
+        } catch (Exception e) {
+            log.error("Python 워커 기동 실패 - workerId: {}, 다음 헬스체크에서 재시도: {}", workerId, e.getMessage());
+        } finally {
+            starting.decrementAndGet();
+        }
+    }
+
+    /**
+     * 유휴 워커 ping + 부족한 워커 보충
+     */
+    void healthCheck() {
+        List<PythonWorker> snapshot = new ArrayList<>();
+        idleWorkers.drainTo(snapshot);
+
+        for (PythonWorker worker : snapshot) {
+            try {
+                ObjectNode ping = objectMapper.createObjectNode().put("op", "ping");
+                JsonNode pong = worker.call(ping, Duration.ofSeconds(5));
+                if (pong.path("success").asBoolean()) {
+                    idleWorkers.offer(worker);
+                } else {
+                    retire(worker);
+                }
+            } catch (Exception e) {
+                log.warn("Python 워커 헬스체크 실패 - workerId: {}: {}", worker.getWorkerId(), e.getMessage());
+                retire(worker);
+            }
+        }
+        replenish();
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (maintenance != null) {
+            maintenance.shutdownNow();
+            watchdog.shutdownNow();
+            io.shutdownNow();
+        }
+        liveWorkers.forEach(PythonWorker::destroy);
+        liveWorkers.clear();
+        idleWorkers.clear();
+    }
+
+    /**
+     * 워커를 확보하지 못했거나 통신이 끊긴 경우
+     */
+    public static class WorkerUnavailableException extends Exception {
+        public WorkerUnavailableException(String message) {
+            super(message);
+        }
+
+        public WorkerUnavailableException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
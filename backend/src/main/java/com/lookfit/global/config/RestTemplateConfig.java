@@ -1,17 +1,31 @@
 package com.lookfit.global.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+
 /**
  * RestTemplate 설정
+ * 외부 API가 응답하지 않아도 호출 스레드가 무한정 묶이지 않도록 연결/읽기 타임아웃을 건다
  */
 @Configuration
 public class RestTemplateConfig {
 
+    @Value("${http.client.connect-timeout:5s}")
+    private Duration connectTimeout;
+
+    @Value("${http.client.read-timeout:30s}")
+    private Duration readTimeout;
+
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(RestTemplateBuilder builder) {
+        return builder
+                .connectTimeout(connectTimeout)
+                .readTimeout(readTimeout)
+                .build();
     }
 }
@@ -0,0 +1,14 @@
+package com.lookfit.global.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 스케줄링 설정
+ * 피팅 결과 캐시 만료 등 주기 작업(@Scheduled)을 위한 설정
+ * 스케줄러 스레드 수는 spring.task.scheduling.pool.size - 외부 호출처럼 오래 걸릴 수 있는 작업은 @Async로 넘긴다
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -3,8 +3,10 @@ package com.lookfit.global.config;
 import com.lookfit.global.common.Role;
 import com.lookfit.global.security.JwtAuthenticationFilter;
 import com.lookfit.global.security.OAuth2SuccessHandler;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -27,6 +29,12 @@ public class SecurityConfig {
     private final OAuth2SuccessHandler oAuth2SuccessHandler;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    /**
+     * 관리 포트 (MANAGEMENT_SERVER_PORT) - 설정하면 actuator는 이 포트로만 열리고, 공개 포트로 라우팅하지 않는다
+     */
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
     @Autowired
     public SecurityConfig(OAuth2SuccessHandler oAuth2SuccessHandler,
                           JwtAuthenticationFilter jwtAuthenticationFilter) {
@@ -67,8 +75,11 @@ public class SecurityConfig {
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(authorizeRequests -> authorizeRequests
+                        // SSE 등 비동기 응답의 재디스패치 (최초 요청에서 이미 인가됨)
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // Static resources
-                        .requestMatchers("/", "/css/**", "/images/**", "/js/**", "/profile").permitAll()
+                        .requestMatchers("/", "/css/**", "/images/**", "/media/**", "/js/**", "/profile").permitAll()
 
                         // OAuth2 and Login
                         .requestMatchers("/oauth2/**").permitAll()
@@ -79,6 +90,10 @@ public class SecurityConfig {
                         .requestMatchers("/api/v1/auth/**").permitAll()
                         .requestMatchers("/api/v1/search/**").permitAll()
                         .requestMatchers("/actuator/health").permitAll()
+                        // 지표 스크레이프는 내부 관리 포트에서만 인증 없이 (공개 포트에서는 인증 필요)
+                        .requestMatchers(request -> managementPort > 0 && request.getLocalPort() == managementPort
+                                && request.getRequestURI().startsWith("/actuator/")).permitAll()
+                        .requestMatchers(org.springframework.http.HttpMethod.POST, "/api/v1/webhooks/replicate").permitAll()  // 서명으로 검증
 
                         // Review API - 구체적인 경로를 먼저 매칭 (중요!)
                         .requestMatchers(org.springframework.http.HttpMethod.POST, "/api/v1/products/*/reviews").authenticated()
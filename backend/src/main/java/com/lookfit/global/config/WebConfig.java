@@ -2,6 +2,7 @@ package com.lookfit.global.config;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.StringHttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
@@ -10,6 +11,7 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.List;
 
 @Configuration
@@ -21,6 +23,9 @@ public class WebConfig implements WebMvcConfigurer {
     @Value("${fitting.image.result-dir:src/main/resources/static/images/fitting/result}")
     private String resultDir;
 
+    @Value("${media.serve.images-max-age:1h}")
+    private Duration imagesMaxAge;
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
         // 전체 images 디렉토리를 매핑 (간단하게)
@@ -32,9 +37,12 @@ public class WebConfig implements WebMvcConfigurer {
 
         System.out.println("🖼️ Images path: " + imagesPath);
 
+        // 상품 이미지 등은 같은 이름으로 바뀔 수 있어 짧게 캐시하고 Last-Modified로 재검증
+        // (콘텐츠 해시 이름인 /media/**는 MediaController가 immutable로 제공)
         registry.addResourceHandler("/images/**")
                 .addResourceLocations(imagesPath)
-                .addResourceLocations("classpath:/static/images/");
+                .addResourceLocations("classpath:/static/images/")
+                .setCacheControl(CacheControl.maxAge(imagesMaxAge).cachePublic());
     }
 
     @Override
@@ -41,10 +41,14 @@ public enum ErrorCode {
 
     // Fitting
     FITTING_NOT_FOUND(HttpStatus.NOT_FOUND, "FITTING_NOT_FOUND", "가상 피팅을 찾을 수 없습니다"),
+    BODY_PHOTO_NOT_FOUND(HttpStatus.NOT_FOUND, "BODY_PHOTO_NOT_FOUND", "저장된 사진을 찾을 수 없습니다"),
     INVALID_INPUT_VALUE(HttpStatus.BAD_REQUEST, "INVALID_INPUT_VALUE", "잘못된 입력 값입니다"),
     FILE_UPLOAD_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, "FILE_UPLOAD_FAILED", "파일 업로드에 실패했습니다"),
     AI_GENERATION_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, "AI_GENERATION_FAILED", "AI 이미지 생성에 실패했습니다"),
-    GPU_QUOTA_EXCEEDED(HttpStatus.TOO_MANY_REQUESTS, "GPU_QUOTA_EXCEEDED", "AI 서비스의 일일 할당량을 초과했습니다. 내일 다시 시도해주세요.");
+    GPU_QUOTA_EXCEEDED(HttpStatus.TOO_MANY_REQUESTS, "GPU_QUOTA_EXCEEDED", "AI 서비스의 일일 할당량을 초과했습니다. 내일 다시 시도해주세요."),
+    FITTING_QUEUE_FULL(HttpStatus.SERVICE_UNAVAILABLE, "FITTING_QUEUE_FULL", "AI 생성 요청이 많아 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요."),
+    FITTING_OVERLOADED(HttpStatus.SERVICE_UNAVAILABLE, "FITTING_OVERLOADED", "AI 생성 요청이 많아 지금은 처리할 수 없습니다. 잠시 후 다시 시도해주세요."),
+    FITTING_RATE_LIMITED(HttpStatus.TOO_MANY_REQUESTS, "FITTING_RATE_LIMITED", "AI 피팅 요청이 너무 잦습니다. 잠시 후 다시 시도해주세요.");
 
     private final HttpStatus status;
     private final String code;
@@ -0,0 +1,30 @@
+package com.lookfit.global.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * 잠시 후 재시도하면 처리될 수 있는 거절 (429/503 + Retry-After 헤더)
+ */
+@Getter
+public class RetryLaterException extends BusinessException {
+    private final Duration retryAfter;
+
+    public RetryLaterException(ErrorCode errorCode, Duration retryAfter) {
+        super(errorCode);
+        this.retryAfter = retryAfter;
+    }
+
+    public RetryLaterException(ErrorCode errorCode, String message, Duration retryAfter) {
+        super(errorCode, message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Retry-After 헤더 값 (초, 최소 1)
+     */
+    public long getRetryAfterSeconds() {
+        return Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+    }
+}
@@ -0,0 +1,115 @@
+package com.lookfit.global.image;
+
+import java.awt.geom.AffineTransform;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * JPEG EXIF 방향(Orientation, 0x0112) 태그 파서
+ * ImageIO는 EXIF 회전을 적용하지 않으므로 APP1 세그먼트를 직접 읽는다 (IFD0만 확인)
+ */
+final class ExifOrientation {
+
+    static final int NORMAL = 1;
+
+    private static final int ORIENTATION_TAG = 0x0112;
+    private static final int MAX_SEGMENT_SCAN = 16;
+
+    private ExifOrientation() {
+    }
+
+    /**
+     * EXIF 방향 값 (1~8, 없거나 JPEG가 아니면 1)
+     */
+    static int read(InputStream input) throws IOException {
+        DataInputStream in = new DataInputStream(input);
+        if (in.readUnsignedShort() != 0xFFD8) {
+            return NORMAL;
+        }
+
+        for (int i = 0; i < MAX_SEGMENT_SCAN; i++) {
+            int marker = in.readUnsignedShort();
+            if ((marker & 0xFF00) != 0xFF00 || marker == 0xFFDA) {
+                // 이미지 데이터 시작 (SOS) 이후에는 EXIF가 없다
+                return NORMAL;
+            }
+            int length = in.readUnsignedShort() - 2;
+            if (length < 0) {
+                return NORMAL;
+            }
+            if (marker != 0xFFE1) {
+                in.skipNBytes(length);
+                continue;
+            }
+
+            byte[] segment = new byte[length];
+            in.readFully(segment);
+            int orientation = parseApp1(segment);
+            if (orientation != 0) {
+                return orientation;
+            }
+        }
+        return NORMAL;
+    }
+
+    private static int parseApp1(byte[] segment) {
+        // "Exif\0\0" + TIFF 헤더
+        if (segment.length < 14 || segment[0] != 'E' || segment[1] != 'x' || segment[2] != 'i' || segment[3] != 'f') {
+            return 0;
+        }
+        ByteBuffer tiff = ByteBuffer.wrap(segment, 6, segment.length - 6).slice();
+        if (tiff.get(0) == 'I' && tiff.get(1) == 'I') {
+            tiff.order(ByteOrder.LITTLE_ENDIAN);
+        } else if (tiff.get(0) == 'M' && tiff.get(1) == 'M') {
+            tiff.order(ByteOrder.BIG_ENDIAN);
+        } else {
+            return 0;
+        }
+
+        int ifdOffset = tiff.getInt(4);
+        if (ifdOffset < 8 || ifdOffset + 2 > tiff.limit()) {
+            return 0;
+        }
+        int entryCount = Short.toUnsignedInt(tiff.getShort(ifdOffset));
+        for (int i = 0; i < entryCount; i++) {
+            int entry = ifdOffset + 2 + i * 12;
+            if (entry + 12 > tiff.limit()) {
+                return 0;
+            }
+            if (Short.toUnsignedInt(tiff.getShort(entry)) == ORIENTATION_TAG) {
+                int value = Short.toUnsignedInt(tiff.getShort(entry + 8));
+                return value >= 1 && value <= 8 ? value : NORMAL;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * 방향 적용 시 가로/세로가 바뀌는지 (90도/270도 계열)
+     */
+    static boolean swapsDimensions(int orientation) {
+        return orientation >= 5 && orientation <= 8;
+    }
+
+    /**
+     * 저장된 픽셀 좌표를 보이는 방향 좌표로 변환하는 행렬
+     *
+     * @param width 원본(저장된) 가로
+     * @param height 원본(저장된) 세로
+     */
+    static AffineTransform transform(int orientation, int width, int height) {
+        return switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, width, 0);       // 좌우 반전
+            case 3 -> new AffineTransform(-1, 0, 0, -1, width, height); // 180도
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, height);      // 상하 반전
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);            // transpose
+            case 6 -> new AffineTransform(0, 1, -1, 0, height, 0);      // 시계 방향 90도
+            case 7 -> new AffineTransform(0, -1, -1, 0, height, width); // transverse
+            case 8 -> new AffineTransform(0, -1, 1, 0, 0, width);       // 반시계 방향 90도
+            default -> new AffineTransform();
+        };
+    }
+}
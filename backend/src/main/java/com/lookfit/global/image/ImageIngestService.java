@@ -0,0 +1,300 @@
+package com.lookfit.global.image;
+
+import com.lookfit.global.common.HashUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.Iterator;
+
+/**
+ * 업로드 이미지 정규화 (가상 피팅 / 리뷰 공용)
+ * - 업로드 스트림을 임시 파일로 흘려 쓰고 (힙에 원본 전체를 올리지 않음)
+ * - EXIF 방향 적용 + 최대 크기로 축소 + JPEG 재인코딩 (EXIF/GPS 메타데이터 제거)
+ * - 임시 파일에 쓴 뒤 원자적 rename으로 최종 경로에 배치
+ *
+ * JDK ImageIO로 디코딩할 수 없는 형식(WebP, HEIC 등)은 원본 그대로 저장한다.
+ */
+@Slf4j
+@Component
+public class ImageIngestService {
+
+    @Value("${image.ingest.jpeg-quality:0.85}")
+    private float jpegQuality;
+
+    /**
+     * 업로드 이미지 정규화 후 저장
+     *
+     * @param file 업로드 파일
+     * @param targetDir 저장 디렉토리 (없으면 생성)
+     * @param baseName 확장자를 제외한 파일명
+     * @param profile 최대 크기 기준
+     */
+    public IngestedImage ingest(MultipartFile file, Path targetDir, String baseName, ImageProfile profile)
+            throws IOException {
+        Files.createDirectories(targetDir);
+        Path upload = Files.createTempFile(targetDir, ".upload-", ".tmp");
+        try {
+            try (InputStream in = file.getInputStream()) {
+                Files.copy(in, upload, StandardCopyOption.REPLACE_EXISTING);
+            }
+            long originalSize = Files.size(upload);
+
+            IngestedImage normalized = normalize(upload, targetDir, baseName, profile, originalSize);
+            if (normalized != null) {
+                log.info("이미지 정규화 완료 - profile: {}, {}x{}, {}KB → {}KB", profile.name(),
+                        normalized.width(), normalized.height(), originalSize / 1024, normalized.storedSize() / 1024);
+                return normalized;
+            }
+            return storeOriginal(upload, targetDir, baseName, originalSize);
+        } finally {
+            Files.deleteIfExists(upload);
+        }
+    }
+
+    /**
+     * 서버에 있는 이미지 파일 정규화 후 저장 (원본은 그대로 둔다)
+     * 같은 baseName으로 다시 저장하면 원자적으로 교체된다
+     *
+     * @param source 원본 파일
+     * @param targetDir 저장 디렉토리 (없으면 생성)
+     * @param baseName 확장자를 제외한 파일명
+     * @param profile 최대 크기 기준
+     */
+    public IngestedImage ingestFile(Path source, Path targetDir, String baseName, ImageProfile profile)
+            throws IOException {
+        Files.createDirectories(targetDir);
+        long originalSize = Files.size(source);
+
+        IngestedImage normalized = normalize(source, targetDir, baseName, profile, originalSize);
+        if (normalized != null) {
+            log.debug("이미지 정규화 완료 - profile: {}, {}x{}, {}KB → {}KB", profile.name(),
+                    normalized.width(), normalized.height(), originalSize / 1024, normalized.storedSize() / 1024);
+            return normalized;
+        }
+
+        Path copy = Files.createTempFile(targetDir, ".upload-", ".tmp");
+        try {
+            Files.copy(source, copy, StandardCopyOption.REPLACE_EXISTING);
+            return storeOriginal(copy, targetDir, baseName, originalSize);
+        } finally {
+            Files.deleteIfExists(copy);
+        }
+    }
+
+    /**
+     * 디코딩 → 방향/크기 보정 → JPEG 인코딩
+     *
+     * @return 디코딩할 수 없는 형식이면 null
+     */
+    private IngestedImage normalize(Path upload, Path targetDir, String baseName, ImageProfile profile,
+                                    long originalSize) throws IOException {
+        int orientation;
+        try (InputStream in = Files.newInputStream(upload)) {
+            orientation = ExifOrientation.read(in);
+        } catch (IOException e) {
+            orientation = ExifOrientation.NORMAL;
+        }
+
+        BufferedImage decoded = decode(upload, orientation, profile);
+        if (decoded == null) {
+            return null;
+        }
+        BufferedImage rendered = render(decoded, orientation, profile);
+
+        String filename = baseName + ".jpg";
+        Path temp = Files.createTempFile(targetDir, ".ingest-", ".tmp");
+        try {
+            MessageDigest digest = HashUtils.newSha256();
+            try (OutputStream out = new DigestOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp)), digest)) {
+                writeJpeg(rendered, out);
+            }
+            Path target = targetDir.resolve(filename);
+            moveAtomically(temp, target);
+            return new IngestedImage(target, filename, HashUtils.toHex(digest.digest()),
+                    rendered.getWidth(), rendered.getHeight(), originalSize, Files.size(target), true);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * 필요한 만큼만 디코딩 (목표 크기의 2배 이상이면 서브샘플링해서 읽는다)
+     */
+    private BufferedImage decode(Path upload, int orientation, ImageProfile profile) {
+        try (ImageInputStream input = ImageIO.createImageInputStream(upload.toFile())) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = subsamplingFactor(width, height, orientation, profile);
+                if (subsampling > 1) {
+                    param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                }
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("이미지 디코딩 실패 - 원본 그대로 저장합니다: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 서브샘플링 배율 - 축소 후 보간 품질을 위해 목표 크기의 2배 이상은 남긴다
+     */
+    static int subsamplingFactor(int width, int height, int orientation, ImageProfile profile) {
+        double scale = scale(width, height, orientation, profile);
+        return Math.max(1, (int) Math.floor(1.0 / (scale * 2)));
+    }
+
+    /**
+     * 방향 적용 + 축소를 한 번의 그리기로 수행 (알파 채널은 흰 배경으로 합성)
+     */
+    static BufferedImage render(BufferedImage source, int orientation, ImageProfile profile) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        boolean swap = ExifOrientation.swapsDimensions(orientation);
+        int orientedWidth = swap ? height : width;
+        int orientedHeight = swap ? width : height;
+
+        double scale = scale(width, height, orientation, profile);
+        int targetWidth = Math.max(1, (int) Math.round(orientedWidth * scale));
+        int targetHeight = Math.max(1, (int) Math.round(orientedHeight * scale));
+
+        AffineTransform transform = AffineTransform.getScaleInstance(
+                (double) targetWidth / orientedWidth, (double) targetHeight / orientedHeight);
+        transform.concatenate(ExifOrientation.transform(orientation, width, height));
+
+        BufferedImage target = new BufferedImage(targetWidth, targetHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, targetWidth, targetHeight);
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, transform, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    /**
+     * 보이는 방향 기준 축소 비율 (확대하지 않음)
+     */
+    private static double scale(int width, int height, int orientation, ImageProfile profile) {
+        boolean swap = ExifOrientation.swapsDimensions(orientation);
+        int orientedWidth = swap ? height : width;
+        int orientedHeight = swap ? width : height;
+        return Math.min(1.0, Math.min(
+                (double) profile.maxWidth() / orientedWidth,
+                (double) profile.maxHeight() / orientedHeight));
+    }
+
+    private void writeJpeg(BufferedImage image, OutputStream out) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    /**
+     * 디코딩할 수 없는 형식 - 실제 형식에 맞는 확장자로 원본 저장
+     */
+    private IngestedImage storeOriginal(Path upload, Path targetDir, String baseName, long originalSize)
+            throws IOException {
+        String filename = baseName + "." + sniffExtension(upload);
+        MessageDigest digest = HashUtils.newSha256();
+        try (InputStream in = new DigestInputStream(Files.newInputStream(upload), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+
+        Path target = targetDir.resolve(filename);
+        moveAtomically(upload, target);
+        log.info("이미지 원본 저장 (정규화 불가 형식) - filename: {}, size: {}KB", filename, originalSize / 1024);
+        return new IngestedImage(target, filename, HashUtils.toHex(digest.digest()),
+                0, 0, originalSize, originalSize, false);
+    }
+
+    /**
+     * 파일 시그니처로 확장자 판별 (업로드 파일명은 신뢰하지 않는다)
+     */
+    public static String sniffExtension(Path file) throws IOException {
+        byte[] header = new byte[12];
+        int read;
+        try (InputStream in = Files.newInputStream(file)) {
+            read = in.readNBytes(header, 0, header.length);
+        }
+        if (read >= 3 && (header[0] & 0xFF) == 0xFF && (header[1] & 0xFF) == 0xD8 && (header[2] & 0xFF) == 0xFF) {
+            return "jpg";
+        }
+        if (read >= 8 && (header[0] & 0xFF) == 0x89 && header[1] == 'P' && header[2] == 'N' && header[3] == 'G') {
+            return "png";
+        }
+        if (read >= 12 && header[0] == 'R' && header[1] == 'I' && header[2] == 'F' && header[3] == 'F'
+                && header[8] == 'W' && header[9] == 'E' && header[10] == 'B' && header[11] == 'P') {
+            return "webp";
+        }
+        if (read >= 6 && header[0] == 'G' && header[1] == 'I' && header[2] == 'F') {
+            return "gif";
+        }
+        if (read >= 12 && header[4] == 'f' && header[5] == 't' && header[6] == 'y' && header[7] == 'p') {
+            return "heic";
+        }
+        // 판별 불가 - 기존 저장 방식과 동일하게 jpg (Content-Type은 업로드 검증에서 확인됨)
+        return "jpg";
+    }
+
+    private static void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
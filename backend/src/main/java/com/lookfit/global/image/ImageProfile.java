@@ -0,0 +1,17 @@
+package com.lookfit.global.image;
+
+/**
+ * 업로드 이미지 정규화 기준 (최대 크기)
+ *
+ * @param name 로그 구분용 이름
+ * @param maxWidth 최대 가로 (px)
+ * @param maxHeight 최대 세로 (px)
+ */
+public record ImageProfile(String name, int maxWidth, int maxHeight) {
+
+    public ImageProfile {
+        if (maxWidth <= 0 || maxHeight <= 0) {
+            throw new IllegalArgumentException("이미지 최대 크기는 0보다 커야 합니다: " + maxWidth + "x" + maxHeight);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.lookfit.global.image;
+
+import java.nio.file.Path;
+
+/**
+ * 정규화 후 저장된 이미지
+ *
+ * @param path 저장 경로
+ * @param filename 저장 파일명 (확장자 포함)
+ * @param contentHash 저장된 파일의 SHA-256 (hex)
+ * @param width 저장된 가로 (원본 유지 시 0)
+ * @param height 저장된 세로 (원본 유지 시 0)
+ * @param originalSize 업로드 원본 크기 (byte)
+ * @param storedSize 저장된 크기 (byte)
+ * @param normalized 디코딩/리사이즈/재인코딩 했으면 true (디코딩 불가 형식은 원본 그대로 저장)
+ */
+public record IngestedImage(
+        Path path,
+        String filename,
+        String contentHash,
+        int width,
+        int height,
+        long originalSize,
+        long storedSize,
+        boolean normalized
+) {
+}
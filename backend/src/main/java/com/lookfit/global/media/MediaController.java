@@ -0,0 +1,46 @@
+package com.lookfit.global.media;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * 미디어 저장소 파일 제공 (인증 없음 - SecurityConfig에서 /media/** 허용)
+ * 기존 /images/**는 WebConfig의 정적 리소스 핸들러가 그대로 제공한다
+ */
+@RestController
+@RequiredArgsConstructor
+public class MediaController {
+
+    private final MediaStore mediaStore;
+    private final MediaFileServer mediaFileServer;
+
+    /**
+     * GET/HEAD /media/{aa}/{bb}/{hash}.{ext}
+     */
+    @GetMapping("/media/{shard1}/{shard2}/{filename:.+}")
+    public void serve(@PathVariable String shard1,
+                      @PathVariable String shard2,
+                      @PathVariable String filename,
+                      HttpServletRequest request,
+                      HttpServletResponse response) throws IOException {
+        String url = MediaStore.URL_PREFIX + shard1 + "/" + shard2 + "/" + filename;
+        Optional<Path> file = mediaStore.resolve(url);
+        if (file.isEmpty()) {
+            response.sendError(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+
+        int dot = filename.lastIndexOf('.');
+        mediaFileServer.serve(request, response, filename.substring(0, dot), file.get(),
+                MediaStore.contentTypeOf(filename.substring(dot + 1)));
+    }
+}
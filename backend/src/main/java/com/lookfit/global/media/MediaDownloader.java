@@ -0,0 +1,108 @@
+package com.lookfit.global.media;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * 외부 생성 제공자(Replicate, Hugging Face Space API)의 결과 이미지를 내려받아 미디어 저장소에 저장
+ * 제공자가 돌려주는 URL(replicate.delivery, Gradio /file=)은 몇 시간 안에 만료되므로,
+ * 피팅 결과/결과 캐시에는 저장소 URL(/media/...)만 남긴다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MediaDownloader {
+
+    private final MediaStore mediaStore;
+
+    @Value("${media.download.connect-timeout:10s}")
+    private Duration connectTimeout;
+
+    @Value("${media.download.timeout:1m}")
+    private Duration timeout;
+
+    @Value("${media.download.max-size:20MB}")
+    private DataSize maxSize;
+
+    private HttpClient httpClient;
+
+    @PostConstruct
+    void init() {
+        httpClient = HttpClient.newBuilder()
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        httpClient.close();
+    }
+
+    /**
+     * 원격 이미지를 내려받아 저장 (이미 저장소 URL이면 그대로)
+     *
+     * @param url 제공자가 돌려준 결과 URL (http/https)
+     * @return 미디어 저장소 URL
+     */
+    public String download(String url) throws IOException, InterruptedException {
+        if (MediaStore.isMediaUrl(url)) {
+            return url;
+        }
+        if (url == null || !(url.startsWith("https://") || url.startsWith("http://"))) {
+            throw new IOException("내려받을 수 없는 결과 URL입니다: " + url);
+        }
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(timeout)
+                .GET()
+                .build();
+        HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+
+        Path temp = Files.createTempFile("lookfit-download-", ".tmp");
+        try {
+            try (InputStream body = response.body()) {
+                if (response.statusCode() != 200) {
+                    throw new IOException("결과 이미지 다운로드 실패 - status: " + response.statusCode() + ", url: " + url);
+                }
+                try (OutputStream out = Files.newOutputStream(temp)) {
+                    copyLimited(body, out, url);
+                }
+            }
+            StoredMedia stored = mediaStore.moveIn(temp, 0, 0);
+            log.info("결과 이미지 저장 - {} → {} ({}KB)", url, stored.url(), stored.sizeBytes() / 1024);
+            return stored.url();
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void copyLimited(InputStream in, OutputStream out, String url) throws IOException {
+        byte[] buffer = new byte[8192];
+        long total = 0;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            total += read;
+            if (total > maxSize.toBytes()) {
+                throw new IOException("결과 이미지가 너무 큽니다 (최대 " + maxSize.toMegabytes() + "MB): " + url);
+            }
+            out.write(buffer, 0, read);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.lookfit.global.media;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 미디어 저장소 파일 응답 (콘텐츠 해시 이름 전용)
+ * - 이름이 곧 내용이므로 ETag는 해시, Cache-Control은 1년 + immutable (브라우저/CDN이 다시 묻지 않는다)
+ * - If-None-Match가 맞으면 파일을 열거나 stat 하지 않고 304
+ * - 단일 Range는 206, 여러 Range는 전체 응답 (RFC 9110에서 허용)
+ * - sendfile-threshold 이상은 Tomcat sendfile로 커널이 소켓에 바로 보내고, 그 외는 FileChannel.transferTo
+ */
+@Slf4j
+@Component
+public class MediaFileServer {
+
+    /**
+     * Tomcat sendfile 요청 속성 (org.apache.tomcat.util.net.Constants / Globals)
+     */
+    static final String SENDFILE_SUPPORTED_ATTR = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    private final String cacheControl;
+    private final long sendfileThreshold;
+    private final Counter fullCounter;
+    private final Counter partialCounter;
+    private final Counter notModifiedCounter;
+    private final Counter sendfileCounter;
+    private final Counter bytesCounter;
+
+    public MediaFileServer(@Value("${media.serve.max-age:365d}") Duration maxAge,
+                           @Value("${media.serve.sendfile-threshold:48KB}") DataSize sendfileThreshold,
+                           MeterRegistry meterRegistry) {
+        this.cacheControl = CacheControl.maxAge(maxAge).cachePublic().immutable().getHeaderValue();
+        this.sendfileThreshold = sendfileThreshold.toBytes();
+        this.fullCounter = requests(meterRegistry, "full");
+        this.partialCounter = requests(meterRegistry, "partial");
+        this.notModifiedCounter = requests(meterRegistry, "not_modified");
+        this.sendfileCounter = Counter.builder("media.serve.sendfile")
+                .description("Tomcat sendfile로 보낸 응답 수")
+                .register(meterRegistry);
+        this.bytesCounter = Counter.builder("media.serve.bytes")
+                .description("미디어 응답 본문 바이트 수")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("media.serve.requests")
+                .description("미디어 파일 응답 수")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param contentHash 파일 내용의 SHA-256 (ETag)
+     * @param file MediaStore가 계산한 경로 (형식 검증이 끝난 경로)
+     */
+    public void serve(HttpServletRequest request, HttpServletResponse response,
+                      String contentHash, Path file, String contentType) throws IOException {
+        String etag = "\"" + contentHash + "\"";
+        if (matchesAny(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            response.setHeader(HttpHeaders.ETAG, etag);
+            response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+            notModifiedCounter.increment();
+            return;
+        }
+
+        long length;
+        try {
+            length = Files.readAttributes(file, BasicFileAttributes.class).size();
+        } catch (NoSuchFileException e) {
+            response.sendError(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        long start = 0;
+        long end = length - 1;
+        boolean partial = false;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && length > 0 && ifRangeMatches(request.getHeader(HttpHeaders.IF_RANGE), etag)) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(range);
+                if (ranges.size() == 1) {
+                    start = ranges.get(0).getRangeStart(length);
+                    end = ranges.get(0).getRangeEnd(length);
+                    partial = true;
+                }
+            } catch (IllegalArgumentException e) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.sendError(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+        }
+
+        long count = end - start + 1;
+        if (partial) {
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            partialCounter.increment();
+        } else {
+            fullCounter.increment();
+        }
+        response.setContentType(contentType);
+        response.setContentLengthLong(count);
+
+        if (HttpMethod.HEAD.matches(request.getMethod()) || count == 0) {
+            return;
+        }
+        bytesCounter.increment(count);
+
+        if (count >= sendfileThreshold && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTR))) {
+            // 본문은 서블릿이 끝난 뒤 Tomcat이 FileChannel.transferTo로 소켓에 직접 보낸다 (사용자 공간 복사 없음)
+            request.setAttribute(SENDFILE_FILENAME_ATTR, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START_ATTR, start);
+            request.setAttribute(SENDFILE_END_ATTR, end + 1);
+            sendfileCounter.increment();
+            return;
+        }
+        transfer(file, start, count, response);
+    }
+
+    private static void transfer(Path file, long start, long count, HttpServletResponse response) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        } catch (IOException e) {
+            if (response.isCommitted()) {
+                // 다운로드 중 연결이 끊긴 경우 - 오류 응답을 쓸 수 없다
+                log.debug("미디어 전송 중단 - file: {}: {}", file.getFileName(), e.getMessage());
+                return;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * If-None-Match: "a", W/"b" 또는 * (약한 비교)
+     */
+    static boolean matchesAny(String header, String etag) {
+        if (header == null) {
+            return false;
+        }
+        for (String candidate : header.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag) || (tag.startsWith("W/") && tag.substring(2).equals(etag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * If-Range가 없거나 현재 ETag와 같을 때만 Range를 적용 (날짜 형식은 강한 검증이 안 되므로 전체 응답)
+     */
+    private static boolean ifRangeMatches(String header, String etag) {
+        return header == null || header.trim().equals(etag);
+    }
+}
@@ -0,0 +1,385 @@
+package com.lookfit.global.media;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 미디어 저장소 GC - 분산 디렉토리를 조금씩 훑으며 참조 없는 파일 삭제
+ * - 65,536개 {aa}/{bb} 디렉토리를 커서로 돌며 한 번에 dirs-per-run개만 본다 (커서는 메모리, 노드마다 임의 위치에서 시작)
+ * - 디렉토리 안 파일은 batch-size개씩 media_object 행을 한 번에 읽어 판단 - 메모리 사용량은 배치 크기로 제한
+ * - 대상: 참조 수 0이 된 지 unreferenced-grace가 지난 파일, 메타데이터 행 없이 orphan-grace 이상 지난 파일
+ * - 지우기 전에 MediaReferenceChecker로 실제로 가리키는 행이 없는지 다시 확인하고, 삭제는 MediaStore.collect가 행 잠금 안에서 한다
+ * - stat/삭제 같은 디스크 작업은 max-io-per-second로 제한 (서비스 중인 파일 제공과 디스크를 나눠 쓴다)
+ * - 커서가 한 바퀴 돌 때마다 중단된 저장이 남긴 staging 임시 파일도 정리
+ *
+ * 스케줄 스레드를 막지 않도록 @Async로 실행하고, 이전 실행이 끝나지 않았으면 건너뛴다.
+ */
+@Slf4j
+@Component
+public class MediaGarbageCollector {
+
+    static final int SHARD_COUNT = 256 * 256;
+    static final String LEGACY_URL_PREFIX = "/images/";
+    private static final List<String> LEGACY_PREFIXES = List.of(
+            "/images/fitting/user/", "/images/fitting/result/", "/images/reviews/");
+    private static final Pattern MEDIA_FILE = Pattern.compile("^([0-9a-f]{64})\\.([a-z0-9]{1,5})$");
+
+    private final MediaStore mediaStore;
+    private final MediaObjectRepository mediaObjectRepository;
+    private final MediaReferenceChecker referenceChecker;
+    private final MeterRegistry meterRegistry;
+    private final Counter scannedCounter;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value("${media.gc.enabled:true}")
+    private boolean enabled;
+
+    @Value("${media.gc.dirs-per-run:256}")
+    private int dirsPerRun;
+
+    @Value("${media.gc.batch-size:200}")
+    private int batchSize;
+
+    @Value("${media.gc.max-io-per-second:200}")
+    private int maxIoPerSecond;
+
+    @Value("${media.gc.orphan-grace:1d}")
+    private Duration orphanGrace;
+
+    @Value("${media.gc.unreferenced-grace:1d}")
+    private Duration unreferencedGrace;
+
+    @Value("${media.gc.max-run-time:5m}")
+    private Duration maxRunTime;
+
+    @Value("${fitting.image.static-dir:src/main/resources/static/images}")
+    private String staticImageDir;
+
+    Clock clock = Clock.systemDefaultZone();
+
+    /**
+     * 다음에 볼 분산 디렉토리 번호 ({aa} * 256 + {bb}) - 실행은 한 번에 하나뿐이라 동기화 불필요
+     */
+    int cursor = ThreadLocalRandom.current().nextInt(SHARD_COUNT);
+
+    private long nextIoAt;
+
+    public MediaGarbageCollector(MediaStore mediaStore,
+                                 MediaObjectRepository mediaObjectRepository,
+                                 MediaReferenceChecker referenceChecker,
+                                 MeterRegistry meterRegistry) {
+        this.mediaStore = mediaStore;
+        this.mediaObjectRepository = mediaObjectRepository;
+        this.referenceChecker = referenceChecker;
+        this.meterRegistry = meterRegistry;
+        this.scannedCounter = Counter.builder("media.gc.scanned")
+                .description("GC가 확인한 미디어 파일 수")
+                .register(meterRegistry);
+    }
+
+    @Async
+    @Scheduled(fixedDelayString = "${media.gc.interval:PT1M}", initialDelayString = "${media.gc.interval:PT1M}")
+    public void collectScheduled() {
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            collect();
+        } catch (RuntimeException e) {
+            log.error("미디어 GC 실패 - cursor: {}", cursor, e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * 커서 위치부터 dirs-per-run개 디렉토리를 처리 (max-run-time을 넘기면 다음 실행에서 이어서)
+     */
+    Result collect() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDateTime orphanBefore = now.minus(orphanGrace);
+        LocalDateTime releasedBefore = now.minus(unreferencedGrace);
+        long deadline = System.nanoTime() + maxRunTime.toNanos();
+        Path root = mediaStore.getRoot();
+        Result result = new Result();
+
+        for (int i = 0; i < dirsPerRun && System.nanoTime() - deadline < 0; i++) {
+            int shard = cursor;
+            Path top = root.resolve(hex(shard >> 8));
+            pace();
+            if (!Files.isDirectory(top)) {
+                // 상위 디렉토리가 없으면 그 아래 256개도 없다
+                advance((shard | 0xff) + 1, orphanBefore, result);
+                continue;
+            }
+            Path dir = top.resolve(hex(shard & 0xff));
+            try {
+                collectDirectory(dir, orphanBefore, releasedBefore, result);
+            } catch (NoSuchFileException e) {
+                // 없는 디렉토리 - 다음으로
+            } catch (IOException e) {
+                log.warn("미디어 GC 디렉토리 처리 실패 - dir: {}: {}", dir, e.getMessage());
+            }
+            advance(shard + 1, orphanBefore, result);
+        }
+
+        if (result.deleted > 0 || result.referenced > 0) {
+            log.info("🧹 미디어 GC - 삭제: {}, 회수: {}KB, 확인: {}, 참조 있음(건너뜀): {}",
+                    result.deleted, result.reclaimedBytes / 1024, result.scanned, result.referenced);
+        }
+        return result;
+    }
+
+    /**
+     * 만료 처리로 연결이 끊긴 이전 정적 경로(/images/fitting/**, /images/reviews/**) 파일 삭제
+     * 이전 파일은 media_object 행이 없어 GC 스캔 대상이 아니므로, 보존 기간 만료 작업이 끊은 URL을 넘겨받아 지운다
+     * 상품 이미지 등 다른 정적 경로는 절대 지우지 않는다
+     *
+     * @return 회수한 바이트
+     */
+    public long collectLegacy(Collection<String> urls) {
+        List<String> legacy = urls.stream()
+                .filter(MediaGarbageCollector::isLegacyUrl)
+                .distinct()
+                .toList();
+        if (legacy.isEmpty()) {
+            return 0;
+        }
+
+        Set<String> referenced = referenceChecker.findReferenced(legacy);
+        Path base = Paths.get(staticImageDir).toAbsolutePath().normalize();
+        long reclaimed = 0;
+        for (String url : legacy) {
+            if (referenced.contains(url)) {
+                skipped("referenced");
+                continue;
+            }
+            Path file = base.resolve(url.substring(LEGACY_URL_PREFIX.length())).normalize();
+            if (!file.startsWith(base)) {
+                continue;
+            }
+            pace();
+            try {
+                long size = Files.size(file);
+                if (Files.deleteIfExists(file)) {
+                    reclaimed(Kind.LEGACY, size);
+                    deleted(Kind.LEGACY);
+                    reclaimed += size;
+                }
+            } catch (NoSuchFileException e) {
+                // 이미 지워진 파일
+            } catch (IOException e) {
+                log.warn("이전 이미지 삭제 실패 - url: {}: {}", url, e.getMessage());
+            }
+        }
+        return reclaimed;
+    }
+
+    static boolean isLegacyUrl(String url) {
+        return url != null && !url.contains("..") && LEGACY_PREFIXES.stream().anyMatch(url::startsWith);
+    }
+
+    /**
+     * 한 디렉토리의 파일을 batch-size개씩 나눠 처리 (파일 목록을 한꺼번에 들고 있지 않는다)
+     */
+    private void collectDirectory(Path dir, LocalDateTime orphanBefore, LocalDateTime releasedBefore, Result result)
+            throws IOException {
+        String shardPrefix = dir.getParent().getFileName().toString() + dir.getFileName();
+        List<MediaFile> batch = new ArrayList<>(batchSize);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+            for (Path file : files) {
+                Matcher matcher = MEDIA_FILE.matcher(file.getFileName().toString());
+                if (!matcher.matches() || !matcher.group(1).startsWith(shardPrefix)) {
+                    continue;
+                }
+                batch.add(new MediaFile(matcher.group(1), matcher.group(2), file));
+                if (batch.size() >= batchSize) {
+                    collectBatch(batch, orphanBefore, releasedBefore, result);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            collectBatch(batch, orphanBefore, releasedBefore, result);
+        }
+    }
+
+    private void collectBatch(List<MediaFile> batch, LocalDateTime orphanBefore, LocalDateTime releasedBefore,
+                              Result result) {
+        result.scanned += batch.size();
+        scannedCounter.increment(batch.size());
+
+        Map<String, MediaObject> rows = new HashMap<>();
+        mediaObjectRepository.findAllById(batch.stream().map(MediaFile::contentHash).toList())
+                .forEach(media -> rows.put(media.getContentHash(), media));
+
+        Map<String, MediaFile> candidates = new HashMap<>();
+        for (MediaFile file : batch) {
+            MediaObject media = rows.get(file.contentHash());
+            boolean collectable = media != null
+                    ? media.isCollectable(releasedBefore)
+                    : isModifiedBefore(file.path(), orphanBefore);
+            if (collectable) {
+                candidates.put(MediaStore.urlOf(file.contentHash(), file.extension()), file);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        // ref_count는 file_resource만 센다 - 결과 캐시 등 URL만 가진 행이 있으면 지우지 않는다
+        Set<String> referenced = referenceChecker.findReferenced(candidates.keySet());
+        for (Map.Entry<String, MediaFile> candidate : candidates.entrySet()) {
+            MediaFile file = candidate.getValue();
+            if (referenced.contains(candidate.getKey())) {
+                result.referenced++;
+                skipped("referenced");
+                continue;
+            }
+            Kind kind = rows.containsKey(file.contentHash()) ? Kind.UNREFERENCED : Kind.ORPHAN;
+            pace();
+            try {
+                long reclaimed = mediaStore.collect(file.contentHash(), file.path(), orphanBefore, releasedBefore);
+                if (reclaimed < 0) {
+                    // 잠금을 잡고 다시 보니 그 사이 참조가 생김
+                    skipped("changed");
+                    continue;
+                }
+                result.deleted++;
+                result.reclaimedBytes += reclaimed;
+                reclaimed(kind, reclaimed);
+                deleted(kind);
+                log.debug("미디어 삭제 - hash: {}, kind: {}, size: {}KB", file.contentHash(), kind.tag, reclaimed / 1024);
+            } catch (IOException | RuntimeException e) {
+                skipped("error");
+                log.warn("미디어 삭제 실패 - hash: {}: {}", file.contentHash(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 커서 이동 - 한 바퀴를 돌면 staging 정리
+     */
+    private void advance(int next, LocalDateTime stagingBefore, Result result) {
+        if (next < SHARD_COUNT) {
+            cursor = next;
+            return;
+        }
+        cursor = 0;
+        try {
+            long reclaimed = mediaStore.collectStaging(stagingBefore);
+            if (reclaimed > 0) {
+                result.reclaimedBytes += reclaimed;
+                reclaimed(Kind.STAGING, reclaimed);
+            }
+        } catch (IOException e) {
+            log.warn("staging 정리 실패: {}", e.getMessage());
+        }
+    }
+
+    private boolean isModifiedBefore(Path file, LocalDateTime before) {
+        pace();
+        try {
+            return Files.getLastModifiedTime(file).toInstant().isBefore(before.atZone(clock.getZone()).toInstant());
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 디스크 작업 속도 제한 - 작업마다 1/max-io-per-second초 간격 (retention 작업의 이전 파일 삭제와 공유)
+     */
+    private void pace() {
+        if (maxIoPerSecond <= 0) {
+            return;
+        }
+        long wait;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long interval = 1_000_000_000L / maxIoPerSecond;
+            wait = nextIoAt - now;
+            nextIoAt = Math.max(nextIoAt, now) + interval;
+        }
+        if (wait > 0) {
+            LockSupport.parkNanos(wait);
+        }
+    }
+
+    private void reclaimed(Kind kind, long bytes) {
+        Counter.builder("media.gc.reclaimed")
+                .description("GC가 회수한 디스크 용량")
+                .baseUnit("bytes")
+                .tag("kind", kind.tag)
+                .register(meterRegistry)
+                .increment(bytes);
+    }
+
+    private void deleted(Kind kind) {
+        Counter.builder("media.gc.deleted")
+                .description("GC가 삭제한 파일 수")
+                .tag("kind", kind.tag)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private void skipped(String reason) {
+        Counter.builder("media.gc.skipped")
+                .description("대상이었지만 지우지 않은 파일 수")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static String hex(int value) {
+        return String.format("%02x", value);
+    }
+
+    private enum Kind {
+        UNREFERENCED("unreferenced"), ORPHAN("orphan"), STAGING("staging"), LEGACY("legacy");
+
+        private final String tag;
+
+        Kind(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private record MediaFile(String contentHash, String extension, Path path) {
+    }
+
+    /**
+     * 한 번의 실행 결과
+     */
+    static class Result {
+        int scanned;
+        int deleted;
+        int referenced;
+        long reclaimedBytes;
+    }
+}
@@ -0,0 +1,63 @@
+package com.lookfit.global.media;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 미디어 저장소 메타데이터 (파일 하나당 한 행, 콘텐츠 해시가 키)
+ * 참조 수는 file_resource 참조 행을 추가/삭제할 때 함께 증감한다 (0이 된 파일은 GC 대상)
+ */
+@Entity
+@Table(name = "media_object",
+        indexes = @Index(name = "idx_media_object_refs", columnList = "ref_count, last_released_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MediaObject {
+
+    @Id
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;  // 저장된 파일의 SHA-256 (파일명)
+
+    @Column(name = "extension", nullable = false, length = 10)
+    private String extension;
+
+    @Column(name = "content_type", length = 50)
+    private String contentType;
+
+    @Column(name = "size_bytes", nullable = false)
+    private long sizeBytes;
+
+    @Column(name = "width")
+    private int width;  // 디코딩할 수 없는 형식이면 0
+
+    @Column(name = "height")
+    private int height;
+
+    @Column(name = "ref_count", nullable = false)
+    @Builder.Default
+    private int refCount = 0;
+
+    @Column(name = "created_at", nullable = false)
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(name = "last_released_at")
+    private LocalDateTime lastReleasedAt;  // 마지막으로 참조가 빠진 시각
+
+    public String getUrl() {
+        return MediaStore.urlOf(contentHash, extension);
+    }
+
+    /**
+     * 참조가 없고 releasedBefore 이전부터 그 상태인지 (한 번도 참조되지 않은 파일은 생성 시각 기준)
+     */
+    public boolean isCollectable(LocalDateTime releasedBefore) {
+        LocalDateTime unreferencedSince = lastReleasedAt != null ? lastReleasedAt : createdAt;
+        return refCount <= 0 && unreferencedSince.isBefore(releasedBefore);
+    }
+}
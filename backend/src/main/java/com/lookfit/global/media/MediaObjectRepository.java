@@ -0,0 +1,66 @@
+package com.lookfit.global.media;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * 미디어 메타데이터 Repository
+ */
+@Repository
+public interface MediaObjectRepository extends JpaRepository<MediaObject, String> {
+
+    /**
+     * 행 잠금 조회 (SELECT ... FOR UPDATE) - 저장(adopt)과 GC 삭제가 같은 해시에서 차례로 실행되게 한다
+     * 저장은 upsert로 행을 만든 뒤에 잠그므로 항상 있는 행의 레코드 잠금만 건다.
+     * GC는 행이 없는 고아 파일에도 이 조회를 쓴다 - 그 키 자리의 갭 잠금으로 GC가 커밋할 때까지 같은 구간의 INSERT가
+     * 기다린다 (GC 트랜잭션은 해시 하나만 잠그고 다른 잠금을 기다리지 않으므로 교착 상태가 되지 않는다)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM MediaObject m WHERE m.contentHash = :contentHash")
+    Optional<MediaObject> findByIdForUpdate(@Param("contentHash") String contentHash);
+
+    /**
+     * 메타데이터 행 추가 - 이미 있으면 참조가 없는 행의 기준 시각(last_released_at)을 지금으로 옮긴다
+     * 저장 직후 retain 전까지 GC가 보존 기간이 지난 예전 해제 시각을 보고 파일을 지우지 않도록 한다
+     *
+     * 잠금 조회보다 먼저 실행한다. 없는 키를 SELECT ... FOR UPDATE하면 갭 잠금이 걸리는데, 갭 잠금끼리는 충돌하지 않고
+     * INSERT만 막으므로, 같은 구간에 서로 다른 해시를 저장하는 두 트랜잭션이 서로의 INSERT를 기다려 교착 상태가 된다.
+     * INSERT의 삽입 의도 잠금끼리는 충돌하지 않고, 중복 키면 그 행에만 배타 잠금을 건다.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO media_object " +
+            "(content_hash, extension, content_type, size_bytes, width, height, ref_count, created_at) " +
+            "VALUES (:contentHash, :extension, :contentType, :sizeBytes, :width, :height, 0, :now) " +
+            "ON DUPLICATE KEY UPDATE last_released_at = " +
+            "CASE WHEN ref_count > 0 THEN last_released_at ELSE :now END", nativeQuery = true)
+    int upsert(@Param("contentHash") String contentHash,
+               @Param("extension") String extension,
+               @Param("contentType") String contentType,
+               @Param("sizeBytes") long sizeBytes,
+               @Param("width") int width,
+               @Param("height") int height,
+               @Param("now") LocalDateTime now);
+
+    /**
+     * 참조 추가
+     */
+    @Modifying
+    @Query("UPDATE MediaObject m SET m.refCount = m.refCount + 1 WHERE m.contentHash = :contentHash")
+    int incrementRefCount(@Param("contentHash") String contentHash);
+
+    /**
+     * 참조 제거 (0 아래로는 내려가지 않음)
+     */
+    @Modifying
+    @Query("UPDATE MediaObject m SET m.refCount = m.refCount - 1, m.lastReleasedAt = :now " +
+            "WHERE m.contentHash = :contentHash AND m.refCount > 0")
+    int decrementRefCount(@Param("contentHash") String contentHash, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,47 @@
+package com.lookfit.global.media;
+
+import com.lookfit.fitting.repository.BodyPhotoRepository;
+import com.lookfit.fitting.repository.FittingResultCacheRepository;
+import com.lookfit.fitting.repository.VirtualFittingRepository;
+import com.lookfit.product.repository.FileResourceRepository;
+import com.lookfit.product.repository.ReviewRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 미디어 GC 교차 확인 - 파일 URL을 실제로 가리키는 행이 있는지 테이블마다 직접 조회
+ * ref_count는 file_resource 참조 행만 세므로, 결과 캐시나 이전 /images 경로처럼 참조 행 없이 URL만 가진 행과
+ * 참조 수가 어긋난 경우(중복 해제 등)를 여기서 걸러낸다. 하나라도 가리키면 지우지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class MediaReferenceChecker {
+
+    private final FileResourceRepository fileResourceRepository;
+    private final VirtualFittingRepository fittingRepository;
+    private final BodyPhotoRepository bodyPhotoRepository;
+    private final ReviewRepository reviewRepository;
+    private final FittingResultCacheRepository resultCacheRepository;
+
+    /**
+     * @param urls 확인할 URL (GC가 한 디렉토리/배치 단위로 넘기므로 IN 목록 크기가 제한된다)
+     * @return 하나 이상의 행이 가리키는 URL
+     */
+    public Set<String> findReferenced(Collection<String> urls) {
+        Set<String> referenced = new HashSet<>();
+        if (urls.isEmpty()) {
+            return referenced;
+        }
+        referenced.addAll(fileResourceRepository.findReferencedUrls(urls));
+        referenced.addAll(fittingRepository.findReferencedUserImageUrls(urls));
+        referenced.addAll(fittingRepository.findReferencedResultImageUrls(urls));
+        referenced.addAll(bodyPhotoRepository.findReferencedUrls(urls));
+        referenced.addAll(reviewRepository.findReferencedUrls(urls));
+        referenced.addAll(resultCacheRepository.findReferencedUrls(urls));
+        return referenced;
+    }
+}
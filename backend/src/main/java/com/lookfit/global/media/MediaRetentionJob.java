@@ -0,0 +1,288 @@
+package com.lookfit.global.media;
+
+import com.lookfit.fitting.domain.BodyPhoto;
+import com.lookfit.fitting.domain.FittingStatus;
+import com.lookfit.fitting.domain.VirtualFitting;
+import com.lookfit.fitting.repository.BodyPhotoRepository;
+import com.lookfit.fitting.repository.VirtualFittingRepository;
+import com.lookfit.product.domain.Review;
+import com.lookfit.product.repository.ReviewRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 미디어 보존 기간 정책 - 만료된 도메인 행의 파일 참조를 끊는다 (파일 삭제는 MediaGarbageCollector)
+ * - 실패/취소 피팅 (failed-fitting): 기록 삭제
+ * - 생성까지 가지 않은 PENDING 피팅 (abandoned-upload): 기록 삭제
+ * - 완료 피팅 결과 (completed-result, 0이면 보관): 기록은 남기고 결과 이미지만 해제
+ * - 마지막 사용 후 오래된 사진 (unused-photo): 진행 중 피팅이 없으면 사진 삭제, 끝난 피팅의 사용자 사진 URL 해제
+ * - 삭제된 리뷰 이미지 (deleted-review): 이미지 해제 (그 전까지는 복구할 수 있도록 보관)
+ *
+ * 참조 해제(release)를 행 변경보다 먼저 한다 - 중간에 실패해도 행이 URL을 가리키고 있으면 GC 교차 확인이 파일을 지키므로,
+ * 실패하면 파일이 남을 뿐 잘못 지워지지 않는다. 예외로 피팅 기록과 사진 삭제는 조회 조건(피팅은 상태와 생성 시각, 사진은
+ * 마지막 사용 시각)을 다시 건 조건부 삭제 후 실제로 지워진 행의 참조만 해제한다 - 조회 후 생성을 요청한 PENDING 피팅이나
+ * 그 사이 피팅에 쓰인 사진이 참조를 잃지 않도록 (해제가 실패하면 참조가 남아 파일이 지워지지 않을 뿐이다). 스캔은 모두 키셋 배치이고, 행을 지우지 않는 단계는 이미 처리한 구간을 메모리 워터마크로 건너뛴다.
+ */
+@Slf4j
+@Component
+public class MediaRetentionJob {
+
+    private static final LocalDateTime KEYSET_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final List<FittingStatus> ACTIVE_STATUSES = List.of(FittingStatus.PENDING, FittingStatus.PROCESSING);
+    private static final List<FittingStatus> TERMINAL_STATUSES =
+            List.of(FittingStatus.COMPLETED, FittingStatus.FAILED, FittingStatus.CANCELLED);
+
+    private final VirtualFittingRepository fittingRepository;
+    private final BodyPhotoRepository bodyPhotoRepository;
+    private final ReviewRepository reviewRepository;
+    private final MediaStore mediaStore;
+    private final MediaGarbageCollector garbageCollector;
+    private final MeterRegistry meterRegistry;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value("${media.retention.enabled:true}")
+    private boolean enabled;
+
+    @Value("${media.retention.failed-fitting:7d}")
+    private Duration failedFitting;
+
+    @Value("${media.retention.abandoned-upload:3d}")
+    private Duration abandonedUpload;
+
+    @Value("${media.retention.completed-result:0}")
+    private Duration completedResult;
+
+    @Value("${media.retention.unused-photo:90d}")
+    private Duration unusedPhoto;
+
+    @Value("${media.retention.deleted-review:30d}")
+    private Duration deletedReview;
+
+    @Value("${media.retention.batch-size:100}")
+    private int batchSize;
+
+    Clock clock = Clock.systemDefaultZone();
+
+    /**
+     * 이 시각 이전은 이미 처리함 (재시작하면 처음부터 한 번 다시 훑는다)
+     */
+    private LocalDateTime completedWatermark = KEYSET_START;
+    private LocalDateTime reviewWatermark = KEYSET_START;
+
+    public MediaRetentionJob(VirtualFittingRepository fittingRepository,
+                             BodyPhotoRepository bodyPhotoRepository,
+                             ReviewRepository reviewRepository,
+                             MediaStore mediaStore,
+                             MediaGarbageCollector garbageCollector,
+                             MeterRegistry meterRegistry) {
+        this.fittingRepository = fittingRepository;
+        this.bodyPhotoRepository = bodyPhotoRepository;
+        this.reviewRepository = reviewRepository;
+        this.mediaStore = mediaStore;
+        this.garbageCollector = garbageCollector;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Async
+    @Scheduled(fixedDelayString = "${media.retention.interval:PT1H}",
+            initialDelayString = "${media.retention.interval:PT1H}")
+    public void expireScheduled() {
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            expire();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * 정책별로 만료된 행을 처리 (한 단계가 실패해도 나머지는 계속)
+     */
+    Result expire() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        Result result = new Result();
+        List<String> legacyUrls = new ArrayList<>();
+
+        run("failed_fitting", () -> {
+            result.fittings += deleteFittings(FittingStatus.FAILED, now.minus(failedFitting), legacyUrls);
+            result.fittings += deleteFittings(FittingStatus.CANCELLED, now.minus(failedFitting), legacyUrls);
+        });
+        run("abandoned_upload", () ->
+                result.fittings += deleteFittings(FittingStatus.PENDING, now.minus(abandonedUpload), legacyUrls));
+        if (!completedResult.isZero()) {
+            run("completed_result", () ->
+                    result.results += clearResults(now.minus(completedResult), legacyUrls));
+        }
+        run("unused_photo", () -> result.photos += deletePhotos(now.minus(unusedPhoto)));
+        run("deleted_review", () -> result.reviews += clearReviews(now.minus(deletedReview), legacyUrls));
+
+        run("legacy", () -> result.legacyBytes = garbageCollector.collectLegacy(legacyUrls));
+        if (result.fittings + result.results + result.photos + result.reviews > 0) {
+            log.info("🧹 미디어 보존 기간 만료 - 피팅 삭제: {}, 결과 해제: {}, 사진 삭제: {}, 리뷰 이미지 해제: {}, 이전 파일 회수: {}KB",
+                    result.fittings, result.results, result.photos, result.reviews, result.legacyBytes / 1024);
+        }
+        return result;
+    }
+
+    private int deleteFittings(FittingStatus status, LocalDateTime cutoff, List<String> legacyUrls) {
+        LocalDateTime afterCreatedAt = KEYSET_START;
+        String afterId = "";
+        int deleted = 0;
+        while (true) {
+            List<VirtualFitting> batch = fittingRepository.findStaleBatch(status, cutoff, afterCreatedAt, afterId,
+                    PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+            List<String> ids = batch.stream().map(VirtualFitting::getFittingId).toList();
+            int removed = fittingRepository.deleteStale(ids, status, cutoff);
+            Set<String> remaining = removed == ids.size() ? Set.of() : Set.copyOf(fittingRepository.findExistingIds(ids));
+            for (VirtualFitting fitting : batch) {
+                if (remaining.contains(fitting.getFittingId())) {
+                    // 조회 후 상태가 바뀐 피팅 - 기록과 참조를 그대로 둔다
+                    continue;
+                }
+                mediaStore.release(VirtualFitting.MEDIA_OWNER, fitting.getFittingId());
+                legacyUrls.add(fitting.getUserImageUrl());
+                legacyUrls.add(fitting.getResultImageUrl());
+            }
+            deleted += removed;
+            expired(status == FittingStatus.PENDING ? "abandoned_upload" : "failed_fitting", removed);
+            if (batch.size() < batchSize) {
+                break;
+            }
+            VirtualFitting last = batch.get(batch.size() - 1);
+            afterCreatedAt = last.getCreatedAt();
+            afterId = last.getFittingId();
+        }
+        return deleted;
+    }
+
+    private int clearResults(LocalDateTime cutoff, List<String> legacyUrls) {
+        LocalDateTime afterCreatedAt = completedWatermark;
+        String afterId = "";
+        int cleared = 0;
+        while (true) {
+            List<VirtualFitting> batch = fittingRepository.findExpiredResultBatch(cutoff, afterCreatedAt, afterId,
+                    PageRequest.of(0, batchSize));
+            for (VirtualFitting fitting : batch) {
+                mediaStore.release(VirtualFitting.MEDIA_OWNER, fitting.getFittingId());
+                if (fittingRepository.clearResultImage(fitting.getFittingId()) > 0) {
+                    legacyUrls.add(fitting.getResultImageUrl());
+                    cleared++;
+                }
+            }
+            expired("completed_result", batch.size());
+            if (batch.size() < batchSize) {
+                break;
+            }
+            VirtualFitting last = batch.get(batch.size() - 1);
+            afterCreatedAt = last.getCreatedAt();
+            afterId = last.getFittingId();
+        }
+        completedWatermark = cutoff;
+        return cleared;
+    }
+
+    private int deletePhotos(LocalDateTime cutoff) {
+        LocalDateTime afterUsedAt = KEYSET_START;
+        String afterId = "";
+        int deleted = 0;
+        while (true) {
+            List<BodyPhoto> batch = bodyPhotoRepository.findUnusedBatch(cutoff, afterUsedAt, afterId,
+                    PageRequest.of(0, batchSize));
+            for (BodyPhoto photo : batch) {
+                if (fittingRepository.existsByBodyPhotoIdAndStatusIn(photo.getPhotoId(), ACTIVE_STATUSES)) {
+                    continue;
+                }
+                if (bodyPhotoRepository.deleteUnused(photo.getPhotoId(), cutoff) == 0) {
+                    // 조회 후 피팅에 쓰인 사진 - 사진과 참조를 그대로 둔다
+                    continue;
+                }
+                mediaStore.release(BodyPhoto.MEDIA_OWNER, photo.getPhotoId());
+                fittingRepository.clearUserImage(photo.getPhotoId(), TERMINAL_STATUSES);
+                deleted++;
+                expired("unused_photo", 1);
+            }
+            if (batch.size() < batchSize) {
+                break;
+            }
+            BodyPhoto last = batch.get(batch.size() - 1);
+            afterUsedAt = last.getLastUsedAt();
+            afterId = last.getPhotoId();
+        }
+        return deleted;
+    }
+
+    private int clearReviews(LocalDateTime cutoff, List<String> legacyUrls) {
+        LocalDateTime afterDeletedAt = reviewWatermark;
+        Long afterId = 0L;
+        int cleared = 0;
+        while (true) {
+            List<Review> batch = reviewRepository.findExpiredDeletedBatch(cutoff, afterDeletedAt, afterId,
+                    PageRequest.of(0, batchSize));
+            for (Review review : batch) {
+                mediaStore.release(Review.MEDIA_OWNER, String.valueOf(review.getReviewId()));
+                if (reviewRepository.clearImage(review.getReviewId()) > 0) {
+                    legacyUrls.add(review.getImageUrl());
+                    cleared++;
+                }
+            }
+            expired("deleted_review", batch.size());
+            if (batch.size() < batchSize) {
+                break;
+            }
+            Review last = batch.get(batch.size() - 1);
+            afterDeletedAt = last.getDeletedAt();
+            afterId = last.getReviewId();
+        }
+        reviewWatermark = cutoff;
+        return cleared;
+    }
+
+    private void run(String kind, Runnable step) {
+        try {
+            step.run();
+        } catch (RuntimeException e) {
+            log.error("미디어 보존 기간 처리 실패 - kind: {}", kind, e);
+        }
+    }
+
+    private void expired(String kind, int count) {
+        if (count == 0) {
+            return;
+        }
+        Counter.builder("media.retention.expired")
+                .description("보존 기간이 지나 파일 참조를 해제한 행 수")
+                .tag("kind", kind)
+                .register(meterRegistry)
+                .increment(count);
+    }
+
+    /**
+     * 한 번의 실행 결과
+     */
+    static class Result {
+        int fittings;
+        int results;
+        int photos;
+        int reviews;
+        long legacyBytes;
+    }
+}
@@ -0,0 +1,332 @@
+package com.lookfit.global.media;
+
+import com.lookfit.global.common.HashUtils;
+import com.lookfit.global.image.ImageIngestService;
+import com.lookfit.global.image.ImageProfile;
+import com.lookfit.global.image.IngestedImage;
+import com.lookfit.product.domain.FileResource;
+import com.lookfit.product.repository.FileResourceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 콘텐츠 주소 기반 로컬 미디어 저장소 (피팅 사진/결과, 리뷰 이미지 공용)
+ * - 파일명은 내용의 SHA-256 - 같은 바이트는 누가 몇 번 올려도 한 번만 저장된다
+ * - {root}/{hash[0:2]}/{hash[2:4]}/{hash}.{ext} 2단계 분산 (65,536개 디렉토리) - 수백만 파일에서도 디렉토리당 수십 개,
+ *   URL에서 경로를 바로 계산하므로 조회는 디렉토리 크기와 무관
+ * - 저장소 안 staging 디렉토리에 쓰고 해시를 구한 뒤 최종 경로로 원자적 rename (읽는 쪽은 완성된 파일만 본다)
+ * - 파일마다 media_object 메타데이터 행, 누가 쓰는지는 file_resource 참조 행으로 기록하고 ref_count에 반영
+ * - 배치(adopt)와 GC 삭제(collect)는 media_object 행 잠금 안에서 파일을 확인하므로, 같은 내용의 업로드가
+ *   삭제 중인 파일을 중복으로 보고 버리는 일이 없다. 배치는 행을 먼저 upsert하고 잠근다 (없는 행 잠금의 갭 잠금 교착 회피)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MediaStore {
+
+    public static final String URL_PREFIX = "/media/";
+
+    private static final String STAGING_DIR = ".staging";
+    private static final Pattern MEDIA_URL = Pattern.compile(
+            "^/media/([0-9a-f]{2})/([0-9a-f]{2})/([0-9a-f]{64})\\.([a-z0-9]{1,5})$");
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "jpg", "image/jpeg",
+            "png", "image/png",
+            "webp", "image/webp",
+            "gif", "image/gif",
+            "heic", "image/heic");
+
+    private final ImageIngestService imageIngestService;
+    private final MediaObjectRepository mediaObjectRepository;
+    private final FileResourceRepository fileResourceRepository;
+
+    @Value("${media.store.root-dir:data/media}")
+    private String rootDir;
+
+    Clock clock = Clock.systemDefaultZone();
+
+    /**
+     * 업로드 이미지 정규화 후 저장 (EXIF 방향 보정 + 최대 크기 축소 + 재인코딩은 ImageIngestService)
+     */
+    @Transactional
+    public StoredMedia ingest(MultipartFile file, ImageProfile profile) throws IOException {
+        IngestedImage image = imageIngestService.ingest(file, stagingDir(), UUID.randomUUID().toString(), profile);
+        try {
+            return adopt(image.path(), image.contentHash(), extensionOf(image.filename()), image.width(), image.height());
+        } finally {
+            Files.deleteIfExists(image.path());
+        }
+    }
+
+    /**
+     * 서버에 있는 파일을 복사해 저장 (원본은 그대로 - 외부 도구가 만든 임시 결과 등)
+     */
+    @Transactional
+    public StoredMedia importFile(Path source) throws IOException {
+        Path staged = Files.createTempFile(stagingDir(), ".import-", ".tmp");
+        try {
+            MessageDigest digest = HashUtils.newSha256();
+            try (InputStream in = new DigestInputStream(Files.newInputStream(source), digest)) {
+                Files.copy(in, staged, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return adopt(staged, HashUtils.toHex(digest.digest()), ImageIngestService.sniffExtension(staged), 0, 0);
+        } finally {
+            Files.deleteIfExists(staged);
+        }
+    }
+
+    /**
+     * 이 노드에서 만든 임시 파일을 옮겨 저장 (원본은 사라진다)
+     */
+    @Transactional
+    public StoredMedia moveIn(Path file, int width, int height) throws IOException {
+        Path staged = Files.createTempFile(stagingDir(), ".move-", ".tmp");
+        try {
+            Files.move(file, staged, StandardCopyOption.REPLACE_EXISTING);
+            MessageDigest digest = HashUtils.newSha256();
+            try (InputStream in = new DigestInputStream(Files.newInputStream(staged), digest)) {
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+            return adopt(staged, HashUtils.toHex(digest.digest()), ImageIngestService.sniffExtension(staged),
+                    width, height);
+        } finally {
+            Files.deleteIfExists(staged);
+        }
+    }
+
+    /**
+     * 도메인 행이 파일을 쓴다고 기록 (같은 도메인 행 + 같은 URL이면 한 번만, 미디어 저장소 URL이 아니면 무시)
+     *
+     * @param domainType 도메인 구분 (예: body_photo, fitting_result, review)
+     * @param domainId 도메인 행 ID
+     */
+    @Transactional
+    public void retain(String url, String domainType, String domainId) {
+        Optional<MediaKey> key = parse(url);
+        if (key.isEmpty() || fileResourceRepository.existsByDomainTypeAndDomainIdAndS3Url(domainType, domainId, url)) {
+            return;
+        }
+
+        MediaObject media = mediaObjectRepository.findById(key.get().contentHash()).orElse(null);
+        fileResourceRepository.save(FileResource.builder()
+                .fileId(newFileId())
+                .domainType(domainType)
+                .domainId(domainId)
+                .s3Url(url)
+                .contentType(contentTypeOf(key.get().extension()))
+                .fileSize(media == null ? null : media.getSizeBytes())
+                .createdAt(LocalDateTime.now(clock))
+                .build());
+        if (mediaObjectRepository.incrementRefCount(key.get().contentHash()) == 0) {
+            log.warn("메타데이터 없는 미디어 참조 - url: {}, domain: {}/{}", url, domainType, domainId);
+        }
+    }
+
+    /**
+     * 도메인 행의 파일 참조를 모두 제거 (참조가 0이 된 파일은 GC가 보존 기간 후 지운다)
+     */
+    @Transactional
+    public void release(String domainType, String domainId) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        for (FileResource reference : fileResourceRepository.findByDomainTypeAndDomainId(domainType, domainId)) {
+            parse(reference.getS3Url()).ifPresent(key ->
+                    mediaObjectRepository.decrementRefCount(key.contentHash(), now));
+            fileResourceRepository.delete(reference);
+        }
+    }
+
+    /**
+     * 미디어 저장소 URL → 파일 경로 (URL 형식만 확인, 파일 존재 여부는 확인하지 않음)
+     *
+     * @return 미디어 저장소 URL이 아니면 empty
+     */
+    public Optional<Path> resolve(String url) {
+        return parse(url).map(key -> pathOf(key.contentHash(), key.extension()));
+    }
+
+    public static boolean isMediaUrl(String url) {
+        return parse(url).isPresent();
+    }
+
+    public static String urlOf(String contentHash, String extension) {
+        return URL_PREFIX + contentHash.substring(0, 2) + "/" + contentHash.substring(2, 4) + "/"
+                + contentHash + "." + extension;
+    }
+
+    public static String contentTypeOf(String extension) {
+        return CONTENT_TYPES.getOrDefault(extension, "application/octet-stream");
+    }
+
+    public Path getRoot() {
+        return Paths.get(rootDir).toAbsolutePath();
+    }
+
+    /**
+     * staging 파일을 해시 경로에 배치 - 같은 내용이 이미 있으면 새 파일은 버린다
+     * 동시에 같은 내용을 배치해도 rename은 원자적이고 내용이 같으므로 읽는 쪽에는 차이가 없다
+     */
+    private StoredMedia adopt(Path staged, String contentHash, String extension, int width, int height)
+            throws IOException {
+        long size = Files.size(staged);
+        // 행을 먼저 만들거나(이미 있으면 GC 기준 시각 갱신) 그 행을 잠근다 - GC가 같은 해시를 지우는 중이면
+        // 커밋할 때까지 기다리므로, 잠근 뒤에 보는 파일은 GC가 지우지 않는다
+        mediaObjectRepository.upsert(contentHash, extension, contentTypeOf(extension), size, width, height,
+                LocalDateTime.now(clock));
+        MediaObject media = mediaObjectRepository.findByIdForUpdate(contentHash)
+                .orElseThrow(() -> new IllegalStateException("미디어 메타데이터 저장 실패 - hash: " + contentHash));
+        Path target = pathOf(contentHash, extension);
+        boolean duplicate = Files.exists(target) || !place(staged, target);
+
+        if (duplicate) {
+            log.debug("이미 저장된 미디어 - hash: {}", contentHash);
+        } else {
+            log.debug("미디어 저장 - hash: {}, size: {}KB", contentHash, size / 1024);
+        }
+        return new StoredMedia(contentHash, media.getUrl(), target, size, media.getWidth(), media.getHeight(),
+                duplicate);
+    }
+
+    /**
+     * GC - 참조 없는 파일과 메타데이터 삭제 (행 잠금 안에서 조건을 다시 확인)
+     * 참조 교차 확인(다른 테이블)은 호출하는 쪽에서 먼저 한다 - 새 참조는 모두 retain으로 이 행의 ref_count를 올리므로
+     * 여기서 ref_count만 다시 보면 된다
+     *
+     * @param orphanBefore 메타데이터 행이 없는 파일은 이 시각 이전에 수정된 것만
+     * @param releasedBefore 행이 있으면 이 시각 이전부터 참조가 없던 것만
+     * @return 회수한 바이트 (지우지 않았으면 -1)
+     */
+    @Transactional
+    public long collect(String contentHash, Path file, LocalDateTime orphanBefore, LocalDateTime releasedBefore)
+            throws IOException {
+        Optional<MediaObject> media = mediaObjectRepository.findByIdForUpdate(contentHash);
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            media.filter(found -> found.isCollectable(releasedBefore)).ifPresent(mediaObjectRepository::delete);
+            return -1;
+        }
+
+        boolean collectable = media.isPresent()
+                ? media.get().isCollectable(releasedBefore)
+                : isModifiedBefore(attributes, orphanBefore);
+        if (!collectable) {
+            return -1;
+        }
+        Files.deleteIfExists(file);
+        media.ifPresent(mediaObjectRepository::delete);
+        return attributes.size();
+    }
+
+    /**
+     * 중단된 저장이 남긴 staging 임시 파일 삭제
+     *
+     * @return 회수한 바이트
+     */
+    public long collectStaging(LocalDateTime before) throws IOException {
+        Path staging = getRoot().resolve(STAGING_DIR);
+        if (!Files.isDirectory(staging)) {
+            return 0;
+        }
+        long reclaimed = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(staging)) {
+            for (Path file : files) {
+                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                if (attributes.isRegularFile() && isModifiedBefore(attributes, before) && Files.deleteIfExists(file)) {
+                    reclaimed += attributes.size();
+                }
+            }
+        }
+        return reclaimed;
+    }
+
+    private Path pathOf(String contentHash, String extension) {
+        return getRoot().resolve(contentHash.substring(0, 2))
+                .resolve(contentHash.substring(2, 4))
+                .resolve(contentHash + "." + extension);
+    }
+
+    /**
+     * @return false면 그 사이 다른 요청이 같은 내용을 먼저 배치함
+     */
+    private static boolean place(Path staged, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        try {
+            moveAtomically(staged, target);
+            return true;
+        } catch (FileAlreadyExistsException e) {
+            return false;
+        }
+    }
+
+    private boolean isModifiedBefore(BasicFileAttributes attributes, LocalDateTime before) {
+        return attributes.lastModifiedTime().toInstant().isBefore(before.atZone(clock.getZone()).toInstant());
+    }
+
+    private Path stagingDir() throws IOException {
+        return Files.createDirectories(getRoot().resolve(STAGING_DIR));
+    }
+
+    private static Optional<MediaKey> parse(String url) {
+        if (url == null || !url.startsWith(URL_PREFIX)) {
+            return Optional.empty();
+        }
+        Matcher matcher = MEDIA_URL.matcher(url);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        String contentHash = matcher.group(3);
+        if (!contentHash.startsWith(matcher.group(1) + matcher.group(2))) {
+            return Optional.empty();
+        }
+        return Optional.of(new MediaKey(contentHash, matcher.group(4)));
+    }
+
+    private static String extensionOf(String filename) {
+        return filename.substring(filename.lastIndexOf('.') + 1).toLowerCase();
+    }
+
+    /**
+     * file_resource.file_id (30자)
+     */
+    private static String newFileId() {
+        return "M" + UUID.randomUUID().toString().replace("-", "").substring(0, 29);
+    }
+
+    private static void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private record MediaKey(String contentHash, String extension) {
+    }
+}
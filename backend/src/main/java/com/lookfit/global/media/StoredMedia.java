@@ -0,0 +1,25 @@
+package com.lookfit.global.media;
+
+import java.nio.file.Path;
+
+/**
+ * 미디어 저장소에 저장된 파일
+ *
+ * @param contentHash 파일 내용의 SHA-256 (hex)
+ * @param url 공개 URL (/media/{aa}/{bb}/{hash}.{ext})
+ * @param path 저장 경로
+ * @param sizeBytes 파일 크기 (byte)
+ * @param width 가로 (디코딩할 수 없는 형식이거나 알 수 없으면 0)
+ * @param height 세로
+ * @param duplicate 같은 내용의 파일이 이미 있어 새로 쓰지 않았으면 true
+ */
+public record StoredMedia(
+        String contentHash,
+        String url,
+        Path path,
+        long sizeBytes,
+        int width,
+        int height,
+        boolean duplicate
+) {
+}
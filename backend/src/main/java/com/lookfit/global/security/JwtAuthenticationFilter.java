@@ -13,10 +13,14 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.regex.Pattern;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    // EventSource(SSE)가 쿼리 파라미터로 스트림 토큰을 보낼 수 있는 경로 (피팅 / 묶음 피팅 상태 스트림)
+    private static final Pattern STREAM_PATH = Pattern.compile("^/api/v1/fitting/(batch/)?[^/]+/events$");
+
     private final JwtTokenProvider jwtTokenProvider;
 
     public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider) {
@@ -30,6 +34,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String token = resolveToken(request);
         String requestUri = request.getRequestURI();
+        boolean streamToken = false;
+        if (token == null) {
+            token = resolveStreamToken(request);
+            streamToken = token != null;
+        }
 
         if (logger.isDebugEnabled()) {
             logger.debug("🔍 JWT Filter - URI: " + requestUri + ", Token exists: " + (token != null));
@@ -37,7 +46,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         if (StringUtils.hasText(token)) {
             // 테스트용 고정 토큰 체크
-            if ("test_token_fitting".equals(token)) {
+            if (!streamToken && "test_token_fitting".equals(token)) {
                 logger.warn("⚠️ 테스트용 고정 토큰 사용 - memberId: google_11510");
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(
@@ -47,9 +56,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                         );
                 SecurityContextHolder.getContext().setAuthentication(authentication);
             }
-            // 실제 JWT 토큰 검증
+            // 실제 JWT 토큰 검증 (스트림 토큰은 스트림 경로의 쿼리 파라미터로만, 액세스 토큰은 헤더로만)
             else {
-                boolean isValid = jwtTokenProvider.validateToken(token);
+                boolean isValid = jwtTokenProvider.validateToken(token)
+                        && jwtTokenProvider.isStreamToken(token) == streamToken;
 
                 if (isValid) {
                     String memberId = jwtTokenProvider.getMemberId(token);
@@ -86,4 +96,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         return null;
     }
+
+    // EventSource(SSE)는 헤더를 지정할 수 없으므로 피팅 상태 스트림 경로에 한해 쿼리 파라미터 허용
+    // (URL에 남으므로 액세스 토큰이 아닌 단기 스트림 토큰만 받는다 - POST /api/v1/fitting/stream-token)
+    private String resolveStreamToken(HttpServletRequest request) {
+        if (!STREAM_PATH.matcher(request.getRequestURI()).matches()) {
+            return null;
+        }
+        String accessToken = request.getParameter("access_token");
+        return StringUtils.hasText(accessToken) ? accessToken : null;
+    }
 }
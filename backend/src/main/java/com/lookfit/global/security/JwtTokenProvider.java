@@ -2,6 +2,7 @@ package com.lookfit.global.security;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.time.Duration;
 import java.util.Date;
 
 import org.springframework.beans.factory.annotation.Value;
@@ -22,6 +23,13 @@ public class JwtTokenProvider {
     private  String secretKey;
     private final long tokenValidTime = 30 * 60 * 1000L; // 30분
 
+    private static final String PURPOSE_CLAIM = "purpose";
+    private static final String STREAM_PURPOSE = "fitting_stream";
+
+    // SSE 스트림 연결 토큰 유효 시간 (연결할 때만 검사하므로 짧게)
+    @Value("${fitting.stream.token-ttl:60s}")
+    private Duration streamTokenValidTime;
+
     private Key key;
 
     @PostConstruct
@@ -42,6 +50,35 @@ public class JwtTokenProvider {
                 .compact();                         // 생성
     }
 
+    // SSE 스트림 전용 토큰 생성
+    // EventSource는 헤더를 지정할 수 없어 토큰이 URL(접근 로그, 브라우저 기록)에 남으므로
+    // 액세스 토큰 대신 스트림 연결에만 쓸 수 있는 짧은 토큰을 쓴다
+    public String createStreamToken(String memberId) {
+        Date now = new Date();
+        return Jwts.builder()
+                .setSubject(memberId)
+                .claim("role", "USER")
+                .claim(PURPOSE_CLAIM, STREAM_PURPOSE)
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + streamTokenValidTime.toMillis()))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    public Duration getStreamTokenValidTime() {
+        return streamTokenValidTime;
+    }
+
+    // SSE 스트림 전용 토큰인지 (스트림 경로 밖에서는 인증에 쓰지 않는다)
+    public boolean isStreamToken(String token) {
+        try {
+            return STREAM_PURPOSE.equals(Jwts.parser().setSigningKey(key).build()
+                    .parseClaimsJws(token).getBody().get(PURPOSE_CLAIM, String.class));
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
     // 토큰에서 memberId 추출
     public String getMemberId(String token) {
         return Jwts.parser().setSigningKey(key).build()
@@ -6,6 +6,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
@@ -21,4 +22,9 @@ public interface OrderRepository extends JpaRepository<Buy, Integer> {
      * 주문번호와 회원ID로 주문 조회 (본인 주문 검증용)
      */
     Optional<Buy> findByOrdernoAndMemberid(Integer orderno, String memberid);
+
+    /**
+     * 기간 내 주문 여부 (피팅 작업 우선순위 등급 판정용)
+     */
+    boolean existsByMemberidAndOrderdateAfter(String memberid, LocalDateTime since);
 }
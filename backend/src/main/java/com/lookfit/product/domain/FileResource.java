@@ -4,8 +4,15 @@ import jakarta.persistence.*;
 import lombok.*;
 import java.time.LocalDateTime;
 
+/**
+ * 파일 참조 (도메인 행이 쓰는 파일)
+ * 상품 이미지(외부 URL)와 미디어 저장소 파일(/media/...)의 참조를 함께 기록한다 - 미디어 파일은 참조 행 수만큼 media_object.ref_count
+ */
 @Entity
-@Table(name = "file_resource")
+@Table(name = "file_resource", indexes = {
+        @Index(name = "idx_file_resource_domain", columnList = "domain_type, domain_id"),
+        @Index(name = "idx_file_resource_url", columnList = "s3_url")
+})
 @Getter
 @Setter
 @Builder
@@ -20,14 +27,14 @@ public class FileResource {
     @Column(name = "domain_type", length = 20, nullable = false)
     private String domainType; // 도메인구분
 
-    @Column(name = "domain_id", length = 30, nullable = false)
-    private String domainId; // 도메인_id
+    @Column(name = "domain_id", length = 36, nullable = false)
+    private String domainId; // 도메인_id (피팅/사진 UUID까지)
 
     @Column(name = "original_name", length = 255)
     private String originalName;
 
     @Column(name = "s3_url", length = 500, nullable = false)
-    private String s3Url;
+    private String s3Url;  // 파일 URL (외부 URL 또는 /media/...)
 
     @Column(name = "content_type", length = 50)
     private String contentType;
@@ -5,7 +5,10 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "review")
+@Table(name = "review", indexes = {
+        @Index(name = "idx_review_deleted", columnList = "deleted_at, review_id"),  // 삭제 리뷰 이미지 보존 기간 만료 키셋 스캔
+        @Index(name = "idx_review_image", columnList = "image_url")  // 미디어 GC 교차 확인
+})
 @Getter
 @Setter
 @Builder
@@ -13,6 +16,11 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class Review {
 
+    /**
+     * 리뷰 이미지의 미디어 저장소 참조 도메인 구분 (file_resource.domain_type)
+     */
+    public static final String MEDIA_OWNER = "review";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "review_id")
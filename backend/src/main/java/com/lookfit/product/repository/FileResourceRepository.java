@@ -0,0 +1,27 @@
+package com.lookfit.product.repository;
+
+import com.lookfit.product.domain.FileResource;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 파일 참조 Repository (도메인 행 → 파일 URL)
+ */
+@Repository
+public interface FileResourceRepository extends JpaRepository<FileResource, String> {
+
+    boolean existsByDomainTypeAndDomainIdAndS3Url(String domainType, String domainId, String s3Url);
+
+    List<FileResource> findByDomainTypeAndDomainId(String domainType, String domainId);
+
+    /**
+     * 주어진 URL 중 참조 행이 있는 URL (미디어 GC 교차 확인)
+     */
+    @Query("SELECT DISTINCT f.s3Url FROM FileResource f WHERE f.s3Url IN :urls")
+    List<String> findReferencedUrls(@Param("urls") Collection<String> urls);
+}
@@ -4,9 +4,15 @@ import com.lookfit.product.domain.Review;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
@@ -32,4 +38,33 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
      * 특정 사용자가 특정 상품에 대해 이미 리뷰를 작성했는지 확인
      */
     boolean existsByProductIdAndMemberIdAndDeletedAtIsNull(String productId, String memberId);
+
+    /**
+     * cutoff 이전에 삭제됐는데 이미지가 남아 있는 리뷰를 키셋으로 조회 (deletedAt, reviewId 순 - 보존 기간 만료)
+     *
+     * @param afterDeletedAt 이전 배치의 마지막 deletedAt
+     * @param afterId 이전 배치의 마지막 reviewId
+     */
+    @Query("SELECT r FROM Review r WHERE r.deletedAt < :cutoff AND r.imageUrl IS NOT NULL " +
+            "AND (r.deletedAt > :afterDeletedAt OR (r.deletedAt = :afterDeletedAt AND r.reviewId > :afterId)) " +
+            "ORDER BY r.deletedAt ASC, r.reviewId ASC")
+    List<Review> findExpiredDeletedBatch(@Param("cutoff") LocalDateTime cutoff,
+                                         @Param("afterDeletedAt") LocalDateTime afterDeletedAt,
+                                         @Param("afterId") Long afterId,
+                                         Pageable pageable);
+
+    /**
+     * 삭제된 리뷰의 이미지 연결 해제 (보존 기간 만료 - 파일은 미디어 GC가 지운다)
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Review r SET r.imageUrl = NULL, r.originalFilename = NULL " +
+            "WHERE r.reviewId = :reviewId AND r.deletedAt IS NOT NULL")
+    int clearImage(@Param("reviewId") Long reviewId);
+
+    /**
+     * 주어진 URL 중 리뷰가 가리키는 URL (삭제된 리뷰 포함 - 보존 기간 동안은 복구할 수 있도록)
+     */
+    @Query("SELECT DISTINCT r.imageUrl FROM Review r WHERE r.imageUrl IN :urls")
+    List<String> findReferencedUrls(@Param("urls") Collection<String> urls);
 }
@@ -2,6 +2,9 @@ package com.lookfit.product.service;
 
 import com.lookfit.global.exception.BusinessException;
 import com.lookfit.global.exception.ErrorCode;
+import com.lookfit.global.image.ImageProfile;
+import com.lookfit.global.media.MediaStore;
+import com.lookfit.global.media.StoredMedia;
 import com.lookfit.order.repository.OrderItemRepository;
 import com.lookfit.order.repository.OrderRepository;
 import com.lookfit.product.domain.Review;
@@ -20,13 +23,8 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.util.List;
 import java.util.Set;
-import java.util.UUID;
 
 @Slf4j
 @Service
@@ -38,9 +36,10 @@ public class ReviewService {
     private final ProductRepository productRepository;
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
+    private final MediaStore mediaStore;
 
-    @Value("${review.image.upload-dir:src/main/resources/static/images/reviews}")
-    private String uploadDir;
+    @Value("${review.image.max-display-size:1600}")
+    private int maxDisplaySize;
 
     private static final Set<String> ALLOWED_EXTENSIONS = Set.of("jpg", "jpeg", "png", "webp");
     private static final long MAX_FILE_SIZE = 5 * 1024 * 1024; // 5MB
@@ -77,7 +76,7 @@ public class ReviewService {
         if (image != null && !image.isEmpty()) {
             validateImageFile(image);
             originalFilename = image.getOriginalFilename();
-            imageUrl = saveImage(image, productId);
+            imageUrl = saveImage(image);
         }
 
         // 5. 리뷰 저장
@@ -91,6 +90,9 @@ public class ReviewService {
                 .build();
 
         Review savedReview = reviewRepository.save(review);
+        if (imageUrl != null) {
+            mediaStore.retain(imageUrl, Review.MEDIA_OWNER, String.valueOf(savedReview.getReviewId()));
+        }
         log.info("리뷰 작성 완료 - reviewId: {}, productId: {}, memberId: {}", savedReview.getReviewId(), productId, memberId);
 
         return ReviewDto.Response.from(savedReview, memberId);
@@ -160,8 +162,11 @@ public class ReviewService {
         // 이미지 수정 (새 이미지가 있으면 교체)
         if (image != null && !image.isEmpty()) {
             validateImageFile(image);
-            String imageUrl = saveImage(image, review.getProductId());
+            String imageUrl = saveImage(image);
             review.updateImage(imageUrl, image.getOriginalFilename());
+            String reviewKey = String.valueOf(reviewId);
+            mediaStore.release(Review.MEDIA_OWNER, reviewKey);
+            mediaStore.retain(imageUrl, Review.MEDIA_OWNER, reviewKey);
         }
 
         Review savedReview = reviewRepository.save(review);
@@ -235,22 +240,15 @@ public class ReviewService {
     }
 
     /**
-     * 이미지 저장 (로컬 파일 시스템)
+     * 이미지 저장 (미디어 저장소, EXIF 방향 보정 + 표시용 최대 크기로 축소, 같은 내용이면 기존 파일)
      */
-    private String saveImage(MultipartFile file, String productId) {
+    private String saveImage(MultipartFile file) {
         try {
-            Path uploadPath = Paths.get(uploadDir, productId);
-            Files.createDirectories(uploadPath);
-
-            String originalFilename = file.getOriginalFilename();
-            String extension = originalFilename.substring(originalFilename.lastIndexOf('.'));
-            String newFilename = UUID.randomUUID().toString() + extension;
-
-            Path filePath = uploadPath.resolve(newFilename);
-            Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+            ImageProfile profile = new ImageProfile("review", maxDisplaySize, maxDisplaySize);
+            StoredMedia image = mediaStore.ingest(file, profile);
 
-            log.debug("이미지 저장 완료 - path: {}", filePath);
-            return "/images/reviews/" + productId + "/" + newFilename;
+            log.debug("이미지 저장 완료 - path: {}, duplicate: {}", image.path(), image.duplicate());
+            return image.url();
         } catch (IOException e) {
             log.error("이미지 저장 실패", e);
             throw new BusinessException(ErrorCode.FILE_UPLOAD_FAILED);
@@ -0,0 +1,231 @@
+package com.lookfit.fitting.admission;
+
+import com.lookfit.fitting.domain.FittingStatus;
+import com.lookfit.fitting.domain.VirtualFitting;
+import com.lookfit.fitting.repository.VirtualFittingRepository;
+import com.lookfit.global.exception.ErrorCode;
+import com.lookfit.global.exception.RetryLaterException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * FittingAdmissionGovernor 단위 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+class FittingAdmissionGovernorTest {
+
+    @Mock
+    private VirtualFittingRepository fittingRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private MutableClock clock;
+    private FittingAdmissionGovernor governor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+        governor = new FittingAdmissionGovernor(fittingRepository, meterRegistry);
+        ReflectionTestUtils.setField(governor, "minLimit", 1);
+        ReflectionTestUtils.setField(governor, "maxLimit", 8);
+        ReflectionTestUtils.setField(governor, "initialLimit", 4);
+        ReflectionTestUtils.setField(governor, "latencyTarget", Duration.ofSeconds(90));
+        ReflectionTestUtils.setField(governor, "latencyBackoff", 0.9);
+        ReflectionTestUtils.setField(governor, "quotaCooldown", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(governor, "quotaCooldownMax", Duration.ofMinutes(30));
+        ReflectionTestUtils.setField(governor, "memberBurst", 100);
+        ReflectionTestUtils.setField(governor, "memberRefillInterval", Duration.ofSeconds(20));
+        ReflectionTestUtils.setField(governor, "reconcileGrace", Duration.ofMinutes(2));
+        governor.clock = clock;
+        governor.init();
+    }
+
+    @Test
+    @DisplayName("전역 한도까지 허가하고 초과하면 Retry-After와 함께 거절한다")
+    void rejectsWhenLimitReached() {
+        // given
+        for (int i = 0; i < 4; i++) {
+            governor.admit("member-" + i, "fitting-" + i);
+        }
+
+        // when & then
+        assertThatThrownBy(() -> governor.admit("member-9", "fitting-9"))
+                .isInstanceOf(RetryLaterException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.FITTING_OVERLOADED)
+                .satisfies(e -> assertThat(((RetryLaterException) e).getRetryAfterSeconds()).isPositive());
+        assertThat(meterRegistry.get("fitting.admission.permits.used").gauge().value()).isEqualTo(4);
+        assertThat(meterRegistry.get("fitting.admission.permits.available").gauge().value()).isZero();
+        assertThat(meterRegistry.get("fitting.admission.rejected").tag("reason", "saturated").counter().count())
+                .isEqualTo(1);
+
+        // 반납하면 다시 허가
+        governor.release("fitting-0");
+        assertThatCode(() -> governor.admit("member-9", "fitting-9")).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("같은 fittingId 재요청은 허가를 추가로 쓰지 않는다")
+    void readmitSameFittingIsIdempotent() {
+        // when
+        governor.admit("member-1", "fitting-1");
+        governor.admit("member-1", "fitting-1");
+
+        // then
+        assertThat(governor.getUsedPermits()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("할당량 초과 시 한도를 절반으로 줄이고 쿨다운 동안 거절, 연속 초과면 쿨다운이 2배가 된다")
+    void quotaExceededHalvesLimitAndBlocks() {
+        // when
+        governor.onQuotaExceeded();
+
+        // then
+        assertThat(governor.getLimit()).isEqualTo(2);
+        assertThat(governor.isQuotaBlocked()).isTrue();
+        assertThatThrownBy(() -> governor.admit("member-1", "fitting-1"))
+                .isInstanceOf(RetryLaterException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.GPU_QUOTA_EXCEEDED)
+                .hasFieldOrPropertyWithValue("retryAfterSeconds", 60L);
+        assertThat(meterRegistry.get("fitting.admission.quota.blocked").gauge().value()).isEqualTo(1);
+
+        clock.advance(Duration.ofSeconds(61));
+        assertThat(governor.isQuotaBlocked()).isFalse();
+        assertThatCode(() -> governor.admit("member-1", "fitting-1")).doesNotThrowAnyException();
+
+        governor.onQuotaExceeded();
+        assertThat(governor.getLimit()).isEqualTo(1);
+        assertThatThrownBy(() -> governor.admit("member-2", "fitting-2"))
+                .hasFieldOrPropertyWithValue("retryAfterSeconds", 120L);
+    }
+
+    @Test
+    @DisplayName("목표 이내 성공은 한도를 조금씩 늘리고 느린 성공은 줄인다")
+    void adjustsLimitByLatency() {
+        // when - 목표 이내 성공 (성공 1건마다 +1/limit)
+        for (int i = 0; i < 5; i++) {
+            governor.onSuccess(Duration.ofSeconds(30));
+        }
+
+        // then
+        assertThat(governor.getLimit()).isEqualTo(5);
+        assertThat(meterRegistry.get("fitting.admission.limit").gauge().value()).isEqualTo(5);
+
+        // when - 목표 초과
+        governor.onSuccess(Duration.ofSeconds(120));
+
+        // then
+        assertThat(governor.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("한도는 최대값을 넘지 않는다")
+    void limitIsBoundedByMax() {
+        // when
+        for (int i = 0; i < 200; i++) {
+            governor.onSuccess(Duration.ofSeconds(10));
+        }
+
+        // then
+        assertThat(governor.getLimit()).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("회원별 토큰이 떨어지면 다음 토큰까지의 시간으로 거절하고 시간이 지나면 다시 허가한다")
+    void memberTokenBucket() {
+        // given
+        ReflectionTestUtils.setField(governor, "memberBurst", 2);
+        governor.admit("member-1", "fitting-1");
+        governor.admit("member-1", "fitting-2");
+
+        // when & then
+        assertThatThrownBy(() -> governor.admit("member-1", "fitting-3"))
+                .isInstanceOf(RetryLaterException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.FITTING_RATE_LIMITED)
+                .hasFieldOrPropertyWithValue("retryAfterSeconds", 20L);
+        assertThatCode(() -> governor.admit("member-2", "fitting-4")).doesNotThrowAnyException();
+
+        clock.advance(Duration.ofSeconds(20));
+        assertThatCode(() -> governor.admit("member-1", "fitting-3")).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("유예 시간이 지난 허가마다 자기 피팅을 확인해 끝났거나 없는 피팅의 허가만 정리한다")
+    void reconcileReleasesLeakedPermits() {
+        // given - fitting-1은 다른 노드에서 끝남, fitting-2는 아직 처리 중, fitting-4는 롤백되어 행이 없음
+        governor.admit("member-1", "fitting-1");
+        governor.admit("member-2", "fitting-2");
+        governor.admit("member-4", "fitting-4");
+        clock.advance(Duration.ofMinutes(5));
+        governor.admit("member-3", "fitting-3");
+        when(fittingRepository.findAllById(Set.of("fitting-1", "fitting-2", "fitting-4")))
+                .thenReturn(List.of(fitting("fitting-1", FittingStatus.COMPLETED),
+                        fitting("fitting-2", FittingStatus.PROCESSING)));
+
+        // when
+        governor.reconcile();
+
+        // then - 처리 중인 피팅과 유예 시간 안의 최신 허가는 남긴다
+        assertThat(governor.getUsedPermits()).isEqualTo(2);
+        governor.release("fitting-2");
+        governor.release("fitting-3");
+        assertThat(governor.getUsedPermits()).isZero();
+    }
+
+    private static VirtualFitting fitting(String fittingId, FittingStatus status) {
+        return VirtualFitting.builder()
+                .fittingId(fittingId)
+                .memberId("member-1")
+                .productId("P001")
+                .status(status)
+                .build();
+    }
+
+    /**
+     * 테스트용 시계
+     */
+    private static class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.lookfit.fitting.batch;
+
+import com.lookfit.fitting.dto.FittingDto;
+import com.lookfit.fitting.service.VirtualFittingService;
+import com.lookfit.global.exception.BusinessException;
+import com.lookfit.global.exception.ErrorCode;
+import com.lookfit.global.exception.RetryLaterException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * FittingBatchCoordinator 단위 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+class FittingBatchCoordinatorTest {
+
+    private static final List<String> PRODUCT_IDS = List.of("p1", "p2", "p3");
+
+    @Mock
+    private VirtualFittingService fittingService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private MutableClock clock;
+    private FittingBatchCoordinator coordinator;
+    private MockMultipartFile image;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+        coordinator = new FittingBatchCoordinator(fittingService, meterRegistry);
+        ReflectionTestUtils.setField(coordinator, "maxWait", Duration.ofMinutes(10));
+        coordinator.clock = clock;
+        image = new MockMultipartFile("image", "me.jpg", "image/jpeg", new byte[]{1, 2, 3});
+
+        FittingDto.BatchResponse created = batch("f1", "f2", "f3");
+        when(fittingService.createBatch("member-1", PRODUCT_IDS, "upper_body", image)).thenReturn(created);
+        when(fittingService.getBatch("batch-1", "member-1")).thenReturn(created);
+    }
+
+    @Test
+    @DisplayName("한도가 허락하면 모든 항목을 바로 시작한다")
+    void startsAllItemsWhenAdmitted() {
+        // when
+        coordinator.submit("member-1", PRODUCT_IDS, "upper_body", image);
+
+        // then
+        InOrder inOrder = inOrder(fittingService);
+        inOrder.verify(fittingService).generateFitting("f1");
+        inOrder.verify(fittingService).generateFitting("f2");
+        inOrder.verify(fittingService).generateFitting("f3");
+        assertThat(coordinator.pendingCount("batch-1")).isZero();
+    }
+
+    @Test
+    @DisplayName("입장 제어에 거절된 항목은 Retry-After 이후 순서대로 다시 시작한다")
+    void retriesRejectedItemsAfterRetryAfter() {
+        // given
+        doThrow(new RetryLaterException(ErrorCode.FITTING_RATE_LIMITED, Duration.ofSeconds(20)))
+                .doNothing()
+                .when(fittingService).generateFitting("f2");
+
+        // when - f1 시작, f2 거절
+        coordinator.submit("member-1", PRODUCT_IDS, "upper_body", image);
+
+        // then
+        verify(fittingService, never()).generateFitting("f3");
+        assertThat(coordinator.pendingCount("batch-1")).isEqualTo(2);
+        assertThat(meterRegistry.get("fitting.batch.pending").gauge().value()).isEqualTo(2);
+
+        // when - Retry-After 전에는 시도하지 않는다
+        clock.advance(Duration.ofSeconds(10));
+        coordinator.dispatchPending();
+
+        // then
+        verify(fittingService, times(1)).generateFitting("f2");
+        verify(fittingService, never()).generateFitting("f3");
+
+        // when
+        clock.advance(Duration.ofSeconds(10));
+        coordinator.dispatchPending();
+
+        // then
+        verify(fittingService, times(2)).generateFitting("f2");
+        verify(fittingService).generateFitting("f3");
+        assertThat(coordinator.pendingCount("batch-1")).isZero();
+    }
+
+    @Test
+    @DisplayName("대기 시간 안에 시작하지 못한 항목은 실패 처리한다")
+    void failsItemsAfterMaxWait() {
+        // given
+        doThrow(new RetryLaterException(ErrorCode.FITTING_OVERLOADED, Duration.ofMinutes(1)))
+                .when(fittingService).generateFitting("f1");
+        coordinator.submit("member-1", PRODUCT_IDS, "upper_body", image);
+
+        // when
+        clock.advance(Duration.ofMinutes(11));
+        coordinator.dispatchPending();
+
+        // then
+        verify(fittingService).failPending("f1", FittingBatchCoordinator.EXPIRED_MESSAGE);
+        verify(fittingService).failPending("f3", FittingBatchCoordinator.EXPIRED_MESSAGE);
+        assertThat(coordinator.pendingCount("batch-1")).isZero();
+    }
+
+    @Test
+    @DisplayName("다시 시도해도 소용없는 오류는 그 항목만 실패 처리하고 다음 항목을 시작한다")
+    void failsOnlyBrokenItem() {
+        // given
+        doThrow(new BusinessException(ErrorCode.PRODUCT_NOT_FOUND))
+                .when(fittingService).generateFitting("f2");
+
+        // when
+        coordinator.submit("member-1", PRODUCT_IDS, "upper_body", image);
+
+        // then
+        verify(fittingService).failPending(eq("f2"), anyString());
+        verify(fittingService).generateFitting("f3");
+        assertThat(coordinator.pendingCount("batch-1")).isZero();
+    }
+
+    private static FittingDto.BatchResponse batch(String... fittingIds) {
+        return FittingDto.BatchResponse.builder()
+                .batchId("batch-1")
+                .items(List.of(fittingIds).stream()
+                        .map(fittingId -> FittingDto.StatusResponse.builder()
+                                .fittingId(fittingId)
+                                .status("PENDING")
+                                .build())
+                        .toList())
+                .build();
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.lookfit.fitting.cache;
+
+import com.lookfit.fitting.domain.FittingResultCacheEntry;
+import com.lookfit.fitting.repository.FittingResultCacheRepository;
+import com.lookfit.fitting.service.GarmentAssetService;
+import com.lookfit.fitting.speculative.SpeculativeFittingMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FittingResultCacheServiceTest {
+
+    private static final String USER_HASH = "a".repeat(64);
+    private static final String GARMENT_URL = "/images/products/P001";
+    private static final String GARMENT_HASH = "b".repeat(64);
+    private static final String CATEGORY = "upper_body";
+
+    @Mock
+    private FittingResultCacheRepository cacheRepository;
+
+    @Mock
+    private GarmentAssetService garmentAssetService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private FittingResultCacheService cacheService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cacheService = new FittingResultCacheService(cacheRepository,
+                new SpeculativeFittingMetrics(meterRegistry), garmentAssetService, meterRegistry);
+        ReflectionTestUtils.setField(cacheService, "enabled", true);
+        ReflectionTestUtils.setField(cacheService, "ttl", Duration.ofDays(7));
+        ReflectionTestUtils.setField(cacheService, "maxEntries", 10000L);
+        lenient().when(garmentAssetService.contentHash(GARMENT_URL)).thenReturn(GARMENT_HASH);
+    }
+
+    @Test
+    @DisplayName("캐시 적중 - 저장된 결과 반환 및 적중 횟수 증가")
+    void lookup_Hit() {
+        // given
+        FittingResultCacheEntry entry = entry(LocalDateTime.now().minusDays(1));
+        when(cacheRepository.findById(FittingResultCacheService.cacheKey(USER_HASH, GARMENT_HASH, CATEGORY)))
+                .thenReturn(Optional.of(entry));
+
+        // when
+        Optional<String> result = cacheService.lookup(USER_HASH, GARMENT_URL, CATEGORY);
+
+        // then
+        assertThat(result).contains("/images/fitting/result/cached.png");
+        assertThat(entry.getHitCount()).isEqualTo(1L);
+        assertThat(hitCount("hit")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("캐시 미스 - 빈 결과")
+    void lookup_Miss() {
+        // given
+        when(cacheRepository.findById(any())).thenReturn(Optional.empty());
+
+        // when
+        Optional<String> result = cacheService.lookup(USER_HASH, GARMENT_URL, CATEGORY);
+
+        // then
+        assertThat(result).isEmpty();
+        assertThat(hitCount("miss")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("TTL 만료 엔트리는 삭제 후 미스 처리")
+    void lookup_Expired() {
+        // given
+        FittingResultCacheEntry entry = entry(LocalDateTime.now().minusDays(8));
+        when(cacheRepository.findById(any())).thenReturn(Optional.of(entry));
+
+        // when
+        Optional<String> result = cacheService.lookup(USER_HASH, GARMENT_URL, CATEGORY);
+
+        // then
+        assertThat(result).isEmpty();
+        verify(cacheRepository).delete(entry);
+        assertThat(hitCount("miss")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("사용자 이미지 해시가 없으면 캐시를 사용하지 않는다")
+    void lookup_WithoutHash() {
+        // when
+        Optional<String> result = cacheService.lookup(null, GARMENT_URL, CATEGORY);
+
+        // then
+        assertThat(result).isEmpty();
+        verifyNoInteractions(cacheRepository);
+    }
+
+    @Test
+    @DisplayName("같은 URL의 의류 이미지를 덮어쓰면 내용 해시가 바뀌어 이전 결과를 쓰지 않는다")
+    void lookup_GarmentOverwritten() {
+        // given
+        String overwrittenHash = "c".repeat(64);
+        when(garmentAssetService.contentHash(GARMENT_URL)).thenReturn(overwrittenHash);
+        when(cacheRepository.findById(FittingResultCacheService.cacheKey(USER_HASH, overwrittenHash, CATEGORY)))
+                .thenReturn(Optional.empty());
+
+        // when
+        Optional<String> result = cacheService.lookup(USER_HASH, GARMENT_URL, CATEGORY);
+
+        // then
+        assertThat(result).isEmpty();
+        verify(cacheRepository, never()).findById(FittingResultCacheService.cacheKey(USER_HASH, GARMENT_HASH, CATEGORY));
+    }
+
+    @Test
+    @DisplayName("생성에 쓴 의류 이미지 해시로 저장하고, 해시를 모르면 저장하지 않는다")
+    void store_KeyedByGarmentHash() {
+        // when
+        cacheService.store(USER_HASH, GARMENT_URL, GARMENT_HASH, CATEGORY, "/images/fitting/result/r.png", false);
+        cacheService.store(USER_HASH, GARMENT_URL, null, CATEGORY, "/images/fitting/result/r.png", false);
+
+        // then
+        ArgumentCaptor<FittingResultCacheEntry> saved = ArgumentCaptor.forClass(FittingResultCacheEntry.class);
+        verify(cacheRepository, times(1)).save(saved.capture());
+        assertThat(saved.getValue().getCacheKey())
+                .isEqualTo(FittingResultCacheService.cacheKey(USER_HASH, GARMENT_HASH, CATEGORY));
+        assertThat(saved.getValue().getGarmentImageHash()).isEqualTo(GARMENT_HASH);
+        assertThat(saved.getValue().getGarmentImageUrl()).isEqualTo(GARMENT_URL);
+    }
+
+    @Test
+    @DisplayName("미리 생성한 결과는 처음 쓰일 때만 예측 생성 적중으로 집계한다")
+    void lookup_SpeculativeHitCountedOnce() {
+        // given
+        FittingResultCacheEntry entry = entry(LocalDateTime.now().minusHours(1));
+        entry.setSpeculative(true);
+        when(cacheRepository.findById(any())).thenReturn(Optional.of(entry));
+
+        // when
+        cacheService.lookup(USER_HASH, GARMENT_URL, CATEGORY);
+        cacheService.lookup(USER_HASH, GARMENT_URL, CATEGORY);
+
+        // then
+        assertThat(speculativeCount("hit")).isEqualTo(1.0);
+        assertThat(hitCount("hit")).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("쓰이지 않은 예측 생성 결과가 만료/용량 초과로 정리되면 낭비로 집계한다")
+    void evict_CountsUnusedSpeculativeAsWasted() {
+        // given
+        ReflectionTestUtils.setField(cacheService, "maxEntries", 1L);
+        when(cacheRepository.countUnusedSpeculativeBefore(any())).thenReturn(2L);
+        when(cacheRepository.deleteExpired(any())).thenReturn(3);
+        when(cacheRepository.count()).thenReturn(2L);
+        when(cacheRepository.findLeastRecentlyUsedKeys(any())).thenReturn(List.of("k1"));
+        when(cacheRepository.countUnusedSpeculativeIn(List.of("k1"))).thenReturn(1L);
+
+        // when
+        cacheService.evict();
+
+        // then
+        verify(cacheRepository).deleteAllByIdInBatch(List.of("k1"));
+        assertThat(speculativeCount("wasted")).isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("캐시 키는 입력이 같으면 같고, 카테고리가 다르면 다르다")
+    void cacheKey_DependsOnAllInputs() {
+        String key = FittingResultCacheService.cacheKey(USER_HASH, GARMENT_HASH, CATEGORY);
+
+        assertThat(key).hasSize(64);
+        assertThat(FittingResultCacheService.cacheKey(USER_HASH, GARMENT_HASH, CATEGORY)).isEqualTo(key);
+        assertThat(FittingResultCacheService.cacheKey(USER_HASH, GARMENT_HASH, "lower_body")).isNotEqualTo(key);
+    }
+
+    private FittingResultCacheEntry entry(LocalDateTime createdAt) {
+        return FittingResultCacheEntry.builder()
+                .cacheKey(FittingResultCacheService.cacheKey(USER_HASH, GARMENT_HASH, CATEGORY))
+                .userImageHash(USER_HASH)
+                .garmentImageUrl(GARMENT_URL)
+                .garmentImageHash(GARMENT_HASH)
+                .category(CATEGORY)
+                .resultImageUrl("/images/fitting/result/cached.png")
+                .createdAt(createdAt)
+                .lastAccessedAt(createdAt)
+                .build();
+    }
+
+    private double speculativeCount(String outcome) {
+        return meterRegistry.get("fitting.speculative").tag("outcome", outcome).counter().count();
+    }
+
+    private double hitCount(String result) {
+        return meterRegistry.get("fitting.cache.result").tag("result", result).counter().count();
+    }
+}
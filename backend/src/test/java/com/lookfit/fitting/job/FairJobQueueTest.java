@@ -0,0 +1,209 @@
+package com.lookfit.fitting.job;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * FairJobQueue 테스트 (꺼내는 순서 + 워커 풀 이산 시뮬레이션)
+ */
+class FairJobQueueTest {
+
+    @Test
+    @DisplayName("한 회원이 작업을 많이 쌓아도 뒤에 온 다른 회원은 한 바퀴 안에 처리된다")
+    void heavyMemberDoesNotStarveOthers() {
+        // given
+        FairJobQueue<String> queue = new FairJobQueue<>(100);
+        for (int i = 1; i <= 50; i++) {
+            queue.offer("heavy", 1, "heavy-" + i);
+        }
+        queue.offer("light-a", 1, "light-a-1");
+        queue.offer("light-b", 1, "light-b-1");
+
+        // when
+        List<String> order = drain(queue);
+
+        // then
+        assertThat(order.subList(0, 3)).containsExactly("heavy-1", "light-a-1", "light-b-1");
+        assertThat(order).hasSize(52);
+    }
+
+    @Test
+    @DisplayName("둘 다 밀려 있으면 가중치 비율대로 꺼낸다")
+    void weightsSetShareRatio() {
+        // given
+        FairJobQueue<String> queue = new FairJobQueue<>(100);
+        for (int i = 1; i <= 30; i++) {
+            queue.offer("standard", 1, "standard-" + i);
+            queue.offer("priority", 3, "priority-" + i);
+        }
+
+        // when
+        List<String> first = drain(queue).subList(0, 20);
+
+        // then
+        long priority = first.stream().filter(job -> job.startsWith("priority")).count();
+        assertThat(priority).isEqualTo(15);
+    }
+
+    @Test
+    @DisplayName("같은 회원의 작업은 들어온 순서대로 꺼낸다")
+    void keepsFifoWithinMember() {
+        // given
+        FairJobQueue<String> queue = new FairJobQueue<>(100);
+        for (int i = 1; i <= 5; i++) {
+            queue.offer("a", 2, "a-" + i);
+            queue.offer("b", 1, "b-" + i);
+        }
+
+        // when
+        List<String> order = drain(queue);
+
+        // then
+        assertThat(order.stream().filter(job -> job.startsWith("a")))
+                .containsExactly("a-1", "a-2", "a-3", "a-4", "a-5");
+        assertThat(order.stream().filter(job -> job.startsWith("b")))
+                .containsExactly("b-1", "b-2", "b-3", "b-4", "b-5");
+    }
+
+    @Test
+    @DisplayName("대기 순번은 실제로 꺼내는 순서와 같다")
+    void positionMatchesDequeueOrder() {
+        // given
+        FairJobQueue<String> queue = new FairJobQueue<>(100);
+        for (int i = 1; i <= 6; i++) {
+            queue.offer("heavy", 1, "heavy-" + i);
+        }
+        queue.offer("priority", 3, "priority-1");
+        queue.offer("priority", 3, "priority-2");
+        queue.poll();
+        queue.offer("light", 1, "light-1");
+
+        Map<String, Integer> positions = new HashMap<>();
+        for (String job : List.of("heavy-2", "heavy-6", "priority-1", "priority-2", "light-1")) {
+            positions.put(job, queue.positionOf(job));
+        }
+
+        // when
+        List<String> order = drain(queue);
+
+        // then
+        positions.forEach((job, position) -> assertThat(order.indexOf(job) + 1).as(job).isEqualTo(position));
+        assertThat(queue.positionOf("heavy-2")).isZero();
+    }
+
+    @Test
+    @DisplayName("용량을 넘으면 거절하고 제거하면 다시 받는다")
+    void rejectsOverCapacityAndRemoves() {
+        // given
+        FairJobQueue<String> queue = new FairJobQueue<>(2);
+        queue.offer("a", 1, "a-1");
+        queue.offer("b", 1, "b-1");
+
+        // when & then
+        assertThat(queue.offer("c", 1, "c-1")).isFalse();
+        assertThat(queue.remove("b-1")).isTrue();
+        assertThat(queue.flowCount()).isEqualTo(1);
+        assertThat(queue.offer("c", 1, "c-1")).isTrue();
+        assertThat(drain(queue)).containsExactly("a-1", "c-1");
+    }
+
+    @Test
+    @DisplayName("시뮬레이션 - 묶음 피팅이 몰려도 단건 회원의 대기 시간이 FIFO보다 짧고 처리량은 같다")
+    void simulationComparesWithFifo() {
+        // given: 워커 4개, 작업 1건 = 1 tick, heavy 회원이 0 tick에 40건, 단건 회원 10명이 1 tick마다 1건씩
+        List<Arrival> arrivals = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            arrivals.add(new Arrival(0, "heavy", "heavy-" + i));
+        }
+        for (int i = 0; i < 10; i++) {
+            arrivals.add(new Arrival(i + 1, "light-" + i, "light-" + i));
+        }
+
+        // when
+        SimulationResult fair = simulate(arrivals, true);
+        SimulationResult fifo = simulate(arrivals, false);
+
+        // then
+        assertThat(fair.averageWait("light")).isLessThan(fifo.averageWait("light") / 4);
+        assertThat(fair.maxWait("light")).isLessThanOrEqualTo(1);
+        assertThat(fair.makespan()).isEqualTo(fifo.makespan());
+        assertThat(fair.completed()).isEqualTo(50);
+    }
+
+    private static List<String> drain(FairJobQueue<String> queue) {
+        List<String> order = new ArrayList<>();
+        for (String job = queue.poll(); job != null; job = queue.poll()) {
+            order.add(job);
+        }
+        return order;
+    }
+
+    /**
+     * tick 단위 시뮬레이션 - 매 tick 도착한 작업을 넣고 워커 수만큼 꺼내 1 tick 동안 실행
+     */
+    private static SimulationResult simulate(List<Arrival> arrivals, boolean fair) {
+        int workers = 4;
+        FairJobQueue<Arrival> fairQueue = new FairJobQueue<>(1000);
+        Queue<Arrival> fifoQueue = new ArrayDeque<>();
+        Map<String, Integer> waits = new HashMap<>();
+
+        int tick = 0;
+        int next = 0;
+        int makespan = 0;
+        while (waits.size() < arrivals.size()) {
+            while (next < arrivals.size() && arrivals.get(next).tick() <= tick) {
+                Arrival arrival = arrivals.get(next++);
+                if (fair) {
+                    fairQueue.offer(arrival.memberId(), 1, arrival);
+                } else {
+                    fifoQueue.add(arrival);
+                }
+            }
+            for (int i = 0; i < workers; i++) {
+                Arrival job = fair ? fairQueue.poll() : fifoQueue.poll();
+                if (job == null) {
+                    break;
+                }
+                waits.put(job.jobId(), tick - job.tick());
+                makespan = tick + 1;
+            }
+            tick++;
+        }
+        return new SimulationResult(waits, makespan);
+    }
+
+    private record Arrival(int tick, String memberId, String jobId) {
+    }
+
+    private record SimulationResult(Map<String, Integer> waits, int makespan) {
+
+        double averageWait(String prefix) {
+            return waits.entrySet().stream()
+                    .filter(entry -> entry.getKey().startsWith(prefix))
+                    .mapToInt(Map.Entry::getValue)
+                    .average()
+                    .orElse(0);
+        }
+
+        int maxWait(String prefix) {
+            return waits.entrySet().stream()
+                    .filter(entry -> entry.getKey().startsWith(prefix))
+                    .mapToInt(Map.Entry::getValue)
+                    .max()
+                    .orElse(0);
+        }
+
+        int completed() {
+            return waits.size();
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.lookfit.fitting.job;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * FittingJobExecutor 단위 테스트
+ */
+class FittingJobExecutorTest {
+
+    private static final String MEMBER_ID = "user01";
+
+    private SimpleMeterRegistry meterRegistry;
+    private FittingJobExecutor jobExecutor;
+    private CountDownLatch release;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        jobExecutor = new FittingJobExecutor(meterRegistry);
+        ReflectionTestUtils.setField(jobExecutor, "poolSize", 1);
+        ReflectionTestUtils.setField(jobExecutor, "queueCapacity", 2);
+        jobExecutor.start();
+        release = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        jobExecutor.shutdown();
+    }
+
+    @Test
+    @DisplayName("워커가 모두 사용 중이면 대기열 순번을 보고한다")
+    void reportsQueuePosition() throws Exception {
+        // given
+        CountDownLatch started = new CountDownLatch(1);
+        jobExecutor.submit("running", MEMBER_ID, 1, () -> {
+            started.countDown();
+            awaitRelease();
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // when
+        jobExecutor.submit("queued-1", MEMBER_ID, 1, () -> { });
+        jobExecutor.submit("queued-2", MEMBER_ID, 1, () -> { });
+
+        // then
+        assertThat(jobExecutor.getProgress("running"))
+                .hasValueSatisfying(p -> {
+                    assertThat(p.stage()).isEqualTo(FittingJobProgress.Stage.RUNNING);
+                    assertThat(p.estimatedWaitSeconds()).isNull();
+                });
+        assertThat(jobExecutor.getProgress("queued-2"))
+                .hasValueSatisfying(p -> {
+                    assertThat(p.stage()).isEqualTo(FittingJobProgress.Stage.QUEUED);
+                    assertThat(p.queuePosition()).isEqualTo(2);
+                    assertThat(p.estimatedWaitSeconds()).isPositive();
+                });
+        assertThat(meterRegistry.get("fitting.job.queue.depth").gauge().value()).isEqualTo(2.0);
+        assertThat(jobExecutor.isSaturated()).isTrue();
+    }
+
+    @Test
+    @DisplayName("대기열이 가득 차면 RejectedExecutionException")
+    void rejectsWhenQueueFull() throws Exception {
+        // given
+        CountDownLatch started = new CountDownLatch(1);
+        jobExecutor.submit("running", MEMBER_ID, 1, () -> {
+            started.countDown();
+            awaitRelease();
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        jobExecutor.submit("queued-1", MEMBER_ID, 1, () -> { });
+        jobExecutor.submit("queued-2", MEMBER_ID, 1, () -> { });
+
+        // when & then
+        assertThatThrownBy(() -> jobExecutor.submit("overflow", MEMBER_ID, 1, () -> { }))
+                .isInstanceOf(RejectedExecutionException.class);
+        assertThat(jobExecutor.getProgress("overflow")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("같은 ID의 작업이 남아 있으면 조용히 버리지 않고 IllegalStateException")
+    void rejectsDuplicateJobId() throws Exception {
+        // given
+        CountDownLatch started = new CountDownLatch(1);
+        jobExecutor.submit("job", MEMBER_ID, 1, () -> {
+            started.countDown();
+            awaitRelease();
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // when & then
+        assertThatThrownBy(() -> jobExecutor.submit("job", MEMBER_ID, 1, () -> { }))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(meterRegistry.get("fitting.job.queue.depth").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("완료된 작업은 진행 상황에서 제거되고 대기 시간이 기록된다")
+    void recordsWaitTimeAndForgetsFinishedJobs() throws Exception {
+        // given
+        CountDownLatch done = new CountDownLatch(1);
+
+        // when
+        jobExecutor.submit("job", MEMBER_ID, 1, done::countDown);
+
+        // then
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        await(() -> jobExecutor.getProgress("job").isEmpty());
+        assertThat(meterRegistry.get("fitting.job.wait").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("예상 대기 시간은 앞선 작업 수를 워커 수로 나눈 바퀴 수와 평균 실행 시간으로 계산한다")
+    void estimatesWaitFromAverageExecution() {
+        // given
+        ReflectionTestUtils.setField(jobExecutor, "poolSize", 4);
+        ReflectionTestUtils.setField(jobExecutor, "averageExecutionNanos", (double) TimeUnit.SECONDS.toNanos(40));
+
+        // when & then
+        assertThat(jobExecutor.estimateWaitSeconds(1)).isEqualTo(20);
+        assertThat(jobExecutor.estimateWaitSeconds(4)).isEqualTo(20);
+        assertThat(jobExecutor.estimateWaitSeconds(5)).isEqualTo(60);
+    }
+
+    @Test
+    @DisplayName("대기 중인 작업을 취소하면 실행하지 않고 대기열에서 빠진다")
+    void cancelsQueuedJob() throws Exception {
+        // given
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean executed = new AtomicBoolean();
+        jobExecutor.submit("running", MEMBER_ID, 1, () -> {
+            started.countDown();
+            awaitRelease();
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        jobExecutor.submit("queued", MEMBER_ID, 1, () -> executed.set(true));
+
+        // when
+        boolean cancelled = jobExecutor.cancel("queued");
+        release.countDown();
+
+        // then
+        assertThat(cancelled).isTrue();
+        assertThat(jobExecutor.getProgress("queued")).isEmpty();
+        await(() -> jobExecutor.getProgress("running").isEmpty());
+        assertThat(executed).isFalse();
+        assertThat(meterRegistry.get("fitting.job.cancelled").tags("stage", "queued").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("실행 중인 작업을 취소하면 워커 스레드를 인터럽트하고 워커는 다음 작업을 계속 처리한다")
+    void interruptsRunningJob() throws Exception {
+        // given
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        jobExecutor.submit("running", MEMBER_ID, 1, () -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+            }
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // when
+        boolean cancelled = jobExecutor.cancel("running");
+
+        // then
+        assertThat(cancelled).isTrue();
+        await(interrupted::get);
+        CountDownLatch next = new CountDownLatch(1);
+        jobExecutor.submit("next", MEMBER_ID, 1, next::countDown);
+        assertThat(next.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(jobExecutor.cancel("unknown")).isFalse();
+    }
+
+    @Test
+    @DisplayName("유휴 작업은 남는 워커가 있을 때만 받고, 사용자 작업이 오면 선점되어 중단된다")
+    void preemptsIdleJobForUserJob() throws Exception {
+        // given
+        ReflectionTestUtils.setField(jobExecutor, "idleMaxConcurrent", 1);
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        boolean accepted = jobExecutor.submitIdle("idle", () -> true, () -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+            }
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(jobExecutor.submitIdle("idle-2", () -> true, () -> { })).isFalse();
+
+        // when
+        CountDownLatch userJob = new CountDownLatch(1);
+        jobExecutor.submit("user", MEMBER_ID, 1, userJob::countDown);
+
+        // then
+        assertThat(accepted).isTrue();
+        assertThat(userJob.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(interrupted).isTrue();
+        assertThat(meterRegistry.get("fitting.job.preempted").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("사용자 피팅이 합류한 유휴 작업은 선점하지 않고 끝까지 실행한다")
+    void keepsClaimedIdleJob() throws Exception {
+        // given
+        ReflectionTestUtils.setField(jobExecutor, "idleMaxConcurrent", 1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+        jobExecutor.submitIdle("idle", () -> false, () -> {
+            started.countDown();
+            awaitRelease();
+            finished.countDown();
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // when
+        CountDownLatch userJob = new CountDownLatch(1);
+        jobExecutor.submit("user", MEMBER_ID, 1, userJob::countDown);
+        release.countDown();
+
+        // then
+        assertThat(finished.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(userJob.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(meterRegistry.get("fitting.job.preempted").counter().count()).isZero();
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void await(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
@@ -0,0 +1,569 @@
+package com.lookfit.fitting.job;
+
+import com.lookfit.fitting.admission.FittingAdmissionGovernor;
+import com.lookfit.fitting.cache.FittingResultCacheService;
+import com.lookfit.fitting.domain.FittingStatus;
+import com.lookfit.fitting.domain.VirtualFitting;
+import com.lookfit.fitting.event.FittingEvents;
+import com.lookfit.fitting.repository.VirtualFittingRepository;
+import com.lookfit.fitting.provider.TryOnResult;
+import com.lookfit.fitting.provider.TryOnRouter;
+import com.lookfit.fitting.queue.FittingWorkQueue;
+import com.lookfit.fitting.speculative.SpeculativeFittingMetrics;
+import com.lookfit.fitting.trace.FittingStage;
+import com.lookfit.fitting.trace.FittingStageMetrics;
+import com.lookfit.fitting.trace.FittingTrace;
+import com.lookfit.global.exception.BusinessException;
+import com.lookfit.global.exception.ErrorCode;
+import com.lookfit.global.media.MediaStore;
+import com.lookfit.product.domain.Product;
+import com.lookfit.product.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * FittingJobService 단위 테스트 (실제 실행기 + 레지스트리, 저장소/AI 호출은 mock)
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class FittingJobServiceTest {
+
+    private static final int CONCURRENT_REQUESTS = 8;
+    private static final String USER_HASH = "a".repeat(64);
+    private static final String GARMENT_HASH = "b".repeat(64);
+    private static final String RESULT_URL = "/images/fitting/result/result.png";
+    private static final String PROVIDER = "hf-gradio";
+
+    @Mock
+    private VirtualFittingRepository fittingRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private TryOnRouter tryOnRouter;
+
+    @Mock
+    private FittingResultCacheService resultCacheService;
+
+    @Mock
+    private FittingAdmissionGovernor admissionGovernor;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private FittingPriorityPolicy priorityPolicy;
+
+    @Mock
+    private FittingWorkQueue workQueue;
+
+    @Mock
+    private MediaStore mediaStore;
+
+    private final Map<String, VirtualFitting> fittings = new ConcurrentHashMap<>();
+    private final CountDownLatch releaseGeneration = new CountDownLatch(1);
+
+    private SimpleMeterRegistry meterRegistry;
+    private FittingJobExecutor jobExecutor;
+    private FittingJobService jobService;
+    private ExecutorService requestThreads;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        jobExecutor = new FittingJobExecutor(meterRegistry);
+        ReflectionTestUtils.setField(jobExecutor, "poolSize", 4);
+        ReflectionTestUtils.setField(jobExecutor, "queueCapacity", 10);
+        jobExecutor.start();
+
+        jobService = new FittingJobService(fittingRepository, productRepository, tryOnRouter,
+                jobExecutor, new FittingInFlightRegistry(meterRegistry), resultCacheService, admissionGovernor, eventPublisher,
+                new FittingStageMetrics(meterRegistry), priorityPolicy, new SpeculativeFittingMetrics(meterRegistry), workQueue, mediaStore);
+        requestThreads = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+
+        Product product = Product.builder()
+                .productId("P001")
+                .productName("테스트 상품")
+                .productPrice(BigDecimal.valueOf(50000))
+                .productStock(10)
+                .imageUrl("/images/products/P001")
+                .build();
+        when(productRepository.findById("P001")).thenReturn(Optional.of(product));
+        when(resultCacheService.garmentHash("/images/products/P001")).thenReturn(GARMENT_HASH);
+        when(fittingRepository.findById(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(fittings.get(invocation.<String>getArgument(0))));
+        when(fittingRepository.markCompleted(anyString(), any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> transition(invocation.getArgument(0), List.of(invocation.<FittingStatus>getArgument(1)),
+                        fitting -> {
+                            fitting.complete(invocation.getArgument(2), invocation.getArgument(3));
+                            fitting.setStageTimings(invocation.getArgument(4));
+                        }));
+        when(fittingRepository.markFailed(anyString(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> transition(invocation.getArgument(0), List.of(invocation.<FittingStatus>getArgument(1)),
+                        fitting -> {
+                            fitting.fail(invocation.getArgument(2));
+                            fitting.setStageTimings(invocation.getArgument(3));
+                        }));
+        when(fittingRepository.markCancelled(anyString(), any(), any(), any()))
+                .thenAnswer(invocation -> transition(invocation.getArgument(0), invocation.getArgument(1),
+                        fitting -> fitting.cancel(invocation.getArgument(2))));
+        when(tryOnRouter.route(any()))
+                .thenAnswer(invocation -> {
+                    releaseGeneration.await(5, TimeUnit.SECONDS);
+                    return new TryOnResult(RESULT_URL, PROVIDER);
+                });
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseGeneration.countDown();
+        requestThreads.shutdownNow();
+        jobExecutor.shutdown();
+    }
+
+    @Test
+    @DisplayName("같은 입력의 서로 다른 피팅 동시 요청은 AI를 한 번만 호출하고 결과를 공유한다")
+    void coalescesIdenticalInputsAcrossFittings() throws Exception {
+        // given
+        List<String> fittingIds = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            fittingIds.add(processingFitting("fitting-" + i).getFittingId());
+        }
+
+        // when
+        submitConcurrently(fittingIds);
+        releaseGeneration.countDown();
+
+        // then
+        await(() -> fittings.values().stream().allMatch(f -> f.getStatus() == FittingStatus.COMPLETED));
+        verify(tryOnRouter, times(1)).route(any());
+        verify(resultCacheService, times(1))
+                .store(USER_HASH, "/images/products/P001", GARMENT_HASH, "upper_body", RESULT_URL, false);
+        assertThat(fittings.values()).allSatisfy(f -> {
+            assertThat(f.getResultImageUrl()).isEqualTo(RESULT_URL);
+            assertThat(f.getProvider()).isEqualTo(PROVIDER);
+        });
+        assertThat(meterRegistry.get("fitting.job.coalesced").counter().count())
+                .isEqualTo(CONCURRENT_REQUESTS - 1);
+        verify(eventPublisher, timeout(1000).atLeast(CONCURRENT_REQUESTS))
+                .publishEvent(any(FittingEvents.FittingStatusChangedEvent.class));
+        verify(admissionGovernor, times(1)).onSuccess(any());
+        fittingIds.forEach(fittingId -> verify(admissionGovernor, atLeastOnce()).release(fittingId));
+    }
+
+    @Test
+    @DisplayName("같은 fittingId 중복 요청은 작업을 한 번만 등록한다")
+    void deduplicatesSameFittingId() throws Exception {
+        // given
+        processingFitting("fitting-1");
+        List<String> fittingIds = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            fittingIds.add("fitting-1");
+        }
+
+        // when
+        submitConcurrently(fittingIds);
+        releaseGeneration.countDown();
+
+        // then
+        await(() -> fittings.get("fitting-1").getStatus() == FittingStatus.COMPLETED);
+        verify(tryOnRouter, times(1)).route(any());
+        verify(fittingRepository, timeout(1000).times(1))
+                .markCompleted(eq("fitting-1"), eq(FittingStatus.PROCESSING), eq(RESULT_URL), eq(PROVIDER), any(), any());
+    }
+
+    @Test
+    @DisplayName("공유 작업이 실패하면 합류한 모든 피팅이 실패 처리된다")
+    void propagatesFailureToAllAttachedFittings() throws Exception {
+        // given
+        reset(tryOnRouter);
+        when(tryOnRouter.route(any()))
+                .thenAnswer(invocation -> {
+                    releaseGeneration.await(5, TimeUnit.SECONDS);
+                    throw new RuntimeException("Space 응답 없음");
+                });
+        processingFitting("fitting-1");
+        processingFitting("fitting-2");
+
+        // when
+        submitConcurrently(List.of("fitting-1", "fitting-2"));
+        releaseGeneration.countDown();
+
+        // then
+        await(() -> fittings.values().stream().allMatch(f -> f.getStatus() == FittingStatus.FAILED));
+        assertThat(fittings.values())
+                .allSatisfy(f -> assertThat(f.getErrorMessage()).contains("Space 응답 없음"));
+        verify(resultCacheService, never()).store(any(), any(), any(), any(), any(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("단계별 소요 시간을 피팅에 저장하고 제공자/결과 태그로 타이머에 기록한다")
+    void recordsStageTimings() throws Exception {
+        // given - 제공자가 내부 단계를 기록
+        reset(tryOnRouter);
+        when(tryOnRouter.route(any()))
+                .thenAnswer(invocation -> {
+                    FittingTrace.attempt(PROVIDER);
+                    FittingTrace.record(FittingStage.REMOTE, TimeUnit.MILLISECONDS.toNanos(1500));
+                    return new TryOnResult(RESULT_URL, PROVIDER);
+                });
+        processingFitting("fitting-1");
+
+        // when
+        jobService.submit("fitting-1");
+
+        // then
+        await(() -> fittings.get("fitting-1").getStatus() == FittingStatus.COMPLETED);
+        assertThat(fittings.get("fitting-1").getStageTimings())
+                .containsKeys("queue", "total")
+                .containsEntry("remote", 1500L);
+        assertThat(meterRegistry.get("fitting.stage")
+                .tags("stage", "remote", "provider", PROVIDER, "outcome", "success").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("fitting.stage")
+                .tags("stage", "queue", "provider", PROVIDER, "outcome", "success").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("GPU 할당량 초과는 입장 제어에 알리고 모든 합류 피팅을 실패 처리한다")
+    void reportsQuotaExceededToGovernor() throws Exception {
+        // given
+        reset(tryOnRouter);
+        when(tryOnRouter.route(any()))
+                .thenThrow(new BusinessException(ErrorCode.GPU_QUOTA_EXCEEDED));
+        processingFitting("fitting-1");
+
+        // when
+        jobService.submit("fitting-1");
+
+        // then
+        await(() -> fittings.get("fitting-1").getStatus() == FittingStatus.FAILED);
+        verify(admissionGovernor).onQuotaExceeded();
+        verify(admissionGovernor, never()).onSuccess(any());
+        verify(admissionGovernor, timeout(1000)).release("fitting-1");
+    }
+
+    @Test
+    @DisplayName("할당량 쿨다운 중이면 대기열의 작업은 AI를 호출하지 않고 실패한다")
+    void skipsGenerationWhileQuotaBlocked() throws Exception {
+        // given
+        when(admissionGovernor.isQuotaBlocked()).thenReturn(true);
+        processingFitting("fitting-1");
+
+        // when
+        jobService.submit("fitting-1");
+
+        // then
+        await(() -> fittings.get("fitting-1").getStatus() == FittingStatus.FAILED);
+        verify(tryOnRouter, never()).route(any());
+        assertThat(fittings.get("fitting-1").getErrorMessage()).contains("할당량");
+    }
+
+    @Test
+    @DisplayName("혼자 기다리던 피팅을 취소하면 실행 중인 AI 호출이 인터럽트되고 입장 허가를 바로 반환한다")
+    void cancelInterruptsRunningGeneration() throws Exception {
+        // given
+        CountDownLatch generating = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        reset(tryOnRouter);
+        when(tryOnRouter.route(any()))
+                .thenAnswer(invocation -> {
+                    generating.countDown();
+                    try {
+                        Thread.sleep(10_000);
+                        return new TryOnResult(RESULT_URL, PROVIDER);
+                    } catch (InterruptedException e) {
+                        interrupted.set(true);
+                        throw new CancellationException("취소");
+                    }
+                });
+        processingFitting("fitting-1");
+        jobService.submit("fitting-1");
+        assertThat(generating.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // when
+        boolean cancelled = jobService.cancel("fitting-1", "사용자 취소");
+
+        // then
+        assertThat(cancelled).isTrue();
+        assertThat(fittings.get("fitting-1").getStatus()).isEqualTo(FittingStatus.CANCELLED);
+        verify(admissionGovernor).release("fitting-1");
+        await(interrupted::get);
+        await(() -> meterRegistry.get("fitting.job.cancelled").tags("stage", "running").counter().count() == 1);
+        verify(resultCacheService, never()).store(any(), any(), any(), any(), any(), anyBoolean());
+        verify(admissionGovernor, never()).onSuccess(any());
+        assertThat(fittings.get("fitting-1").getStatus()).isEqualTo(FittingStatus.CANCELLED);
+    }
+
+    @Test
+    @DisplayName("공유 작업에 합류한 피팅 하나만 취소하면 작업은 계속되어 나머지 피팅은 완료된다")
+    void cancelOneOfCoalescedFittingsKeepsSharedJob() throws Exception {
+        // given
+        processingFitting("fitting-1");
+        processingFitting("fitting-2");
+        submitConcurrently(List.of("fitting-1", "fitting-2"));
+
+        // when
+        jobService.cancel("fitting-2", "사용자 취소");
+        releaseGeneration.countDown();
+
+        // then
+        await(() -> fittings.get("fitting-1").getStatus() == FittingStatus.COMPLETED);
+        assertThat(fittings.get("fitting-2").getStatus()).isEqualTo(FittingStatus.CANCELLED);
+        assertThat(fittings.get("fitting-2").getResultImageUrl()).isNull();
+        verify(tryOnRouter, times(1)).route(any());
+    }
+
+    @Test
+    @DisplayName("결과를 반영하기 직전에 취소된 피팅은 완료로 덮어쓰지 않고 결과 이미지도 연결하지 않는다")
+    void resultAfterConcurrentCancelKeepsCancelled() throws Exception {
+        // given - 워커가 PROCESSING으로 읽은 뒤 다른 노드/요청이 취소를 커밋
+        VirtualFitting stale = processingFitting("fitting-1");
+        jobService.submit("fitting-1");
+        VirtualFitting cancelled = VirtualFitting.builder()
+                .fittingId("fitting-1")
+                .memberId(stale.getMemberId())
+                .productId("P001")
+                .status(FittingStatus.CANCELLED)
+                .build();
+        fittings.put("fitting-1", cancelled);
+        when(fittingRepository.findById("fitting-1")).thenReturn(Optional.of(stale));
+
+        // when
+        releaseGeneration.countDown();
+
+        // then
+        verify(fittingRepository, timeout(1000)).markCompleted(eq("fitting-1"), eq(FittingStatus.PROCESSING),
+                eq(RESULT_URL), eq(PROVIDER), any(), any());
+        verify(admissionGovernor, timeout(1000)).release("fitting-1");
+        assertThat(cancelled.getStatus()).isEqualTo(FittingStatus.CANCELLED);
+        assertThat(cancelled.getResultImageUrl()).isNull();
+        verify(mediaStore, never()).retain(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("이미 끝난 피팅은 취소하지 않는다")
+    void cancelIgnoresTerminalFitting() {
+        // given
+        VirtualFitting fitting = processingFitting("fitting-1");
+        fitting.complete(RESULT_URL);
+
+        // when
+        boolean cancelled = jobService.cancel("fitting-1", "사용자 취소");
+
+        // then
+        assertThat(cancelled).isFalse();
+        assertThat(fitting.getStatus()).isEqualTo(FittingStatus.COMPLETED);
+        verify(admissionGovernor, never()).release(anyString());
+    }
+
+    @Test
+    @DisplayName("화면 이탈 취소는 생성 요청 전(PENDING) 피팅을 건드리지 않는다")
+    void cancelAbandonedSkipsPendingFitting() {
+        // given
+        VirtualFitting fitting = processingFitting("fitting-1");
+        ReflectionTestUtils.setField(fitting, "status", FittingStatus.PENDING);
+
+        // when
+        boolean cancelled = jobService.cancelAbandoned("fitting-1", "화면 이탈");
+
+        // then
+        assertThat(cancelled).isFalse();
+        assertThat(fitting.getStatus()).isEqualTo(FittingStatus.PENDING);
+        verify(admissionGovernor, never()).release(anyString());
+    }
+
+    @Test
+    @DisplayName("예측 생성은 유휴 작업으로 실행되어 결과를 예측 생성 표시와 함께 캐시에 저장한다")
+    void speculationFillsCache() throws Exception {
+        // given
+        ReflectionTestUtils.setField(jobExecutor, "idleMaxConcurrent", 1);
+        releaseGeneration.countDown();
+
+        // when
+        boolean started = jobService.speculate("member-1", "/images/fitting/user/photo.jpg", USER_HASH,
+                "/images/products/P001", "upper_body");
+
+        // then
+        assertThat(started).isTrue();
+        verify(resultCacheService, timeout(1000))
+                .store(USER_HASH, "/images/products/P001", GARMENT_HASH, "upper_body", RESULT_URL, true);
+        await(() -> speculativeCount("generated") == 1);
+        verify(admissionGovernor, never()).release(anyString());
+        verify(eventPublisher, never()).publishEvent(any(FittingEvents.FittingStatusChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("예측 생성 중 같은 입력의 피팅 요청은 그 작업에 합류해 결과를 받고 적중으로 집계된다")
+    void userFittingJoinsSpeculation() throws Exception {
+        // given
+        ReflectionTestUtils.setField(jobExecutor, "idleMaxConcurrent", 1);
+        processingFitting("fitting-1");
+        jobService.speculate("member-fitting-1", "/images/fitting/user/fitting-1.jpg", USER_HASH,
+                "/images/products/P001", "upper_body");
+
+        // when
+        jobService.submit("fitting-1");
+        releaseGeneration.countDown();
+
+        // then
+        await(() -> fittings.get("fitting-1").getStatus() == FittingStatus.COMPLETED);
+        verify(tryOnRouter, times(1)).route(any());
+        verify(resultCacheService, timeout(1000))
+                .store(USER_HASH, "/images/products/P001", GARMENT_HASH, "upper_body", RESULT_URL, false);
+        await(() -> speculativeCount("hit") == 1 && speculativeCount("generated") == 1);
+    }
+
+    @Test
+    @DisplayName("실행기가 바쁘면 예측 생성을 시작하지 않는다")
+    void speculationSkippedWhenBusy() {
+        // given - 유휴 작업 한도 0
+
+        // when
+        boolean started = jobService.speculate("member-1", "/images/fitting/user/photo.jpg", USER_HASH,
+                "/images/products/P001", "upper_body");
+
+        // then
+        assertThat(started).isFalse();
+        verify(tryOnRouter, never()).route(any());
+        assertThat(jobExecutor.getProgress(FittingResultCacheService.cacheKey(
+                USER_HASH, "/images/products/P001", "upper_body"))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("DB 작업 큐 모드면 큐에 넣고 허가를 반납할 뿐 이 노드에서 실행하지 않는다")
+    void durableQueueOnlyEnqueues() {
+        // given
+        when(workQueue.isDurable()).thenReturn(true);
+        processingFitting("fitting-1");
+
+        // when
+        jobService.submit("fitting-1");
+
+        // then
+        verify(workQueue).enqueue("fitting-1", "member-fitting-1");
+        verify(admissionGovernor).release("fitting-1");
+        verify(tryOnRouter, never()).route(any());
+        assertThat(fittings.get("fitting-1").getStatus()).isEqualTo(FittingStatus.PROCESSING);
+    }
+
+    @Test
+    @DisplayName("큐에서 가져간 피팅은 이 노드에서 실행되고, 결과가 반영되면 반환한 future가 끝난다")
+    void runClaimedCompletesAfterResultApplied() throws Exception {
+        // given
+        processingFitting("fitting-1");
+        processingFitting("fitting-2");
+        fittings.get("fitting-2").cancel("취소");
+
+        // when
+        Optional<CompletableFuture<TryOnResult>> done = jobService.runClaimed("fitting-1");
+        releaseGeneration.countDown();
+
+        // then
+        assertThat(done).isPresent();
+        done.get().get(5, TimeUnit.SECONDS);
+        assertThat(fittings.get("fitting-1").getStatus()).isEqualTo(FittingStatus.COMPLETED);
+        assertThat(jobService.runClaimed("fitting-2")).isEmpty();
+        verify(workQueue, never()).enqueue(anyString(), anyString());
+
+        // 가져간 노드가 실행 내내 허가를 쥐고 결과 반영 후 반납한다
+        InOrder permit = inOrder(admissionGovernor);
+        permit.verify(admissionGovernor).acquireClaimed("fitting-1");
+        permit.verify(admissionGovernor).release("fitting-1");
+        verify(admissionGovernor, never()).acquireClaimed("fitting-2");
+    }
+
+    private VirtualFitting processingFitting(String fittingId) {
+        VirtualFitting fitting = VirtualFitting.builder()
+                .fittingId(fittingId)
+                .memberId("member-" + fittingId)
+                .productId("P001")
+                .userImageUrl("/images/fitting/user/" + fittingId + ".jpg")
+                .userImageHash(USER_HASH)
+                .category("upper_body")
+                .status(FittingStatus.PROCESSING)
+                .build();
+        fittings.put(fittingId, fitting);
+        return fitting;
+    }
+
+    /**
+     * 조건부 갱신 흉내 - 현재 상태가 expected 중 하나일 때만 바꾸고 1 반환
+     */
+    private int transition(String fittingId, Collection<FittingStatus> expected, Consumer<VirtualFitting> change) {
+        synchronized (fittings) {
+            VirtualFitting fitting = fittings.get(fittingId);
+            if (fitting == null || !expected.contains(fitting.getStatus())) {
+                return 0;
+            }
+            change.accept(fitting);
+            return 1;
+        }
+    }
+
+    private void submitConcurrently(List<String> fittingIds) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (String fittingId : fittingIds) {
+            futures.add(requestThreads.submit(() -> {
+                start.await();
+                jobService.submit(fittingId);
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private double speculativeCount(String outcome) {
+        return meterRegistry.get("fitting.speculative").tag("outcome", outcome).counter().count();
+    }
+
+    private void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
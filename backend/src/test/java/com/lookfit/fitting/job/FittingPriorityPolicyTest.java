@@ -0,0 +1,65 @@
+package com.lookfit.fitting.job;
+
+import com.lookfit.order.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * FittingPriorityPolicy 단위 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+class FittingPriorityPolicyTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    private FittingPriorityPolicy policy;
+
+    @BeforeEach
+    void setUp() {
+        policy = new FittingPriorityPolicy(orderRepository);
+        ReflectionTestUtils.setField(policy, "standardWeight", 1);
+        ReflectionTestUtils.setField(policy, "priorityWeight", 3);
+        ReflectionTestUtils.setField(policy, "recentOrderWindow", Duration.ofDays(30));
+        ReflectionTestUtils.setField(policy, "cacheTtl", Duration.ofMinutes(5));
+        policy.clock = Clock.fixed(NOW, ZoneId.of("UTC"));
+    }
+
+    @Test
+    @DisplayName("등급 판정은 TTL 동안 캐시하고, 만료된 항목은 정리할 때 제거한다")
+    void cachesWeightAndEvictsExpiredEntries() {
+        // given
+        when(orderRepository.existsByMemberidAndOrderdateAfter(eq("member-1"), any())).thenReturn(true);
+        when(orderRepository.existsByMemberidAndOrderdateAfter(eq("member-2"), any())).thenReturn(false);
+        assertThat(policy.weightOf("member-1")).isEqualTo(3);
+        policy.clock = Clock.fixed(NOW.plus(Duration.ofMinutes(3)), ZoneId.of("UTC"));
+        assertThat(policy.weightOf("member-2")).isEqualTo(1);
+        assertThat(policy.weightOf("member-1")).isEqualTo(3);
+        verify(orderRepository, times(1)).existsByMemberidAndOrderdateAfter(eq("member-1"), any());
+
+        // when - member-1만 만료
+        policy.clock = Clock.fixed(NOW.plus(Duration.ofMinutes(6)), ZoneId.of("UTC"));
+        policy.evictExpired();
+
+        // then
+        assertThat(policy.cachedCount()).isEqualTo(1);
+        assertThat(policy.weightOf("member-2")).isEqualTo(1);
+        verify(orderRepository, times(1)).existsByMemberidAndOrderdateAfter(eq("member-2"), any());
+    }
+}
@@ -0,0 +1,261 @@
+package com.lookfit.fitting.preprocess;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * PreprocessingCache 테스트 (스텁 전처리 단계 사용)
+ */
+class PreprocessingCacheTest {
+
+    private static final int ARTIFACT_BYTES = 1000;
+
+    @TempDir
+    Path tempDir;
+
+    private SimpleMeterRegistry meterRegistry;
+    private StubStep step;
+    private PreprocessingCache cache;
+    private Path cacheDir;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        step = new StubStep();
+        cacheDir = tempDir.resolve("cache");
+        cache = newCache(DataSize.ofBytes(10_000));
+    }
+
+    @Test
+    @DisplayName("같은 사진은 전처리를 한 번만 실행하고 다른 피팅에서 재사용한다")
+    void acquire_ReusesArtifacts() throws Exception {
+        // given
+        Path photo = photo("a", "photo-a");
+
+        // when
+        Path first;
+        try (PreprocessingCache.Lease lease = cache.acquire(photo).orElseThrow()) {
+            first = lease.directory();
+        }
+        Path second;
+        try (PreprocessingCache.Lease lease = cache.acquire(photo).orElseThrow()) {
+            second = lease.directory();
+        }
+
+        // then
+        assertThat(step.calls.get()).isEqualTo(1);
+        assertThat(second).isEqualTo(first);
+        assertThat(first.resolve("mask_upper_body.png")).exists();
+        assertThat(count("hit")).isEqualTo(1.0);
+        assertThat(count("miss")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("같은 내용이면 파일 경로가 달라도 같은 항목을 사용한다")
+    void acquire_KeyedByContentHash() throws Exception {
+        // given
+        Path original = photo("a", "same-bytes");
+        Path copy = photo("b", "same-bytes");
+
+        // when
+        cache.acquire(original).orElseThrow().close();
+        cache.acquire(copy).orElseThrow().close();
+
+        // then
+        assertThat(step.calls.get()).isEqualTo(1);
+        assertThat(cache.getEntryCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("크기 상한을 넘으면 가장 오래 사용하지 않은 사진부터 삭제한다")
+    void acquire_EvictsLeastRecentlyUsed() throws Exception {
+        // given - 항목 하나가 약 1KB, 상한 2.5KB
+        cache = newCache(DataSize.ofBytes(ARTIFACT_BYTES * 5 / 2));
+        Path a = photo("a", "photo-a");
+        Path b = photo("b", "photo-b");
+        Path c = photo("c", "photo-c");
+        cache.acquire(a).orElseThrow().close();
+        cache.acquire(b).orElseThrow().close();
+        cache.acquire(a).orElseThrow().close();
+
+        // when
+        cache.acquire(c).orElseThrow().close();
+
+        // then - 최근에 다시 사용한 a는 남고 b가 삭제된다
+        assertThat(cache.contains(PreprocessingCache.contentHash(a))).isTrue();
+        assertThat(cache.contains(PreprocessingCache.contentHash(b))).isFalse();
+        assertThat(cache.getTotalBytes()).isLessThanOrEqualTo(ARTIFACT_BYTES * 5 / 2);
+        assertThat(meterRegistry.get("fitting.preprocess.cache.evictions").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("사용 중인 항목은 상한을 넘어도 반납할 때까지 삭제하지 않는다")
+    void evict_SkipsLeasedEntries() throws Exception {
+        // given
+        cache = newCache(DataSize.ofBytes(ARTIFACT_BYTES));
+        Path a = photo("a", "photo-a");
+        Path b = photo("b", "photo-b");
+        PreprocessingCache.Lease leaseA = cache.acquire(a).orElseThrow();
+
+        // when
+        PreprocessingCache.Lease leaseB = cache.acquire(b).orElseThrow();
+
+        // then
+        assertThat(leaseA.directory()).exists();
+        assertThat(leaseB.directory()).exists();
+
+        // when - a 반납 후에는 삭제 대상
+        leaseA.close();
+
+        // then
+        assertThat(leaseA.directory()).doesNotExist();
+        assertThat(leaseB.directory()).exists();
+        leaseB.close();
+    }
+
+    @Test
+    @DisplayName("같은 사진의 동시 요청은 전처리 1회에 합류한다")
+    void acquire_CoalescesConcurrentRequests() throws Exception {
+        // given
+        Path photo = photo("a", "photo-a");
+        step.gate = new CountDownLatch(1);
+        CompletableFuture<Optional<PreprocessingCache.Lease>> leader =
+                CompletableFuture.supplyAsync(() -> cache.acquire(photo));
+        assertThat(step.started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Optional<PreprocessingCache.Lease>> follower =
+                CompletableFuture.supplyAsync(() -> cache.acquire(photo));
+
+        // when
+        step.gate.countDown();
+
+        // then
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isPresent();
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isPresent();
+        assertThat(step.calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("전처리 실패 시 빈 결과를 돌려주고 다음 요청에서 다시 시도한다")
+    void acquire_FailureFallsBack() throws Exception {
+        // given
+        Path photo = photo("a", "photo-a");
+        step.failure = new IllegalStateException("no person detected");
+
+        // when
+        Optional<PreprocessingCache.Lease> result = cache.acquire(photo);
+
+        // then
+        assertThat(result).isEmpty();
+        assertThat(count("failure")).isEqualTo(1.0);
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            assertThat(files.filter(file -> file.getFileName().toString().startsWith("."))).isEmpty();
+        }
+
+        // when
+        step.failure = null;
+
+        // then
+        assertThat(cache.acquire(photo)).isPresent();
+        assertThat(step.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("전처리를 사용할 수 없으면 사진을 읽지 않고 빈 결과")
+    void acquire_StepUnavailable() throws Exception {
+        // given
+        step.available = false;
+
+        // when
+        Optional<PreprocessingCache.Lease> result = cache.acquire(photo("a", "photo-a"));
+
+        // then
+        assertThat(result).isEmpty();
+        assertThat(step.calls.get()).isZero();
+        assertThat(count("miss")).isZero();
+    }
+
+    @Test
+    @DisplayName("재시작 시 디스크에 남은 항목을 복원해 재사용한다")
+    void load_RestoresEntries() throws Exception {
+        // given
+        Path photo = photo("a", "photo-a");
+        cache.acquire(photo).orElseThrow().close();
+        Files.createDirectories(cacheDir.resolve(".preprocess-crashed"));
+
+        // when
+        PreprocessingCache restarted = newCache(DataSize.ofBytes(10_000));
+        Optional<PreprocessingCache.Lease> result = restarted.acquire(photo);
+
+        // then
+        assertThat(result).isPresent();
+        assertThat(step.calls.get()).isEqualTo(1);
+        assertThat(restarted.getTotalBytes()).isGreaterThanOrEqualTo(ARTIFACT_BYTES);
+        assertThat(cacheDir.resolve(".preprocess-crashed")).doesNotExist();
+    }
+
+    private PreprocessingCache newCache(DataSize maxSize) {
+        PreprocessingCache newCache = new PreprocessingCache(step, meterRegistry);
+        ReflectionTestUtils.setField(newCache, "enabled", true);
+        ReflectionTestUtils.setField(newCache, "cacheDir", cacheDir.toString());
+        ReflectionTestUtils.setField(newCache, "maxSize", maxSize);
+        ReflectionTestUtils.setField(newCache, "waitTimeout", Duration.ofSeconds(5));
+        newCache.load();
+        return newCache;
+    }
+
+    private Path photo(String name, String content) throws Exception {
+        return Files.writeString(tempDir.resolve(name + ".jpg"), content);
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("fitting.preprocess.cache").tag("result", result).counter().count();
+    }
+
+    /**
+     * 테스트용 전처리 단계 (카테고리별 마스크 파일을 고정 크기로 쓴다)
+     */
+    private static class StubStep implements PreprocessingStep {
+
+        private final AtomicInteger calls = new AtomicInteger();
+        private final CountDownLatch started = new CountDownLatch(1);
+        private volatile CountDownLatch gate;
+        private volatile Exception failure;
+        private volatile boolean available = true;
+
+        @Override
+        public boolean isAvailable() {
+            return available;
+        }
+
+        @Override
+        public void run(Path userImage, Path outputDir) throws Exception {
+            calls.incrementAndGet();
+            started.countDown();
+            if (gate != null) {
+                gate.await(5, TimeUnit.SECONDS);
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            Files.write(outputDir.resolve("pose.json"), new byte[ARTIFACT_BYTES / 2]);
+            Files.write(outputDir.resolve("mask_upper_body.png"), new byte[ARTIFACT_BYTES / 2]);
+        }
+    }
+}
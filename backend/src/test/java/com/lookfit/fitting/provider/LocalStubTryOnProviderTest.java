@@ -0,0 +1,145 @@
+package com.lookfit.fitting.provider;
+
+import com.lookfit.fitting.service.GarmentAssetService;
+import com.lookfit.global.exception.BusinessException;
+import com.lookfit.global.exception.ErrorCode;
+import com.lookfit.global.image.ImageIngestService;
+import com.lookfit.global.media.MediaObject;
+import com.lookfit.global.media.MediaObjectRepository;
+import com.lookfit.global.media.MediaStore;
+import com.lookfit.product.repository.FileResourceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * LocalStubTryOnProvider 단위 테스트
+ */
+class LocalStubTryOnProviderTest {
+
+    @TempDir
+    Path staticDir;
+
+    @TempDir
+    Path mediaDir;
+
+    private final GarmentAssetService garmentAssetService = mock(GarmentAssetService.class);
+    private final MediaObjectRepository mediaObjectRepository = mock(MediaObjectRepository.class);
+    private final Map<String, MediaObject> mediaObjects = new HashMap<>();
+    private MediaStore mediaStore;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mediaStore = new MediaStore(new ImageIngestService(), mediaObjectRepository, mock(FileResourceRepository.class));
+        ReflectionTestUtils.setField(mediaStore, "rootDir", mediaDir.toString());
+        when(mediaObjectRepository.upsert(anyString(), anyString(), anyString(), anyLong(), anyInt(), anyInt(), any()))
+                .thenAnswer(invocation -> {
+                    mediaObjects.putIfAbsent(invocation.getArgument(0), MediaObject.builder()
+                            .contentHash(invocation.getArgument(0))
+                            .extension(invocation.getArgument(1))
+                            .build());
+                    return 1;
+                });
+        when(mediaObjectRepository.findByIdForUpdate(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(mediaObjects.get(invocation.<String>getArgument(0))));
+
+        writeImage(staticDir.resolve("fitting/user/user01/photo.jpg"), 300, 400, Color.GRAY);
+        Path garment = writeImage(staticDir.resolve("products/P001/main.jpg"), 200, 200, Color.RED);
+        when(garmentAssetService.resolve("/images/products/P001")).thenReturn(garment.toString());
+    }
+
+    @Test
+    @DisplayName("같은 seed면 같은 순서로 같은 지연과 실패가 나온다")
+    void outcomesAreDeterministicPerSeed() {
+        // given
+        LocalStubTryOnProvider first = provider(Duration.ofMillis(100), Duration.ofMillis(500), 0.3, 0.1);
+        LocalStubTryOnProvider second = provider(Duration.ofMillis(100), Duration.ofMillis(500), 0.3, 0.1);
+
+        // when
+        List<LocalStubTryOnProvider.Outcome> firstOutcomes = IntStream.range(0, 50).mapToObj(i -> first.nextOutcome()).toList();
+        List<LocalStubTryOnProvider.Outcome> secondOutcomes = IntStream.range(0, 50).mapToObj(i -> second.nextOutcome()).toList();
+
+        // then
+        assertThat(firstOutcomes).isEqualTo(secondOutcomes);
+        assertThat(firstOutcomes).anyMatch(LocalStubTryOnProvider.Outcome::failed);
+        assertThat(firstOutcomes).anyMatch(outcome -> !outcome.failed() && !outcome.quotaExceeded());
+        assertThat(firstOutcomes).extracting(LocalStubTryOnProvider.Outcome::latency)
+                .anyMatch(latency -> !latency.equals(Duration.ofMillis(100)));
+    }
+
+    @Test
+    @DisplayName("사용자 사진에 의류를 겹친 결과를 미디어 저장소에 사진 크기 그대로 저장한다")
+    void composesGarmentOverUserImage() throws Exception {
+        // given
+        LocalStubTryOnProvider provider = provider(Duration.ZERO, Duration.ZERO, 0, 0);
+
+        // when
+        String resultUrl = provider.generate(new TryOnRequest("flight", "/images/fitting/user/user01/photo.jpg",
+                "/images/products/P001", "upper_body"));
+
+        // then
+        assertThat(resultUrl).startsWith(MediaStore.URL_PREFIX).endsWith(".png");
+        Path resultPath = mediaStore.resolve(resultUrl).orElseThrow();
+        assertThat(resultPath).startsWith(mediaDir);
+        BufferedImage result = ImageIO.read(resultPath.toFile());
+        assertThat(result.getWidth()).isEqualTo(300);
+        assertThat(result.getHeight()).isEqualTo(400);
+        assertThat(new Color(result.getRGB(150, 150)).getRed()).isGreaterThan(200);  // 상의 영역은 의류 색
+        assertThat(new Color(result.getRGB(150, 390))).isEqualTo(new Color(result.getRGB(5, 390)));  // 하단은 사진 그대로
+    }
+
+    @Test
+    @DisplayName("할당량 초과 비율이 1이면 GPU_QUOTA_EXCEEDED로 실패한다 (라우터/입장 제어가 쿨다운으로 처리)")
+    void simulatesQuotaExceeded() {
+        // given
+        LocalStubTryOnProvider provider = provider(Duration.ZERO, Duration.ZERO, 0, 1.0);
+
+        // when & then
+        assertThatThrownBy(() -> provider.generate(new TryOnRequest("flight",
+                "/images/fitting/user/user01/photo.jpg", "/images/products/P001", "upper_body")))
+                .isInstanceOf(BusinessException.class)
+                .extracting("errorCode")
+                .isEqualTo(ErrorCode.GPU_QUOTA_EXCEEDED);
+    }
+
+    private LocalStubTryOnProvider provider(Duration median, Duration p99, double failureRate, double quotaRate) {
+        LocalStubTryOnProvider provider = new LocalStubTryOnProvider(garmentAssetService, mediaStore);
+        ReflectionTestUtils.setField(provider, "staticImageDir", staticDir.toString());
+        ReflectionTestUtils.setField(provider, "latencyMedian", median);
+        ReflectionTestUtils.setField(provider, "latencyP99", p99);
+        ReflectionTestUtils.setField(provider, "failureRate", failureRate);
+        ReflectionTestUtils.setField(provider, "quotaRate", quotaRate);
+        ReflectionTestUtils.setField(provider, "seed", 7L);
+        return provider;
+    }
+
+    private static Path writeImage(Path path, int width, int height, Color color) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(color);
+        graphics.fillRect(0, 0, width, height);
+        graphics.dispose();
+        Files.createDirectories(path.getParent());
+        ImageIO.write(image, "jpg", path.toFile());
+        return path;
+    }
+}
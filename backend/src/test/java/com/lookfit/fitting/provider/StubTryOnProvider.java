@@ -0,0 +1,59 @@
+package com.lookfit.fitting.provider;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 테스트용 제공자 (지연/실패 시뮬레이션)
+ */
+class StubTryOnProvider implements TryOnProvider {
+
+    private final String name;
+    private final AtomicInteger calls = new AtomicInteger();
+    private volatile Duration latency = Duration.ZERO;
+    private volatile Exception failure;
+    private volatile boolean available = true;
+
+    StubTryOnProvider(String name) {
+        this.name = name;
+    }
+
+    StubTryOnProvider latency(Duration latency) {
+        this.latency = latency;
+        return this;
+    }
+
+    StubTryOnProvider failing(Exception failure) {
+        this.failure = failure;
+        return this;
+    }
+
+    StubTryOnProvider available(boolean available) {
+        this.available = available;
+        return this;
+    }
+
+    int calls() {
+        return calls.get();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return available;
+    }
+
+    @Override
+    public String generate(TryOnRequest request) throws Exception {
+        calls.incrementAndGet();
+        Thread.sleep(latency.toMillis());
+        if (failure != null) {
+            throw failure;
+        }
+        return "/images/fitting/result/" + name + ".png";
+    }
+}
@@ -0,0 +1,204 @@
+package com.lookfit.fitting.provider;
+
+import com.lookfit.global.exception.BusinessException;
+import com.lookfit.global.exception.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * TryOnRouter 단위 테스트 (지연/실패를 흉내 내는 로컬 제공자 사용)
+ */
+class TryOnRouterTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("기록이 없으면 설정 순서대로 시도하고 처리한 제공자를 결과에 담는다")
+    void usesConfiguredOrderWithoutHistory() {
+        // given
+        StubTryOnProvider primary = new StubTryOnProvider("primary");
+        StubTryOnProvider secondary = new StubTryOnProvider("secondary");
+        TryOnRouter router = router(List.of(secondary, primary), "primary,secondary");
+
+        // when
+        TryOnResult result = route(router);
+
+        // then
+        assertThat(result.provider()).isEqualTo("primary");
+        assertThat(result.imageUrl()).isEqualTo("/images/fitting/result/primary.png");
+        assertThat(secondary.calls()).isZero();
+    }
+
+    @Test
+    @DisplayName("기록이 쌓이면 p90 지연이 가장 짧은 제공자를 고른다")
+    void prefersFastestProvider() {
+        // given
+        StubTryOnProvider slow = new StubTryOnProvider("slow").latency(Duration.ofMillis(40));
+        StubTryOnProvider fast = new StubTryOnProvider("fast").latency(Duration.ofMillis(1));
+        TryOnRouter router = router(List.of(slow, fast), "slow,fast");
+
+        // when - 각 제공자 최소 기록(3건) 측정 후
+        for (int i = 0; i < 6; i++) {
+            route(router);
+        }
+        TryOnResult result = route(router);
+
+        // then
+        assertThat(slow.calls()).isEqualTo(3);
+        assertThat(result.provider()).isEqualTo("fast");
+        assertThat(router.rankProviders()).extracting(TryOnProvider::getName).containsExactly("fast", "slow");
+    }
+
+    @Test
+    @DisplayName("제공자가 실패하면 다음 제공자로 폴백한다")
+    void fallsBackOnFailure() {
+        // given
+        StubTryOnProvider broken = new StubTryOnProvider("broken").failing(new RuntimeException("Space 응답 없음"));
+        StubTryOnProvider healthy = new StubTryOnProvider("healthy");
+        TryOnRouter router = router(List.of(broken, healthy), "broken,healthy");
+
+        // when
+        TryOnResult result = route(router);
+
+        // then
+        assertThat(result.provider()).isEqualTo("healthy");
+        assertThat(broken.calls()).isEqualTo(1);
+        assertThat(meterRegistry.get("fitting.provider.fallback").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("fitting.provider.call")
+                .tags("provider", "broken", "outcome", "failure").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("연속 실패하면 서킷이 열려 제외되고, 대기 후 시험 호출이 성공하면 다시 닫힌다")
+    void circuitBreakerOpensAndRecovers() {
+        // given
+        StubTryOnProvider flaky = new StubTryOnProvider("flaky").failing(new RuntimeException("502 Bad Gateway"));
+        StubTryOnProvider backup = new StubTryOnProvider("backup");
+        TryOnRouter router = router(List.of(flaky, backup), "flaky,backup");
+
+        // when - 3회 연속 실패
+        for (int i = 0; i < 3; i++) {
+            assertThat(route(router).provider()).isEqualTo("backup");
+        }
+
+        // then - 열린 동안은 호출하지 않는다
+        assertThat(router.health("flaky").getState()).isEqualTo(TryOnProviderHealth.CircuitState.OPEN);
+        assertThat(meterRegistry.get("fitting.provider.circuit").tag("provider", "flaky").gauge().value())
+                .isEqualTo(1);
+        route(router);
+        assertThat(flaky.calls()).isEqualTo(3);
+
+        // when - 대기 시간 경과 후 복구
+        flaky.failing(null);
+        router.clock = Clock.fixed(NOW.plusSeconds(31), ZoneOffset.UTC);
+        TryOnResult result = route(router);
+
+        // then
+        assertThat(result.provider()).isEqualTo("flaky");
+        assertThat(router.health("flaky").getState()).isEqualTo(TryOnProviderHealth.CircuitState.CLOSED);
+    }
+
+    @Test
+    @DisplayName("시험 호출이 실패하면 서킷이 다시 열린다")
+    void halfOpenFailureReopens() {
+        // given
+        StubTryOnProvider flaky = new StubTryOnProvider("flaky").failing(new RuntimeException("timeout"));
+        StubTryOnProvider backup = new StubTryOnProvider("backup");
+        TryOnRouter router = router(List.of(flaky, backup), "flaky,backup");
+        for (int i = 0; i < 3; i++) {
+            route(router);
+        }
+
+        // when
+        router.clock = Clock.fixed(NOW.plusSeconds(31), ZoneOffset.UTC);
+        route(router);
+
+        // then
+        assertThat(flaky.calls()).isEqualTo(4);
+        assertThat(router.health("flaky").getState()).isEqualTo(TryOnProviderHealth.CircuitState.OPEN);
+    }
+
+    @Test
+    @DisplayName("GPU 할당량 초과는 즉시 차단하고, 모든 제공자가 실패하면 할당량 예외를 전파한다")
+    void quotaErrorOpensCircuitAndPropagates() {
+        // given
+        StubTryOnProvider gradio = new StubTryOnProvider("gradio")
+                .failing(new BusinessException(ErrorCode.GPU_QUOTA_EXCEEDED));
+        StubTryOnProvider other = new StubTryOnProvider("other").failing(new RuntimeException("500"));
+        TryOnRouter router = router(List.of(gradio, other), "gradio,other");
+
+        // when & then
+        assertThatThrownBy(() -> route(router))
+                .isInstanceOf(BusinessException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.GPU_QUOTA_EXCEEDED);
+        assertThat(router.health("gradio").getState()).isEqualTo(TryOnProviderHealth.CircuitState.OPEN);
+        assertThat(router.health("other").getState()).isEqualTo(TryOnProviderHealth.CircuitState.CLOSED);
+    }
+
+    @Test
+    @DisplayName("사용 가능한 제공자가 없으면 AI 생성 실패")
+    void failsWhenNoProviderAvailable() {
+        // given
+        StubTryOnProvider disabled = new StubTryOnProvider("disabled").available(false);
+        TryOnRouter router = router(List.of(disabled), "disabled");
+
+        // when & then
+        assertThatThrownBy(() -> route(router))
+                .isInstanceOf(BusinessException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.AI_GENERATION_FAILED);
+        assertThat(disabled.calls()).isZero();
+    }
+
+    @Test
+    @DisplayName("취소로 호출이 중단되면 실패로 집계하지 않고 폴백 없이 취소를 전파한다")
+    void cancellationSkipsFallbackAndFailureRecord() {
+        // given
+        StubTryOnProvider interrupted = new StubTryOnProvider("interrupted").failing(new InterruptedException());
+        StubTryOnProvider backup = new StubTryOnProvider("backup");
+        TryOnRouter router = router(List.of(interrupted, backup), "interrupted,backup");
+
+        // when & then
+        try {
+            assertThatThrownBy(() -> route(router)).isInstanceOf(CancellationException.class);
+            assertThat(Thread.currentThread().isInterrupted()).isTrue();
+        } finally {
+            Thread.interrupted();
+        }
+        assertThat(backup.calls()).isZero();
+        assertThat(router.health("interrupted").getState()).isEqualTo(TryOnProviderHealth.CircuitState.CLOSED);
+        assertThat(meterRegistry.find("fitting.provider.call")
+                .tags("provider", "interrupted", "outcome", "failure").timer()).isNull();
+    }
+
+    private TryOnRouter router(List<TryOnProvider> providers, String order) {
+        TryOnRouter router = new TryOnRouter(providers, meterRegistry);
+        ReflectionTestUtils.setField(router, "order", List.of(order.split(",")));
+        ReflectionTestUtils.setField(router, "windowSize", 20);
+        ReflectionTestUtils.setField(router, "minSamples", 3);
+        ReflectionTestUtils.setField(router, "failureThreshold", 3);
+        ReflectionTestUtils.setField(router, "minCalls", 10);
+        ReflectionTestUtils.setField(router, "errorRateThreshold", 0.5);
+        ReflectionTestUtils.setField(router, "openDuration", Duration.ofSeconds(30));
+        router.clock = Clock.fixed(NOW, ZoneOffset.UTC);
+        router.init();
+        return router;
+    }
+
+    private TryOnResult route(TryOnRouter router) {
+        return router.route(new TryOnRequest(
+                "flight-1", "/images/fitting/user/user.jpg", "/images/products/P001", "upper_body"));
+    }
+}
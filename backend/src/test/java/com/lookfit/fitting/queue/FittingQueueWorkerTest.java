@@ -0,0 +1,203 @@
+package com.lookfit.fitting.queue;
+
+import com.lookfit.fitting.admission.FittingAdmissionGovernor;
+import com.lookfit.fitting.domain.FittingQueueEntry;
+import com.lookfit.fitting.domain.FittingStatus;
+import com.lookfit.fitting.domain.VirtualFitting;
+import com.lookfit.fitting.event.FittingEvents;
+import com.lookfit.fitting.job.FittingInFlightRegistry;
+import com.lookfit.fitting.job.FittingJobExecutor;
+import com.lookfit.fitting.job.FittingJobService;
+import com.lookfit.fitting.provider.TryOnResult;
+import com.lookfit.fitting.repository.VirtualFittingRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * FittingQueueWorker 단위 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class FittingQueueWorkerTest {
+
+    @Mock
+    private FittingWorkQueue workQueue;
+
+    @Mock
+    private FittingJobService fittingJobService;
+
+    @Mock
+    private FittingAdmissionGovernor admissionGovernor;
+
+    @Mock
+    private FittingJobExecutor jobExecutor;
+
+    @Mock
+    private VirtualFittingRepository fittingRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
+    private FittingInFlightRegistry inFlightRegistry;
+    private FittingQueueWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        inFlightRegistry = new FittingInFlightRegistry(meterRegistry);
+        worker = new FittingQueueWorker(workQueue, fittingJobService, admissionGovernor, jobExecutor, inFlightRegistry,
+                fittingRepository, eventPublisher, meterRegistry);
+        ReflectionTestUtils.setField(worker, "batchSize", 10);
+        ReflectionTestUtils.setField(worker, "maxAttempts", 3);
+
+        when(workQueue.isDurable()).thenReturn(true);
+        when(jobExecutor.getAvailableWorkers()).thenReturn(2);
+        when(admissionGovernor.getAvailablePermits()).thenReturn(8);
+    }
+
+    @Test
+    @DisplayName("남는 워커 수만큼만 가져가 실행하고, 결과가 반영되면 큐에서 지운다")
+    void claimsUpToAvailableWorkersAndCompletes() {
+        // given
+        CompletableFuture<TryOnResult> first = new CompletableFuture<>();
+        when(workQueue.claim(2)).thenReturn(List.of(entry("fitting-1", 1), entry("fitting-2", 1)));
+        when(fittingJobService.runClaimed("fitting-1")).thenReturn(Optional.of(first));
+        when(fittingJobService.runClaimed("fitting-2")).thenReturn(Optional.empty());
+
+        // when
+        worker.poll();
+
+        // then
+        verify(workQueue).claim(2);
+        verify(workQueue).complete("fitting-2");  // 이미 끝난 피팅은 바로 정리
+        verify(workQueue, never()).complete("fitting-1");
+        assertThat(worker.getHeldCount()).isEqualTo(1);
+
+        // when - 결과 반영
+        first.complete(new TryOnResult("/images/fitting/result/r.png", "hf-gradio"));
+
+        // then
+        verify(workQueue).complete("fitting-1");
+        assertThat(worker.getHeldCount()).isZero();
+        assertThat(meterRegistry.get("fitting.queue.claimed").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("남는 워커가 없거나 memory 모드면 가져가지 않는다")
+    void skipsWhenNoCapacity() {
+        // given
+        when(jobExecutor.getAvailableWorkers()).thenReturn(0);
+
+        // when
+        worker.poll();
+        when(jobExecutor.getAvailableWorkers()).thenReturn(2);
+        when(workQueue.isDurable()).thenReturn(false);
+        worker.poll();
+
+        // then
+        verify(workQueue, never()).claim(anyInt());
+    }
+
+    @Test
+    @DisplayName("남는 입장 허가 수보다 많이 가져가지 않고, GPU 할당량 쿨다운 중이면 가져가지 않는다")
+    void claimsWithinAdmissionPermits() {
+        // given
+        when(admissionGovernor.getAvailablePermits()).thenReturn(1);
+
+        // when
+        worker.poll();
+        when(admissionGovernor.isQuotaBlocked()).thenReturn(true);
+        worker.poll();
+
+        // then
+        verify(workQueue, times(1)).claim(anyInt());
+        verify(workQueue).claim(1);
+    }
+
+    @Test
+    @DisplayName("임대 만료로 max-attempts번 넘게 가져간 피팅은 실행하지 않고 실패 처리한다")
+    void abandonsAfterTooManyAttempts() {
+        // given
+        when(workQueue.claim(2)).thenReturn(List.of(entry("fitting-1", 4)));
+        when(fittingRepository.markAbandoned(eq("fitting-1"), eq(FittingQueueWorker.EXHAUSTED_MESSAGE), any()))
+                .thenReturn(1);
+        VirtualFitting failed = fitting("fitting-1");
+        failed.fail(FittingQueueWorker.EXHAUSTED_MESSAGE);
+        when(fittingRepository.findById("fitting-1")).thenReturn(Optional.of(failed));
+
+        // when
+        worker.poll();
+
+        // then
+        verify(fittingJobService, never()).runClaimed(anyString());
+        verify(workQueue).complete("fitting-1");
+        verify(eventPublisher).publishEvent(any(FittingEvents.FittingStatusChangedEvent.class));
+        assertThat(meterRegistry.get("fitting.queue.reclaimed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("하트비트: 임대를 잃은 피팅과 다른 노드에서 취소된 피팅은 이 노드에서 중단한다")
+    void heartbeatStopsLostAndCancelledFittings() {
+        // given
+        when(workQueue.claim(2)).thenReturn(List.of(entry("fitting-1", 1), entry("fitting-2", 1)));
+        when(fittingJobService.runClaimed(anyString())).thenAnswer(invocation -> Optional.of(
+                inFlightRegistry.attach("flight-" + invocation.getArgument(0), invocation.getArgument(0)).result()));
+        worker.poll();
+
+        VirtualFitting cancelled = fitting("fitting-2");
+        cancelled.cancel("다른 노드에서 취소");
+        when(workQueue.renew(Set.of("fitting-1", "fitting-2"))).thenReturn(Set.of("fitting-2"));
+        when(fittingRepository.findAllById(Set.of("fitting-2"))).thenReturn(List.of(cancelled));
+
+        // when
+        worker.heartbeat();
+
+        // then
+        verify(jobExecutor).cancel("flight-fitting-1");
+        verify(jobExecutor).cancel("flight-fitting-2");
+        verify(workQueue).complete("fitting-2");
+        assertThat(worker.getHeldCount()).isZero();
+        assertThat(meterRegistry.get("fitting.queue.lease.lost").counter().count()).isEqualTo(1);
+    }
+
+    private static FittingQueueEntry entry(String fittingId, int attempts) {
+        return FittingQueueEntry.builder()
+                .fittingId(fittingId)
+                .memberId("member-1")
+                .attempts(attempts)
+                .availableAt(LocalDateTime.of(2026, 1, 1, 0, 0))
+                .leaseOwner("node-a")
+                .build();
+    }
+
+    private static VirtualFitting fitting(String fittingId) {
+        return VirtualFitting.builder()
+                .fittingId(fittingId)
+                .memberId("member-1")
+                .productId("P001")
+                .status(FittingStatus.PROCESSING)
+                .build();
+    }
+}
@@ -0,0 +1,224 @@
+package com.lookfit.fitting.queue;
+
+import com.lookfit.LookFitApplication;
+import com.lookfit.fitting.domain.VirtualFitting;
+import com.lookfit.fitting.dto.FittingDto;
+import com.lookfit.fitting.provider.LocalStubTryOnProvider;
+import com.lookfit.fitting.repository.BodyPhotoRepository;
+import com.lookfit.fitting.repository.VirtualFittingRepository;
+import com.lookfit.fitting.service.VirtualFittingService;
+import com.lookfit.product.domain.Product;
+import com.lookfit.product.repository.ProductRepository;
+import com.lookfit.search.repository.ProductSearchRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockMultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * DB 작업 큐 다중 노드 검증 - 한 JVM에서 애플리케이션 컨텍스트를 여러 개 띄워 같은 로컬 DB(테스트 application.yml)를 공유
+ * - 모든 피팅은 첫 노드에서 접수하고, 각 노드의 FittingQueueWorker가 SKIP LOCKED로 나눠 가져간다
+ * - 노드 1개와 N개의 처리 시간을 비교해 처리량이 노드 수에 비례하는지, 모든 노드가 일을 나눠 가졌는지 확인
+ * - 생성은 스텁 제공자(stub-tryon), Elasticsearch 저장소는 목이므로 로컬 MySQL 외에는 필요 없다
+ *
+ * 실행: ./gradlew test -Pbenchmark --tests '*FittingWorkQueueMultiNodeTest'
+ * 부하 변경: BENCHMARK_QUEUE_NODES, BENCHMARK_QUEUE_REQUESTS, BENCHMARK_QUEUE_POOL_SIZE
+ */
+@Tag("benchmark")
+class FittingWorkQueueMultiNodeTest {
+
+    private static final int NODES = intEnv("BENCHMARK_QUEUE_NODES", 3);
+    private static final int REQUESTS = intEnv("BENCHMARK_QUEUE_REQUESTS", 60);
+    private static final int POOL_SIZE = intEnv("BENCHMARK_QUEUE_POOL_SIZE", 4);
+    private static final long TIMEOUT_MILLIS = 5 * 60 * 1000;
+
+    @Test
+    @DisplayName("벤치마크: 노드를 늘리면 DB 큐 처리량이 노드 수에 비례해 늘고 모든 노드가 작업을 나눠 가진다")
+    void throughputScalesWithNodeCount() throws Exception {
+        Path imageRoot = Files.createTempDirectory("lookfit-queue-benchmark");
+
+        Round single = runRound(1, imageRoot);
+        Round multi = runRound(NODES, imageRoot);
+
+        double speedup = multi.throughput() / single.throughput();
+        System.out.printf("[Fitting queue benchmark] 1 node: %.2f/s, %d nodes: %.2f/s (x%.2f), claimed per node: %s%n",
+                single.throughput(), NODES, multi.throughput(), speedup, multi.claimedByNode());
+
+        assertThat(single.completed()).isEqualTo(REQUESTS);
+        assertThat(multi.completed()).isEqualTo(REQUESTS);
+        assertThat(multi.claimedByNode().values()).allSatisfy(claimed -> assertThat(claimed).isPositive());
+        assertThat(speedup).isGreaterThan(NODES * 0.6);
+    }
+
+    /**
+     * 노드 nodeCount개를 띄워 REQUESTS건을 첫 노드에서 접수하고 모두 끝날 때까지 기다린다
+     */
+    private Round runRound(int nodeCount, Path imageRoot) throws Exception {
+        String round = UUID.randomUUID().toString().substring(0, 8);
+        List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+        List<String> fittingIds = new ArrayList<>();
+        List<String> photoIds = new ArrayList<>();
+        String productId = "QB" + round;
+        try {
+            for (int i = 0; i < nodeCount; i++) {
+                nodes.add(startNode("bench-node-" + i, imageRoot));
+            }
+            ConfigurableApplicationContext entry = nodes.get(0);
+            VirtualFittingService fittingService = entry.getBean(VirtualFittingService.class);
+            VirtualFittingRepository fittingRepository = entry.getBean(VirtualFittingRepository.class);
+            createProduct(entry.getBean(ProductRepository.class), productId, imageRoot);
+
+            List<String> uploaded = new ArrayList<>();
+            for (int i = 0; i < REQUESTS; i++) {
+                FittingDto.UploadResponse upload = fittingService.uploadUserImage(
+                        "qbench-" + round + "-" + i, productId, "upper_body", userImage(round.hashCode() + i));
+                uploaded.add(upload.getFittingId());
+                photoIds.add(upload.getPhotoId());
+            }
+
+            long startedAt = System.nanoTime();
+            for (String fittingId : uploaded) {
+                fittingService.generateFitting(fittingId);
+                fittingIds.add(fittingId);
+            }
+
+            long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+            int completed = 0;
+            while (System.currentTimeMillis() < deadline) {
+                List<VirtualFitting> fittings = fittingRepository.findAllById(fittingIds);
+                if (fittings.stream().allMatch(fitting -> fitting.getStatus().isTerminal())) {
+                    completed = (int) fittings.stream().filter(fitting -> fitting.getResultImageUrl() != null).count();
+                    break;
+                }
+                Thread.sleep(100);
+            }
+            double elapsedSeconds = (System.nanoTime() - startedAt) / 1e9;
+
+            Map<String, Double> claimedByNode = new LinkedHashMap<>();
+            for (int i = 0; i < nodes.size(); i++) {
+                claimedByNode.put("bench-node-" + i,
+                        nodes.get(i).getBean(MeterRegistry.class).get("fitting.queue.claimed").counter().count());
+            }
+            return new Round(completed, completed / elapsedSeconds, claimedByNode);
+        } finally {
+            if (!nodes.isEmpty()) {
+                ConfigurableApplicationContext entry = nodes.get(0);
+                entry.getBean(VirtualFittingRepository.class).deleteAllById(fittingIds);
+                entry.getBean(BodyPhotoRepository.class).deleteAllById(photoIds);
+                entry.getBean(ProductRepository.class).deleteById(productId);
+            }
+            nodes.forEach(ConfigurableApplicationContext::close);
+        }
+    }
+
+    /**
+     * 노드 하나 (database 모드, 스텁 제공자) - 검색 저장소는 Elasticsearch 없이 뜨도록 목으로 바꾼다
+     */
+    private static ConfigurableApplicationContext startNode(String nodeId, Path imageRoot) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("server.port", 0);
+        properties.put("spring.elasticsearch.uris", "http://localhost:9200");
+        properties.put("app.frontend-url", "http://localhost:5173");
+        properties.put("fitting.queue.mode", FittingWorkQueue.MODE_DATABASE);
+        properties.put("fitting.queue.node-id", nodeId);
+        properties.put("fitting.queue.poll-interval", "PT0.1S");
+        properties.put("fitting.job.pool-size", POOL_SIZE);
+        properties.put("fitting.admission.initial-limit", REQUESTS);
+        properties.put("fitting.admission.max-limit", REQUESTS);
+        properties.put("fitting.admission.member.burst", REQUESTS);
+        properties.put("fitting.provider.local-stub.latency.median", "300ms");
+        properties.put("fitting.provider.local-stub.latency.p99", "600ms");
+        properties.put("fitting.provider.local-stub.failure-rate", 0.0);
+        properties.put("fitting.garment.warmup.top-n", 0);
+        properties.put("fitting.cache.result.enabled", false);
+        properties.put("fitting.image.static-dir", imageRoot.toString());
+        properties.put("fitting.image.upload-dir", imageRoot.resolve("fitting/user").toString());
+        properties.put("fitting.image.result-dir", imageRoot.resolve("fitting/result").toString());
+        properties.put("fitting.garment.cache-dir", imageRoot.resolve("garment").toString());
+        properties.put("media.store.root-dir", imageRoot.resolve("media").toString());
+
+        return new SpringApplicationBuilder(LookFitApplication.class)
+                .profiles(LocalStubTryOnProvider.PROFILE)
+                .properties(properties)
+                .initializers(context -> context.addBeanFactoryPostProcessor(beanFactory -> {
+                    BeanDefinitionRegistry registry = (BeanDefinitionRegistry) beanFactory;
+                    if (registry.containsBeanDefinition("productSearchRepository")) {
+                        registry.removeBeanDefinition("productSearchRepository");
+                    }
+                    registry.registerBeanDefinition("productSearchRepository", new RootBeanDefinition(
+                            ProductSearchRepository.class, () -> mock(ProductSearchRepository.class)));
+                }))
+                .run();
+    }
+
+    private static void createProduct(ProductRepository productRepository, String productId, Path imageRoot)
+            throws IOException {
+        Path directory = Files.createDirectories(imageRoot.resolve("products").resolve(productId));
+        Files.write(directory.resolve("main.jpg"), jpeg(600, 800, Color.BLUE));
+        productRepository.save(Product.builder()
+                .productId(productId)
+                .productName("큐 벤치마크 상의")
+                .productCategory("상의")
+                .imageUrl("/images/products/" + productId)
+                .build());
+    }
+
+    private static MockMultipartFile userImage(int seed) {
+        Color color = new Color(0x404040 + Math.floorMod(seed * 7919, 0xBFBFBF));
+        return new MockMultipartFile("image", "user.jpg", "image/jpeg", jpeg(768, 1024, color));
+    }
+
+    private static byte[] jpeg(int width, int height, Color color) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(color);
+        graphics.fillRect(0, 0, width, height);
+        graphics.dispose();
+
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ImageIO.write(image, "jpg", out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int intEnv(String name, int defaultValue) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? defaultValue : Integer.parseInt(value);
+    }
+
+    /**
+     * 한 번의 측정 결과
+     *
+     * @param completed 결과 이미지까지 만들어진 피팅 수
+     * @param throughput 접수 시작부터 모두 끝날 때까지 초당 완료 수
+     * @param claimedByNode 노드별로 DB 큐에서 가져간 수
+     */
+    private record Round(int completed, double throughput, Map<String, Double> claimedByNode) {
+    }
+}
@@ -0,0 +1,57 @@
+package com.lookfit.fitting.queue;
+
+import com.lookfit.fitting.domain.FittingQueueEntry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * FittingWorkQueue 회원별 공정 분배 단위 테스트
+ */
+class FittingWorkQueueTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    @Test
+    @DisplayName("한 회원이 먼저 많이 쌓아도 회원마다 돌아가며 가져간다")
+    void interleavesMembers() {
+        // given - member-a 3건이 먼저, member-b/c가 뒤에
+        List<FittingQueueEntry> candidates = List.of(
+                entry("a-1", "member-a", 0), entry("a-2", "member-a", 1), entry("a-3", "member-a", 2),
+                entry("b-1", "member-b", 3), entry("c-1", "member-c", 4));
+
+        // when
+        List<FittingQueueEntry> picked = FittingWorkQueue.fairShare(candidates, List.of(), 4);
+
+        // then
+        assertThat(picked).extracting(FittingQueueEntry::getFittingId)
+                .containsExactly("a-1", "b-1", "c-1", "a-2");
+    }
+
+    @Test
+    @DisplayName("이미 다른 노드에서 실행 중인 항목이 많은 회원은 뒤로 밀린다")
+    void prefersMembersWithFewerRunning() {
+        // given
+        List<FittingQueueEntry> candidates = List.of(
+                entry("a-1", "member-a", 0), entry("b-1", "member-b", 1));
+
+        // when
+        List<FittingQueueEntry> picked = FittingWorkQueue.fairShare(candidates,
+                List.of("member-a", "member-a"), 1);
+
+        // then
+        assertThat(picked).extracting(FittingQueueEntry::getFittingId).containsExactly("b-1");
+    }
+
+    private static FittingQueueEntry entry(String fittingId, String memberId, int minutes) {
+        return FittingQueueEntry.builder()
+                .fittingId(fittingId)
+                .memberId(memberId)
+                .availableAt(BASE.plusMinutes(minutes))
+                .build();
+    }
+}
@@ -0,0 +1,211 @@
+package com.lookfit.fitting.recovery;
+
+import com.lookfit.fitting.admission.FittingAdmissionGovernor;
+import com.lookfit.fitting.domain.FittingStatus;
+import com.lookfit.fitting.domain.VirtualFitting;
+import com.lookfit.fitting.event.FittingEvents;
+import com.lookfit.fitting.job.FittingInFlightRegistry;
+import com.lookfit.fitting.job.FittingJobService;
+import com.lookfit.fitting.queue.FittingWorkQueue;
+import com.lookfit.fitting.replicate.ReplicatePredictionTracker;
+import com.lookfit.fitting.repository.VirtualFittingRepository;
+import com.lookfit.global.exception.ErrorCode;
+import com.lookfit.global.exception.RetryLaterException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * StuckFittingReaper 단위 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+class StuckFittingReaperTest {
+
+    private static final LocalDateTime CUTOFF = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    @Mock
+    private VirtualFittingRepository fittingRepository;
+
+    @Mock
+    private FittingJobService fittingJobService;
+
+    @Mock
+    private FittingAdmissionGovernor admissionGovernor;
+
+    @Mock
+    private FittingWorkQueue workQueue;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
+    private FittingInFlightRegistry inFlightRegistry;
+    private ReplicatePredictionTracker predictionTracker;
+    private StuckFittingReaper reaper;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        inFlightRegistry = new FittingInFlightRegistry(meterRegistry);
+        predictionTracker = new ReplicatePredictionTracker(meterRegistry);
+        ReflectionTestUtils.setField(predictionTracker, "initialBackoff", Duration.ofSeconds(10));
+        reaper = new StuckFittingReaper(fittingRepository, fittingJobService, inFlightRegistry,
+                admissionGovernor, predictionTracker, workQueue, eventPublisher, meterRegistry);
+        ReflectionTestUtils.setField(reaper, "enabled", true);
+        ReflectionTestUtils.setField(reaper, "deadline", Duration.ofMinutes(20));
+        ReflectionTestUtils.setField(reaper, "batchSize", 2);
+        ReflectionTestUtils.setField(reaper, "maxRetries", 1);
+    }
+
+    @Test
+    @DisplayName("마지막으로 읽은 (createdAt, fittingId) 이후부터 배치 단위로 끝까지 스캔한다")
+    void scansWithKeysetCursor() {
+        // given
+        VirtualFitting first = stuck("fitting-a", 0, CUTOFF.minusHours(3));
+        VirtualFitting second = stuck("fitting-b", 0, CUTOFF.minusHours(2));
+        VirtualFitting third = stuck("fitting-c", 0, CUTOFF.minusHours(1));
+        when(fittingRepository.findStaleBatch(eq(FittingStatus.PROCESSING), eq(CUTOFF),
+                any(LocalDateTime.class), eq(""), any()))
+                .thenReturn(List.of(first, second));
+        when(fittingRepository.findStaleBatch(eq(FittingStatus.PROCESSING), eq(CUTOFF),
+                eq(second.getCreatedAt()), eq("fitting-b"), any()))
+                .thenReturn(List.of(third));
+        when(fittingRepository.markRequeued(anyString(), eq(FittingStatus.PROCESSING), eq(0))).thenReturn(1);
+
+        // when
+        StuckFittingReaper.Result result = reaper.reap(CUTOFF, false);
+
+        // then
+        assertThat(result.requeued).isEqualTo(3);
+        verify(fittingRepository, times(2)).findStaleBatch(any(), any(), any(), any(), any());
+        verify(fittingJobService).submit("fitting-a");
+        verify(fittingJobService).submit("fitting-c");
+        assertThat(meterRegistry.get("fitting.recovery.reclaimed").tag("action", "requeued").counter().count())
+                .isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("재시도 횟수를 다 쓴 피팅은 실패 처리하고 상태 변경을 알린다")
+    void abandonsWhenRetriesExhausted() {
+        // given
+        VirtualFitting fitting = stuck("fitting-1", 1, CUTOFF.minusHours(1));
+        when(fittingRepository.findStaleBatch(any(), any(), any(), any(), any())).thenReturn(List.of(fitting));
+        when(fittingRepository.markAbandoned(eq("fitting-1"), eq(StuckFittingReaper.ABANDONED_MESSAGE), any()))
+                .thenReturn(1);
+        VirtualFitting failed = stuck("fitting-1", 1, CUTOFF.minusHours(1));
+        failed.fail(StuckFittingReaper.ABANDONED_MESSAGE);
+        when(fittingRepository.findById("fitting-1")).thenReturn(Optional.of(failed));
+
+        // when
+        StuckFittingReaper.Result result = reaper.reap(CUTOFF, false);
+
+        // then
+        assertThat(result.failed).isEqualTo(1);
+        verify(fittingJobService, never()).submit(anyString());
+        verify(admissionGovernor).release("fitting-1");
+        verify(eventPublisher).publishEvent(any(FittingEvents.FittingStatusChangedEvent.class));
+        assertThat(meterRegistry.get("fitting.recovery.reclaimed").tag("action", "failed").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("이 프로세스에서 실행 중이거나 Replicate가 추적 중인 피팅은 건드리지 않는다")
+    void skipsRunningFittings() {
+        // given
+        VirtualFitting running = stuck("fitting-1", 0, CUTOFF.minusHours(2));
+        inFlightRegistry.attach("flight-1", "fitting-1");
+        VirtualFitting replicate = stuck("fitting-2", 0, CUTOFF.minusHours(1));
+        replicate.assignPrediction("pred-1", "replicate");
+        predictionTracker.track("pred-1");
+        when(fittingRepository.findStaleBatch(any(), any(), any(), any(), any()))
+                .thenReturn(List.of(running, replicate));
+        when(fittingRepository.findStaleBatch(any(), any(), any(), eq("fitting-2"), any())).thenReturn(List.of());
+
+        // when
+        StuckFittingReaper.Result result = reaper.reap(CUTOFF, false);
+
+        // then
+        assertThat(result.requeued).isZero();
+        assertThat(result.failed).isZero();
+        verify(fittingRepository, never()).markRequeued(any(), any(), anyInt());
+        verify(fittingRepository, never()).markAbandoned(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("DB 작업 큐에 있는 피팅은 다른 노드가 실행 중일 수 있으므로 큐의 임대 만료 재시도에 맡긴다")
+    void skipsFittingsOwnedByWorkQueue() {
+        // given
+        VirtualFitting fitting = stuck("fitting-1", 0, CUTOFF.minusHours(1));
+        when(fittingRepository.findStaleBatch(any(), any(), any(), any(), any())).thenReturn(List.of(fitting));
+        when(workQueue.isQueued("fitting-1")).thenReturn(true);
+
+        // when
+        StuckFittingReaper.Result result = reaper.reap(CUTOFF, true);
+
+        // then
+        assertThat(result.requeued).isZero();
+        verify(admissionGovernor, never()).admit(anyString(), anyString());
+        verify(fittingJobService, never()).submit(anyString());
+    }
+
+    @Test
+    @DisplayName("AI 백엔드가 포화 상태면 재등록을 다음 주기로 미룬다")
+    void defersWhenAdmissionRejects() {
+        // given
+        VirtualFitting fitting = stuck("fitting-1", 0, CUTOFF.minusHours(1));
+        when(fittingRepository.findStaleBatch(any(), any(), any(), any(), any())).thenReturn(List.of(fitting));
+        doThrow(new RetryLaterException(ErrorCode.FITTING_OVERLOADED, Duration.ofSeconds(5)))
+                .when(admissionGovernor).admit("member-1", "fitting-1");
+
+        // when
+        StuckFittingReaper.Result result = reaper.reap(CUTOFF, false);
+
+        // then
+        assertThat(result.deferred).isEqualTo(1);
+        verify(fittingRepository, never()).markRequeued(any(), any(), anyInt());
+        verify(fittingJobService, never()).submit(anyString());
+    }
+
+    @Test
+    @DisplayName("그 사이 다른 곳에서 완료된 피팅은 재등록하지 않고 허가를 반납한다")
+    void skipsWhenRowChangedConcurrently() {
+        // given
+        VirtualFitting fitting = stuck("fitting-1", 0, CUTOFF.minusHours(1));
+        when(fittingRepository.findStaleBatch(any(), any(), any(), any(), any())).thenReturn(List.of(fitting));
+        when(fittingRepository.markRequeued("fitting-1", FittingStatus.PROCESSING, 0)).thenReturn(0);
+
+        // when
+        StuckFittingReaper.Result result = reaper.reap(CUTOFF, false);
+
+        // then
+        assertThat(result.requeued).isZero();
+        verify(admissionGovernor).release("fitting-1");
+        verify(fittingJobService, never()).submit(anyString());
+    }
+
+    private static VirtualFitting stuck(String fittingId, int retryCount, LocalDateTime createdAt) {
+        return VirtualFitting.builder()
+                .fittingId(fittingId)
+                .memberId("member-1")
+                .productId("1")
+                .status(FittingStatus.PROCESSING)
+                .retryCount(retryCount)
+                .createdAt(createdAt)
+                .build();
+    }
+}
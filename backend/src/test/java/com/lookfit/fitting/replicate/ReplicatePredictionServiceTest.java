@@ -0,0 +1,345 @@
+package com.lookfit.fitting.replicate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lookfit.fitting.domain.FittingStatus;
+import com.lookfit.fitting.domain.VirtualFitting;
+import com.lookfit.fitting.event.FittingEvents;
+import com.lookfit.fitting.job.FittingInFlightRegistry;
+import com.lookfit.fitting.repository.VirtualFittingRepository;
+import com.lookfit.fitting.service.ReplicateApiService;
+import com.lookfit.global.exception.BusinessException;
+import com.lookfit.global.exception.ErrorCode;
+import com.lookfit.global.media.MediaDownloader;
+import com.lookfit.global.media.MediaStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * ReplicatePredictionService 단위 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+class ReplicatePredictionServiceTest {
+
+    private static final String SECRET = "whsec_" + Base64.getEncoder()
+            .encodeToString("lookfit-webhook-secret".getBytes(StandardCharsets.UTF_8));
+
+    @Mock
+    private VirtualFittingRepository fittingRepository;
+
+    @Mock
+    private ReplicateApiService replicateApiService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private MediaDownloader mediaDownloader;
+
+    @Mock
+    private MediaStore mediaStore;
+
+    private MutableClock clock;
+    private FittingInFlightRegistry inFlightRegistry;
+    private ReplicatePredictionTracker tracker;
+    private ReplicateWebhookVerifier verifier;
+    private ReplicatePredictionService service;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+
+        tracker = new ReplicatePredictionTracker(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(tracker, "initialBackoff", Duration.ofSeconds(10));
+        ReflectionTestUtils.setField(tracker, "maxBackoff", Duration.ofMinutes(2));
+        tracker.clock = clock;
+
+        verifier = new ReplicateWebhookVerifier();
+        ReflectionTestUtils.setField(verifier, "secret", SECRET);
+        ReflectionTestUtils.setField(verifier, "tolerance", Duration.ofMinutes(5));
+        verifier.clock = clock;
+
+        inFlightRegistry = new FittingInFlightRegistry(new SimpleMeterRegistry());
+        service = new ReplicatePredictionService(fittingRepository, inFlightRegistry, replicateApiService,
+                tracker, verifier, new ObjectMapper(), eventPublisher, mediaDownloader, mediaStore);
+        ReflectionTestUtils.setField(service, "batchSize", 2);
+        ReflectionTestUtils.setField(service, "maxAge", Duration.ofMinutes(15));
+        ReflectionTestUtils.setField(service, "baseUrl", "https://lookfit.example");
+    }
+
+    @Test
+    @DisplayName("시크릿이 설정되어 있으면 webhook URL을 넘긴다")
+    void webhookUrlWhenSecretConfigured() {
+        assertThat(service.webhookUrl()).isEqualTo("https://lookfit.example/api/v1/webhooks/replicate");
+
+        ReflectionTestUtils.setField(verifier, "secret", "");
+        assertThat(service.webhookUrl()).isNull();
+    }
+
+    @Test
+    @DisplayName("prediction 연결은 PROCESSING 조건부 갱신이라 합류 후 취소된 피팅을 되살리지 않는다")
+    void linkSkipsFittingsCancelledAfterAttach() {
+        // given - 두 피팅이 합류한 뒤 fitting-2가 취소되어 조건부 갱신은 fitting-1에만 적용됨
+        inFlightRegistry.attach("flight-1", "fitting-1");
+        inFlightRegistry.attach("flight-1", "fitting-2");
+        when(fittingRepository.assignPrediction(anyCollection(), eq("pred-1"), eq("replicate"))).thenReturn(1);
+
+        // when
+        service.link("flight-1", "pred-1");
+
+        // then - 피팅 전체 행을 다시 저장하지 않는다
+        verify(fittingRepository).assignPrediction(
+                argThat(ids -> ids.containsAll(List.of("fitting-1", "fitting-2")) && ids.size() == 2),
+                eq("pred-1"), eq("replicate"));
+        verify(fittingRepository, never()).findById(anyString());
+        verify(fittingRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("서명된 webhook은 기다리는 워커에 결과를 전달한다 (DB는 워커가 갱신)")
+    void webhookCompletesWaitingWorker() {
+        // given
+        CompletableFuture<String> result = tracker.track("pred-1");
+        String body = "{\"id\":\"pred-1\",\"status\":\"succeeded\",\"output\":[\"https://cdn/a.png\",\"https://cdn/b.png\"]}";
+
+        // when
+        deliver("msg-1", body);
+
+        // then
+        assertThat(result).isCompletedWithValue("https://cdn/b.png");
+        assertThat(tracker.isTracked("pred-1")).isFalse();
+        verifyNoInteractions(fittingRepository);
+    }
+
+    @Test
+    @DisplayName("기다리는 워커가 없으면 prediction에 연결된 피팅을 직접 완료한다")
+    void webhookUpdatesOrphanFittings() {
+        // given
+        VirtualFitting first = processingFitting("fitting-1", "pred-1");
+        VirtualFitting second = processingFitting("fitting-2", "pred-1");
+        when(fittingRepository.findAllByReplicatePredictionId("pred-1")).thenReturn(List.of(first, second));
+        when(fittingRepository.markFailed(anyString(), eq(FittingStatus.PROCESSING), anyString(), any(), any()))
+                .thenReturn(1);
+
+        // when
+        deliver("msg-1", "{\"id\":\"pred-1\",\"status\":\"failed\",\"error\":\"CUDA out of memory\"}");
+
+        // then
+        assertThat(first.getStatus()).isEqualTo(FittingStatus.FAILED);
+        assertThat(second.getErrorMessage()).contains("CUDA out of memory");
+        verify(fittingRepository, times(2))
+                .markFailed(anyString(), eq(FittingStatus.PROCESSING), contains("CUDA out of memory"), any(), any());
+        verify(eventPublisher, times(2)).publishEvent(any(FittingEvents.FittingStatusChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("기다리는 워커가 없으면 만료되는 결과 URL 대신 미디어 저장소에 받아 둔 URL로 완료한다")
+    void webhookStoresOrphanResultInMediaStore() throws Exception {
+        // given
+        VirtualFitting fitting = processingFitting("fitting-1", "pred-1");
+        when(fittingRepository.findAllByReplicatePredictionId("pred-1")).thenReturn(List.of(fitting));
+        when(mediaDownloader.download("https://replicate.delivery/a.png")).thenReturn("/media/ab/cd/abcd.png");
+        when(fittingRepository.markCompleted(eq("fitting-1"), eq(FittingStatus.PROCESSING), eq("/media/ab/cd/abcd.png"),
+                eq("replicate"), any(), any())).thenReturn(1);
+
+        // when
+        deliver("msg-1", "{\"id\":\"pred-1\",\"status\":\"succeeded\",\"output\":\"https://replicate.delivery/a.png\"}");
+
+        // then
+        assertThat(fitting.getStatus()).isEqualTo(FittingStatus.COMPLETED);
+        assertThat(fitting.getResultImageUrl()).isEqualTo("/media/ab/cd/abcd.png");
+        verify(mediaStore).retain("/media/ab/cd/abcd.png", VirtualFitting.MEDIA_OWNER, "fitting-1");
+    }
+
+    @Test
+    @DisplayName("결과 이미지를 받지 못하면 만료될 URL로 완료하지 않고 실패 처리한다")
+    void failsOrphanWhenDownloadFails() throws Exception {
+        // given
+        VirtualFitting fitting = processingFitting("fitting-1", "pred-1");
+        when(fittingRepository.findAllByReplicatePredictionId("pred-1")).thenReturn(List.of(fitting));
+        when(mediaDownloader.download(anyString())).thenThrow(new IOException("status: 404"));
+        when(fittingRepository.markFailed(eq("fitting-1"), eq(FittingStatus.PROCESSING), anyString(), any(), any()))
+                .thenReturn(1);
+
+        // when
+        deliver("msg-1", "{\"id\":\"pred-1\",\"status\":\"succeeded\",\"output\":\"https://replicate.delivery/a.png\"}");
+
+        // then
+        assertThat(fitting.getStatus()).isEqualTo(FittingStatus.FAILED);
+        assertThat(fitting.getResultImageUrl()).isNull();
+        verifyNoInteractions(mediaStore);
+    }
+
+    @Test
+    @DisplayName("그 사이 취소된 피팅은 늦게 도착한 webhook으로 완료되지 않는다")
+    void webhookAfterCancelKeepsCancelled() throws Exception {
+        // given - 조회 후 취소가 먼저 커밋되어 조건부 갱신이 적용되지 않음
+        VirtualFitting fitting = processingFitting("fitting-1", "pred-1");
+        when(fittingRepository.findAllByReplicatePredictionId("pred-1")).thenReturn(List.of(fitting));
+        when(mediaDownloader.download("https://replicate.delivery/a.png")).thenReturn("/media/ab/cd/abcd.png");
+        when(fittingRepository.markCompleted(eq("fitting-1"), eq(FittingStatus.PROCESSING), anyString(),
+                anyString(), any(), any())).thenReturn(0);
+
+        // when
+        deliver("msg-1", "{\"id\":\"pred-1\",\"status\":\"succeeded\",\"output\":\"https://replicate.delivery/a.png\"}");
+
+        // then
+        assertThat(fitting.getResultImageUrl()).isNull();
+        verifyNoInteractions(mediaStore, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("서명이 맞지 않는 webhook은 반영하지 않는다")
+    void rejectsUnsignedWebhook() {
+        // given
+        CompletableFuture<String> result = tracker.track("pred-1");
+        String timestamp = String.valueOf(clock.instant().getEpochSecond());
+
+        // when & then
+        assertThatThrownBy(() -> service.handleWebhook("msg-1", timestamp, "v1,aW52YWxpZA==",
+                "{\"id\":\"pred-1\",\"status\":\"succeeded\",\"output\":\"https://cdn/a.png\"}"))
+                .isInstanceOf(BusinessException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.UNAUTHORIZED);
+        assertThat(result).isNotDone();
+    }
+
+    @Test
+    @DisplayName("상태 조회는 시점이 된 prediction만 배치 크기만큼 조회하고 진행 중이면 간격을 늘린다")
+    void reconcilesDuePredictionsInBatches() {
+        // given
+        CompletableFuture<String> first = tracker.track("pred-1");
+        clock.advance(Duration.ofSeconds(1));
+        tracker.track("pred-2");
+        clock.advance(Duration.ofSeconds(1));
+        tracker.track("pred-3");
+        when(replicateApiService.getPredictionStatus("pred-1"))
+                .thenReturn(Map.of("status", "succeeded", "output", "https://cdn/a.png"));
+        when(replicateApiService.getPredictionStatus("pred-2")).thenReturn(Map.of("status", "processing"));
+
+        // when - 첫 조회 시점 전에는 호출하지 않는다
+        service.reconcile();
+
+        // then
+        verifyNoInteractions(replicateApiService);
+
+        // when - 시점이 되면 오래 기다린 순으로 batch-size(2)개만
+        clock.advance(Duration.ofSeconds(10));
+        service.reconcile();
+
+        // then
+        assertThat(first).isCompletedWithValue("https://cdn/a.png");
+        verify(replicateApiService, never()).getPredictionStatus("pred-3");
+        assertThat(tracker.due(10)).containsExactly("pred-3");
+
+        // 진행 중인 pred-2는 20초 뒤로 미뤄진다
+        clock.advance(Duration.ofSeconds(19));
+        assertThat(tracker.due(10)).containsExactly("pred-3");
+        clock.advance(Duration.ofSeconds(1));
+        assertThat(tracker.due(10)).containsExactly("pred-3", "pred-2");
+    }
+
+    @Test
+    @DisplayName("최대 대기 시간이 지나도 끝나지 않은 prediction은 실패 처리한다")
+    void expiresStalePredictions() {
+        // given
+        CompletableFuture<String> result = tracker.track("pred-1");
+        when(replicateApiService.getPredictionStatus("pred-1")).thenReturn(Map.of("status", "processing"));
+
+        // when
+        clock.advance(Duration.ofMinutes(16));
+        service.reconcile();
+
+        // then
+        assertThat(result).isCompletedExceptionally();
+        assertThat(tracker.isTracked("pred-1")).isFalse();
+    }
+
+    @Test
+    @DisplayName("기다리는 워커가 없는 PROCESSING prediction을 추적 대상에 추가한다")
+    void adoptsOrphanPredictions() {
+        // given
+        tracker.track("pred-1");
+        when(fittingRepository.findByStatusAndProvider(eq(FittingStatus.PROCESSING), eq("replicate"), any()))
+                .thenReturn(List.of(
+                        processingFitting("fitting-1", "pred-1"),
+                        processingFitting("fitting-2", "pred-2"),
+                        processingFitting("fitting-3", "pred-2"),
+                        processingFitting("fitting-4", "mock_prediction_1")));
+
+        // when
+        service.adoptOrphans();
+
+        // then
+        assertThat(tracker.isTracked("pred-2")).isTrue();
+        assertThat(tracker.isTracked("mock_prediction_1")).isFalse();
+        assertThat(tracker.size()).isEqualTo(2);
+    }
+
+    private void deliver(String webhookId, String body) {
+        String timestamp = String.valueOf(clock.instant().getEpochSecond());
+        String signature = "v1," + Base64.getEncoder()
+                .encodeToString(verifier.sign(webhookId + "." + timestamp + "." + body));
+        service.handleWebhook(webhookId, timestamp, signature, body);
+    }
+
+    private static VirtualFitting processingFitting(String fittingId, String predictionId) {
+        VirtualFitting fitting = VirtualFitting.builder()
+                .fittingId(fittingId)
+                .memberId("member-1")
+                .productId("1")
+                .status(FittingStatus.PROCESSING)
+                .build();
+        fitting.assignPrediction(predictionId, "replicate");
+        return fitting;
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.lookfit.fitting.replicate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * ReplicateWebhookVerifier 단위 테스트
+ */
+class ReplicateWebhookVerifierTest {
+
+    private static final String SECRET = "whsec_" + Base64.getEncoder()
+            .encodeToString("lookfit-webhook-secret".getBytes(StandardCharsets.UTF_8));
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+    private static final String BODY = "{\"id\":\"pred-1\",\"status\":\"succeeded\",\"output\":\"https://cdn/result.png\"}";
+
+    private ReplicateWebhookVerifier verifier;
+
+    @BeforeEach
+    void setUp() {
+        verifier = new ReplicateWebhookVerifier();
+        ReflectionTestUtils.setField(verifier, "secret", SECRET);
+        ReflectionTestUtils.setField(verifier, "tolerance", Duration.ofMinutes(5));
+        verifier.clock = Clock.fixed(NOW, ZoneOffset.UTC);
+    }
+
+    @Test
+    @DisplayName("올바른 서명이면 통과한다")
+    void acceptsValidSignature() {
+        // given
+        String timestamp = String.valueOf(NOW.getEpochSecond());
+
+        // when & then
+        assertThat(verifier.verify("msg-1", timestamp, signature("msg-1", timestamp, BODY), BODY)).isTrue();
+    }
+
+    @Test
+    @DisplayName("본문이 변조되면 거절한다")
+    void rejectsTamperedBody() {
+        // given
+        String timestamp = String.valueOf(NOW.getEpochSecond());
+        String signature = signature("msg-1", timestamp, BODY);
+
+        // when & then
+        assertThat(verifier.verify("msg-1", timestamp, signature, BODY.replace("succeeded", "failed"))).isFalse();
+        assertThat(verifier.verify("msg-2", timestamp, signature, BODY)).isFalse();
+    }
+
+    @Test
+    @DisplayName("허용 시간을 벗어난 timestamp는 서명이 맞아도 거절한다 (재전송 방지)")
+    void rejectsStaleTimestamp() {
+        // given
+        String stale = String.valueOf(NOW.minus(Duration.ofMinutes(6)).getEpochSecond());
+
+        // when & then
+        assertThat(verifier.verify("msg-1", stale, signature("msg-1", stale, BODY), BODY)).isFalse();
+    }
+
+    @Test
+    @DisplayName("여러 서명 중 하나만 맞으면 통과한다 (시크릿 교체 중)")
+    void acceptsAnyOfMultipleSignatures() {
+        // given
+        String timestamp = String.valueOf(NOW.getEpochSecond());
+        String header = "v1,aW52YWxpZA== v2,ignored " + signature("msg-1", timestamp, BODY);
+
+        // when & then
+        assertThat(verifier.verify("msg-1", timestamp, header, BODY)).isTrue();
+    }
+
+    @Test
+    @DisplayName("시크릿이 없으면 webhook을 사용하지 않고 모두 거절한다")
+    void rejectsWhenDisabled() {
+        // given
+        String timestamp = String.valueOf(NOW.getEpochSecond());
+        String signature = signature("msg-1", timestamp, BODY);
+        ReflectionTestUtils.setField(verifier, "secret", "");
+
+        // when & then
+        assertThat(verifier.isEnabled()).isFalse();
+        assertThat(verifier.verify("msg-1", timestamp, signature, BODY)).isFalse();
+    }
+
+    private String signature(String webhookId, String timestamp, String body) {
+        return "v1," + Base64.getEncoder().encodeToString(verifier.sign(webhookId + "." + timestamp + "." + body));
+    }
+}
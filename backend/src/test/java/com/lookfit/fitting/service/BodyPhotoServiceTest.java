@@ -0,0 +1,128 @@
+package com.lookfit.fitting.service;
+
+import com.lookfit.fitting.domain.BodyPhoto;
+import com.lookfit.fitting.repository.BodyPhotoRepository;
+import com.lookfit.global.exception.BusinessException;
+import com.lookfit.global.exception.ErrorCode;
+import com.lookfit.global.image.ImageProfile;
+import com.lookfit.global.media.MediaStore;
+import com.lookfit.global.media.StoredMedia;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * BodyPhotoService 단위 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+class BodyPhotoServiceTest {
+
+    @Mock
+    private BodyPhotoRepository bodyPhotoRepository;
+
+    @Mock
+    private MediaStore mediaStore;
+
+    @InjectMocks
+    private BodyPhotoService bodyPhotoService;
+
+    private static final String MEDIA_URL = "/media/cc/cc/" + "c".repeat(64) + ".jpg";
+
+    private MockMultipartFile image;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ReflectionTestUtils.setField(bodyPhotoService, "modelMaxWidth", 768);
+        ReflectionTestUtils.setField(bodyPhotoService, "modelMaxHeight", 1024);
+        image = new MockMultipartFile("image", "me.jpg", "image/jpeg", "photo".getBytes());
+
+        lenient().when(mediaStore.ingest(eq(image), any(ImageProfile.class)))
+                .thenReturn(new StoredMedia("c".repeat(64), MEDIA_URL, Path.of("/tmp/media/cc/cc/c.jpg"),
+                        3L, 768, 1024, false));
+    }
+
+    @Test
+    @DisplayName("처음 올린 사진은 미디어 저장소에 저장하고 사진 행과 파일 참조를 만든다")
+    void storesNewPhoto() {
+        // given
+        AtomicReference<BodyPhoto> inserted = new AtomicReference<>();
+        when(bodyPhotoRepository.upsert(anyString(), eq("member-1"), eq(MEDIA_URL), eq("c".repeat(64)),
+                eq(768), eq(1024), eq(3L), any(LocalDateTime.class))).thenAnswer(invocation -> {
+            inserted.set(BodyPhoto.builder()
+                    .photoId(invocation.getArgument(0))
+                    .memberId("member-1")
+                    .imageUrl(MEDIA_URL)
+                    .contentHash("c".repeat(64))
+                    .sizeBytes(3L)
+                    .build());
+            return 1;
+        });
+        when(bodyPhotoRepository.findByMemberIdAndContentHash("member-1", "c".repeat(64)))
+                .thenAnswer(invocation -> Optional.ofNullable(inserted.get()));
+
+        // when
+        BodyPhotoService.StoredPhoto stored = bodyPhotoService.store("member-1", image);
+
+        // then
+        assertThat(stored.created()).isTrue();
+        assertThat(stored.photo().getImageUrl()).isEqualTo(MEDIA_URL);
+        assertThat(stored.photo().getSizeBytes()).isEqualTo(3L);
+        verify(mediaStore).retain(MEDIA_URL, BodyPhoto.MEDIA_OWNER, stored.photo().getPhotoId());
+    }
+
+    @Test
+    @DisplayName("같은 사진을 다시 올리면 (동시에 올린 다른 요청이 먼저 만들었어도) 기존 사진을 돌려주고 참조를 늘리지 않는다")
+    void deduplicatesSamePhoto() {
+        // given
+        BodyPhoto existing = BodyPhoto.builder()
+                .photoId("photo-1")
+                .memberId("member-1")
+                .imageUrl(MEDIA_URL)
+                .contentHash("c".repeat(64))
+                .lastUsedAt(LocalDateTime.now().minusDays(3))
+                .build();
+        when(bodyPhotoRepository.findByMemberIdAndContentHash("member-1", "c".repeat(64)))
+                .thenReturn(Optional.of(existing));
+
+        // when
+        BodyPhotoService.StoredPhoto stored = bodyPhotoService.store("member-1", image);
+
+        // then
+        assertThat(stored.created()).isFalse();
+        assertThat(stored.photo()).isSameAs(existing);
+        verify(bodyPhotoRepository).upsert(anyString(), eq("member-1"), eq(MEDIA_URL), eq("c".repeat(64)),
+                eq(768), eq(1024), eq(3L), any(LocalDateTime.class));
+        verify(mediaStore, never()).retain(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("다른 회원의 사진으로는 피팅을 만들 수 없다")
+    void rejectsOtherMembersPhoto() {
+        // given
+        when(bodyPhotoRepository.findById("photo-1")).thenReturn(Optional.of(BodyPhoto.builder()
+                .photoId("photo-1")
+                .memberId("member-2")
+                .build()));
+
+        // when & then
+        assertThatThrownBy(() -> bodyPhotoService.use("member-1", "photo-1"))
+                .isInstanceOf(BusinessException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.ACCESS_DENIED);
+    }
+}
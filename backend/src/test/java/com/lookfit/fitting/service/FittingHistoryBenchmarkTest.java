@@ -0,0 +1,187 @@
+package com.lookfit.fitting.service;
+
+import com.lookfit.fitting.dto.FittingDto;
+import com.lookfit.search.repository.ProductSearchRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 피팅 기록 키셋 페이징 벤치마크 - 로컬 MySQL(테스트 application.yml)에 수백만 행을 넣고 첫 페이지와 500번째 페이지 지연 비교
+ * - 전체 행의 heavy-share만큼을 한 회원(헤비 유저)에게, 나머지는 여러 회원에게 나눠 넣는다
+ * - 커서로 500페이지까지 넘기며 페이지별 지연을 재고, 같은 깊이의 OFFSET 쿼리도 참고로 출력한다
+ * - (memberid, created_at, fitting_id) 인덱스를 타는지 EXPLAIN 결과를 함께 출력
+ *
+ * 실행: ./gradlew test -Pbenchmark --tests '*FittingHistoryBenchmarkTest'
+ * 규모 변경: BENCHMARK_HISTORY_ROWS (기본 2,000,000), BENCHMARK_HISTORY_HEAVY_SHARE (기본 0.1)
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.elasticsearch.uris=http://localhost:9200",
+        "app.frontend-url=http://localhost:5173",
+        "spring.jpa.show-sql=false",
+        "fitting.garment.warmup.top-n=0",
+        "fitting.recovery.enabled=false",
+        "fitting.python.pool.enabled=false",
+        "fitting.preprocess.enabled=false"
+})
+class FittingHistoryBenchmarkTest {
+
+    private static final int ROWS = intEnv("BENCHMARK_HISTORY_ROWS", 2_000_000);
+    private static final double HEAVY_SHARE = doubleEnv("BENCHMARK_HISTORY_HEAVY_SHARE", 0.1);
+    private static final int OTHER_MEMBERS = 10_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int PAGES = 500;
+    private static final int INSERT_CHUNK = 1_000;
+    private static final String MEMBER_PREFIX = "hbench-";
+
+    @MockitoBean
+    private ProductSearchRepository productSearchRepository;
+
+    @Autowired
+    private VirtualFittingService virtualFittingService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final String heavyMember = MEMBER_PREFIX + UUID.randomUUID().toString().substring(0, 8);
+
+    @AfterEach
+    void cleanUp() {
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update("DELETE FROM virtual_fitting WHERE memberid LIKE ? LIMIT 50000",
+                    MEMBER_PREFIX + "%");
+        } while (deleted > 0);
+    }
+
+    @Test
+    @DisplayName("벤치마크: 키셋 페이징은 500번째 페이지도 첫 페이지와 지연이 같다")
+    void keysetLatencyStaysFlatWithDepth() {
+        // given
+        int heavyRows = (int) (ROWS * HEAVY_SHARE);
+        assertThat(heavyRows).isGreaterThanOrEqualTo(PAGE_SIZE * PAGES);
+        seed(heavyRows);
+        jdbcTemplate.execute("ANALYZE TABLE virtual_fitting");
+
+        // when - 커서로 끝까지 넘기며 페이지별 지연 측정
+        List<Long> pageMicros = new ArrayList<>();
+        String cursor = null;
+        for (int page = 0; page < PAGES; page++) {
+            long startedAt = System.nanoTime();
+            FittingDto.HistoryResponse response = virtualFittingService.getFittingHistory(
+                    heavyMember, cursor, PAGE_SIZE, false);
+            pageMicros.add((System.nanoTime() - startedAt) / 1_000);
+            assertThat(response.getFittings()).hasSize(PAGE_SIZE);
+            cursor = response.getNextCursor();
+        }
+
+        // 같은 페이지를 여러 번 다시 읽어 첫 페이지/500번째 페이지 지연 분포 비교
+        String lastCursor = cursor;
+        List<Long> firstPage = sample(() -> virtualFittingService.getFittingHistory(heavyMember, null, PAGE_SIZE, false));
+        List<Long> deepPage = sample(() -> virtualFittingService.getFittingHistory(heavyMember, lastCursor, PAGE_SIZE, false));
+        List<Long> offsetDeepPage = sample(() -> jdbcTemplate.queryForList(
+                "SELECT fitting_id, pID, user_image_url, result_image_url, status, category, created_at, completed_at " +
+                        "FROM virtual_fitting WHERE memberid = ? ORDER BY created_at DESC, fitting_id DESC LIMIT ? OFFSET ?",
+                heavyMember, PAGE_SIZE, PAGE_SIZE * PAGES));
+
+        // then
+        System.out.printf("[Fitting history benchmark] rows: %d, heavy member rows: %d, page size: %d%n",
+                ROWS, heavyRows, PAGE_SIZE);
+        print("keyset page 1", firstPage);
+        print("keyset page " + (PAGES + 1), deepPage);
+        print("offset page " + (PAGES + 1), offsetDeepPage);
+        print("keyset walk (every page)", pageMicros);
+        jdbcTemplate.queryForList(
+                "EXPLAIN SELECT fitting_id FROM virtual_fitting WHERE memberid = ? AND created_at <= ? " +
+                        "AND (created_at < ? OR fitting_id < ?) ORDER BY created_at DESC, fitting_id DESC LIMIT 21",
+                heavyMember, LocalDateTime.now(), LocalDateTime.now(), "z")
+                .forEach(plan -> System.out.println("[Fitting history benchmark] EXPLAIN " + plan));
+
+        long firstMedian = percentile(firstPage, 0.5);
+        long deepMedian = percentile(deepPage, 0.5);
+        assertThat(deepMedian).isLessThan(firstMedian * 3 + 2_000);
+    }
+
+    /**
+     * 헤비 유저 heavyRows개 + 나머지를 OTHER_MEMBERS명에게 - 생성 시각은 최근 1년에 고르게
+     */
+    private void seed(int heavyRows) {
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDateTime now = LocalDateTime.now();
+        String insert = "INSERT INTO virtual_fitting " +
+                "(fitting_id, memberid, pID, user_image_url, result_image_url, status, category, retry_count, created_at, completed_at) VALUES ";
+        String values = "(?, ?, ?, ?, ?, ?, ?, 0, ?, ?)";
+
+        for (int offset = 0; offset < ROWS; offset += INSERT_CHUNK) {
+            int count = Math.min(INSERT_CHUNK, ROWS - offset);
+            String sql = insert + String.join(",", Collections.nCopies(count, values));
+            List<Object> args = new ArrayList<>(count * 9);
+            for (int i = 0; i < count; i++) {
+                int row = offset + i;
+                String memberId = row < heavyRows ? heavyMember : MEMBER_PREFIX + "m" + random.nextInt(OTHER_MEMBERS);
+                Timestamp createdAt = Timestamp.valueOf(now.minusSeconds(random.nextLong(365L * 24 * 3600)));
+                args.add(UUID.randomUUID().toString());
+                args.add(memberId);
+                args.add("P" + random.nextInt(1000));
+                args.add("/images/fitting/user/" + memberId + "/photo.jpg");
+                args.add("/images/fitting/result/" + row + ".png");
+                args.add("COMPLETED");
+                args.add("upper_body");
+                args.add(createdAt);
+                args.add(createdAt);
+            }
+            jdbcTemplate.update(sql, args.toArray());
+        }
+    }
+
+    private static List<Long> sample(Runnable query) {
+        for (int i = 0; i < 20; i++) {
+            query.run();  // 워밍업
+        }
+        List<Long> micros = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            long startedAt = System.nanoTime();
+            query.run();
+            micros.add((System.nanoTime() - startedAt) / 1_000);
+        }
+        return micros;
+    }
+
+    private static void print(String label, List<Long> micros) {
+        System.out.printf("[Fitting history benchmark] %-28s n=%4d p50=%6dus p99=%6dus%n",
+                label, micros.size(), percentile(micros, 0.5), percentile(micros, 0.99));
+    }
+
+    private static long percentile(List<Long> values, double percentile) {
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        int rank = (int) Math.ceil(percentile * sorted.size());
+        return sorted.get(Math.max(0, rank - 1));
+    }
+
+    private static int intEnv(String name, int defaultValue) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? defaultValue : Integer.parseInt(value);
+    }
+
+    private static double doubleEnv(String name, double defaultValue) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? defaultValue : Double.parseDouble(value);
+    }
+}
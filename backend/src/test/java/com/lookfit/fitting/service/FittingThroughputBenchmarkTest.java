@@ -0,0 +1,295 @@
+package com.lookfit.fitting.service;
+
+import com.lookfit.fitting.domain.FittingStatus;
+import com.lookfit.fitting.domain.VirtualFitting;
+import com.lookfit.fitting.dto.FittingDto;
+import com.lookfit.fitting.provider.LocalStubTryOnProvider;
+import com.lookfit.fitting.repository.VirtualFittingRepository;
+import com.lookfit.global.exception.BusinessException;
+import com.lookfit.global.exception.ErrorCode;
+import com.lookfit.global.exception.RetryLaterException;
+import com.lookfit.product.domain.Product;
+import com.lookfit.product.repository.ProductRepository;
+import com.lookfit.search.repository.ProductSearchRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 피팅 처리량 벤치마크 - VirtualFittingService를 업로드 → 생성 → 상태 조회까지 끝에서 끝으로 구동
+ * - 스텁 제공자(stub-tryon)와 인메모리 H2로 외부 연결 없이 실행 (Elasticsearch 저장소는 목)
+ * - concurrency개의 클라이언트가 각자 요청을 하나씩 끝까지 처리하고 다음 요청을 가져간다 (closed loop)
+ * - 클라이언트 단계(upload, generate, wait, e2e)와 서버 단계(VirtualFitting.stageTimings)의 p50/p99를 출력
+ *
+ * 실행: ./gradlew test -Pbenchmark --tests '*FittingThroughputBenchmarkTest'
+ * 부하 변경: BENCHMARK_FITTING_REQUESTS, BENCHMARK_FITTING_CONCURRENCY, BENCHMARK_FITTING_POOL_SIZE,
+ *           FITTING_STUB_LATENCY_MEDIAN, FITTING_STUB_LATENCY_P99, FITTING_STUB_FAILURE_RATE
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles({LocalStubTryOnProvider.PROFILE, "benchmark"})
+class FittingThroughputBenchmarkTest {
+
+    private static final Path IMAGE_ROOT = createImageRoot();
+    private static final String CATEGORY = "upper_body";
+    private static final Duration MAX_RETRY_WAIT = Duration.ofSeconds(1);
+
+    @DynamicPropertySource
+    static void imageDirectories(DynamicPropertyRegistry registry) {
+        registry.add("fitting.image.static-dir", () -> IMAGE_ROOT.toString());
+        registry.add("fitting.image.upload-dir", () -> IMAGE_ROOT.resolve("fitting/user").toString());
+        registry.add("fitting.image.result-dir", () -> IMAGE_ROOT.resolve("fitting/result").toString());
+        registry.add("media.store.root-dir", () -> IMAGE_ROOT.resolve("media").toString());
+        registry.add("fitting.garment.cache-dir", () -> IMAGE_ROOT.resolve("garment").toString());
+        registry.add("fitting.preprocess.cache-dir", () -> IMAGE_ROOT.resolve("preprocess").toString());
+    }
+
+    @MockitoBean
+    private ProductSearchRepository productSearchRepository;
+
+    @Autowired
+    private VirtualFittingService virtualFittingService;
+
+    @Autowired
+    private VirtualFittingRepository fittingRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Value("${benchmark.fitting.requests:200}")
+    private int requests;
+
+    @Value("${benchmark.fitting.concurrency:16}")
+    private int concurrency;
+
+    @Value("${benchmark.fitting.products:20}")
+    private int productCount;
+
+    @Value("${benchmark.fitting.poll-interval:50ms}")
+    private Duration pollInterval;
+
+    @Value("${benchmark.fitting.timeout:5m}")
+    private Duration timeout;
+
+    private final Map<String, Queue<Long>> clientMillis = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> outcomes = new ConcurrentHashMap<>();
+    private final Queue<String> finishedFittingIds = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger rejections = new AtomicInteger();
+
+    @Test
+    @DisplayName("벤치마크: 스텁 제공자로 업로드 → 생성 → 완료까지 처리량과 단계별 p50/p99")
+    void benchmarkEndToEndThroughput() throws Exception {
+        // given
+        List<String> productIds = createProducts();
+        AtomicInteger next = new AtomicInteger();
+
+        // when
+        long startedAt = System.nanoTime();
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int c = 0; c < concurrency; c++) {
+                futures.add(clients.submit(() -> {
+                    for (int i = next.getAndIncrement(); i < requests; i = next.getAndIncrement()) {
+                        runFitting(i, productIds.get(i % productIds.size()));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+        double elapsedSeconds = (System.nanoTime() - startedAt) / 1e9;
+
+        // then
+        report(elapsedSeconds);
+        assertThat(finishedFittingIds).hasSize(requests);
+        assertThat(count(FittingStatus.COMPLETED.name())).isPositive();
+    }
+
+    /**
+     * 요청 하나 - 업로드, 생성 접수 (거절되면 Retry-After만큼 기다렸다 재시도), 끝날 때까지 상태 조회
+     */
+    private void runFitting(int index, String productId) throws InterruptedException {
+        long startedAt = System.nanoTime();
+        FittingDto.UploadResponse upload = virtualFittingService.uploadUserImage(
+                "bench-" + index, productId, CATEGORY, userImage(index));
+        long uploadedAt = record("upload", startedAt);
+
+        String fittingId = upload.getFittingId();
+        long acceptedAt = 0;
+        while (acceptedAt == 0) {
+            long generateStartedAt = System.nanoTime();
+            try {
+                virtualFittingService.generateFitting(fittingId);
+                acceptedAt = record("generate", generateStartedAt);
+            } catch (RetryLaterException e) {
+                rejections.incrementAndGet();
+                Thread.sleep(Math.min(e.getRetryAfter().toMillis(), MAX_RETRY_WAIT.toMillis()));
+            } catch (BusinessException e) {
+                if (e.getErrorCode() != ErrorCode.FITTING_QUEUE_FULL) {
+                    throw e;
+                }
+                rejections.incrementAndGet();
+                Thread.sleep(MAX_RETRY_WAIT.toMillis());
+            }
+        }
+
+        long deadline = acceptedAt + timeout.toNanos();
+        FittingDto.StatusResponse status = virtualFittingService.getFittingStatus(fittingId);
+        while (!FittingStatus.fromString(status.getStatus()).isTerminal() && System.nanoTime() < deadline) {
+            Thread.sleep(pollInterval.toMillis());
+            status = virtualFittingService.getFittingStatus(fittingId);
+        }
+        record("wait", acceptedAt);
+        record("e2e", startedAt);
+        record("e2e_after_upload", uploadedAt);
+
+        outcomes.computeIfAbsent(status.getStatus(), key -> new AtomicInteger()).incrementAndGet();
+        if (FittingStatus.fromString(status.getStatus()).isTerminal()) {
+            finishedFittingIds.add(fittingId);
+        }
+    }
+
+    private long record(String stage, long startedAt) {
+        long now = System.nanoTime();
+        clientMillis.computeIfAbsent(stage, key -> new ConcurrentLinkedQueue<>())
+                .add(TimeUnit.NANOSECONDS.toMillis(now - startedAt));
+        return now;
+    }
+
+    private void report(double elapsedSeconds) {
+        Map<String, List<Long>> serverMillis = new TreeMap<>();
+        for (String fittingId : finishedFittingIds) {
+            VirtualFitting fitting = fittingRepository.findById(fittingId).orElseThrow();
+            if (fitting.getStageTimings() != null) {
+                fitting.getStageTimings().forEach((stage, millis) ->
+                        serverMillis.computeIfAbsent(stage, key -> new ArrayList<>()).add(millis));
+            }
+        }
+
+        int completed = count(FittingStatus.COMPLETED.name());
+        System.out.printf("[Fitting benchmark] requests: %d, concurrency: %d, elapsed: %.1fs, "
+                        + "throughput: %.2f completed/s, outcomes: %s, admission rejections: %d%n",
+                requests, concurrency, elapsedSeconds, completed / elapsedSeconds, new TreeMap<>(outcomes),
+                rejections.get());
+        System.out.printf("[Fitting benchmark] %-24s %8s %8s %8s%n", "stage", "count", "p50(ms)", "p99(ms)");
+        for (String stage : List.of("upload", "generate", "wait", "e2e_after_upload", "e2e")) {
+            printStage("client." + stage, new ArrayList<>(clientMillis.getOrDefault(stage, new ConcurrentLinkedQueue<>())));
+        }
+        serverMillis.forEach((stage, millis) -> printStage("server." + stage, millis));
+    }
+
+    private static void printStage(String stage, List<Long> millis) {
+        Collections.sort(millis);
+        System.out.printf("[Fitting benchmark] %-24s %8d %8d %8d%n",
+                stage, millis.size(), percentile(millis, 0.5), percentile(millis, 0.99));
+    }
+
+    /**
+     * 최근접 순위 백분위 (정렬된 목록)
+     */
+    private static long percentile(List<Long> sorted, double percentile) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile * sorted.size());
+        return sorted.get(Math.max(0, rank - 1));
+    }
+
+    private int count(String status) {
+        AtomicInteger count = outcomes.get(status);
+        return count == null ? 0 : count.get();
+    }
+
+    /**
+     * 벤치마크 상품 - 정적 이미지 디렉토리에 products/{id}/main.jpg로 저장
+     */
+    private List<String> createProducts() throws IOException {
+        List<String> productIds = new ArrayList<>();
+        for (int i = 0; i < productCount; i++) {
+            String productId = "BENCH" + i;
+            Path directory = Files.createDirectories(IMAGE_ROOT.resolve("products").resolve(productId));
+            Files.write(directory.resolve("main.jpg"), jpeg(600, 800, Color.getHSBColor(i / (float) productCount, 0.7f, 0.9f)));
+            productRepository.save(Product.builder()
+                    .productId(productId)
+                    .productName("벤치마크 상의 " + i)
+                    .productCategory("상의")
+                    .imageUrl("/images/products/" + productId)
+                    .build());
+            productIds.add(productId);
+        }
+        return productIds;
+    }
+
+    /**
+     * 요청마다 다른 사진 (결과 캐시 적중 없이 매번 생성)
+     */
+    private static MockMultipartFile userImage(int index) {
+        Color color = new Color(0x404040 + index * 7919 % 0xBFBFBF);
+        return new MockMultipartFile("image", "user-" + index + ".jpg", "image/jpeg", jpeg(768, 1024, color));
+    }
+
+    private static byte[] jpeg(int width, int height, Color color) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(color);
+        graphics.fillRect(0, 0, width, height);
+        graphics.setColor(Color.WHITE);
+        graphics.fillOval(width / 4, height / 8, width / 2, height * 3 / 4);
+        graphics.dispose();
+
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ImageIO.write(image, "jpg", out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Path createImageRoot() {
+        try {
+            return Files.createTempDirectory("lookfit-benchmark");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.lookfit.fitting.service;
+
+import com.lookfit.fitting.repository.VirtualFittingRepository;
+import com.lookfit.global.image.ImageIngestService;
+import com.lookfit.product.domain.Product;
+import com.lookfit.product.event.ProductEvents;
+import com.lookfit.product.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * GarmentAssetService 테스트 (실제 ImageIO 축소)
+ */
+@ExtendWith(MockitoExtension.class)
+class GarmentAssetServiceTest {
+
+    private static final String PRODUCT_ID = "P001";
+    private static final String IMAGE_URL = "/images/products/P001";
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private VirtualFittingRepository fittingRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ImageIngestService imageIngestService;
+    private GarmentAssetService garmentAssetService;
+    private Path source;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        imageIngestService = new ImageIngestService();
+        ReflectionTestUtils.setField(imageIngestService, "jpegQuality", 0.85f);
+        garmentAssetService = newService();
+        source = writeImage(PRODUCT_ID, 1536, 2048);
+    }
+
+    @Test
+    @DisplayName("처음 요청에서 모델 입력 크기로 준비하고 이후에는 원본을 읽지 않는다")
+    void resolve_PreparesOnceAndReuses() throws Exception {
+        // when
+        String first = garmentAssetService.resolve(IMAGE_URL);
+        Files.delete(source);
+        String second = garmentAssetService.resolve(IMAGE_URL);
+
+        // then
+        assertThat(second).isEqualTo(first);
+        BufferedImage prepared = ImageIO.read(Path.of(first).toFile());
+        assertThat(prepared.getWidth()).isEqualTo(768);
+        assertThat(prepared.getHeight()).isEqualTo(1024);
+        assertThat(count("hit")).isEqualTo(1.0);
+        assertThat(count("miss")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("상품 수정 이벤트면 해당 상품 이미지만 다시 준비한다")
+    void onProductUpdated_Rebuilds() throws Exception {
+        // given
+        String path = garmentAssetService.resolve(IMAGE_URL);
+        writeImage(PRODUCT_ID, 600, 600);
+        when(productRepository.findById(PRODUCT_ID)).thenReturn(Optional.of(product(PRODUCT_ID, IMAGE_URL)));
+
+        // when
+        garmentAssetService.onProductUpdated(new ProductEvents.ProductUpdatedEvent(PRODUCT_ID));
+
+        // then
+        assertThat(garmentAssetService.resolve(IMAGE_URL)).isEqualTo(path);
+        assertThat(ImageIO.read(Path.of(path).toFile()).getWidth()).isEqualTo(600);
+        assertThat(buildCount()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("상품 이미지 URL이 바뀌면 이전 이미지 캐시를 지운다")
+    void onProductUpdated_ImageUrlChanged() throws Exception {
+        // given
+        when(productRepository.findById(PRODUCT_ID))
+                .thenReturn(Optional.of(product(PRODUCT_ID, IMAGE_URL)))
+                .thenReturn(Optional.of(product(PRODUCT_ID, "/images/products/P001-v2")));
+        writeImage("P001-v2", 800, 800);
+        garmentAssetService.onProductCreated(new ProductEvents.ProductCreatedEvent(PRODUCT_ID));
+        String oldPath = garmentAssetService.resolve(IMAGE_URL);
+
+        // when
+        garmentAssetService.onProductUpdated(new ProductEvents.ProductUpdatedEvent(PRODUCT_ID));
+
+        // then
+        assertThat(Path.of(oldPath)).doesNotExist();
+        assertThat(garmentAssetService.getEntryCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("기동 시 피팅이 많은 상위 상품을 미리 준비한다")
+    void warmUp_PreparesTopProducts() throws Exception {
+        // given
+        writeImage("P002", 1000, 1000);
+        when(fittingRepository.findTopProductIds(any(), any(Pageable.class))).thenReturn(List.of(PRODUCT_ID, "P002"));
+        when(productRepository.findAllById(List.of(PRODUCT_ID, "P002"))).thenReturn(List.of(
+                product(PRODUCT_ID, IMAGE_URL), product("P002", "/images/products/P002")));
+
+        // when
+        garmentAssetService.warmUp();
+        garmentAssetService.resolve(IMAGE_URL);
+
+        // then
+        assertThat(garmentAssetService.getEntryCount()).isEqualTo(2);
+        assertThat(buildCount()).isEqualTo(2.0);
+        assertThat(count("hit")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("재시작 후 원본보다 새로운 캐시 파일은 다시 만들지 않는다")
+    void resolve_AdoptsFreshFileAfterRestart() throws Exception {
+        // given
+        String path = garmentAssetService.resolve(IMAGE_URL);
+        meterRegistry = new SimpleMeterRegistry();
+        GarmentAssetService restarted = newService();
+
+        // when
+        String resolved = restarted.resolve(IMAGE_URL);
+
+        // then
+        assertThat(resolved).isEqualTo(path);
+        assertThat(buildCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("원본을 읽을 수 없으면 원본 경로로 진행한다")
+    void resolve_FallsBackToSource() throws Exception {
+        // given
+        Files.delete(source);
+
+        // when
+        String resolved = garmentAssetService.resolve(IMAGE_URL);
+
+        // then
+        assertThat(resolved).isEqualTo(source.toAbsolutePath().toString());
+        assertThat(garmentAssetService.getEntryCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("같은 파일명으로 원본을 덮어쓰면 내용 해시가 바뀌고, 바뀌지 않으면 같은 값을 돌려준다")
+    void contentHash_ChangesWhenOverwritten() throws Exception {
+        // given
+        String before = garmentAssetService.contentHash(IMAGE_URL);
+
+        // when
+        writeImage(PRODUCT_ID, 800, 600);
+        Files.setLastModifiedTime(source, FileTime.from(Instant.now().plusSeconds(60)));
+        String after = garmentAssetService.contentHash(IMAGE_URL);
+
+        // then
+        assertThat(before).hasSize(64);
+        assertThat(after).hasSize(64).isNotEqualTo(before);
+        assertThat(garmentAssetService.contentHash(IMAGE_URL)).isEqualTo(after);
+        assertThat(garmentAssetService.contentHash("/images/products/missing")).isNull();
+    }
+
+    private GarmentAssetService newService() {
+        GarmentAssetService service = new GarmentAssetService(
+                productRepository, fittingRepository, imageIngestService, meterRegistry);
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "cacheDir", tempDir.resolve("cache").toString());
+        ReflectionTestUtils.setField(service, "staticImageDir", tempDir.resolve("static").toString());
+        ReflectionTestUtils.setField(service, "modelMaxWidth", 768);
+        ReflectionTestUtils.setField(service, "modelMaxHeight", 1024);
+        ReflectionTestUtils.setField(service, "warmupTopN", 50);
+        ReflectionTestUtils.setField(service, "warmupWindow", Duration.ofDays(30));
+        return service;
+    }
+
+    private Path writeImage(String productId, int width, int height) throws Exception {
+        Path dir = Files.createDirectories(tempDir.resolve("static/products").resolve(productId));
+        Path file = dir.resolve("main.jpg");
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "jpeg", file.toFile());
+        return file;
+    }
+
+    private static Product product(String productId, String imageUrl) {
+        return Product.builder()
+                .productId(productId)
+                .imageUrl(imageUrl)
+                .build();
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("fitting.garment.cache").tag("result", result).counter().count();
+    }
+
+    private double buildCount() {
+        return meterRegistry.get("fitting.garment.cache.builds").counter().count();
+    }
+}
@@ -0,0 +1,161 @@
+package com.lookfit.fitting.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lookfit.global.exception.BusinessException;
+import com.lookfit.global.exception.ErrorCode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * HuggingFaceApiService 단위 테스트 (로컬 모의 Gradio SSE 서버)
+ */
+class HuggingFaceApiServiceTest {
+
+    private static final String EVENT_ID = "evt-1";
+
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    private HuggingFaceApiService service;
+    private final CountDownLatch releaseStream = new CountDownLatch(1);
+    private volatile String streamBody;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        serverThreads = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(serverThreads);
+        server.createContext("/call/tryon", this::handleCall);
+        server.start();
+
+        service = new HuggingFaceApiService(new ObjectMapper());
+        ReflectionTestUtils.setField(service, "spaceBaseUrl", "http://127.0.0.1:" + server.getAddress().getPort());
+        ReflectionTestUtils.setField(service, "apiName", "tryon");
+        ReflectionTestUtils.setField(service, "token", "");
+        ReflectionTestUtils.setField(service, "connectTimeout", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(service, "timeout", Duration.ofSeconds(5));
+        service.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseStream.countDown();
+        service.shutdown();
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("complete 이벤트가 도착하는 즉시 결과를 반환한다 (스트림 종료를 기다리지 않음)")
+    void returnsAsSoonAsCompleteEventArrives() {
+        // given - 진행 이벤트 후 완료 이벤트, 이후에도 연결은 열어 둔다
+        streamBody = "event: generating\ndata: null\n\n"
+                + ": heartbeat\n\n"
+                + "event: complete\ndata: [\"https://space.hf.space/file=/tmp/result.png\"]\n\n";
+
+        // when
+        long startedAt = System.nanoTime();
+        String imageUrl = service.generateVirtualTryOn(
+                "https://lookfit.app/images/user.jpg", "https://lookfit.app/images/P001.jpg", "upper_body");
+
+        // then
+        assertThat(imageUrl).isEqualTo("https://space.hf.space/file=/tmp/result.png");
+        assertThat(Duration.ofNanos(System.nanoTime() - startedAt)).isLessThan(Duration.ofSeconds(2));
+    }
+
+    @Test
+    @DisplayName("파일 객체 형식의 결과는 url을 사용한다")
+    void extractsUrlFromFileObject() {
+        // given
+        streamBody = "event: complete\n"
+                + "data: [{\"path\": \"/tmp/gradio/result.webp\", \"url\": \"https://space.hf.space/file=result.webp\"}]\n\n";
+
+        // when
+        String imageUrl = service.generateVirtualTryOn("u", "g", "upper_body");
+
+        // then
+        assertThat(imageUrl).isEqualTo("https://space.hf.space/file=result.webp");
+    }
+
+    @Test
+    @DisplayName("할당량 초과 error 이벤트는 GPU_QUOTA_EXCEEDED로 변환한다")
+    void mapsQuotaErrorEvent() {
+        // given
+        streamBody = "event: error\ndata: \"You have exceeded your GPU quota (60s requested vs. 0s left)\"\n\n";
+
+        // when & then
+        assertThatThrownBy(() -> service.generateVirtualTryOn("u", "g", "upper_body"))
+                .isInstanceOf(BusinessException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.GPU_QUOTA_EXCEEDED);
+    }
+
+    @Test
+    @DisplayName("결과 없이 스트림이 끝나면 실패")
+    void failsWhenStreamEndsWithoutResult() {
+        // given
+        streamBody = "event: generating\ndata: null\n\n";
+        releaseStream.countDown();
+
+        // when & then
+        assertThatThrownBy(() -> service.generateVirtualTryOn("u", "g", "upper_body"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("결과 없이");
+    }
+
+    @Test
+    @DisplayName("제한 시간 안에 결과가 없으면 타임아웃")
+    void timesOut() {
+        // given
+        ReflectionTestUtils.setField(service, "timeout", Duration.ofMillis(300));
+        streamBody = "event: generating\ndata: null\n\n";
+
+        // when & then
+        assertThatThrownBy(() -> service.generateVirtualTryOn("u", "g", "upper_body"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("타임아웃");
+    }
+
+    private void handleCall(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if ("POST".equals(exchange.getRequestMethod())) {
+                byte[] body = ("{\"event_id\": \"" + EVENT_ID + "\"}").getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+                return;
+            }
+            if (!exchange.getRequestURI().getPath().endsWith("/" + EVENT_ID)) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+
+            exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(200, 0);
+            OutputStream out = exchange.getResponseBody();
+            out.write(streamBody.getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            // 실제 Space처럼 연결을 바로 닫지 않는다
+            releaseStream.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            // 클라이언트가 결과를 받고 연결을 끊음
+        }
+    }
+}
@@ -1,11 +1,24 @@
 package com.lookfit.fitting.service;
 
+import com.lookfit.fitting.admission.FittingAdmissionGovernor;
+import com.lookfit.fitting.cache.FittingResultCacheService;
+import com.lookfit.fitting.domain.BodyPhoto;
 import com.lookfit.fitting.domain.FittingStatus;
 import com.lookfit.fitting.domain.VirtualFitting;
 import com.lookfit.fitting.dto.FittingDto;
+import com.lookfit.fitting.event.FittingEvents;
+import com.lookfit.fitting.job.FittingInFlightRegistry;
+import com.lookfit.fitting.job.FittingJobExecutor;
+import com.lookfit.fitting.job.FittingJobProgress;
+import com.lookfit.fitting.job.FittingJobService;
+import com.lookfit.fitting.repository.FittingHistoryRow;
 import com.lookfit.fitting.repository.VirtualFittingRepository;
+import com.lookfit.fitting.trace.FittingStage;
+import com.lookfit.fitting.trace.FittingStageMetrics;
 import com.lookfit.global.exception.BusinessException;
 import com.lookfit.global.exception.ErrorCode;
+import com.lookfit.global.exception.RetryLaterException;
+import com.lookfit.global.media.MediaStore;
 import com.lookfit.product.domain.Product;
 import com.lookfit.product.repository.ProductRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,15 +28,23 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -39,6 +60,33 @@ class VirtualFittingServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private FittingJobExecutor jobExecutor;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private FittingResultCacheService resultCacheService;
+
+    @Mock
+    private FittingInFlightRegistry inFlightRegistry;
+
+    @Mock
+    private BodyPhotoService bodyPhotoService;
+
+    @Mock
+    private FittingAdmissionGovernor admissionGovernor;
+
+    @Mock
+    private FittingStageMetrics stageMetrics;
+
+    @Mock
+    private FittingJobService fittingJobService;
+
+    @Mock
+    private MediaStore mediaStore;
+
     @InjectMocks
     private VirtualFittingService fittingService;
 
@@ -48,7 +96,6 @@ class VirtualFittingServiceTest {
     @BeforeEach
     void setUp() {
         // 업로드 디렉토리 설정
-        ReflectionTestUtils.setField(fittingService, "uploadDir", "/tmp/fitting_test");
 
         // 테스트용 상품
         testProduct = Product.builder()
@@ -57,6 +104,7 @@ class VirtualFittingServiceTest {
                 .productPrice(BigDecimal.valueOf(50000))
                 .productStock(10)
                 .productCategory("상의")
+                .imageUrl("/images/products/P001")
                 .build();
 
         // 테스트용 이미지 파일
@@ -66,11 +114,67 @@ class VirtualFittingServiceTest {
                 "image/jpeg",
                 "test image content".getBytes()
         );
+
+        // 사진 저장 (정규화/중복 제거는 BodyPhotoServiceTest)
+        lenient().when(bodyPhotoService.store(anyString(), eq(testImageFile)))
+                .thenReturn(new BodyPhotoService.StoredPhoto(bodyPhoto("photo-1", "a".repeat(64)), true));
+    }
+
+    private static BodyPhoto bodyPhoto(String photoId, String contentHash) {
+        return BodyPhoto.builder()
+                .photoId(photoId)
+                .memberId("test_member")
+                .imageUrl("/images/fitting/user/test_member/" + photoId + ".jpg")
+                .contentHash(contentHash)
+                .width(768)
+                .height(1024)
+                .build();
+    }
+
+    @Test
+    @DisplayName("묶음 피팅은 사진을 한 번만 저장하고 의류마다 같은 이미지를 공유하는 피팅을 만든다")
+    void createBatch_StoresImageOnce() throws Exception {
+        // given
+        ReflectionTestUtils.setField(fittingService, "maxBatchSize", 6);
+        Product second = Product.builder().productId("P002").imageUrl("/images/products/P002").build();
+        when(productRepository.findAllById(List.of("P001", "P002"))).thenReturn(List.of(testProduct, second));
+        when(bodyPhotoService.store("test_member", testImageFile))
+                .thenReturn(new BodyPhotoService.StoredPhoto(bodyPhoto("photo-2", "b".repeat(64)), true));
+
+        // when (중복 상품 ID는 한 번만)
+        FittingDto.BatchResponse response = fittingService.createBatch(
+                "test_member", List.of("P001", "P002", "P001"), "upper_body", testImageFile);
+
+        // then
+        verify(bodyPhotoService, times(1)).store("test_member", testImageFile);
+        verify(fittingRepository).saveAll(argThat((List<VirtualFitting> fittings) ->
+                fittings.size() == 2
+                        && fittings.stream().allMatch(f -> response.getBatchId().equals(f.getBatchId())
+                        && "photo-2".equals(f.getBodyPhotoId())
+                        && "b".repeat(64).equals(f.getUserImageHash())
+                        && f.getStatus() == FittingStatus.PENDING)));
+        assertThat(response.getItems()).extracting(FittingDto.StatusResponse::getProductId)
+                .containsExactly("P001", "P002");
+        assertThat(response.getUserImageUrl()).endsWith("photo-2.jpg");
+    }
+
+    @Test
+    @DisplayName("묶음 피팅 의류 수가 한도를 넘으면 저장 전에 거절한다")
+    void createBatch_TooManyProducts() {
+        // given
+        ReflectionTestUtils.setField(fittingService, "maxBatchSize", 2);
+
+        // when & then
+        assertThatThrownBy(() -> fittingService.createBatch(
+                "test_member", List.of("P001", "P002", "P003"), "upper_body", testImageFile))
+                .isInstanceOf(BusinessException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.INVALID_INPUT_VALUE);
+        verifyNoInteractions(bodyPhotoService, fittingRepository);
     }
 
     @Test
     @DisplayName("사용자 이미지 업로드 성공")
-    void uploadUserImage_Success() {
+    void uploadUserImage_Success() throws Exception {
         // given
         String memberId = "test_member";
         String productId = "P001";
@@ -93,12 +197,17 @@ class VirtualFittingServiceTest {
         // then
         assertThat(response).isNotNull();
         assertThat(response.getFittingId()).isNotNull();
-        assertThat(response.getUserImageUrl()).contains("/images/fitting/user/");
+        // 사진은 피팅별 복사본이 아니라 저장된 사진을 참조한다
+        assertThat(response.getUserImageUrl()).isEqualTo("/images/fitting/user/test_member/photo-1.jpg");
+        assertThat(response.getPhotoId()).isEqualTo("photo-1");
         assertThat(response.getStatus()).isEqualTo("PENDING");
         assertThat(response.getMessage()).contains("업로드 완료");
 
         verify(productRepository, times(1)).findById(productId);
-        verify(fittingRepository, times(1)).save(any(VirtualFitting.class));
+        verify(fittingRepository, times(1)).save(argThat(fitting -> fitting.getUserImageHash() != null
+                && fitting.getUserImageHash().length() == 64
+                && fitting.getStageTimings().containsKey("upload")));
+        verify(stageMetrics).record(eq(FittingStage.UPLOAD), eq("none"), eq("success"), anyLong());
     }
 
     @Test
@@ -290,4 +399,347 @@ class VirtualFittingServiceTest {
                 testImageFile
         )).doesNotThrowAnyException();
     }
+
+    @Test
+    @DisplayName("저장된 사진으로 피팅 요청 - 업로드 없이 사진을 참조하는 피팅을 만들고 바로 생성 요청")
+    void generateFromPhoto_CreatesFittingAndEnqueues() {
+        // given
+        when(productRepository.findById("P001")).thenReturn(Optional.of(testProduct));
+        when(bodyPhotoService.use("test_member", "photo-1")).thenReturn(bodyPhoto("photo-1", "a".repeat(64)));
+        AtomicReference<VirtualFitting> saved = new AtomicReference<>();
+        when(fittingRepository.save(any(VirtualFitting.class))).thenAnswer(invocation -> {
+            saved.set(invocation.getArgument(0));
+            return saved.get();
+        });
+        when(fittingRepository.findById(anyString())).thenAnswer(invocation -> Optional.ofNullable(saved.get()));
+        when(fittingRepository.markProcessing(anyString(), anyString())).thenReturn(1);
+        when(jobExecutor.isSaturated()).thenReturn(false);
+
+        // when
+        FittingDto.GenerateResponse response = fittingService.generateFromPhoto(
+                "test_member", "photo-1", "P001", "upper_body");
+
+        // then
+        assertThat(response.getStatus()).isEqualTo("PROCESSING");
+        verify(fittingRepository, atLeastOnce()).save(argThat(fitting -> "photo-1".equals(fitting.getBodyPhotoId())
+                && "a".repeat(64).equals(fitting.getUserImageHash())
+                && "/images/fitting/user/test_member/photo-1.jpg".equals(fitting.getUserImageUrl())));
+        verify(admissionGovernor).admit("test_member", response.getFittingId());
+        verify(eventPublisher).publishEvent(any(FittingEvents.FittingRequestedEvent.class));
+    }
+
+    @Test
+    @DisplayName("AI 생성 요청 - 작업 큐 등록 후 즉시 PROCESSING 응답")
+    void generateFitting_EnqueuesAndReturnsProcessing() {
+        // given
+        VirtualFitting fitting = VirtualFitting.builder()
+                .fittingId("fitting-1")
+                .memberId("test_member")
+                .productId("P001")
+                .userImageUrl("/images/fitting/user/test_member/fitting-1.jpg")
+                .category("upper_body")
+                .build();
+
+        when(fittingRepository.findById("fitting-1")).thenReturn(Optional.of(fitting));
+        when(productRepository.findById("P001")).thenReturn(Optional.of(testProduct));
+        when(jobExecutor.isSaturated()).thenReturn(false);
+        when(fittingRepository.markProcessing(eq("fitting-1"), anyString())).thenReturn(1);
+
+        // when
+        FittingDto.GenerateResponse response = fittingService.generateFitting("fitting-1");
+
+        // then
+        assertThat(response.getStatus()).isEqualTo("PROCESSING");
+        assertThat(fitting.getStatus()).isEqualTo(FittingStatus.PROCESSING);
+        verify(admissionGovernor).admit("test_member", "fitting-1");
+        verify(fittingRepository).markProcessing(eq("fitting-1"), startsWith("hf_gradio_"));
+        verify(eventPublisher).publishEvent(any(FittingEvents.FittingRequestedEvent.class));
+        verify(eventPublisher).publishEvent(any(FittingEvents.FittingStatusChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("AI 생성 요청 - 그 사이 취소된 피팅은 되살리지 않고 입장 허가를 돌려준다")
+    void generateFitting_CancelledConcurrently() {
+        // given
+        VirtualFitting fitting = VirtualFitting.builder()
+                .fittingId("fitting-1")
+                .memberId("test_member")
+                .productId("P001")
+                .category("upper_body")
+                .build();
+        VirtualFitting cancelled = VirtualFitting.builder()
+                .fittingId("fitting-1")
+                .memberId("test_member")
+                .productId("P001")
+                .status(FittingStatus.CANCELLED)
+                .build();
+
+        when(fittingRepository.findById("fitting-1")).thenReturn(Optional.of(fitting), Optional.of(cancelled));
+        when(productRepository.findById("P001")).thenReturn(Optional.of(testProduct));
+        when(jobExecutor.isSaturated()).thenReturn(false);
+        when(fittingRepository.markProcessing(eq("fitting-1"), anyString())).thenReturn(0);
+
+        // when
+        FittingDto.GenerateResponse response = fittingService.generateFitting("fitting-1");
+
+        // then
+        assertThat(response.getStatus()).isEqualTo("CANCELLED");
+        verify(admissionGovernor).release("fitting-1");
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("AI 생성 요청 - 대기열 포화 시 상태 변경 없이 거절")
+    void generateFitting_QueueFull() {
+        // given
+        VirtualFitting fitting = VirtualFitting.builder()
+                .fittingId("fitting-1")
+                .memberId("test_member")
+                .productId("P001")
+                .category("upper_body")
+                .build();
+
+        when(fittingRepository.findById("fitting-1")).thenReturn(Optional.of(fitting));
+        when(productRepository.findById("P001")).thenReturn(Optional.of(testProduct));
+        when(jobExecutor.isSaturated()).thenReturn(true);
+
+        // when & then
+        assertThatThrownBy(() -> fittingService.generateFitting("fitting-1"))
+                .isInstanceOf(BusinessException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.FITTING_QUEUE_FULL);
+
+        assertThat(fitting.getStatus()).isEqualTo(FittingStatus.PENDING);
+        verify(fittingRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("AI 생성 요청 - 입장 제어에서 거절되면 Retry-After와 함께 상태 변경 없이 거절")
+    void generateFitting_AdmissionRejected() {
+        // given
+        VirtualFitting fitting = VirtualFitting.builder()
+                .fittingId("fitting-1")
+                .memberId("test_member")
+                .productId("P001")
+                .category("upper_body")
+                .build();
+
+        when(fittingRepository.findById("fitting-1")).thenReturn(Optional.of(fitting));
+        when(productRepository.findById("P001")).thenReturn(Optional.of(testProduct));
+        doThrow(new RetryLaterException(ErrorCode.FITTING_RATE_LIMITED, Duration.ofSeconds(20)))
+                .when(admissionGovernor).admit("test_member", "fitting-1");
+
+        // when & then
+        assertThatThrownBy(() -> fittingService.generateFitting("fitting-1"))
+                .isInstanceOf(RetryLaterException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.FITTING_RATE_LIMITED)
+                .hasFieldOrPropertyWithValue("retryAfterSeconds", 20L);
+
+        assertThat(fitting.getStatus()).isEqualTo(FittingStatus.PENDING);
+        verify(fittingRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("AI 생성 요청 - 실패한 피팅은 거절")
+    void generateFitting_NotPending() {
+        // given
+        VirtualFitting fitting = VirtualFitting.builder()
+                .fittingId("fitting-1")
+                .memberId("test_member")
+                .productId("P001")
+                .status(FittingStatus.FAILED)
+                .build();
+
+        when(fittingRepository.findById("fitting-1")).thenReturn(Optional.of(fitting));
+
+        // when & then
+        assertThatThrownBy(() -> fittingService.generateFitting("fitting-1"))
+                .isInstanceOf(BusinessException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.INVALID_INPUT_VALUE);
+
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("AI 생성 요청 - 처리 중인 피팅 재요청은 새 작업 없이 현재 상태 응답")
+    void generateFitting_AlreadyProcessing() {
+        // given
+        VirtualFitting fitting = VirtualFitting.builder()
+                .fittingId("fitting-1")
+                .memberId("test_member")
+                .productId("P001")
+                .status(FittingStatus.PROCESSING)
+                .build();
+
+        when(fittingRepository.findById("fitting-1")).thenReturn(Optional.of(fitting));
+
+        // when
+        FittingDto.GenerateResponse response = fittingService.generateFitting("fitting-1");
+
+        // then
+        assertThat(response.getStatus()).isEqualTo("PROCESSING");
+        verify(fittingRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("피팅 취소 - 작업 엔진에 취소를 요청하고 CANCELLED 상태를 응답")
+    void cancelFitting_Success() {
+        // given
+        VirtualFitting fitting = VirtualFitting.builder()
+                .fittingId("fitting-1")
+                .memberId("test_member")
+                .productId("P001")
+                .status(FittingStatus.PROCESSING)
+                .build();
+
+        when(fittingRepository.findById("fitting-1")).thenReturn(Optional.of(fitting));
+        when(fittingJobService.cancel("fitting-1", VirtualFittingService.CANCELLED_MESSAGE))
+                .thenAnswer(invocation -> {
+                    fitting.cancel(invocation.getArgument(1));
+                    return true;
+                });
+
+        // when
+        FittingDto.StatusResponse response = fittingService.cancelFitting("fitting-1", "test_member");
+
+        // then
+        assertThat(response.getStatus()).isEqualTo("CANCELLED");
+        assertThat(response.isCompleted()).isTrue();
+        verify(fittingJobService).cancel("fitting-1", VirtualFittingService.CANCELLED_MESSAGE);
+    }
+
+    @Test
+    @DisplayName("피팅 취소 - 다른 사용자의 피팅은 취소할 수 없다")
+    void cancelFitting_AccessDenied() {
+        // given
+        VirtualFitting fitting = VirtualFitting.builder()
+                .fittingId("fitting-1")
+                .memberId("owner")
+                .productId("P001")
+                .status(FittingStatus.PROCESSING)
+                .build();
+
+        when(fittingRepository.findById("fitting-1")).thenReturn(Optional.of(fitting));
+
+        // when & then
+        assertThatThrownBy(() -> fittingService.cancelFitting("fitting-1", "test_member"))
+                .isInstanceOf(BusinessException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.ACCESS_DENIED);
+        verify(fittingJobService, never()).cancel(any(), any());
+    }
+
+    @Test
+    @DisplayName("상태 조회 - 처리 중이면 대기열 진행 상황 포함")
+    void getFittingStatus_IncludesProgress() {
+        // given
+        VirtualFitting fitting = VirtualFitting.builder()
+                .fittingId("fitting-1")
+                .memberId("test_member")
+                .productId("P001")
+                .status(FittingStatus.PROCESSING)
+                .build();
+
+        when(fittingRepository.findById("fitting-1")).thenReturn(Optional.of(fitting));
+        when(inFlightRegistry.jobIdOf("fitting-1")).thenReturn(Optional.of("flight-1#1"));
+        when(jobExecutor.getProgress("flight-1#1")).thenReturn(Optional.of(
+                FittingJobProgress.queued(3, 5L, 40L)));
+
+        // when
+        FittingDto.StatusResponse response = fittingService.getFittingStatus("fitting-1");
+
+        // then
+        assertThat(response.getStatus()).isEqualTo("PROCESSING");
+        assertThat(response.getStage()).isEqualTo("QUEUED");
+        assertThat(response.getQueuePosition()).isEqualTo(3);
+        assertThat(response.getEstimatedWaitSeconds()).isEqualTo(40L);
+        assertThat(response.isCompleted()).isFalse();
+    }
+
+    @Test
+    @DisplayName("AI 생성 요청 - 결과 캐시 적중 시 AI 호출 없이 즉시 완료")
+    void generateFitting_CacheHit() {
+        // given
+        VirtualFitting fitting = VirtualFitting.builder()
+                .fittingId("fitting-1")
+                .memberId("test_member")
+                .productId("P001")
+                .userImageHash("a".repeat(64))
+                .category("upper_body")
+                .build();
+
+        when(fittingRepository.findById("fitting-1")).thenReturn(Optional.of(fitting));
+        when(productRepository.findById("P001")).thenReturn(Optional.of(testProduct));
+        when(resultCacheService.lookup("a".repeat(64), "/images/products/P001", "upper_body"))
+                .thenReturn(Optional.of("/images/fitting/result/cached.png"));
+        when(fittingRepository.markCompleted(eq("fitting-1"), eq(FittingStatus.PENDING),
+                eq("/images/fitting/result/cached.png"), eq(FittingResultCacheService.PROVIDER_NAME), any(), any()))
+                .thenReturn(1);
+
+        // when
+        FittingDto.GenerateResponse response = fittingService.generateFitting("fitting-1");
+
+        // then
+        assertThat(response.getStatus()).isEqualTo("COMPLETED");
+        assertThat(fitting.getResultImageUrl()).isEqualTo("/images/fitting/result/cached.png");
+        assertThat(fitting.getProvider()).isEqualTo(FittingResultCacheService.PROVIDER_NAME);
+        verify(mediaStore).retain("/images/fitting/result/cached.png", VirtualFitting.MEDIA_OWNER, "fitting-1");
+        verify(jobExecutor, never()).isSaturated();
+        verify(eventPublisher, never()).publishEvent(any(FittingEvents.FittingRequestedEvent.class));
+        verify(eventPublisher).publishEvent(any(FittingEvents.FittingStatusChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("피팅 기록은 한 건 더 읽어 다음 페이지 여부를 판단하고, 마지막 행으로 만든 커서로 이어서 조회한다")
+    void getFittingHistory_KeysetPaging() {
+        // given
+        ReflectionTestUtils.setField(fittingService, "maxHistoryPageSize", 50);
+        LocalDateTime base = LocalDateTime.of(2026, 3, 1, 12, 0);
+        when(fittingRepository.findHistory(eq("test_member"), argThat(pageable -> pageable.getPageSize() == 3)))
+                .thenReturn(List.of(historyRow("fitting-3", base.plusMinutes(3)),
+                        historyRow("fitting-2", base.plusMinutes(2)),
+                        historyRow("fitting-1", base.plusMinutes(1))));
+
+        // when
+        FittingDto.HistoryResponse first = fittingService.getFittingHistory("test_member", null, 2, false);
+
+        // then
+        assertThat(first.getFittings()).extracting(FittingDto.HistoryItem::getFittingId)
+                .containsExactly("fitting-3", "fitting-2");
+        assertThat(first.isHasNext()).isTrue();
+        assertThat(first.getTotalCount()).isNull();
+        verify(fittingRepository, never()).countByMemberId(anyString());
+
+        // when - 다음 페이지 (커서 = 마지막으로 받은 fitting-2)
+        when(fittingRepository.findHistoryBefore(eq("test_member"), eq(base.plusMinutes(2)), eq("fitting-2"), any()))
+                .thenReturn(List.of(historyRow("fitting-1", base.plusMinutes(1))));
+        when(fittingRepository.countByMemberId("test_member")).thenReturn(3L);
+        FittingDto.HistoryResponse second = fittingService.getFittingHistory(
+                "test_member", first.getNextCursor(), 2, true);
+
+        // then
+        assertThat(second.getFittings()).extracting(FittingDto.HistoryItem::getFittingId).containsExactly("fitting-1");
+        assertThat(second.isHasNext()).isFalse();
+        assertThat(second.getNextCursor()).isNull();
+        assertThat(second.getTotalCount()).isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("형식이 잘못된 피팅 기록 커서는 잘못된 입력으로 거절한다")
+    void getFittingHistory_InvalidCursor() {
+        // given
+        ReflectionTestUtils.setField(fittingService, "maxHistoryPageSize", 50);
+
+        // when & then
+        assertThatThrownBy(() -> fittingService.getFittingHistory("test_member", "not-a-cursor", 10, false))
+                .isInstanceOf(BusinessException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.INVALID_INPUT_VALUE);
+        verify(fittingRepository, never()).findHistoryBefore(anyString(), any(), anyString(), any());
+    }
+
+    private static FittingHistoryRow historyRow(String fittingId, LocalDateTime createdAt) {
+        return new FittingHistoryRow(fittingId, "P001", "/images/fitting/user/u.jpg", null,
+                FittingStatus.PENDING, "upper_body", createdAt, null);
+    }
 }
@@ -0,0 +1,192 @@
+package com.lookfit.fitting.speculative;
+
+import com.lookfit.cart.domain.Cart;
+import com.lookfit.cart.repository.CartRepository;
+import com.lookfit.fitting.admission.FittingAdmissionGovernor;
+import com.lookfit.fitting.cache.FittingResultCacheService;
+import com.lookfit.fitting.domain.BodyPhoto;
+import com.lookfit.fitting.job.FittingJobService;
+import com.lookfit.fitting.repository.BodyPhotoRepository;
+import com.lookfit.product.domain.Product;
+import com.lookfit.wishlist.domain.Wishlist;
+import com.lookfit.wishlist.repository.WishlistRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * SpeculativeFittingPlanner 단위 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class SpeculativeFittingPlannerTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+    private static final String MEMBER_ID = "user01";
+    private static final String PHOTO_HASH = "b".repeat(64);
+
+    @Mock
+    private BodyPhotoRepository bodyPhotoRepository;
+
+    @Mock
+    private WishlistRepository wishlistRepository;
+
+    @Mock
+    private CartRepository cartRepository;
+
+    @Mock
+    private FittingResultCacheService resultCacheService;
+
+    @Mock
+    private FittingAdmissionGovernor admissionGovernor;
+
+    @Mock
+    private FittingJobService fittingJobService;
+
+    @InjectMocks
+    private SpeculativeFittingPlanner planner;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(planner, "enabled", true);
+        ReflectionTestUtils.setField(planner, "activeWindow", Duration.ofDays(7));
+        ReflectionTestUtils.setField(planner, "maxMembers", 50);
+        ReflectionTestUtils.setField(planner, "maxPerMember", 2);
+        ReflectionTestUtils.setField(planner, "budgetWindow", Duration.ofDays(1));
+        ReflectionTestUtils.setField(planner, "minAvailablePermits", 2);
+        planner.clock = Clock.fixed(NOW, ZoneOffset.UTC);
+
+        when(admissionGovernor.getAvailablePermits()).thenReturn(4);
+        when(bodyPhotoRepository.findByLastUsedAtAfterOrderByLastUsedAtDesc(any(), any()))
+                .thenReturn(List.of(photo()));
+        when(wishlistRepository.findByMemberIdWithProduct(MEMBER_ID))
+                .thenReturn(List.of(wishlist(product("P013", "신발")), wishlist(product("P005", "상의"))));
+        when(cartRepository.findByMemberIdWithProduct(MEMBER_ID))
+                .thenReturn(List.of(cart(product("P009", "하의")), cart(product("P005", "상의"))));
+        when(fittingJobService.speculate(anyString(), anyString(), anyString(), anyString(), anyString()))
+                .thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("찜 목록을 먼저, 장바구니를 다음으로 입어볼 수 있는 상품만 후보로 삼는다")
+    void candidatesPreferWishlistAndSkipUnwearable() {
+        // when
+        List<SpeculativeFittingPlanner.Candidate> candidates = planner.candidates(MEMBER_ID);
+
+        // then
+        assertThat(candidates)
+                .extracting(SpeculativeFittingPlanner.Candidate::productId, SpeculativeFittingPlanner.Candidate::category)
+                .containsExactly(tuple("P005", "upper_body"), tuple("P009", "lower_body"));
+    }
+
+    @Test
+    @DisplayName("이미 캐시에 있는 결과는 건너뛰고 한 번에 하나씩 예측 생성을 시작한다")
+    void startsOneUncachedCandidatePerSweep() {
+        // given
+        when(resultCacheService.contains(PHOTO_HASH, "/images/products/P005", "upper_body")).thenReturn(true);
+
+        // when
+        planner.plan();
+
+        // then
+        verify(fittingJobService, times(1)).speculate(anyString(), anyString(), anyString(), anyString(), anyString());
+        verify(fittingJobService).speculate(MEMBER_ID, "/images/fitting/user/user01/photo.jpg", PHOTO_HASH,
+                "/images/products/P009", "lower_body");
+    }
+
+    @Test
+    @DisplayName("회원별 기간당 한도를 넘으면 더 만들지 않고, 기간이 지나면 다시 만든다")
+    void respectsPerMemberBudget() {
+        // when
+        planner.plan();
+        planner.plan();
+        planner.plan();
+
+        // then
+        verify(fittingJobService, times(2)).speculate(anyString(), anyString(), anyString(), anyString(), anyString());
+
+        // when - 기간 경과
+        planner.clock = Clock.fixed(NOW.plus(Duration.ofDays(1)), ZoneOffset.UTC);
+        planner.plan();
+
+        // then
+        verify(fittingJobService, times(3)).speculate(anyString(), anyString(), anyString(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("GPU가 바쁘면(입장 허가 부족 또는 할당량 쿨다운) 아무것도 하지 않는다")
+    void skipsWhenGpuBusy() {
+        // given
+        when(admissionGovernor.getAvailablePermits()).thenReturn(1);
+
+        // when
+        planner.plan();
+        when(admissionGovernor.getAvailablePermits()).thenReturn(4);
+        when(admissionGovernor.isQuotaBlocked()).thenReturn(true);
+        planner.plan();
+
+        // then
+        verifyNoInteractions(fittingJobService, bodyPhotoRepository);
+    }
+
+    @Test
+    @DisplayName("실행기가 받지 않으면 한도를 쓰지 않는다")
+    void doesNotConsumeBudgetWhenRejected() {
+        // given
+        when(fittingJobService.speculate(anyString(), anyString(), anyString(), anyString(), anyString()))
+                .thenReturn(false);
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            planner.plan();
+        }
+
+        // then
+        verify(fittingJobService, times(3))
+                .speculate(eq(MEMBER_ID), anyString(), anyString(), eq("/images/products/P005"), anyString());
+    }
+
+    private static BodyPhoto photo() {
+        return BodyPhoto.builder()
+                .photoId("photo-1")
+                .memberId(MEMBER_ID)
+                .imageUrl("/images/fitting/user/user01/photo.jpg")
+                .contentHash(PHOTO_HASH)
+                .build();
+    }
+
+    private static Product product(String productId, String category) {
+        return Product.builder()
+                .productId(productId)
+                .productCategory(category)
+                .imageUrl("/images/products/" + productId)
+                .build();
+    }
+
+    private static Wishlist wishlist(Product product) {
+        return Wishlist.builder().memberId(MEMBER_ID).productId(product.getProductId()).product(product).build();
+    }
+
+    private static Cart cart(Product product) {
+        return Cart.builder().memberId(MEMBER_ID).productId(product.getProductId()).product(product).build();
+    }
+}
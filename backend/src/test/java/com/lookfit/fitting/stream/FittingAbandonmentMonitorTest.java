@@ -0,0 +1,123 @@
+package com.lookfit.fitting.stream;
+
+import com.lookfit.fitting.dto.FittingDto;
+import com.lookfit.fitting.event.FittingEvents;
+import com.lookfit.fitting.job.FittingJobService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * FittingAbandonmentMonitor 단위 테스트 (고정 시계로 grace 경과 흉내)
+ */
+@ExtendWith(MockitoExtension.class)
+class FittingAbandonmentMonitorTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Mock
+    private FittingStatusStreamService statusStreamService;
+
+    @Mock
+    private FittingJobService fittingJobService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private FittingAbandonmentMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        monitor = new FittingAbandonmentMonitor(statusStreamService, fittingJobService, meterRegistry);
+        ReflectionTestUtils.setField(monitor, "enabled", true);
+        ReflectionTestUtils.setField(monitor, "grace", Duration.ofSeconds(30));
+        monitor.clock = Clock.fixed(NOW, ZoneOffset.UTC);
+    }
+
+    @Test
+    @DisplayName("grace 동안 아무도 상태를 확인하지 않은 피팅은 취소한다")
+    void cancelsAbandonedFitting() {
+        // given
+        monitor.touch("fitting-1");
+        when(fittingJobService.cancelAbandoned("fitting-1", FittingAbandonmentMonitor.ABANDONED_MESSAGE)).thenReturn(true);
+
+        // when
+        monitor.clock = Clock.fixed(NOW.plusSeconds(31), ZoneOffset.UTC);
+        monitor.sweep();
+
+        // then
+        verify(fittingJobService).cancel("fitting-1", FittingAbandonmentMonitor.ABANDONED_MESSAGE);
+        assertThat(monitor.getWatchedCount()).isZero();
+        assertThat(meterRegistry.get("fitting.abandoned").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("grace 안에 다시 확인했거나 SSE로 구독 중이면 취소하지 않는다")
+    void keepsWatchedFittings() {
+        // given
+        monitor.touch("polling");
+        monitor.touch("streaming");
+        when(statusStreamService.isWatched(anyString()))
+                .thenAnswer(invocation -> "streaming".equals(invocation.getArgument(0)));
+
+        // when - 20초 뒤 폴링 1회, 다시 20초 뒤 점검
+        monitor.clock = Clock.fixed(NOW.plusSeconds(20), ZoneOffset.UTC);
+        monitor.touch("polling");
+        monitor.clock = Clock.fixed(NOW.plusSeconds(40), ZoneOffset.UTC);
+        monitor.sweep();
+
+        // then
+        verify(fittingJobService, never()).cancelAbandoned(anyString(), any());
+        assertThat(monitor.getWatchedCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("끝난 피팅은 감시 대상에서 빠진다")
+    void forgetsCompletedFittings() {
+        // given
+        monitor.touch("fitting-1");
+
+        // when
+        monitor.onStatusChanged(new FittingEvents.FittingStatusChangedEvent("fitting-1",
+                FittingDto.StatusResponse.builder()
+                        .fittingId("fitting-1")
+                        .status("COMPLETED")
+                        .isCompleted(true)
+                        .build()));
+        monitor.clock = Clock.fixed(NOW.plusSeconds(60), ZoneOffset.UTC);
+        monitor.sweep();
+
+        // then
+        assertThat(monitor.getWatchedCount()).isZero();
+        verifyNoInteractions(fittingJobService);
+    }
+
+    @Test
+    @DisplayName("비활성화하면 관찰 기록을 남기지 않는다")
+    void disabledDoesNothing() {
+        // given
+        ReflectionTestUtils.setField(monitor, "enabled", false);
+
+        // when
+        monitor.touch("fitting-1");
+        monitor.sweep();
+
+        // then
+        assertThat(monitor.getWatchedCount()).isZero();
+        verifyNoInteractions(statusStreamService, fittingJobService);
+    }
+}
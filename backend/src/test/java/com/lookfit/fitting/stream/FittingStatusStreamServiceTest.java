@@ -0,0 +1,252 @@
+package com.lookfit.fitting.stream;
+
+import com.lookfit.fitting.batch.FittingBatchCoordinator;
+import com.lookfit.fitting.controller.VirtualFittingController;
+import com.lookfit.fitting.dto.FittingDto;
+import com.lookfit.fitting.event.FittingEvents;
+import com.lookfit.fitting.job.FittingJobProgress;
+import com.lookfit.fitting.service.VirtualFittingService;
+import com.lookfit.global.security.JwtTokenProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import com.lookfit.global.exception.BusinessException;
+import com.lookfit.global.exception.ErrorCode;
+import com.lookfit.global.exception.GlobalExceptionHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 피팅 상태 SSE 스트림 테스트 (컨트롤러 standalone MockMvc + 실제 구독 레지스트리)
+ */
+@ExtendWith(MockitoExtension.class)
+class FittingStatusStreamServiceTest {
+
+    @Mock
+    private VirtualFittingService fittingService;
+
+    @Mock
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Mock
+    private FittingBatchCoordinator batchCoordinator;
+
+    @Mock
+    private FittingAbandonmentMonitor abandonmentMonitor;
+
+    private FittingStatusStreamService streamService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        streamService = new FittingStatusStreamService(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(streamService, "timeout", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(streamService, "reconnectDelay", Duration.ofSeconds(3));
+
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new VirtualFittingController(fittingService, jwtTokenProvider,
+                        streamService, batchCoordinator, abandonmentMonitor))
+                .setCustomArgumentResolvers(new AuthenticationPrincipalArgumentResolver())
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("member-1", null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("구독 시 현재 상태를 보내고, 상태 변경을 push하며, 완료되면 스트림을 닫는다")
+    void pushesSnapshotThenTransitionsUntilCompleted() throws Exception {
+        // given
+        when(fittingService.getFittingStatus("fitting-1", "member-1")).thenReturn(queued("fitting-1", 2));
+
+        // when
+        MockHttpServletResponse response = subscribe("fitting-1", null);
+        streamService.onStatusChanged(event(running("fitting-1")));
+        streamService.onStatusChanged(event(completed("fitting-1")));
+
+        // then
+        String body = response.getContentAsString();
+        assertThat(body).contains("id:PROCESSING.QUEUED.2", "event:status", "retry:3000");
+        assertThat(body.indexOf("\"stage\":\"QUEUED\"")).isLessThan(body.indexOf("\"stage\":\"RUNNING\""));
+        assertThat(body).contains("\"resultImageUrl\":\"/images/fitting/result/r.png\"");
+        assertThat(streamService.getSubscriberCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("재연결 시 Last-Event-ID가 현재 상태와 같으면 스냅샷을 다시 보내지 않는다")
+    void skipsSnapshotWhenLastEventIdIsCurrent() throws Exception {
+        // given
+        when(fittingService.getFittingStatus("fitting-1", "member-1")).thenReturn(running("fitting-1"));
+
+        // when
+        MockHttpServletResponse response = subscribe("fitting-1", "PROCESSING.RUNNING.0");
+
+        // then
+        assertThat(response.getContentAsString()).doesNotContain("data:");
+        assertThat(streamService.getSubscriberCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("늦게 도착한 이전 단계 이벤트는 무시한다")
+    void ignoresOutOfOrderOlderEvents() throws Exception {
+        // given
+        when(fittingService.getFittingStatus("fitting-1", "member-1")).thenReturn(running("fitting-1"));
+        MockHttpServletResponse response = subscribe("fitting-1", null);
+
+        // when
+        streamService.onStatusChanged(event(queued("fitting-1", 1)));
+
+        // then
+        assertThat(response.getContentAsString()).doesNotContain("QUEUED");
+    }
+
+    @Test
+    @DisplayName("다른 피팅의 이벤트는 전달되지 않고, heartbeat는 주석으로 전송된다")
+    void routesByFittingIdAndSendsHeartbeat() throws Exception {
+        // given
+        when(fittingService.getFittingStatus("fitting-1", "member-1")).thenReturn(running("fitting-1"));
+        MockHttpServletResponse response = subscribe("fitting-1", null);
+
+        // when
+        streamService.onStatusChanged(event(completed("fitting-2")));
+        streamService.heartbeat();
+
+        // then
+        assertThat(response.getContentAsString())
+                .doesNotContain("COMPLETED")
+                .contains(":heartbeat");
+        assertThat(streamService.getSubscriberCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("묶음 스트림은 항목별 상태를 한 연결로 보내고 모든 항목이 끝나면 닫는다")
+    void batchStreamClosesWhenAllItemsComplete() throws Exception {
+        // given
+        when(fittingService.getBatchStatuses("batch-1", "member-1"))
+                .thenReturn(List.of(completed("fitting-1"), queued("fitting-2", 1), queued("fitting-3", 2)));
+
+        // when
+        MockHttpServletResponse response = mockMvc.perform(get("/api/v1/fitting/batch/{batchId}/events", "batch-1")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn()
+                .getResponse();
+        streamService.onStatusChanged(event(completed("fitting-2")));
+
+        // then - 아직 fitting-3이 남아 있다
+        assertThat(response.getContentAsString())
+                .contains("id:fitting-1:COMPLETED.-.0", "id:fitting-2:PROCESSING.QUEUED.1", "id:fitting-2:COMPLETED.-.0");
+        assertThat(streamService.getSubscriberCount()).isEqualTo(1);
+
+        // when
+        streamService.onStatusChanged(event(completed("fitting-3")));
+
+        // then
+        assertThat(response.getContentAsString()).contains("id:fitting-3:COMPLETED.-.0");
+        assertThat(streamService.getSubscriberCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("다른 회원의 묶음은 구독하지 않고 이탈 감시도 갱신하지 않는다")
+    void batchStreamRejectsOtherMembers() throws Exception {
+        // given
+        when(fittingService.getBatchStatuses("batch-1", "member-1"))
+                .thenThrow(new BusinessException(ErrorCode.ACCESS_DENIED));
+
+        // when & then
+        mockMvc.perform(get("/api/v1/fitting/batch/{batchId}/events", "batch-1")
+                        .accept(MediaType.TEXT_EVENT_STREAM, MediaType.APPLICATION_JSON))
+                .andExpect(status().isForbidden());
+        verifyNoInteractions(abandonmentMonitor);
+        assertThat(streamService.getSubscriberCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("다른 회원의 피팅은 구독하지 않고 이탈 감시도 갱신하지 않는다")
+    void fittingStreamRejectsOtherMembers() throws Exception {
+        // given
+        when(fittingService.getFittingStatus("fitting-1", "member-1"))
+                .thenThrow(new BusinessException(ErrorCode.ACCESS_DENIED));
+
+        // when & then
+        mockMvc.perform(get("/api/v1/fitting/{fittingId}/events", "fitting-1")
+                        .accept(MediaType.TEXT_EVENT_STREAM, MediaType.APPLICATION_JSON))
+                .andExpect(status().isForbidden());
+        verifyNoInteractions(abandonmentMonitor);
+        assertThat(streamService.getSubscriberCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("다른 회원의 피팅은 폴링으로 조회할 수 없고 이탈 감시도 갱신하지 않는다")
+    void fittingPollRejectsOtherMembers() throws Exception {
+        // given
+        when(jwtTokenProvider.getMemberId("member-1-token")).thenReturn("member-1");
+        when(fittingService.getFittingStatus("fitting-1", "member-1"))
+                .thenThrow(new BusinessException(ErrorCode.ACCESS_DENIED));
+
+        // when & then
+        mockMvc.perform(get("/api/v1/fitting/{fittingId}", "fitting-1")
+                        .header("Authorization", "Bearer member-1-token"))
+                .andExpect(status().isForbidden());
+        verifyNoInteractions(abandonmentMonitor);
+    }
+
+    private MockHttpServletResponse subscribe(String fittingId, String lastEventId) throws Exception {
+        var builder = get("/api/v1/fitting/{fittingId}/events", fittingId).accept(MediaType.TEXT_EVENT_STREAM);
+        if (lastEventId != null) {
+            builder.header("Last-Event-ID", lastEventId);
+        }
+        return mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn()
+                .getResponse();
+    }
+
+    private static FittingEvents.FittingStatusChangedEvent event(FittingDto.StatusResponse status) {
+        return new FittingEvents.FittingStatusChangedEvent(status.getFittingId(), status);
+    }
+
+    private static FittingDto.StatusResponse queued(String fittingId, int position) {
+        return FittingDto.StatusResponse.processing(fittingId,
+                FittingJobProgress.queued(position, 1L, 30L));
+    }
+
+    private static FittingDto.StatusResponse running(String fittingId) {
+        return FittingDto.StatusResponse.processing(fittingId,
+                FittingJobProgress.running(3L));
+    }
+
+    private static FittingDto.StatusResponse completed(String fittingId) {
+        return FittingDto.StatusResponse.builder()
+                .fittingId(fittingId)
+                .status("COMPLETED")
+                .resultImageUrl("/images/fitting/result/r.png")
+                .isCompleted(true)
+                .build();
+    }
+}
@@ -0,0 +1,192 @@
+package com.lookfit.fitting.worker;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * PythonWorkerPool 테스트 (python3 필요, 스텁 스크립트 사용)
+ */
+class PythonWorkerPoolTest {
+
+    private static final int ITERATIONS = 20;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private SimpleMeterRegistry meterRegistry;
+    private PythonWorkerPool pool;
+    private String stubScript;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        assumeTrue(isPythonAvailable(), "python3 not available");
+        stubScript = Paths.get(getClass().getResource("/python/stub_tryon.py").toURI()).toString();
+
+        meterRegistry = new SimpleMeterRegistry();
+        pool = new PythonWorkerPool(objectMapper, meterRegistry);
+        ReflectionTestUtils.setField(pool, "enabled", true);
+        ReflectionTestUtils.setField(pool, "size", 1);
+        ReflectionTestUtils.setField(pool, "pythonCommand", "python3");
+        ReflectionTestUtils.setField(pool, "workerScript", stubScript);
+        ReflectionTestUtils.setField(pool, "startupTimeout", Duration.ofSeconds(10));
+        ReflectionTestUtils.setField(pool, "callTimeout", Duration.ofSeconds(10));
+        ReflectionTestUtils.setField(pool, "acquireTimeout", Duration.ofSeconds(10));
+        ReflectionTestUtils.setField(pool, "healthCheckInterval", Duration.ofMinutes(10));
+        pool.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("상주 워커로 tryon 요청 처리")
+    void executesTryOnRequest() throws Exception {
+        // when
+        JsonNode result = pool.execute(tryOnRequest());
+
+        // then
+        assertThat(result.path("success").asBoolean()).isTrue();
+        assertThat(result.path("result_image").asText()).isEqualTo("/tmp/user.jpg");
+    }
+
+    @Test
+    @DisplayName("워커 프로세스가 죽으면 자동으로 재기동된다")
+    void respawnsCrashedWorker() throws Exception {
+        // given
+        pool.execute(tryOnRequest());
+
+        // when
+        ObjectNode crash = objectMapper.createObjectNode().put("op", "crash");
+        assertThatThrownBy(() -> pool.execute(crash))
+                .isInstanceOf(PythonWorkerPool.WorkerUnavailableException.class);
+
+        // then
+        JsonNode result = pool.execute(tryOnRequest());
+        assertThat(result.path("success").asBoolean()).isTrue();
+        assertThat(meterRegistry.get("fitting.python.respawn").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("호출 중 스레드가 인터럽트되면(피팅 취소) 워커 프로세스를 종료하고 새 워커로 교체한다")
+    void interruptKillsBusyWorker() throws Exception {
+        // given
+        pool.execute(tryOnRequest());
+        ObjectNode sleep = objectMapper.createObjectNode().put("op", "sleep").put("seconds", 30);
+        AtomicReference<Thread> caller = new AtomicReference<>();
+        CompletableFuture<Throwable> outcome = CompletableFuture.supplyAsync(() -> {
+            caller.set(Thread.currentThread());
+            try {
+                pool.execute(sleep);
+                return null;
+            } catch (Exception e) {
+                return e;
+            }
+        });
+        Thread.sleep(300);
+
+        // when
+        long startedAt = System.nanoTime();
+        caller.get().interrupt();
+
+        // then
+        assertThat(outcome.get(5, TimeUnit.SECONDS)).isInstanceOf(InterruptedException.class);
+        JsonNode result = pool.execute(tryOnRequest());
+        assertThat(result.path("success").asBoolean()).isTrue();
+        assertThat(System.nanoTime() - startedAt).isLessThan(TimeUnit.SECONDS.toNanos(10));
+        assertThat(meterRegistry.get("fitting.python.respawn").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("헬스체크는 정상 워커를 유휴 상태로 되돌린다")
+    void healthCheckKeepsHealthyWorker() throws Exception {
+        // given
+        pool.execute(tryOnRequest());
+
+        // when
+        pool.healthCheck();
+
+        // then
+        assertThat(meterRegistry.get("fitting.python.workers.live").gauge().value()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("fitting.python.respawn").counter().count()).isZero();
+    }
+
+    /**
+     * 요청마다 프로세스 실행 vs 상주 워커 - 호출당 오버헤드 비교
+     * 스텁은 기동 시 0.5초(gradio_client import + 핸드셰이크 흉내)를 소모한다
+     */
+    @Test
+    @Tag("benchmark")
+    @DisplayName("벤치마크: 상주 워커 호출 오버헤드가 프로세스 실행 대비 수 ms 수준")
+    void benchmarkPoolVersusSpawnPerRequest() throws Exception {
+        // warm-up
+        pool.execute(tryOnRequest());
+
+        long spawnStart = System.nanoTime();
+        for (int i = 0; i < ITERATIONS / 4; i++) {
+            spawnOnce();
+        }
+        double spawnMillis = (System.nanoTime() - spawnStart) / 1e6 / (ITERATIONS / 4);
+
+        long poolStart = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            pool.execute(tryOnRequest());
+        }
+        double poolMillis = (System.nanoTime() - poolStart) / 1e6 / ITERATIONS;
+
+        System.out.printf("[PythonWorkerPool benchmark] spawn-per-request: %.1f ms/call, pooled: %.2f ms/call (x%.0f)%n",
+                spawnMillis, poolMillis, spawnMillis / poolMillis);
+
+        assertThat(poolMillis).isLessThan(50.0);
+        assertThat(poolMillis * 10).isLessThan(spawnMillis);
+    }
+
+    private ObjectNode tryOnRequest() {
+        return objectMapper.createObjectNode()
+                .put("op", "tryon")
+                .put("user_image", "/tmp/user.jpg")
+                .put("garment_image", "/tmp/garment.jpg")
+                .put("category", "upper_body");
+    }
+
+    private void spawnOnce() throws Exception {
+        Process process = new ProcessBuilder("python3", stubScript, "/tmp/user.jpg", "/tmp/garment.jpg", "upper_body")
+                .redirectErrorStream(true)
+                .start();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            while (reader.readLine() != null) {
+                // 기존 방식과 동일하게 출력 전체를 읽는다
+            }
+        }
+        assertThat(process.waitFor(30, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private static boolean isPythonAvailable() {
+        try {
+            Process process = new ProcessBuilder("python3", "--version").redirectErrorStream(true).start();
+            return process.waitFor(5, TimeUnit.SECONDS) && process.exitValue() == 0;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.lookfit.global.image;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * ImageIngestService 테스트 (실제 ImageIO 인코딩/디코딩)
+ */
+class ImageIngestServiceTest {
+
+    private static final ImageProfile MODEL = new ImageProfile("fitting", 768, 1024);
+
+    @TempDir
+    Path tempDir;
+
+    private ImageIngestService ingestService;
+
+    @BeforeEach
+    void setUp() {
+        ingestService = new ImageIngestService();
+        ReflectionTestUtils.setField(ingestService, "jpegQuality", 0.85f);
+    }
+
+    @Test
+    @DisplayName("큰 사진은 모델 입력 해상도 이하로 축소해 JPEG로 저장한다")
+    void downscalesToModelResolution() throws Exception {
+        // given
+        byte[] jpeg = encode(gradient(3000, 4000), "jpeg");
+
+        // when
+        IngestedImage image = ingestService.ingest(upload("photo.jpg", jpeg), tempDir, "fitting-1", MODEL);
+
+        // then
+        assertThat(image.normalized()).isTrue();
+        assertThat(image.filename()).isEqualTo("fitting-1.jpg");
+        assertThat(image.width()).isEqualTo(768);
+        assertThat(image.height()).isEqualTo(1024);
+        assertThat(image.storedSize()).isLessThan(image.originalSize());
+        assertThat(image.contentHash()).hasSize(64);
+
+        BufferedImage stored = ImageIO.read(image.path().toFile());
+        assertThat(stored.getWidth()).isEqualTo(768);
+        assertThat(stored.getHeight()).isEqualTo(1024);
+        assertThat(listFiles()).containsExactly("fitting-1.jpg");
+    }
+
+    @Test
+    @DisplayName("EXIF 방향(시계 방향 90도)을 적용해 가로/세로를 바로잡는다")
+    void appliesExifOrientation() throws Exception {
+        // given - 왼쪽 절반 빨강, 오른쪽 절반 파랑인 가로 사진 + Orientation=6
+        BufferedImage landscape = new BufferedImage(400, 200, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = landscape.createGraphics();
+        graphics.setColor(Color.RED);
+        graphics.fillRect(0, 0, 200, 200);
+        graphics.setColor(Color.BLUE);
+        graphics.fillRect(200, 0, 200, 200);
+        graphics.dispose();
+        byte[] jpeg = withExifOrientation(encode(landscape, "jpeg"), 6);
+
+        // when
+        IngestedImage image = ingestService.ingest(upload("rotated.jpg", jpeg), tempDir, "rotated", MODEL);
+
+        // then - 세로 사진이 되고 빨강이 위쪽
+        assertThat(image.width()).isEqualTo(200);
+        assertThat(image.height()).isEqualTo(400);
+        BufferedImage stored = ImageIO.read(image.path().toFile());
+        assertThat(new Color(stored.getRGB(100, 20)).getRed()).isGreaterThan(200);
+        assertThat(new Color(stored.getRGB(100, 380)).getBlue()).isGreaterThan(200);
+    }
+
+    @Test
+    @DisplayName("작은 PNG는 확대하지 않고 JPEG로 재인코딩한다")
+    void reencodesSmallPngWithoutUpscaling() throws Exception {
+        // given
+        BufferedImage png = new BufferedImage(300, 200, BufferedImage.TYPE_INT_ARGB);
+
+        // when
+        IngestedImage image = ingestService.ingest(upload("small.png", encode(png, "png")), tempDir, "small", MODEL);
+
+        // then
+        assertThat(image.filename()).isEqualTo("small.jpg");
+        assertThat(image.width()).isEqualTo(300);
+        assertThat(image.height()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("디코딩할 수 없는 형식은 실제 형식 확장자로 원본 그대로 저장한다")
+    void storesUndecodableFormatAsIs() throws Exception {
+        // given - WebP 시그니처 (JDK ImageIO 미지원)
+        byte[] webp = {'R', 'I', 'F', 'F', 0, 0, 0, 0, 'W', 'E', 'B', 'P', 'V', 'P', '8', ' '};
+
+        // when
+        IngestedImage image = ingestService.ingest(upload("review.jpg", webp), tempDir, "review", MODEL);
+
+        // then
+        assertThat(image.normalized()).isFalse();
+        assertThat(image.filename()).isEqualTo("review.webp");
+        assertThat(Files.readAllBytes(image.path())).isEqualTo(webp);
+        assertThat(listFiles()).containsExactly("review.webp");
+    }
+
+    @Test
+    @DisplayName("목표 크기의 2배 이상 큰 원본은 서브샘플링해서 디코딩한다")
+    void subsamplesLargeSources() {
+        assertThat(ImageIngestService.subsamplingFactor(6000, 8000, ExifOrientation.NORMAL, MODEL)).isEqualTo(3);
+        assertThat(ImageIngestService.subsamplingFactor(1200, 1600, ExifOrientation.NORMAL, MODEL)).isEqualTo(1);
+        assertThat(ImageIngestService.subsamplingFactor(500, 500, ExifOrientation.NORMAL, MODEL)).isEqualTo(1);
+    }
+
+    private MockMultipartFile upload(String filename, byte[] content) {
+        return new MockMultipartFile("image", filename, "image/jpeg", content);
+    }
+
+    private List<String> listFiles() throws Exception {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.map(path -> path.getFileName().toString()).toList();
+        }
+    }
+
+    private static BufferedImage gradient(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setPaint(new GradientPaint(0, 0, Color.ORANGE, width, height, Color.DARK_GRAY));
+        graphics.fillRect(0, 0, width, height);
+        graphics.dispose();
+        return image;
+    }
+
+    private static byte[] encode(BufferedImage image, String format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, format, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * SOI 바로 뒤에 Orientation 태그만 있는 EXIF APP1 세그먼트 삽입 (big-endian TIFF)
+     */
+    private static byte[] withExifOrientation(byte[] jpeg, int orientation) {
+        byte[] tiff = {
+                'M', 'M', 0, 0x2A, 0, 0, 0, 8,          // TIFF 헤더, IFD0 오프셋 8
+                0, 1,                                    // 엔트리 1개
+                0x01, 0x12, 0, 3, 0, 0, 0, 1,            // Orientation, SHORT, count 1
+                0, (byte) orientation, 0, 0,
+                0, 0, 0, 0                               // 다음 IFD 없음
+        };
+        int length = 2 + 6 + tiff.length;
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(jpeg, 0, 2);
+        out.write(0xFF);
+        out.write(0xE1);
+        out.write(length >> 8);
+        out.write(length & 0xFF);
+        out.writeBytes(new byte[]{'E', 'x', 'i', 'f', 0, 0});
+        out.writeBytes(tiff);
+        out.write(jpeg, 2, jpeg.length - 2);
+        return out.toByteArray();
+    }
+}
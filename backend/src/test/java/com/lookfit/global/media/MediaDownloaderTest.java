@@ -0,0 +1,112 @@
+package com.lookfit.global.media;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * MediaDownloader 테스트 (로컬 HTTP 서버 + 목 저장소)
+ */
+@ExtendWith(MockitoExtension.class)
+class MediaDownloaderTest {
+
+    private static final byte[] IMAGE = {(byte) 0x89, 'P', 'N', 'G', 1, 2, 3, 4, 5, 6, 7, 8};
+
+    @Mock
+    private MediaStore mediaStore;
+
+    private HttpServer server;
+    private MediaDownloader downloader;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/result.png", exchange -> {
+            exchange.sendResponseHeaders(200, IMAGE.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(IMAGE);
+            }
+        });
+        server.createContext("/expired.png", exchange -> {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        server.start();
+
+        downloader = new MediaDownloader(mediaStore);
+        ReflectionTestUtils.setField(downloader, "connectTimeout", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(downloader, "timeout", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(downloader, "maxSize", DataSize.ofMegabytes(1));
+        downloader.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        downloader.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("원격 결과 이미지를 내려받아 미디어 저장소에 넣고 저장소 URL을 돌려준다")
+    void storesRemoteImage() throws Exception {
+        // given
+        AtomicReference<byte[]> moved = new AtomicReference<>();
+        when(mediaStore.moveIn(any(Path.class), eq(0), eq(0))).thenAnswer(invocation -> {
+            Path file = invocation.getArgument(0);
+            moved.set(Files.readAllBytes(file));
+            return new StoredMedia("a".repeat(64), "/media/aa/aa/" + "a".repeat(64) + ".png", file,
+                    IMAGE.length, 0, 0, false);
+        });
+
+        // when
+        String url = downloader.download(baseUrl() + "/result.png");
+
+        // then
+        assertThat(url).isEqualTo("/media/aa/aa/" + "a".repeat(64) + ".png");
+        assertThat(moved.get()).isEqualTo(IMAGE);
+    }
+
+    @Test
+    @DisplayName("이미 저장소 URL이면 내려받지 않고, 응답이 200이 아니거나 상한을 넘으면 실패한다")
+    void rejectsStoredOrFailedDownloads() {
+        // given
+        String mediaUrl = MediaStore.urlOf("ab" + "cd" + "e".repeat(60), "png");
+        ReflectionTestUtils.setField(downloader, "maxSize", DataSize.ofBytes(4));
+
+        // when & then
+        assertThatCode(() -> assertThat(downloader.download(mediaUrl)).isEqualTo(mediaUrl))
+                .doesNotThrowAnyException();
+        assertThatThrownBy(() -> downloader.download(baseUrl() + "/expired.png"))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("404");
+        assertThatThrownBy(() -> downloader.download(baseUrl() + "/result.png"))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("너무 큽니다");
+        assertThatThrownBy(() -> downloader.download("file:///etc/passwd"))
+                .isInstanceOf(IOException.class);
+        verifyNoInteractions(mediaStore);
+    }
+
+    private String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+}
@@ -0,0 +1,162 @@
+package com.lookfit.global.media;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * MediaFileServer 테스트 (실제 파일 + 목 서블릿 요청/응답)
+ */
+class MediaFileServerTest {
+
+    private static final String HASH = "ab" + "cd" + "e".repeat(60);
+    private static final String ETAG = "\"" + HASH + "\"";
+
+    @TempDir
+    Path tempDir;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private MediaFileServer server;
+    private Path file;
+    private byte[] content;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new MediaFileServer(Duration.ofDays(365), DataSize.ofKilobytes(1), meterRegistry);
+        content = new byte[4096];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        file = Files.write(tempDir.resolve(HASH + ".jpg"), content);
+    }
+
+    @Test
+    @DisplayName("전체 응답에 해시 ETag와 immutable 캐시 헤더를 붙인다")
+    void servesWholeFileWithImmutableCaching() throws Exception {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/media/ab/cd/" + HASH + ".jpg");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // when
+        server.serve(request, response, HASH, file, "image/jpeg");
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(ETAG);
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).contains("max-age=31536000", "public", "immutable");
+        assertThat(response.getHeader(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+        assertThat(response.getContentType()).isEqualTo("image/jpeg");
+        assertThat(response.getContentLengthLong()).isEqualTo(content.length);
+        assertThat(response.getContentAsByteArray()).isEqualTo(content);
+    }
+
+    @Test
+    @DisplayName("If-None-Match가 해시와 같으면 파일을 보지 않고 304 (파일이 없어도)")
+    void answersConditionalGetWithoutTouchingFile() throws Exception {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/media/ab/cd/" + HASH + ".jpg");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"other\", W/" + ETAG);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // when
+        server.serve(request, response, HASH, tempDir.resolve("missing.jpg"), "image/jpeg");
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(ETAG);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(meterRegistry.get("media.serve.requests").tag("result", "not_modified").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("단일 Range는 206과 해당 구간만 보낸다")
+    void servesSingleRange() throws Exception {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/media/ab/cd/" + HASH + ".jpg");
+        request.addHeader(HttpHeaders.RANGE, "bytes=100-199");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // when
+        server.serve(request, response, HASH, file, "image/jpeg");
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 100-199/4096");
+        assertThat(response.getContentLengthLong()).isEqualTo(100);
+        assertThat(response.getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(content, 100, 200));
+    }
+
+    @Test
+    @DisplayName("파일 밖의 Range는 416, If-Range가 다른 ETag면 전체 응답")
+    void rejectsUnsatisfiableRangeAndHonoursIfRange() throws Exception {
+        // given
+        MockHttpServletRequest outside = new MockHttpServletRequest("GET", "/media/ab/cd/" + HASH + ".jpg");
+        outside.addHeader(HttpHeaders.RANGE, "bytes=5000-6000");
+        MockHttpServletResponse outsideResponse = new MockHttpServletResponse();
+
+        MockHttpServletRequest stale = new MockHttpServletRequest("GET", "/media/ab/cd/" + HASH + ".jpg");
+        stale.addHeader(HttpHeaders.RANGE, "bytes=0-9");
+        stale.addHeader(HttpHeaders.IF_RANGE, "\"other\"");
+        MockHttpServletResponse staleResponse = new MockHttpServletResponse();
+
+        // when
+        server.serve(outside, outsideResponse, HASH, file, "image/jpeg");
+        server.serve(stale, staleResponse, HASH, file, "image/jpeg");
+
+        // then
+        assertThat(outsideResponse.getStatus()).isEqualTo(416);
+        assertThat(outsideResponse.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */4096");
+        assertThat(staleResponse.getStatus()).isEqualTo(200);
+        assertThat(staleResponse.getContentAsByteArray()).hasSize(content.length);
+    }
+
+    @Test
+    @DisplayName("컨테이너가 sendfile을 지원하면 본문을 쓰지 않고 파일 구간만 넘긴다")
+    void delegatesLargeFilesToSendfile() throws Exception {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/media/ab/cd/" + HASH + ".jpg");
+        request.setAttribute(MediaFileServer.SENDFILE_SUPPORTED_ATTR, Boolean.TRUE);
+        request.addHeader(HttpHeaders.RANGE, "bytes=1024-");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // when
+        server.serve(request, response, HASH, file, "image/jpeg");
+
+        // then
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(response.getContentLengthLong()).isEqualTo(3072);
+        assertThat(request.getAttribute(MediaFileServer.SENDFILE_FILENAME_ATTR)).isEqualTo(file.toAbsolutePath().toString());
+        assertThat(request.getAttribute(MediaFileServer.SENDFILE_START_ATTR)).isEqualTo(1024L);
+        assertThat(request.getAttribute(MediaFileServer.SENDFILE_END_ATTR)).isEqualTo(4096L);
+    }
+
+    @Test
+    @DisplayName("HEAD 요청은 헤더만 보낸다")
+    void headSendsHeadersOnly() throws Exception {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest("HEAD", "/media/ab/cd/" + HASH + ".jpg");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // when
+        server.serve(request, response, HASH, file, "image/jpeg");
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentLengthLong()).isEqualTo(content.length);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+}
@@ -0,0 +1,176 @@
+package com.lookfit.global.media;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * MediaGarbageCollector 테스트 (실제 디렉토리 + 목 저장소/참조 확인)
+ */
+@ExtendWith(MockitoExtension.class)
+class MediaGarbageCollectorTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-01T00:00:00Z");
+
+    @TempDir
+    Path rootDir;
+
+    @TempDir
+    Path staticDir;
+
+    @Mock
+    private MediaStore mediaStore;
+
+    @Mock
+    private MediaObjectRepository mediaObjectRepository;
+
+    @Mock
+    private MediaReferenceChecker referenceChecker;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private MediaGarbageCollector collector;
+
+    @BeforeEach
+    void setUp() {
+        collector = new MediaGarbageCollector(mediaStore, mediaObjectRepository, referenceChecker, meterRegistry);
+        ReflectionTestUtils.setField(collector, "dirsPerRun", 1);
+        ReflectionTestUtils.setField(collector, "batchSize", 2);
+        ReflectionTestUtils.setField(collector, "maxIoPerSecond", 0);
+        ReflectionTestUtils.setField(collector, "orphanGrace", Duration.ofDays(1));
+        ReflectionTestUtils.setField(collector, "unreferencedGrace", Duration.ofDays(1));
+        ReflectionTestUtils.setField(collector, "maxRunTime", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(collector, "staticImageDir", staticDir.toString());
+        collector.clock = Clock.fixed(NOW, ZoneId.of("UTC"));
+        lenient().when(mediaStore.getRoot()).thenReturn(rootDir);
+    }
+
+    @Test
+    @DisplayName("참조가 빠진 지 오래된 파일과 오래된 고아 파일만 지우고, 다른 행이 가리키는 파일은 남긴다")
+    void collectsUnreferencedAndOrphanFiles() throws Exception {
+        // given - ab/cd 디렉토리에 파일 4개 (배치 2개씩)
+        String released = hash('1');
+        String referenced = hash('2');
+        String orphan = hash('3');
+        String freshOrphan = hash('4');
+        Path releasedFile = write(released, NOW.minus(Duration.ofDays(10)));
+        Path referencedFile = write(referenced, NOW.minus(Duration.ofDays(10)));
+        Path orphanFile = write(orphan, NOW.minus(Duration.ofDays(2)));
+        write(freshOrphan, NOW.minus(Duration.ofHours(1)));
+
+        LocalDateTime longAgo = LocalDateTime.of(2026, 2, 1, 0, 0);
+        when(mediaObjectRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            Iterable<String> ids = invocation.getArgument(0);
+            List<MediaObject> rows = new ArrayList<>();
+            for (String id : ids) {
+                if (id.equals(released) || id.equals(referenced)) {
+                    rows.add(MediaObject.builder().contentHash(id).extension("jpg").sizeBytes(10)
+                            .createdAt(longAgo).lastReleasedAt(longAgo).build());
+                }
+            }
+            return rows;
+        });
+        when(referenceChecker.findReferenced(anyCollection()))
+                .thenAnswer(invocation -> invocation.<Collection<String>>getArgument(0).stream()
+                        .filter(url -> url.contains(referenced))
+                        .collect(Collectors.toSet()));
+        when(mediaStore.collect(anyString(), any(Path.class), any(), any())).thenReturn(10L);
+        collector.cursor = 0xabcd;
+
+        // when
+        MediaGarbageCollector.Result result = collector.collect();
+
+        // then
+        assertThat(result.scanned).isEqualTo(4);
+        assertThat(result.deleted).isEqualTo(2);
+        assertThat(result.referenced).isEqualTo(1);
+        assertThat(result.reclaimedBytes).isEqualTo(20);
+        verify(mediaStore).collect(eq(released), eq(releasedFile), any(), any());
+        verify(mediaStore).collect(eq(orphan), eq(orphanFile), any(), any());
+        verify(mediaStore, never()).collect(eq(referenced), eq(referencedFile), any(), any());
+        verify(mediaStore, times(2)).collect(anyString(), any(Path.class), any(), any());
+        assertThat(meterRegistry.get("media.gc.reclaimed").tag("kind", "orphan").counter().count()).isEqualTo(10);
+        assertThat(collector.cursor).isEqualTo(0xabce);
+    }
+
+    @Test
+    @DisplayName("상위 디렉토리가 없으면 그 아래 256개를 건너뛰고, 한 바퀴를 돌면 staging을 정리한다")
+    void skipsMissingTopLevelAndWraps() throws Exception {
+        // given
+        collector.cursor = 0xff10;
+        when(mediaStore.collectStaging(any())).thenReturn(30L);
+
+        // when
+        MediaGarbageCollector.Result result = collector.collect();
+
+        // then
+        assertThat(collector.cursor).isZero();
+        assertThat(result.reclaimedBytes).isEqualTo(30);
+        verify(mediaStore).collectStaging(LocalDateTime.of(2026, 2, 28, 0, 0));
+        verifyNoInteractions(mediaObjectRepository, referenceChecker);
+    }
+
+    @Test
+    @DisplayName("이전 경로 파일은 피팅/리뷰 디렉토리 안에서 아무도 가리키지 않는 것만 지운다")
+    void collectsOnlyUnreferencedLegacyFiles() throws Exception {
+        // given
+        Path result = Files.createDirectories(staticDir.resolve("fitting/result")).resolve("old.png");
+        Path shared = staticDir.resolve("fitting/result/shared.png");
+        Path product = Files.createDirectories(staticDir.resolve("products/P1")).resolve("main.jpg");
+        Files.write(result, new byte[7]);
+        Files.write(shared, new byte[5]);
+        Files.write(product, new byte[3]);
+        when(referenceChecker.findReferenced(anyCollection())).thenReturn(Set.of("/images/fitting/result/shared.png"));
+
+        // when
+        long reclaimed = collector.collectLegacy(Arrays.asList(
+                "/images/fitting/result/old.png",
+                "/images/fitting/result/shared.png",
+                "/images/products/P1/main.jpg",
+                "/images/fitting/result/../../products/P1/main.jpg",
+                null));
+
+        // then
+        assertThat(reclaimed).isEqualTo(7);
+        assertThat(result).doesNotExist();
+        assertThat(shared).exists();
+        assertThat(product).exists();
+    }
+
+    private Path write(String contentHash, Instant modifiedAt) throws Exception {
+        Path file = rootDir.resolve(contentHash.substring(0, 2)).resolve(contentHash.substring(2, 4))
+                .resolve(contentHash + ".jpg");
+        Files.createDirectories(file.getParent());
+        Files.write(file, new byte[10]);
+        Files.setLastModifiedTime(file, FileTime.from(modifiedAt));
+        return file;
+    }
+
+    private static String hash(char fill) {
+        return "abcd" + String.valueOf(fill).repeat(60);
+    }
+}
@@ -0,0 +1,213 @@
+package com.lookfit.global.media;
+
+import com.lookfit.fitting.domain.BodyPhoto;
+import com.lookfit.fitting.domain.FittingStatus;
+import com.lookfit.fitting.domain.VirtualFitting;
+import com.lookfit.fitting.repository.BodyPhotoRepository;
+import com.lookfit.fitting.repository.VirtualFittingRepository;
+import com.lookfit.product.domain.Review;
+import com.lookfit.product.repository.ReviewRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * MediaRetentionJob 테스트 (목 저장소)
+ */
+@ExtendWith(MockitoExtension.class)
+class MediaRetentionJobTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 1, 0, 0);
+
+    @Mock
+    private VirtualFittingRepository fittingRepository;
+
+    @Mock
+    private BodyPhotoRepository bodyPhotoRepository;
+
+    @Mock
+    private ReviewRepository reviewRepository;
+
+    @Mock
+    private MediaStore mediaStore;
+
+    @Mock
+    private MediaGarbageCollector garbageCollector;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private MediaRetentionJob job;
+
+    @BeforeEach
+    void setUp() {
+        job = new MediaRetentionJob(fittingRepository, bodyPhotoRepository, reviewRepository, mediaStore,
+                garbageCollector, meterRegistry);
+        ReflectionTestUtils.setField(job, "failedFitting", Duration.ofDays(7));
+        ReflectionTestUtils.setField(job, "abandonedUpload", Duration.ofDays(3));
+        ReflectionTestUtils.setField(job, "completedResult", Duration.ZERO);
+        ReflectionTestUtils.setField(job, "unusedPhoto", Duration.ofDays(90));
+        ReflectionTestUtils.setField(job, "deletedReview", Duration.ofDays(30));
+        ReflectionTestUtils.setField(job, "batchSize", 100);
+        job.clock = Clock.fixed(Instant.parse("2026-03-01T00:00:00Z"), ZoneId.of("UTC"));
+    }
+
+    @Test
+    @DisplayName("오래된 실패 피팅은 조회 조건 그대로 기록을 지운 뒤 참조를 해제하고, 이전 경로 결과 파일을 GC에 넘긴다")
+    void deletesExpiredFailedFittings() {
+        // given
+        VirtualFitting failed = VirtualFitting.builder()
+                .fittingId("f-1")
+                .status(FittingStatus.FAILED)
+                .userImageUrl("/images/fitting/user/old.jpg")
+                .resultImageUrl("/media/ab/cd/x.png")
+                .createdAt(NOW.minusDays(10))
+                .build();
+        // CANCELLED/PENDING 조회도 같은 메서드 - 빈 결과
+        lenient().when(fittingRepository.findStaleBatch(eq(FittingStatus.FAILED), eq(NOW.minusDays(7)),
+                        any(), any(), any()))
+                .thenReturn(List.of(failed));
+        when(fittingRepository.deleteStale(List.of("f-1"), FittingStatus.FAILED, NOW.minusDays(7))).thenReturn(1);
+
+        // when
+        MediaRetentionJob.Result result = job.expire();
+
+        // then
+        assertThat(result.fittings).isEqualTo(1);
+        InOrder inOrder = inOrder(mediaStore, fittingRepository);
+        inOrder.verify(fittingRepository).deleteStale(List.of("f-1"), FittingStatus.FAILED, NOW.minusDays(7));
+        inOrder.verify(mediaStore).release(VirtualFitting.MEDIA_OWNER, "f-1");
+        verify(fittingRepository, never()).findExistingIds(any());
+        verify(fittingRepository).findStaleBatch(eq(FittingStatus.PENDING), eq(NOW.minusDays(3)), any(), any(), any());
+        verify(fittingRepository, never()).findExpiredResultBatch(any(), any(), any(), any());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<String>> urls = ArgumentCaptor.forClass(Collection.class);
+        verify(garbageCollector).collectLegacy(urls.capture());
+        assertThat(urls.getValue()).contains("/images/fitting/user/old.jpg");
+        assertThat(meterRegistry.get("media.retention.expired").tag("kind", "failed_fitting").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("조회 후 생성을 요청한 PENDING 피팅은 지우지 않고 참조도 해제하지 않는다")
+    void keepsPendingFittingsStartedAfterScan() {
+        // given - p-2는 조회 후 생성이 요청되어 PROCESSING으로 바뀜
+        VirtualFitting abandoned = VirtualFitting.builder()
+                .fittingId("p-1")
+                .userImageUrl("/images/fitting/user/p-1.jpg")
+                .createdAt(NOW.minusDays(5))
+                .build();
+        VirtualFitting started = VirtualFitting.builder()
+                .fittingId("p-2")
+                .userImageUrl("/images/fitting/user/p-2.jpg")
+                .createdAt(NOW.minusDays(4))
+                .build();
+        lenient().when(fittingRepository.findStaleBatch(eq(FittingStatus.PENDING), eq(NOW.minusDays(3)),
+                        any(), any(), any()))
+                .thenReturn(List.of(abandoned, started));
+        when(fittingRepository.deleteStale(List.of("p-1", "p-2"), FittingStatus.PENDING, NOW.minusDays(3)))
+                .thenReturn(1);
+        when(fittingRepository.findExistingIds(List.of("p-1", "p-2"))).thenReturn(List.of("p-2"));
+
+        // when
+        MediaRetentionJob.Result result = job.expire();
+
+        // then
+        assertThat(result.fittings).isEqualTo(1);
+        verify(mediaStore).release(VirtualFitting.MEDIA_OWNER, "p-1");
+        verify(mediaStore, never()).release(VirtualFitting.MEDIA_OWNER, "p-2");
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<String>> urls = ArgumentCaptor.forClass(Collection.class);
+        verify(garbageCollector).collectLegacy(urls.capture());
+        assertThat(urls.getValue()).contains("/images/fitting/user/p-1.jpg")
+                .doesNotContain("/images/fitting/user/p-2.jpg");
+    }
+
+    @Test
+    @DisplayName("진행 중인 피팅이 쓰는 사진은 보존 기간이 지나도 남긴다")
+    void keepsPhotosUsedByActiveFittings() {
+        // given
+        BodyPhoto busy = BodyPhoto.builder().photoId("p-busy").lastUsedAt(NOW.minusDays(100)).build();
+        BodyPhoto idle = BodyPhoto.builder().photoId("p-idle").lastUsedAt(NOW.minusDays(100)).build();
+        when(bodyPhotoRepository.findUnusedBatch(eq(NOW.minusDays(90)), any(), any(), any()))
+                .thenReturn(List.of(busy, idle));
+        when(fittingRepository.existsByBodyPhotoIdAndStatusIn(eq("p-busy"), anyCollection())).thenReturn(true);
+        when(fittingRepository.existsByBodyPhotoIdAndStatusIn(eq("p-idle"), anyCollection())).thenReturn(false);
+        when(bodyPhotoRepository.deleteUnused("p-idle", NOW.minusDays(90))).thenReturn(1);
+
+        // when
+        MediaRetentionJob.Result result = job.expire();
+
+        // then
+        assertThat(result.photos).isEqualTo(1);
+        InOrder inOrder = inOrder(bodyPhotoRepository, mediaStore);
+        inOrder.verify(bodyPhotoRepository).deleteUnused("p-idle", NOW.minusDays(90));
+        inOrder.verify(mediaStore).release(BodyPhoto.MEDIA_OWNER, "p-idle");
+        verify(fittingRepository).clearUserImage(eq("p-idle"), anyCollection());
+        verify(mediaStore, never()).release(BodyPhoto.MEDIA_OWNER, "p-busy");
+        verify(bodyPhotoRepository, never()).deleteUnused(eq("p-busy"), any());
+    }
+
+    @Test
+    @DisplayName("조회 후 피팅에 쓰인 사진은 지우지 않고 참조와 사용자 사진 URL도 그대로 둔다")
+    void keepsPhotosUsedAfterScan() {
+        // given - 조회 후 생성 요청이 사용 시각을 갱신해 조건부 삭제가 적용되지 않음
+        BodyPhoto reused = BodyPhoto.builder().photoId("p-1").lastUsedAt(NOW.minusDays(100)).build();
+        when(bodyPhotoRepository.findUnusedBatch(eq(NOW.minusDays(90)), any(), any(), any()))
+                .thenReturn(List.of(reused));
+        when(fittingRepository.existsByBodyPhotoIdAndStatusIn(eq("p-1"), anyCollection())).thenReturn(false);
+        when(bodyPhotoRepository.deleteUnused("p-1", NOW.minusDays(90))).thenReturn(0);
+
+        // when
+        MediaRetentionJob.Result result = job.expire();
+
+        // then
+        assertThat(result.photos).isZero();
+        verify(mediaStore, never()).release(BodyPhoto.MEDIA_OWNER, "p-1");
+        verify(fittingRepository, never()).clearUserImage(anyString(), anyCollection());
+    }
+
+    @Test
+    @DisplayName("삭제 후 보존 기간이 지난 리뷰는 이미지 참조를 해제하고, 다음 실행은 처리한 구간 이후부터 본다")
+    void clearsExpiredReviewImages() {
+        // given
+        Review review = Review.builder()
+                .reviewId(7L)
+                .imageUrl("/media/ab/cd/y.jpg")
+                .deletedAt(NOW.minusDays(40))
+                .build();
+        when(reviewRepository.findExpiredDeletedBatch(eq(NOW.minusDays(30)), any(), any(), any()))
+                .thenReturn(List.of(review), List.of());
+        when(reviewRepository.clearImage(7L)).thenReturn(1);
+
+        // when
+        MediaRetentionJob.Result first = job.expire();
+        job.expire();
+
+        // then
+        assertThat(first.reviews).isEqualTo(1);
+        verify(mediaStore).release(Review.MEDIA_OWNER, "7");
+        verify(reviewRepository).findExpiredDeletedBatch(eq(NOW.minusDays(30)), eq(LocalDateTime.of(1970, 1, 1, 0, 0)),
+                eq(0L), any());
+        verify(reviewRepository).findExpiredDeletedBatch(eq(NOW.minusDays(30)), eq(NOW.minusDays(30)), eq(0L), any());
+    }
+}
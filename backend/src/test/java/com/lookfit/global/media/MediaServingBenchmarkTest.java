@@ -0,0 +1,240 @@
+package com.lookfit.global.media;
+
+import com.lookfit.fitting.provider.LocalStubTryOnProvider;
+import com.lookfit.global.common.HashUtils;
+import com.lookfit.search.repository.ProductSearchRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 미디어 제공 경로 벤치마크 - 같은 파일을 기존 정적 리소스 핸들러와 MediaController로 받아 비교
+ * - 기존 핸들러: 테스트에서 /media/legacy/**를 Spring 기본 ResourceHttpRequestHandler로 같은 디렉토리에 매핑
+ *   (WebConfig가 /media/**를 매핑하던 방식 그대로)
+ * - 크기별(20KB, 200KB, 2MB)로 concurrency개의 클라이언트가 실제 HTTP로 반복 요청해 초당 바이트 수와
+ *   요청당 CPU 시간(프로세스 전체, 클라이언트 포함 - 두 핸들러에 같은 조건)을 출력
+ * - 재방문(조건부 요청): 새 경로는 If-None-Match, 기존 핸들러는 If-Modified-Since로 304 비율과 지연 비교
+ *
+ * 실행: ./gradlew test -Pbenchmark --tests '*MediaServingBenchmarkTest'
+ * 부하 변경: BENCHMARK_MEDIA_REQUESTS (크기별 요청 수, 기본 2000), BENCHMARK_MEDIA_CONCURRENCY (기본 8)
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({LocalStubTryOnProvider.PROFILE, "benchmark"})
+class MediaServingBenchmarkTest {
+
+    private static final Path MEDIA_ROOT = createMediaRoot();
+    private static final int REQUESTS = intEnv("BENCHMARK_MEDIA_REQUESTS", 2000);
+    private static final int CONCURRENCY = intEnv("BENCHMARK_MEDIA_CONCURRENCY", 8);
+    private static final int[] SIZES = {20 * 1024, 200 * 1024, 2 * 1024 * 1024};
+    private static final String LEGACY_PREFIX = "/media/legacy/";
+
+    @DynamicPropertySource
+    static void mediaRoot(DynamicPropertyRegistry registry) {
+        registry.add("media.store.root-dir", MEDIA_ROOT::toString);
+        registry.add("spring.jpa.show-sql", () -> "false");
+    }
+
+    @TestConfiguration
+    static class LegacyHandlerConfig {
+
+        /**
+         * 비교 기준 - 변경 전 /media/** 매핑과 같은 Spring 기본 정적 리소스 핸들러
+         */
+        @Bean
+        WebMvcConfigurer legacyMediaHandler() {
+            return new WebMvcConfigurer() {
+                @Override
+                public void addResourceHandlers(ResourceHandlerRegistry registry) {
+                    registry.addResourceHandler(LEGACY_PREFIX + "**")
+                            .addResourceLocations("file:" + MEDIA_ROOT.toAbsolutePath() + "/");
+                }
+            };
+        }
+    }
+
+    @MockitoBean
+    private ProductSearchRepository productSearchRepository;
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @Test
+    @DisplayName("벤치마크: 새 미디어 경로는 기존 핸들러보다 요청당 CPU가 적거나 같고, 재방문은 304로 끝난다")
+    void comparesWithDefaultResourceHandler() throws Exception {
+        List<String> rows = new ArrayList<>();
+        double largeMediaCpu = 0;
+        double largeLegacyCpu = 0;
+
+        for (int size : SIZES) {
+            // given
+            String url = write(size);
+            String legacyUrl = LEGACY_PREFIX + url.substring(MediaStore.URL_PREFIX.length());
+            byte[] expected = Files.readAllBytes(MEDIA_ROOT.resolve(url.substring(MediaStore.URL_PREFIX.length())));
+            assertThat(fetch(url, null).body()).isEqualTo(expected);
+            assertThat(fetch(legacyUrl, null).body()).isEqualTo(expected);
+
+            // when - 순서에 따른 JIT 편향을 줄이려고 기존 → 새 → 기존 → 새로 두 번씩 재고 뒤의 결과를 쓴다
+            run(legacyUrl, size, null);
+            run(url, size, null);
+            Result legacy = run(legacyUrl, size, null);
+            Result media = run(url, size, null);
+
+            // 재방문 - 브라우저가 가진 검증자로 다시 요청
+            HttpResponse<byte[]> first = fetch(url, null);
+            HttpResponse<byte[]> legacyFirst = fetch(legacyUrl, null);
+            Result mediaRevisit = run(url, size, new String[]{"If-None-Match", first.headers().firstValue("ETag").orElseThrow()});
+            Result legacyRevisit = run(legacyUrl, size, new String[]{"If-Modified-Since",
+                    legacyFirst.headers().firstValue("Last-Modified").orElseThrow()});
+
+            rows.add(legacy.format("legacy", size));
+            rows.add(media.format("media", size));
+            rows.add(legacyRevisit.format("legacy revisit", size));
+            rows.add(mediaRevisit.format("media revisit", size));
+
+            // then
+            assertThat(first.headers().firstValue("Cache-Control").orElseThrow()).contains("immutable");
+            assertThat(mediaRevisit.notModified()).isEqualTo(REQUESTS);
+            if (size == SIZES[SIZES.length - 1]) {
+                largeMediaCpu = media.cpuMicrosPerRequest();
+                largeLegacyCpu = legacy.cpuMicrosPerRequest();
+            }
+        }
+
+        System.out.printf("[Media serving benchmark] requests per case: %d, concurrency: %d%n", REQUESTS, CONCURRENCY);
+        rows.forEach(System.out::println);
+        assertThat(largeMediaCpu).isLessThanOrEqualTo(largeLegacyCpu * 1.1);
+    }
+
+    /**
+     * concurrency개의 클라이언트가 REQUESTS건을 나눠 요청하고 처리량과 프로세스 CPU 시간을 잰다
+     */
+    private Result run(String path, int size, String[] header) throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(CONCURRENCY);
+        AtomicLong bytes = new AtomicLong();
+        AtomicLong notModified = new AtomicLong();
+        try {
+            long cpuBefore = processCpuNanos();
+            long startedAt = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int c = 0; c < CONCURRENCY; c++) {
+                int share = REQUESTS / CONCURRENCY + (c < REQUESTS % CONCURRENCY ? 1 : 0);
+                futures.add(clients.submit(() -> {
+                    for (int i = 0; i < share; i++) {
+                        HttpResponse<byte[]> response = fetch(path, header);
+                        if (response.statusCode() == 304) {
+                            notModified.incrementAndGet();
+                        } else {
+                            assertThat(response.statusCode()).isEqualTo(200);
+                            bytes.addAndGet(response.body().length);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            long elapsedNanos = System.nanoTime() - startedAt;
+            long cpuNanos = processCpuNanos() - cpuBefore;
+            return new Result(bytes.get() / (elapsedNanos / 1e9), REQUESTS / (elapsedNanos / 1e9),
+                    cpuNanos / 1_000.0 / REQUESTS, notModified.get());
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    private HttpResponse<byte[]> fetch(String path, String[] header) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET();
+        if (header != null) {
+            request.header(header[0], header[1]);
+        }
+        try {
+            return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 임의 바이트 파일을 미디어 저장소 경로 규칙대로 배치 (DB 행은 필요 없다 - 제공은 경로만 본다)
+     */
+    private static String write(int size) throws IOException {
+        byte[] content = new byte[size];
+        new SplittableRandom(size).nextBytes(content);
+        String hash = HashUtils.toHex(HashUtils.newSha256().digest(content));
+        String url = MediaStore.urlOf(hash, "jpg");
+        Path file = MEDIA_ROOT.resolve(url.substring(MediaStore.URL_PREFIX.length()));
+        Files.createDirectories(file.getParent());
+        Files.write(file, content);
+        return url;
+    }
+
+    private static long processCpuNanos() {
+        return ((com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean())
+                .getProcessCpuTime();
+    }
+
+    private static Path createMediaRoot() {
+        try {
+            return Files.createTempDirectory("lookfit-media-benchmark");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int intEnv(String name, int defaultValue) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? defaultValue : Integer.parseInt(value);
+    }
+
+    /**
+     * @param bytesPerSecond 응답 본문 처리량
+     * @param requestsPerSecond 초당 요청 수
+     * @param cpuMicrosPerRequest 요청당 프로세스 CPU 시간
+     * @param notModified 304 응답 수
+     */
+    private record Result(double bytesPerSecond, double requestsPerSecond, double cpuMicrosPerRequest,
+                          long notModified) {
+
+        String format(String handler, int size) {
+            return String.format("[Media serving benchmark] %-15s %5dKB  %8.1f MB/s  %8.0f req/s  cpu %7.0fus/req  304: %d",
+                    handler, size / 1024, bytesPerSecond / (1024 * 1024), requestsPerSecond, cpuMicrosPerRequest,
+                    notModified);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.lookfit.global.media;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * MediaStore 동시 저장 통합 테스트 (실제 MySQL InnoDB 잠금)
+ * 서로 다른 내용을 같은 시점에 저장하는 트랜잭션들이 같은 인덱스 구간에 들어가도 교착 상태가 나지 않는지 확인한다.
+ * 사진 저장(BodyPhotoService.store)처럼 바깥 트랜잭션에 합류해 연속으로 저장하는 경우를 그대로 재현한다.
+ */
+@SpringBootTest
+class MediaStoreConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 5;
+    private static final Path MEDIA_ROOT = createMediaRoot();
+
+    @Autowired
+    private MediaStore mediaStore;
+
+    @Autowired
+    private MediaObjectRepository mediaObjectRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<String> createdHashes = new CopyOnWriteArrayList<>();
+
+    @DynamicPropertySource
+    static void mediaRoot(DynamicPropertyRegistry registry) {
+        registry.add("media.store.root-dir", MEDIA_ROOT::toString);
+    }
+
+    @AfterEach
+    void tearDown() {
+        mediaObjectRepository.deleteAllById(createdHashes);
+    }
+
+    @Test
+    @DisplayName("서로 다른 내용을 여러 트랜잭션이 동시에 저장해도 교착 상태 없이 모두 저장된다")
+    void concurrentDistinctIngestsDoNotDeadlock() throws Exception {
+        // given
+        CyclicBarrier barrier = new CyclicBarrier(THREADS);
+        ExecutorService threads = Executors.newFixedThreadPool(THREADS);
+        List<Future<List<StoredMedia>>> results = new ArrayList<>();
+
+        // when - 트랜잭션마다 ROUNDS번 저장, 매 저장을 모든 스레드가 같은 시점에 시작
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                long seed = t;
+                results.add(threads.submit(() -> transactionTemplate.execute(status -> {
+                    SplittableRandom random = new SplittableRandom(seed);
+                    List<StoredMedia> stored = new ArrayList<>();
+                    for (int round = 0; round < ROUNDS; round++) {
+                        Path source = randomFile(random);
+                        await(barrier);
+                        StoredMedia media = importFile(source);
+                        createdHashes.add(media.contentHash());
+                        stored.add(media);
+                    }
+                    return stored;
+                })));
+            }
+
+            // then
+            List<StoredMedia> stored = new ArrayList<>();
+            for (Future<List<StoredMedia>> result : results) {
+                stored.addAll(result.get(1, TimeUnit.MINUTES));
+            }
+            assertThat(stored).hasSize(THREADS * ROUNDS)
+                    .allSatisfy(media -> assertThat(media.path()).exists());
+            assertThat(mediaObjectRepository.findAllById(createdHashes)).hasSize(THREADS * ROUNDS);
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("참조가 빠진 지 오래된 내용을 다시 저장하면 GC 기준 시각이 새로 잡혀 파일이 남는다")
+    void readoptingResetsReleaseGrace() throws Exception {
+        // given
+        Path source = randomFile(new SplittableRandom(42));
+        StoredMedia stored = mediaStore.importFile(source);
+        createdHashes.add(stored.contentHash());
+        MediaObject row = mediaObjectRepository.findById(stored.contentHash()).orElseThrow();
+        row.setLastReleasedAt(LocalDateTime.now().minusDays(2));
+        mediaObjectRepository.save(row);
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(1);
+
+        // when
+        StoredMedia again = mediaStore.importFile(source);
+        long reclaimed = mediaStore.collect(again.contentHash(), again.path(), cutoff, cutoff);
+
+        // then
+        assertThat(again.duplicate()).isTrue();
+        assertThat(reclaimed).isEqualTo(-1);
+        assertThat(again.path()).exists();
+        assertThat(mediaObjectRepository.findById(stored.contentHash()).orElseThrow().getLastReleasedAt())
+                .isAfter(cutoff);
+    }
+
+    private StoredMedia importFile(Path source) {
+        try {
+            return mediaStore.importFile(source);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Path randomFile(SplittableRandom random) {
+        byte[] bytes = new byte[256];
+        random.nextBytes(bytes);
+        try {
+            Path file = Files.createTempFile("lookfit-media-it-", ".bin");
+            Files.write(file, bytes);
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await(30, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException("동시 저장 시작 대기 실패", e);
+        }
+    }
+
+    private static Path createMediaRoot() {
+        try {
+            return Files.createTempDirectory("lookfit-media-it-");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package com.lookfit.global.media;
+
+import com.lookfit.global.image.ImageIngestService;
+import com.lookfit.product.domain.FileResource;
+import com.lookfit.product.repository.FileResourceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * MediaStore 테스트 (실제 파일 시스템 + 목 저장소)
+ */
+@ExtendWith(MockitoExtension.class)
+class MediaStoreTest {
+
+    @TempDir
+    Path rootDir;
+
+    @TempDir
+    Path sourceDir;
+
+    @Mock
+    private MediaObjectRepository mediaObjectRepository;
+
+    @Mock
+    private FileResourceRepository fileResourceRepository;
+
+    private MediaStore mediaStore;
+
+    /**
+     * media_object 테이블 대신 메모리 맵
+     */
+    private final Map<String, MediaObject> mediaObjects = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        mediaStore = new MediaStore(new ImageIngestService(), mediaObjectRepository, fileResourceRepository);
+        ReflectionTestUtils.setField(mediaStore, "rootDir", rootDir.toString());
+        lenient().when(mediaObjectRepository.findById(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(mediaObjects.get(invocation.<String>getArgument(0))));
+        lenient().when(mediaObjectRepository.findByIdForUpdate(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(mediaObjects.get(invocation.<String>getArgument(0))));
+        // INSERT ... ON DUPLICATE KEY UPDATE - 있으면 참조 없는 행의 기준 시각만 갱신
+        lenient().when(mediaObjectRepository.upsert(anyString(), anyString(), anyString(), anyLong(), anyInt(), anyInt(),
+                any(LocalDateTime.class))).thenAnswer(invocation -> {
+            String contentHash = invocation.getArgument(0);
+            LocalDateTime now = invocation.getArgument(6);
+            MediaObject existing = mediaObjects.get(contentHash);
+            if (existing != null) {
+                if (existing.getRefCount() <= 0) {
+                    existing.setLastReleasedAt(now);
+                }
+                return 2;
+            }
+            mediaObjects.put(contentHash, MediaObject.builder()
+                    .contentHash(contentHash)
+                    .extension(invocation.getArgument(1))
+                    .contentType(invocation.getArgument(2))
+                    .sizeBytes(invocation.getArgument(3))
+                    .width(invocation.getArgument(4))
+                    .height(invocation.getArgument(5))
+                    .createdAt(now)
+                    .build());
+            return 1;
+        });
+    }
+
+    @Test
+    @DisplayName("같은 내용은 해시로 분산된 경로에 한 번만 저장하고 같은 URL을 돌려준다")
+    void deduplicatesIdenticalContent() throws Exception {
+        // given
+        Path first = png(sourceDir.resolve("first.png"));
+        Path second = Files.copy(first, sourceDir.resolve("second.png"));
+
+        // when
+        StoredMedia stored = mediaStore.importFile(first);
+        StoredMedia again = mediaStore.importFile(second);
+
+        // then
+        String hash = stored.contentHash();
+        assertThat(stored.duplicate()).isFalse();
+        assertThat(again.duplicate()).isTrue();
+        assertThat(again.url()).isEqualTo(stored.url())
+                .isEqualTo("/media/" + hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash + ".png");
+        assertThat(stored.path()).isEqualTo(rootDir.resolve(hash.substring(0, 2))
+                .resolve(hash.substring(2, 4)).resolve(hash + ".png"));
+        assertThat(stored.sizeBytes()).isEqualTo(Files.size(first));
+        assertThat(mediaStore.resolve(stored.url())).contains(stored.path());
+        assertThat(first).exists();  // importFile은 원본을 남긴다
+        assertThat(storedFiles()).containsExactly(stored.path());
+        assertThat(mediaObjects).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("moveIn은 임시 파일을 옮겨 저장하고 staging에 아무것도 남기지 않는다")
+    void movesFileIn() throws Exception {
+        // given
+        Path temp = png(sourceDir.resolve("result.png"));
+
+        // when
+        StoredMedia stored = mediaStore.moveIn(temp, 4, 3);
+
+        // then
+        assertThat(temp).doesNotExist();
+        assertThat(stored.path()).exists();
+        assertThat(stored.width()).isEqualTo(4);
+        assertThat(stored.height()).isEqualTo(3);
+        assertThat(mediaObjects.get(stored.contentHash()).getContentType()).isEqualTo("image/png");
+        try (Stream<Path> staging = Files.list(rootDir.resolve(".staging"))) {
+            assertThat(staging).isEmpty();
+        }
+        // 행을 먼저 만든 뒤 잠근다 (없는 행을 잠그면 갭 잠금)
+        InOrder inOrder = inOrder(mediaObjectRepository);
+        inOrder.verify(mediaObjectRepository).upsert(eq(stored.contentHash()), eq("png"), eq("image/png"),
+                anyLong(), eq(4), eq(3), any());
+        inOrder.verify(mediaObjectRepository).findByIdForUpdate(stored.contentHash());
+    }
+
+    @Test
+    @DisplayName("형식이 틀리거나 분산 디렉토리가 해시와 맞지 않는 URL은 경로로 바꾸지 않는다")
+    void rejectsMalformedUrls() {
+        String hash = "ab" + "cd" + "e".repeat(60);
+
+        assertThat(mediaStore.resolve("/media/ab/cd/" + hash + ".jpg")).isPresent();
+        assertThat(mediaStore.resolve("/media/ab/ce/" + hash + ".jpg")).isEmpty();
+        assertThat(mediaStore.resolve("/media/ab/cd/../../" + hash + ".jpg")).isEmpty();
+        assertThat(mediaStore.resolve("/media/.staging/x.tmp")).isEmpty();
+        assertThat(mediaStore.resolve("/images/fitting/result/a.png")).isEmpty();
+        assertThat(mediaStore.resolve(null)).isEmpty();
+        assertThat(MediaStore.isMediaUrl("/media/AB/CD/" + hash.toUpperCase() + ".jpg")).isFalse();
+    }
+
+    @Test
+    @DisplayName("참조는 도메인 행 + URL마다 한 번만 기록하고 참조 수를 늘린다")
+    void retainIsIdempotent() {
+        // given
+        String hash = "ab" + "cd" + "e".repeat(60);
+        String url = MediaStore.urlOf(hash, "jpg");
+        when(fileResourceRepository.existsByDomainTypeAndDomainIdAndS3Url("review", "1", url))
+                .thenReturn(false, true);
+        when(mediaObjectRepository.incrementRefCount(hash)).thenReturn(1);
+
+        // when
+        mediaStore.retain(url, "review", "1");
+        mediaStore.retain(url, "review", "1");
+        mediaStore.retain("/images/reviews/old.jpg", "review", "1");
+
+        // then
+        ArgumentCaptor<FileResource> captor = ArgumentCaptor.forClass(FileResource.class);
+        verify(fileResourceRepository, times(1)).save(captor.capture());
+        assertThat(captor.getValue().getFileId()).hasSize(30);
+        assertThat(captor.getValue().getDomainType()).isEqualTo("review");
+        assertThat(captor.getValue().getS3Url()).isEqualTo(url);
+        assertThat(captor.getValue().getContentType()).isEqualTo("image/jpeg");
+        verify(mediaObjectRepository, times(1)).incrementRefCount(hash);
+    }
+
+    @Test
+    @DisplayName("도메인 행의 참조를 지우면 파일마다 참조 수를 줄인다 (파일 삭제는 GC)")
+    void releaseDecrementsReferences() {
+        // given
+        String hash = "ab" + "cd" + "e".repeat(60);
+        FileResource reference = FileResource.builder()
+                .fileId("M1")
+                .domainType("review")
+                .domainId("1")
+                .s3Url(MediaStore.urlOf(hash, "jpg"))
+                .build();
+        when(fileResourceRepository.findByDomainTypeAndDomainId("review", "1")).thenReturn(List.of(reference));
+
+        // when
+        mediaStore.release("review", "1");
+
+        // then
+        verify(mediaObjectRepository).decrementRefCount(eq(hash), any());
+        verify(fileResourceRepository).delete(reference);
+    }
+
+    @Test
+    @DisplayName("GC 삭제는 행 잠금 안에서 참조 수와 보존 기간을 다시 보고, 참조가 생긴 파일은 남긴다")
+    void collectRechecksUnderRowLock() throws Exception {
+        // given
+        StoredMedia released = mediaStore.importFile(png(sourceDir.resolve("released.png")));
+        MediaObject releasedRow = mediaObjects.get(released.contentHash());
+        releasedRow.setLastReleasedAt(LocalDateTime.now().minusDays(2));
+
+        BufferedImage other = new BufferedImage(2, 2, BufferedImage.TYPE_INT_RGB);
+        Path otherPath = sourceDir.resolve("retained.png");
+        ImageIO.write(other, "png", otherPath.toFile());
+        StoredMedia retained = mediaStore.importFile(otherPath);
+        mediaObjects.get(retained.contentHash()).setRefCount(1);
+
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(1);
+
+        // when
+        long reclaimed = mediaStore.collect(released.contentHash(), released.path(), cutoff, cutoff);
+        long kept = mediaStore.collect(retained.contentHash(), retained.path(), cutoff, cutoff);
+
+        // then
+        assertThat(reclaimed).isEqualTo(released.sizeBytes());
+        assertThat(released.path()).doesNotExist();
+        verify(mediaObjectRepository).delete(releasedRow);
+        assertThat(kept).isEqualTo(-1);
+        assertThat(retained.path()).exists();
+    }
+
+    @Test
+    @DisplayName("참조가 빠진 내용을 다시 저장하면 GC 기준 시각이 새로 잡혀, retain 전에 파일이 지워지지 않는다")
+    void readoptingResetsReleaseGrace() throws Exception {
+        // given
+        Path source = png(sourceDir.resolve("photo.png"));
+        StoredMedia stored = mediaStore.importFile(source);
+        mediaObjects.get(stored.contentHash()).setLastReleasedAt(LocalDateTime.now().minusDays(2));
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(1);
+
+        // when
+        StoredMedia again = mediaStore.importFile(source);
+        long reclaimed = mediaStore.collect(again.contentHash(), again.path(), cutoff, cutoff);
+
+        // then
+        assertThat(again.duplicate()).isTrue();
+        assertThat(reclaimed).isEqualTo(-1);
+        assertThat(again.path()).exists();
+    }
+
+    @Test
+    @DisplayName("메타데이터 행이 없는 파일은 유예 시간이 지난 것만 지운다")
+    void collectsOrphansAfterGrace() throws Exception {
+        // given
+        String hash = "ab" + "cd" + "e".repeat(60);
+        Path orphan = rootDir.resolve("ab").resolve("cd").resolve(hash + ".jpg");
+        Files.createDirectories(orphan.getParent());
+        Files.write(orphan, new byte[10]);
+
+        // when
+        long fresh = mediaStore.collect(hash, orphan, LocalDateTime.now().minusDays(1), LocalDateTime.now());
+        long expired = mediaStore.collect(hash, orphan, LocalDateTime.now().plusMinutes(1), LocalDateTime.now());
+
+        // then
+        assertThat(fresh).isEqualTo(-1);
+        assertThat(expired).isEqualTo(10);
+        assertThat(orphan).doesNotExist();
+        verify(mediaObjectRepository, never()).delete(any());
+    }
+
+    private List<Path> storedFiles() throws Exception {
+        try (Stream<Path> files = Files.walk(rootDir)) {
+            return files.filter(Files::isRegularFile)
+                    .filter(path -> !path.startsWith(rootDir.resolve(".staging")))
+                    .toList();
+        }
+    }
+
+    private static Path png(Path path) throws Exception {
+        BufferedImage image = new BufferedImage(4, 3, BufferedImage.TYPE_INT_RGB);
+        image.setRGB(1, 1, 0xFF0000);
+        ImageIO.write(image, "png", path.toFile());
+        return path;
+    }
+}
@@ -0,0 +1,83 @@
+package com.lookfit.global.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * JwtAuthenticationFilter 테스트 (액세스 토큰은 헤더로만, 스트림 토큰은 피팅 상태 스트림 쿼리로만)
+ */
+class JwtAuthenticationFilterTest {
+
+    private JwtTokenProvider jwtTokenProvider;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(jwtTokenProvider, "secretKey", "test-secret-key-for-jwt-filter-0123456789");
+        ReflectionTestUtils.setField(jwtTokenProvider, "streamTokenValidTime", Duration.ofSeconds(60));
+        jwtTokenProvider.init();
+        filter = new JwtAuthenticationFilter(jwtTokenProvider);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("스트림 토큰은 피팅/묶음 피팅 상태 스트림 경로의 쿼리 파라미터로 인증된다")
+    void streamTokenAuthenticatesFittingStreams() throws Exception {
+        // given
+        String streamToken = jwtTokenProvider.createStreamToken("member-1");
+
+        // when & then
+        assertThat(authenticate(withQuery("/api/v1/fitting/fitting-1/events", streamToken))).isEqualTo("member-1");
+        assertThat(authenticate(withQuery("/api/v1/fitting/batch/batch-1/events", streamToken))).isEqualTo("member-1");
+    }
+
+    @Test
+    @DisplayName("액세스 토큰은 쿼리로 받지 않고, 스트림 토큰은 헤더나 다른 경로에서 쓸 수 없다")
+    void rejectsTokensOutsideTheirChannel() throws Exception {
+        // given
+        String accessToken = jwtTokenProvider.createToken("member-1", "USER");
+        String streamToken = jwtTokenProvider.createStreamToken("member-1");
+
+        // when & then
+        assertThat(authenticate(withQuery("/api/v1/fitting/fitting-1/events", accessToken))).isNull();
+        assertThat(authenticate(withQuery("/api/v1/notifications/events", streamToken))).isNull();
+        assertThat(authenticate(withHeader("/api/v1/orders", streamToken))).isNull();
+        assertThat(authenticate(withHeader("/api/v1/orders", accessToken))).isEqualTo("member-1");
+    }
+
+    private String authenticate(MockHttpServletRequest request) throws Exception {
+        SecurityContextHolder.clearContext();
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? null : (String) authentication.getPrincipal();
+    }
+
+    private static MockHttpServletRequest withQuery(String uri, String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setParameter("access_token", token);
+        return request;
+    }
+
+    private static MockHttpServletRequest withHeader(String uri, String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
@@ -2,6 +2,7 @@ package com.lookfit.product.service;
 
 import com.lookfit.global.exception.BusinessException;
 import com.lookfit.global.exception.ErrorCode;
+import com.lookfit.global.media.MediaStore;
 import com.lookfit.order.domain.Buy;
 import com.lookfit.order.domain.OrderItem;
 import com.lookfit.order.repository.OrderItemRepository;
@@ -49,6 +50,9 @@ class ReviewServiceTest {
     @Mock
     private OrderItemRepository orderItemRepository;
 
+    @Mock
+    private MediaStore mediaStore;
+
     @InjectMocks
     private ReviewService reviewService;
 
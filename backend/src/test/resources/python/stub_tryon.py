@@ -0,0 +1,68 @@
+#!/usr/bin/env python3
+"""
+테스트/벤치마크용 Virtual Try-On 스텁
+실제 Space 대신 기동 비용(STUB_STARTUP_DELAY초, gradio_client import + 핸드셰이크 흉내)만 재현하고
+사용자 이미지 경로를 결과로 돌려준다.
+
+  python3 stub_tryon.py <user_image> <garment_image> <category>   # 요청마다 실행 (기존 방식)
+  python3 stub_tryon.py                                            # 상주 워커 (프레임 프로토콜)
+"""
+
+import json
+import os
+import struct
+import sys
+import time
+
+STARTUP_DELAY = float(os.environ.get("STUB_STARTUP_DELAY", "0.5"))
+
+
+def tryon(user_image, garment_image, category):
+    return {"success": True, "result_image": user_image, "message": "stub"}
+
+
+def preprocess(user_image, output_dir):
+    for name in ("pose.json", "mask_upper_body.png", "mask_lower_body.png", "mask_dresses.png"):
+        with open(os.path.join(output_dir, name), "w") as f:
+            f.write(user_image)
+    return {"success": True, "artifacts": ["pose.json"]}
+
+
+def run_worker():
+    frame_out = sys.stdout.buffer
+    frame_in = sys.stdin.buffer
+
+    def write_frame(message):
+        payload = json.dumps(message).encode("utf-8")
+        frame_out.write(struct.pack(">I", len(payload)))
+        frame_out.write(payload)
+        frame_out.flush()
+
+    write_frame({"op": "ready", "pid": os.getpid(), "warm": True})
+    while True:
+        header = frame_in.read(4)
+        if len(header) < 4:
+            return
+        (length,) = struct.unpack(">I", header)
+        request = json.loads(frame_in.read(length).decode("utf-8"))
+        if request.get("op") == "ping":
+            response = {"success": True, "op": "pong", "warm": True}
+        elif request.get("op") == "preprocess":
+            response = preprocess(request["user_image"], request["output_dir"])
+        elif request.get("op") == "crash":
+            os._exit(3)
+        elif request.get("op") == "sleep":
+            time.sleep(request.get("seconds", 30))
+            response = {"success": True, "op": "sleep"}
+        else:
+            response = tryon(request["user_image"], request["garment_image"], request["category"])
+        response["id"] = request.get("id")
+        write_frame(response)
+
+
+if __name__ == "__main__":
+    time.sleep(STARTUP_DELAY)
+    if len(sys.argv) == 4:
+        print(json.dumps(tryon(sys.argv[1], sys.argv[2], sys.argv[3]), indent=2))
+    else:
+        run_worker()
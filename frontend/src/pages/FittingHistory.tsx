@@ -3,17 +3,34 @@ import { useNavigate } from 'react-router-dom';
 import axiosInstance from '../api/axiosInstance';
 import { getImageUrl } from '../utils/imageUtils';
 import { useAuth } from '../context/AuthContext';
-import type { FittingHistory, FittingDetail } from '../types/fitting';
+import type { FittingHistory, FittingHistoryItem } from '../types/fitting';
 import '../styles/FittingHistory.css';
 
+const PAGE_SIZE = 6;
+
+// 피팅 기록 로드 (커서 기반 - 첫 페이지에서만 전체 수 조회)
+const fetchHistory = async (cursor: string | null) => {
+  const params = new URLSearchParams({ size: String(PAGE_SIZE) });
+  if (cursor) {
+    params.set('cursor', cursor);
+  } else {
+    params.set('includeTotal', 'true');
+  }
+  const response = await axiosInstance.get<FittingHistory>(
+    `/api/v1/fitting/history?${params.toString()}`
+  );
+  return response.data;
+};
+
 const FittingHistoryPage = () => {
   const navigate = useNavigate();
   const { memberId, isAuthenticated } = useAuth();
 
-  const [history, setHistory] = useState<FittingHistory | null>(null);
+  const [fittings, setFittings] = useState<FittingHistoryItem[]>([]);
+  const [totalCount, setTotalCount] = useState<number | null>(null);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
   const [loading, setLoading] = useState(true);
-  const [page, setPage] = useState(0);
-  const pageSize = 6;
+  const [loadingMore, setLoadingMore] = useState(false);
 
   // 로그인 체크
   useEffect(() => {
@@ -23,17 +40,16 @@ const FittingHistoryPage = () => {
     }
   }, [isAuthenticated, navigate]);
 
-  // 피팅 기록 로드
   useEffect(() => {
     if (!memberId) return;
 
-    const fetchHistory = async () => {
+    const loadFirstPage = async () => {
       try {
         setLoading(true);
-        const response = await axiosInstance.get<FittingHistory>(
-          `/api/v1/fitting/history?page=${page}&size=${pageSize}`
-        );
-        setHistory(response.data);
+        const data = await fetchHistory(null);
+        setFittings(data.fittings);
+        setTotalCount(data.totalCount);
+        setNextCursor(data.hasNext ? data.nextCursor : null);
       } catch (error) {
         console.error('피팅 기록 로드 실패:', error);
       } finally {
@@ -41,8 +57,23 @@ const FittingHistoryPage = () => {
       }
     };
 
-    fetchHistory();
-  }, [memberId, page]);
+    loadFirstPage();
+  }, [memberId]);
+
+  const handleLoadMore = async () => {
+    if (!nextCursor || loadingMore) return;
+
+    try {
+      setLoadingMore(true);
+      const data = await fetchHistory(nextCursor);
+      setFittings((prev) => [...prev, ...data.fittings]);
+      setNextCursor(data.hasNext ? data.nextCursor : null);
+    } catch (error) {
+      console.error('피팅 기록 추가 로드 실패:', error);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
 
   const getStatusBadge = (status: string) => {
     const badges: Record<string, string> = {
@@ -50,6 +81,7 @@ const FittingHistoryPage = () => {
       PROCESSING: 'badge-processing',
       COMPLETED: 'badge-completed',
       FAILED: 'badge-failed',
+      CANCELLED: 'badge-failed',
     };
     return badges[status] || '';
   };
@@ -60,11 +92,12 @@ const FittingHistoryPage = () => {
       PROCESSING: '생성 중',
       COMPLETED: '완료',
       FAILED: '실패',
+      CANCELLED: '취소',
     };
     return texts[status] || status;
   };
 
-  const handleViewDetail = (fitting: FittingDetail) => {
+  const handleViewDetail = (fitting: FittingHistoryItem) => {
     if (fitting.status === 'COMPLETED' && fitting.resultImageUrl) {
       // 결과 이미지가 있으면 상세 페이지로 이동
       navigate(`/fitting/${fitting.fittingId}`, { state: { fitting } });
@@ -84,7 +117,7 @@ const FittingHistoryPage = () => {
     );
   }
 
-  if (!history || history.fittings.length === 0) {
+  if (fittings.length === 0) {
     return (
       <div className="container">
         <div className="empty-state">
@@ -106,11 +139,11 @@ const FittingHistoryPage = () => {
       <div className="history-container">
         <div className="history-header">
           <h1>내 피팅 기록</h1>
-          <p>총 {history.totalCount}개의 피팅 기록</p>
+          {totalCount !== null && <p>총 {totalCount}개의 피팅 기록</p>}
         </div>
 
         <div className="history-grid">
-          {history.fittings.map((fitting) => (
+          {fittings.map((fitting) => (
             <div key={fitting.fittingId} className="history-card">
               <div className="history-card-images">
                 {/* 사용자 이미지 */}
@@ -140,6 +173,8 @@ const FittingHistoryPage = () => {
                         </>
                       ) : fitting.status === 'FAILED' ? (
                         <span>생성 실패</span>
+                      ) : fitting.status === 'CANCELLED' ? (
+                        <span>생성 취소</span>
                       ) : (
                         <span>대기 중</span>
                       )}
@@ -175,36 +210,20 @@ const FittingHistoryPage = () => {
                     상세 보기
                   </button>
                 )}
-
-                {fitting.errorMessage && (
-                  <p className="error-text">{fitting.errorMessage}</p>
-                )}
               </div>
             </div>
           ))}
         </div>
 
-        {/* 페이징 */}
-        {history.totalPages > 1 && (
+        {/* 더 보기 (커서 기반) */}
+        {nextCursor && (
           <div className="pagination">
             <button
               className="btn btn-secondary"
-              onClick={() => setPage(page - 1)}
-              disabled={page === 0}
-            >
-              이전
-            </button>
-
-            <span className="page-info">
-              {page + 1} / {history.totalPages}
-            </span>
-
-            <button
-              className="btn btn-secondary"
-              onClick={() => setPage(page + 1)}
-              disabled={page >= history.totalPages - 1}
+              onClick={handleLoadMore}
+              disabled={loadingMore}
             >
-              다음
+              {loadingMore ? '불러오는 중...' : '더 보기'}
             </button>
           </div>
         )}
@@ -179,8 +179,12 @@ const VirtualFitting = () => {
       setStatus(response.data.status);
       alert(response.data.message);
 
-      // 폴링 시작
-      startPolling(fittingId);
+      // 상태 스트림 구독 (결과 캐시 적중 시 이미 완료)
+      if (response.data.status === 'COMPLETED') {
+        startPolling(fittingId);
+      } else {
+        startStatusStream(fittingId);
+      }
     } catch (error: any) {
       console.error('AI 생성 실패:', error);
       setErrorMessage(error.response?.data?.message || 'AI 생성 요청에 실패했습니다.');
@@ -188,6 +192,84 @@ const VirtualFitting = () => {
     }
   };
 
+  // 상태 결과 반영 (SSE / 폴링 공용)
+  const applyStatus = (data: StatusResponse): boolean => {
+    setStatus(data.status);
+    if (!data.isCompleted) {
+      return false;
+    }
+
+    setGenerating(false);
+    if (data.status === 'COMPLETED' && data.resultImageUrl) {
+      setResultImageUrl(getImageUrl(data.resultImageUrl));
+      alert('AI 착장샷 생성 완료!');
+    } else if (data.status === 'FAILED' || data.status === 'CANCELLED') {
+      setErrorMessage(data.errorMessage || 'AI 생성에 실패했습니다.');
+    }
+    return true;
+  };
+
+  // AI 생성 취소 (대기열에서 빠지고 진행 중인 생성도 중단)
+  const handleCancel = async () => {
+    if (!fittingId) {
+      return;
+    }
+
+    try {
+      const response = await axiosInstance.post<StatusResponse>(
+        `/api/v1/fitting/${fittingId}/cancel`
+      );
+      applyStatus(response.data);
+    } catch (error: any) {
+      console.error('취소 실패:', error);
+      setErrorMessage(error.response?.data?.message || 'AI 생성 취소에 실패했습니다.');
+    }
+  };
+
+  // 상태 스트림 (SSE) - 연결할 수 없으면 폴링으로 대체
+  // EventSource는 헤더를 못 보내므로 URL에 액세스 토큰 대신 연결 전용 단기 토큰을 싣는다
+  const startStatusStream = async (id: string) => {
+    if (typeof EventSource === 'undefined') {
+      startPolling(id);
+      return;
+    }
+
+    let streamToken: string;
+    try {
+      const response = await axiosInstance.post<{ token: string; expiresIn: number }>(
+        '/api/v1/fitting/stream-token'
+      );
+      streamToken = response.data.token;
+    } catch (error) {
+      console.error('스트림 토큰 발급 실패:', error);
+      startPolling(id);
+      return;
+    }
+
+    const source = new EventSource(
+      `${axiosInstance.defaults.baseURL}/api/v1/fitting/${id}/events?access_token=${encodeURIComponent(streamToken)}`
+    );
+    let received = false;
+
+    source.addEventListener('status', (event) => {
+      received = true;
+      if (applyStatus(JSON.parse((event as MessageEvent).data) as StatusResponse)) {
+        source.close();
+      }
+    });
+
+    source.onerror = () => {
+      // 연결 중 끊김은 브라우저가 Last-Event-ID로 자동 재연결, 처음부터 실패하면 폴링
+      if (!received) {
+        source.close();
+        startPolling(id);
+      } else if (source.readyState === EventSource.CLOSED) {
+        // 자동 재연결이 만료된 스트림 토큰으로 거절됨 - 새 토큰으로 다시 구독
+        startStatusStream(id);
+      }
+    };
+  };
+
   // 상태 폴링
   const startPolling = (id: string) => {
     const interval = setInterval(async () => {
@@ -196,18 +278,8 @@ const VirtualFitting = () => {
           `/api/v1/fitting/${id}`
         );
 
-        setStatus(response.data.status);
-
-        if (response.data.isCompleted) {
+        if (applyStatus(response.data)) {
           clearInterval(interval);
-          setGenerating(false);
-
-          if (response.data.status === 'COMPLETED' && response.data.resultImageUrl) {
-            setResultImageUrl(getImageUrl(response.data.resultImageUrl));
-            alert('AI 착장샷 생성 완료!');
-          } else if (response.data.status === 'FAILED') {
-            setErrorMessage(response.data.errorMessage || 'AI 생성에 실패했습니다.');
-          }
         }
       } catch (error) {
         console.error('상태 조회 실패:', error);
@@ -331,6 +403,9 @@ const VirtualFitting = () => {
               <div className="progress">
                 <div className="spinner"></div>
                 <p>AI 이미지 생성 중... ({status})</p>
+                <button className="btn btn-secondary" onClick={handleCancel}>
+                  취소
+                </button>
               </div>
             )}
 
@@ -2,13 +2,14 @@
  * 가상 피팅 관련 타입 정의
  */
 
-export type FittingStatus = 'PENDING' | 'PROCESSING' | 'COMPLETED' | 'FAILED';
+export type FittingStatus = 'PENDING' | 'PROCESSING' | 'COMPLETED' | 'FAILED' | 'CANCELLED';
 
 export type FittingCategory = 'upper_body' | 'lower_body' | 'dresses';
 
 export interface UploadResponse {
   fittingId: string;
   userImageUrl: string;
+  photoId?: string | null;
   status: FittingStatus;
   message: string;
 }
@@ -23,10 +24,32 @@ export interface GenerateResponse {
 
 export interface StatusResponse {
   fittingId: string;
+  productId?: string;
   status: FittingStatus;
   resultImageUrl: string | null;
   errorMessage: string | null;
   isCompleted: boolean;
+  provider?: string | null;
+  stage?: 'QUEUED' | 'RUNNING' | null;
+  queuePosition?: number | null;
+  elapsedSeconds?: number | null;
+  estimatedWaitSeconds?: number | null;
+}
+
+export interface BodyPhoto {
+  photoId: string;
+  imageUrl: string;
+  width: number;
+  height: number;
+  duplicate: boolean;
+  createdAt: string;
+  lastUsedAt: string;
+}
+
+export interface BatchResponse {
+  batchId: string;
+  userImageUrl: string;
+  items: StatusResponse[];
 }
 
 export interface FittingDetail {
@@ -39,14 +62,31 @@ export interface FittingDetail {
   statusDisplay: string;
   category: FittingCategory;
   errorMessage: string | null;
+  provider?: string | null;
+  batchId?: string | null;
+  photoId?: string | null;
+  stageTimings?: Record<string, number> | null;  // 단계별 소요 시간 (ms) - upload, queue, worker, remote, ...
+  createdAt: string;
+  completedAt: string | null;
+}
+
+// 기록 목록 항목 (목록 컬럼만 - 오류 메시지 등은 상세 조회)
+export interface FittingHistoryItem {
+  fittingId: string;
+  productId: string;
+  userImageUrl: string;
+  resultImageUrl: string | null;
+  status: FittingStatus;
+  statusDisplay: string;
+  category: FittingCategory;
   createdAt: string;
   completedAt: string | null;
 }
 
 export interface FittingHistory {
-  fittings: FittingDetail[];
-  totalCount: number;
-  page: number;
+  fittings: FittingHistoryItem[];
+  nextCursor: string | null;  // 다음 페이지 요청에 그대로 전달
+  hasNext: boolean;
   pageSize: number;
-  totalPages: number;
+  totalCount: number | null;  // includeTotal=true로 요청했을 때만
 }